@@ -14,12 +14,42 @@ public class Arithmetic {
 	public static final double LOW_PRECISION = 1.0 / Math.pow( 10, LOW_PRECISION_DIGITS );
 	public static final double EXTRA_LOW_PRECISION = 1.0 / Math.pow( 10, EXTRA_LOW_PRECISION_DIGITS );
 
+	/**
+	 * The largest n for which every binomial coefficient 'n choose k' fits in a
+	 * long.
+	 */
+	public static final int MAX_BINOMIAL_TABLE = 66;
+
 	private static final double[] factors = new double[ DEFAULT_PRECISION_DIGITS << 1 ];
 
+	/**
+	 * Pascal's triangle, row n holds the binomial coefficients 'n choose k'.
+	 */
+	private static final long[][] pascal = new long[ MAX_BINOMIAL_TABLE + 1 ][];
+
+	/**
+	 * The factorials that fit in a long.
+	 */
+	private static final long[] factorials = new long[ 21 ];
+
 	static {
 		for( int index = 0; index < factors.length; index++ ) {
 			factors[ index ] = Math.pow( 10, index );
 		}
+
+		for( int n = 0; n < pascal.length; n++ ) {
+			pascal[ n ] = new long[ n + 1 ];
+			pascal[ n ][ 0 ] = 1;
+			pascal[ n ][ n ] = 1;
+			for( int k = 1; k < n; k++ ) {
+				pascal[ n ][ k ] = pascal[ n - 1 ][ k - 1 ] + pascal[ n - 1 ][ k ];
+			}
+		}
+
+		factorials[ 0 ] = 1;
+		for( int n = 1; n < factorials.length; n++ ) {
+			factorials[ n ] = n * factorials[ n - 1 ];
+		}
 	}
 
 	public static double sign( double number ) {
@@ -95,17 +125,63 @@ public class Arithmetic {
 	 * @param n The number of elements to choose from
 	 * @param k The number of elements to choose
 	 * @return The binomial coefficient 'n choose k'
+	 * @throws ArithmeticException If the coefficient does not fit in an int
 	 */
 	public static int bc( int n, int k ) {
-		if( k > n ) return 0;
-		if( k == 0 || k == n ) return 1;
-		return bc( n - 1, k - 1 ) + bc( n - 1, k );
+		return Math.toIntExact( binomial( n, k ) );
+	}
+
+	/**
+	 * Compute the binomial coefficient 'n choose k'. The coefficients for n up
+	 * to {@link #MAX_BINOMIAL_TABLE} are looked up in Pascal's triangle.
+	 *
+	 * @param n The number of elements to choose from
+	 * @param k The number of elements to choose
+	 * @return The binomial coefficient 'n choose k'
+	 * @throws ArithmeticException If the coefficient does not fit in a long
+	 */
+	public static long binomial( int n, int k ) {
+		if( k < 0 || k > n ) return 0;
+		if( n <= MAX_BINOMIAL_TABLE ) return pascal[ n ][ k ];
+
+		// Each partial product is a binomial coefficient so the division is exact
+		k = Math.min( k, n - k );
+		long result = 1;
+		for( int i = 1; i <= k; i++ ) {
+			result = Math.multiplyExact( result, n - k + i ) / i;
+		}
+		return result;
+	}
+
+	/**
+	 * Get a row of Pascal's triangle, the binomial coefficients 'n choose k'
+	 * for k from 0 to n, as doubles.
+	 *
+	 * @param n The row
+	 * @param row The array in which to store the coefficients, at least n + 1 values
+	 * @return The row array
+	 */
+	public static double[] binomials( int n, double[] row ) {
+		if( n <= MAX_BINOMIAL_TABLE ) {
+			long[] values = pascal[ n ];
+			for( int k = 0; k <= n; k++ ) {
+				row[ k ] = values[ k ];
+			}
+			return row;
+		}
+
+		// Too large for a long, build the row with the multiplicative formula
+		row[ 0 ] = 1;
+		for( int k = 1; k <= n; k++ ) {
+			row[ k ] = row[ k - 1 ] * (n - k + 1) / k;
+		}
+		return row;
 	}
 
 	public static double bchi( int k ) {
 		int twok = k + k;
 
-		int b = bc( twok, k );
+		long b = binomial( twok, k );
 		double n = Math.pow( -1, k + 1 );
 		double d = Math.pow( 2, twok ) * (twok - 1);
 		double c = n / d;
@@ -118,10 +194,23 @@ public class Arithmetic {
 	 *
 	 * @param n The factorial index
 	 * @return The nth factorial
+	 * @throws ArithmeticException If the factorial does not fit in an int
 	 */
 	public static int factorial( int n ) {
-		if( n == 0 ) return 1;
-		return n * factorial( n - 1 );
+		return Math.toIntExact( factorialLong( n ) );
+	}
+
+	/**
+	 * Calculate the nth factorial as a long.
+	 *
+	 * @param n The factorial index
+	 * @return The nth factorial
+	 * @throws ArithmeticException If the factorial does not fit in a long
+	 */
+	public static long factorialLong( int n ) {
+		if( n < 0 ) throw new IllegalArgumentException( "Factorial index must not be negative: " + n );
+		if( n >= factorials.length ) throw new ArithmeticException( "Factorial overflows long: " + n );
+		return factorials[ n ];
 	}
 
 }
@@ -0,0 +1,223 @@
+package com.avereon.curve.math;
+
+/**
+ * An LU decomposition, with partial pivoting, of a banded matrix in compact
+ * band storage. Only the band is stored, so the memory and the time to
+ * factor and solve grow linearly with the number of rows for a fixed band
+ * width.
+ * <p>
+ * The band storage keeps the diagonals of each row together. Row i stores
+ * the values of columns i - lower to i + upper, so the value at row i and
+ * column j is at index i * (lower + upper + 1) + j - i + lower. Values
+ * outside the matrix are ignored.
+ * <p>
+ * Partial pivoting can move values up to lower columns further right, so the
+ * factors are stored with lower extra super-diagonals. The row exchanges
+ * are stored as a pivot row for each step.
+ * <p>
+ * A decomposition can be reused for a new matrix with the same size and band
+ * with {@link #decompose(double[])}, which does not allocate. The solve
+ * methods do not modify the decomposition and can be called from many
+ * threads at the same time.
+ */
+public class BandedLUDecomposition {
+
+	private final int n;
+
+	private final int lower;
+
+	private final int upper;
+
+	/**
+	 * The width of a row in the factor storage.
+	 */
+	private final int width;
+
+	private final double[] lu;
+
+	private final int[] pivots;
+
+	private int sign;
+
+	private boolean singular;
+
+	/**
+	 * Factor a banded matrix.
+	 *
+	 * @param band The matrix in compact band storage
+	 * @param n The number of rows and columns
+	 * @param lower The number of sub-diagonals
+	 * @param upper The number of super-diagonals
+	 */
+	public BandedLUDecomposition( double[] band, int n, int lower, int upper ) {
+		if( n < 1 ) throw new IllegalArgumentException( "Matrix size must be greater than zero: " + n );
+		if( lower < 0 || upper < 0 ) throw new IllegalArgumentException( "Band must not be negative: " + lower + ", " + upper );
+		this.n = n;
+		this.lower = lower;
+		this.upper = upper;
+		this.width = 2 * lower + upper + 1;
+		this.lu = new double[ n * width ];
+		this.pivots = new int[ n ];
+		decompose( band );
+	}
+
+	/**
+	 * Factor a new banded matrix with the same size and band, reusing the
+	 * storage of this decomposition.
+	 *
+	 * @param band The matrix in compact band storage
+	 * @return This decomposition
+	 */
+	public BandedLUDecomposition decompose( double[] band ) {
+		int bandWidth = lower + upper + 1;
+		if( band.length != n * bandWidth ) throw new IllegalArgumentException( "Band must have " + (n * bandWidth) + " values: " + band.length );
+
+		for( int row = 0; row < n; row++ ) {
+			System.arraycopy( band, row * bandWidth, lu, row * width, bandWidth );
+			for( int index = bandWidth; index < width; index++ ) {
+				lu[ row * width + index ] = 0;
+			}
+		}
+		factor();
+		return this;
+	}
+
+	/**
+	 * Get the number of rows and columns of the matrix.
+	 *
+	 * @return The matrix size
+	 */
+	public int size() {
+		return n;
+	}
+
+	/**
+	 * Check if the matrix is singular. A singular matrix has a zero pivot and
+	 * can not be used to solve.
+	 *
+	 * @return True if the matrix is singular, false otherwise
+	 */
+	public boolean isSingular() {
+		return singular;
+	}
+
+	/**
+	 * Get the determinant of the matrix.
+	 *
+	 * @return The determinant
+	 */
+	public double determinant() {
+		double determinant = sign;
+		for( int index = 0; index < n; index++ ) {
+			determinant *= lu[ index * width + lower ];
+		}
+		return determinant;
+	}
+
+	/**
+	 * Solve the system A x = b.
+	 *
+	 * @param b The right-hand side
+	 * @return A new array with the solution
+	 * @throws ArithmeticException If the matrix is singular
+	 */
+	public double[] solve( double[] b ) {
+		double[] x = new double[ n ];
+		solveInto( b, x );
+		return x;
+	}
+
+	/**
+	 * Solve the system A x = b into an existing array. The solution array may
+	 * be the right-hand side array, in which case the right-hand side is
+	 * overwritten.
+	 *
+	 * @param b The right-hand side
+	 * @param x The array in which to store the solution
+	 * @return The solution array
+	 * @throws ArithmeticException If the matrix is singular
+	 */
+	public double[] solveInto( double[] b, double[] x ) {
+		if( b.length != n || x.length != n ) throw new IllegalArgumentException( "Right-hand side must have " + n + " values" );
+		if( singular ) throw new ArithmeticException( "Matrix is singular" );
+		if( x != b ) System.arraycopy( b, 0, x, 0, n );
+
+		// Apply the row exchanges and the lower factor in the order they were made
+		for( int k = 0; k < n; k++ ) {
+			int pivot = pivots[ k ];
+			if( pivot != k ) {
+				double swap = x[ k ];
+				x[ k ] = x[ pivot ];
+				x[ pivot ] = swap;
+			}
+			int last = Math.min( n - 1, k + lower );
+			for( int row = k + 1; row <= last; row++ ) {
+				x[ row ] -= lu[ index( row, k ) ] * x[ k ];
+			}
+		}
+
+		// Back substitution with the upper factor
+		for( int row = n - 1; row >= 0; row-- ) {
+			double sum = x[ row ];
+			int last = Math.min( n - 1, row + lower + upper );
+			for( int column = row + 1; column <= last; column++ ) {
+				sum -= lu[ index( row, column ) ] * x[ column ];
+			}
+			x[ row ] = sum / lu[ index( row, row ) ];
+		}
+
+		return x;
+	}
+
+	private void factor() {
+		sign = 1;
+		singular = false;
+
+		for( int k = 0; k < n; k++ ) {
+			int lastRow = Math.min( n - 1, k + lower );
+			int lastColumn = Math.min( n - 1, k + lower + upper );
+
+			// Find the pivot row within the band
+			int pivot = k;
+			double max = Math.abs( lu[ index( k, k ) ] );
+			for( int row = k + 1; row <= lastRow; row++ ) {
+				double value = Math.abs( lu[ index( row, k ) ] );
+				if( value > max ) {
+					max = value;
+					pivot = row;
+				}
+			}
+			pivots[ k ] = pivot;
+
+			// Exchange the rows from the pivot column on, the lower factor is left in place
+			if( pivot != k ) {
+				for( int column = k; column <= lastColumn; column++ ) {
+					double swap = lu[ index( k, column ) ];
+					lu[ index( k, column ) ] = lu[ index( pivot, column ) ];
+					lu[ index( pivot, column ) ] = swap;
+				}
+				sign = -sign;
+			}
+
+			double diagonal = lu[ index( k, k ) ];
+			if( diagonal == 0 ) {
+				singular = true;
+				continue;
+			}
+
+			for( int row = k + 1; row <= lastRow; row++ ) {
+				double factor = lu[ index( row, k ) ] / diagonal;
+				lu[ index( row, k ) ] = factor;
+				if( factor == 0 ) continue;
+				for( int column = k + 1; column <= lastColumn; column++ ) {
+					lu[ index( row, column ) ] -= factor * lu[ index( k, column ) ];
+				}
+			}
+		}
+	}
+
+	private int index( int row, int column ) {
+		return row * width + column - row + lower;
+	}
+
+}
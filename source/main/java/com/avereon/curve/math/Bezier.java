@@ -0,0 +1,270 @@
+package com.avereon.curve.math;
+
+/**
+ * Bézier curves of any degree in the Bernstein basis. A curve of degree n is
+ * an array of n + 1 control points and the point at parametric value t is
+ * the sum of the control points weighted by the Bernstein polynomials
+ * 'n choose i' t^i (1 - t)^(n - i).
+ * <p>
+ * Points and derivatives are evaluated with a Horner scheme in the Bernstein
+ * basis using the binomial coefficients from {@link Arithmetic#binomial(int, int)},
+ * which takes time linear in the degree. The scheme runs from the nearer end
+ * of the curve so the powers of t or 1 - t stay at most one half. The
+ * evaluation methods that take a result array do not allocate.
+ * <p>
+ * The quadratic and cubic methods in {@link Geometry} are equivalent to these
+ * methods for degrees two and three.
+ */
+public class Bezier {
+
+	/**
+	 * Get the degree of a curve.
+	 *
+	 * @param points The curve control points
+	 * @return The curve degree, one less than the number of control points
+	 */
+	public static int degree( double[][] points ) {
+		return points.length - 1;
+	}
+
+	/**
+	 * Evaluate a Bernstein basis polynomial.
+	 *
+	 * @param degree The degree of the polynomial
+	 * @param index The index of the polynomial, from 0 to the degree
+	 * @param t The parametric value
+	 * @return The value of the polynomial
+	 */
+	public static double basis( int degree, int index, double t ) {
+		if( index < 0 || index > degree ) return 0;
+		return Arithmetic.binomial( degree, index ) * Math.pow( t, index ) * Math.pow( 1 - t, degree - index );
+	}
+
+	/**
+	 * Compute the point on a curve for a parametric value.
+	 *
+	 * @param points The curve control points
+	 * @param t The parametric value between 0 and 1
+	 * @return The point on the curve at the parametric value
+	 */
+	public static double[] point( double[][] points, double t ) {
+		return point( points, t, new double[ points[ 0 ].length ] );
+	}
+
+	/**
+	 * Compute the point on a curve for a parametric value into an existing
+	 * array. The result array must not be one of the control points.
+	 *
+	 * @param points The curve control points
+	 * @param t The parametric value between 0 and 1
+	 * @param result The array in which to store the point
+	 * @return The result array
+	 */
+	public static double[] point( double[][] points, double t, double[] result ) {
+		return evaluate( points, degree( points ), false, t, result );
+	}
+
+	/**
+	 * Compute the first derivative of a curve for a parametric value.
+	 *
+	 * @param points The curve control points
+	 * @param t The parametric value between 0 and 1
+	 * @return The derivative of the curve at the parametric value
+	 */
+	public static double[] derivative( double[][] points, double t ) {
+		return derivative( points, t, new double[ points[ 0 ].length ] );
+	}
+
+	/**
+	 * Compute the first derivative of a curve for a parametric value into an
+	 * existing array. The derivative is the point on the hodograph, the curve
+	 * of degree n - 1 with the control points n (Pi+1 - Pi), but the hodograph
+	 * is not created.
+	 *
+	 * @param points The curve control points
+	 * @param t The parametric value between 0 and 1
+	 * @param result The array in which to store the derivative
+	 * @return The result array
+	 */
+	public static double[] derivative( double[][] points, double t, double[] result ) {
+		int degree = degree( points );
+		if( degree == 0 ) {
+			for( int axis = 0; axis < result.length; axis++ ) {
+				result[ axis ] = 0;
+			}
+			return result;
+		}
+
+		evaluate( points, degree - 1, true, t, result );
+		for( int axis = 0; axis < result.length; axis++ ) {
+			result[ axis ] *= degree;
+		}
+		return result;
+	}
+
+	/**
+	 * Get the hodograph of a curve, the curve of the first derivative.
+	 *
+	 * @param points The curve control points
+	 * @return The control points of the derivative curve, one degree lower
+	 */
+	public static double[][] hodograph( double[][] points ) {
+		int degree = degree( points );
+		if( degree < 1 ) throw new IllegalArgumentException( "Curve must have a degree of at least one: " + degree );
+
+		double[][] result = new double[ degree ][ points[ 0 ].length ];
+		for( int index = 0; index < degree; index++ ) {
+			for( int axis = 0; axis < result[ index ].length; axis++ ) {
+				result[ index ][ axis ] = degree * (points[ index + 1 ][ axis ] - points[ index ][ axis ]);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Subdivide a curve at a parametric value.
+	 *
+	 * @param points The curve control points
+	 * @param t The parametric location to divide the curve
+	 * @return Two curves of the same degree (an array of two arrays of control points)
+	 */
+	public static double[][][] subdivide( double[][] points, double t ) {
+		int count = points.length;
+		int dimensions = points[ 0 ].length;
+		double[][] left = new double[ count ][ dimensions ];
+		double[][] right = new double[ count ][ dimensions ];
+		subdivide( points, t, left, right );
+		return new double[][][]{ left, right };
+	}
+
+	/**
+	 * Subdivide a curve at a parametric value into existing arrays using the
+	 * de Casteljau algorithm. The right curve array is used for the
+	 * intermediate points so no memory is allocated. Neither result may share
+	 * points with the curve.
+	 *
+	 * @param points The curve control points
+	 * @param t The parametric location to divide the curve
+	 * @param left The array in which to store the curve before the parametric value
+	 * @param right The array in which to store the curve after the parametric value
+	 */
+	public static void subdivide( double[][] points, double t, double[][] left, double[][] right ) {
+		int degree = degree( points );
+		int dimensions = points[ 0 ].length;
+		for( int index = 0; index <= degree; index++ ) {
+			System.arraycopy( points[ index ], 0, right[ index ], 0, dimensions );
+		}
+
+		// After each level the first point is a left point and the last updated
+		// point is a right point
+		for( int level = 1; level <= degree; level++ ) {
+			System.arraycopy( right[ 0 ], 0, left[ level - 1 ], 0, dimensions );
+			for( int index = 0; index <= degree - level; index++ ) {
+				double[] a = right[ index ];
+				double[] b = right[ index + 1 ];
+				for( int axis = 0; axis < dimensions; axis++ ) {
+					a[ axis ] += t * (b[ axis ] - a[ axis ]);
+				}
+			}
+		}
+		System.arraycopy( right[ 0 ], 0, left[ degree ], 0, dimensions );
+	}
+
+	/**
+	 * Elevate the degree of a curve by one without changing its shape.
+	 *
+	 * @param points The curve control points
+	 * @return The control points of the same curve with one more degree
+	 */
+	public static double[][] elevate( double[][] points ) {
+		int degree = degree( points );
+		int dimensions = points[ 0 ].length;
+		double[][] result = new double[ degree + 2 ][ dimensions ];
+		double scale = 1.0 / (degree + 1);
+
+		System.arraycopy( points[ 0 ], 0, result[ 0 ], 0, dimensions );
+		for( int index = 1; index <= degree; index++ ) {
+			double ratio = index * scale;
+			for( int axis = 0; axis < dimensions; axis++ ) {
+				result[ index ][ axis ] = ratio * points[ index - 1 ][ axis ] + (1 - ratio) * points[ index ][ axis ];
+			}
+		}
+		System.arraycopy( points[ degree ], 0, result[ degree + 1 ], 0, dimensions );
+
+		return result;
+	}
+
+	/**
+	 * Reduce the degree of a curve by one. The end points are kept. The first
+	 * half of the control points is found by reversing degree elevation from
+	 * the start of the curve and the second half from the end of the curve, so
+	 * a curve that was elevated is reduced exactly. Other curves are
+	 * approximated.
+	 *
+	 * @param points The curve control points
+	 * @return The control points of the reduced curve with one less degree
+	 */
+	public static double[][] reduce( double[][] points ) {
+		int degree = degree( points );
+		if( degree < 2 ) throw new IllegalArgumentException( "Curve must have a degree of at least two: " + degree );
+
+		int dimensions = points[ 0 ].length;
+		int last = degree - 1;
+		int half = (last + 1) / 2;
+		double[][] result = new double[ degree ][ dimensions ];
+
+		// Forward from the start of the curve
+		System.arraycopy( points[ 0 ], 0, result[ 0 ], 0, dimensions );
+		for( int index = 1; index < half; index++ ) {
+			for( int axis = 0; axis < dimensions; axis++ ) {
+				result[ index ][ axis ] = (degree * points[ index ][ axis ] - index * result[ index - 1 ][ axis ]) / (degree - index);
+			}
+		}
+
+		// Backward from the end of the curve
+		System.arraycopy( points[ degree ], 0, result[ last ], 0, dimensions );
+		for( int index = last; index > half; index-- ) {
+			for( int axis = 0; axis < dimensions; axis++ ) {
+				result[ index - 1 ][ axis ] = (degree * points[ index ][ axis ] - (degree - index) * result[ index ][ axis ]) / index;
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Evaluate the Bernstein sum of the control points, or of the differences
+	 * of consecutive control points, by Horner's rule from the nearer end.
+	 */
+	private static double[] evaluate( double[][] points, int degree, boolean differences, double t, double[] result ) {
+		boolean reverse = t > 0.5;
+		double u = reverse ? 1 - t : t;
+		double s = 1 - u;
+		int dimensions = result.length;
+
+		int first = reverse ? degree : 0;
+		for( int axis = 0; axis < dimensions; axis++ ) {
+			result[ axis ] = control( points, differences, first, axis );
+		}
+
+		double power = 1;
+		double coefficient = 1;
+		for( int index = 1; index <= degree; index++ ) {
+			power *= u;
+			// Beyond the table the coefficients are built from the previous one
+			coefficient = degree <= Arithmetic.MAX_BINOMIAL_TABLE ? Arithmetic.binomial( degree, index ) : coefficient * (degree - index + 1) / index;
+			double weight = coefficient * power;
+			int point = reverse ? degree - index : index;
+			for( int axis = 0; axis < dimensions; axis++ ) {
+				result[ axis ] = result[ axis ] * s + weight * control( points, differences, point, axis );
+			}
+		}
+
+		return result;
+	}
+
+	private static double control( double[][] points, boolean differences, int index, int axis ) {
+		return differences ? points[ index + 1 ][ axis ] - points[ index ][ axis ] : points[ index ][ axis ];
+	}
+
+}
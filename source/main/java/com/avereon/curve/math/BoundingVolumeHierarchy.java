@@ -0,0 +1,553 @@
+package com.avereon.curve.math;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A bounding volume hierarchy over a packed triangle array, as described in
+ * {@link Intersection3D}, for ray and segment queries against large meshes.
+ * <p>
+ * The hierarchy is built with a binned surface area heuristic and then
+ * flattened into primitive arrays in depth first order, so the first child of
+ * a node immediately follows the node. The triangle coordinates are copied
+ * into leaf order so the triangles of a leaf are next to each other in
+ * memory. Traversal uses a small fixed stack, reused by each thread, and the
+ * {@link Intersection3D} ray-triangle test for the leaf triangles. Children
+ * the ray misses are never visited.
+ * <p>
+ * Triangle indices returned by the queries are the indices in the original
+ * packed triangle array. The hierarchy is immutable once built and can be
+ * queried from many threads at the same time.
+ */
+public class BoundingVolumeHierarchy {
+
+	/**
+	 * The number of bins used along each axis to evaluate the split cost.
+	 */
+	private static final int BIN_COUNT = 16;
+
+	/**
+	 * The largest number of triangles stored in a leaf when the split cost is
+	 * not better than the leaf cost.
+	 */
+	private static final int MAX_LEAF_SIZE = 8;
+
+	/**
+	 * The cost of visiting a node relative to testing a triangle.
+	 */
+	private static final double TRAVERSAL_COST = 1.0;
+
+	/**
+	 * The deepest level of the hierarchy, which is also the size of the
+	 * traversal stack.
+	 */
+	private static final int MAX_DEPTH = 64;
+
+	/**
+	 * The number of triangles in a node before the children are built in
+	 * separate tasks.
+	 */
+	private static final int PARALLEL_THRESHOLD = 4096;
+
+	/**
+	 * The traversal stack of each thread, so queries do not allocate.
+	 */
+	private static final ThreadLocal<Traversal> TRAVERSAL = ThreadLocal.withInitial( Traversal::new );
+
+	private final int size;
+
+	/**
+	 * The triangle coordinates in leaf order.
+	 */
+	private final double[] triangles;
+
+	/**
+	 * The original index of each triangle in leaf order.
+	 */
+	private final int[] order;
+
+	/**
+	 * The node bounds, six values per node.
+	 */
+	private final double[] bounds;
+
+	/**
+	 * Two values per node. A leaf stores the first triangle and the triangle
+	 * count. An interior node stores the second child and zero.
+	 */
+	private final int[] nodes;
+
+	/**
+	 * Build a hierarchy over the packed triangle array in the calling thread.
+	 *
+	 * @param triangles The packed triangle array
+	 */
+	public BoundingVolumeHierarchy( double[] triangles ) {
+		this( triangles, null );
+	}
+
+	/**
+	 * Build a hierarchy over the packed triangle array. Large subtrees are
+	 * built in parallel in the fork-join pool.
+	 *
+	 * @param triangles The packed triangle array
+	 * @param pool The fork-join pool in which to build, or null to build in the calling thread
+	 */
+	public BoundingVolumeHierarchy( double[] triangles, ForkJoinPool pool ) {
+		if( triangles.length % 9 != 0 ) throw new IllegalArgumentException( "Packed triangle array length must be a multiple of nine: " + triangles.length );
+		size = triangles.length / 9;
+		order = new int[ size ];
+		for( int index = 0; index < size; index++ ) {
+			order[ index ] = index;
+		}
+
+		if( size == 0 ) {
+			this.triangles = triangles.clone();
+			bounds = new double[ 0 ];
+			nodes = new int[ 0 ];
+			return;
+		}
+
+		// Triangle bounds and centroids used by the builder
+		double[] boxes = new double[ 6 * size ];
+		double[] centroids = new double[ 3 * size ];
+		for( int index = 0; index < size; index++ ) {
+			int i = 9 * index;
+			for( int axis = 0; axis < 3; axis++ ) {
+				double a = triangles[ i + axis ];
+				double b = triangles[ i + 3 + axis ];
+				double c = triangles[ i + 6 + axis ];
+				double min = Math.min( a, Math.min( b, c ) );
+				double max = Math.max( a, Math.max( b, c ) );
+				boxes[ 6 * index + axis ] = min;
+				boxes[ 6 * index + 3 + axis ] = max;
+				centroids[ 3 * index + axis ] = 0.5 * (min + max);
+			}
+		}
+
+		BuildTask task = new BuildTask( boxes, centroids, order, 0, size, 0, pool != null );
+		Node root = pool == null ? task.compute() : pool.invoke( task );
+
+		// Flatten the nodes in depth first order
+		bounds = new double[ 6 * root.nodeCount ];
+		nodes = new int[ 2 * root.nodeCount ];
+		flatten( root, 0 );
+
+		this.triangles = new double[ 9 * size ];
+		for( int index = 0; index < size; index++ ) {
+			System.arraycopy( triangles, 9 * order[ index ], this.triangles, 9 * index, 9 );
+		}
+	}
+
+	/**
+	 * Get the number of triangles in the hierarchy.
+	 *
+	 * @return The number of triangles
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Get the number of nodes in the hierarchy.
+	 *
+	 * @return The number of nodes
+	 */
+	public int getNodeCount() {
+		return nodes.length >> 1;
+	}
+
+	/**
+	 * Find the triangle closest to the ray origin along the ray.
+	 *
+	 * @param o The ray origin
+	 * @param d The ray direction
+	 * @return The index of the closest triangle hit by the ray or -1
+	 */
+	public int closestHit( double[] o, double[] d ) {
+		int leaf = traverse( o[ 0 ], o[ 1 ], o[ 2 ], d[ 0 ], d[ 1 ], d[ 2 ], Double.POSITIVE_INFINITY, false );
+		return leaf < 0 ? -1 : order[ leaf ];
+	}
+
+	/**
+	 * Find the triangle closest to the ray origin along the ray and store the
+	 * intersection in the result. The first parameter of the intersection point
+	 * is the ray parameter and the second parameter is the triangle index.
+	 *
+	 * @param o The ray origin
+	 * @param d The ray direction
+	 * @param result The result in which to store the intersection
+	 * @return The result
+	 */
+	public IntersectionResult closestHit( double[] o, double[] d, IntersectionResult result ) {
+		return closestHit( o[ 0 ], o[ 1 ], o[ 2 ], d[ 0 ], d[ 1 ], d[ 2 ], Double.POSITIVE_INFINITY, result );
+	}
+
+	/**
+	 * Find the triangle closest to the first point of the segment and store the
+	 * intersection in the result. The first parameter of the intersection point
+	 * is the segment parameter and the second parameter is the triangle index.
+	 *
+	 * @param a The first segment point
+	 * @param b The other segment point
+	 * @param result The result in which to store the intersection
+	 * @return The result
+	 */
+	public IntersectionResult closestSegmentHit( double[] a, double[] b, IntersectionResult result ) {
+		return closestHit( a[ 0 ], a[ 1 ], a[ 2 ], b[ 0 ] - a[ 0 ], b[ 1 ] - a[ 1 ], b[ 2 ] - a[ 2 ], 1, result );
+	}
+
+	/**
+	 * Check if the ray hits any triangle. The query stops at the first triangle
+	 * found, which is usually much faster than finding the closest triangle.
+	 *
+	 * @param o The ray origin
+	 * @param d The ray direction
+	 * @return True if the ray hits a triangle, false otherwise
+	 */
+	public boolean anyHit( double[] o, double[] d ) {
+		return traverse( o[ 0 ], o[ 1 ], o[ 2 ], d[ 0 ], d[ 1 ], d[ 2 ], Double.POSITIVE_INFINITY, true ) >= 0;
+	}
+
+	/**
+	 * Check if the segment hits any triangle. This is the usual occlusion, or
+	 * line of sight, query.
+	 *
+	 * @param a The first segment point
+	 * @param b The other segment point
+	 * @return True if the segment hits a triangle, false otherwise
+	 */
+	public boolean anySegmentHit( double[] a, double[] b ) {
+		return traverse( a[ 0 ], a[ 1 ], a[ 2 ], b[ 0 ] - a[ 0 ], b[ 1 ] - a[ 1 ], b[ 2 ] - a[ 2 ], 1, true ) >= 0;
+	}
+
+	private IntersectionResult closestHit( double ox, double oy, double oz, double dx, double dy, double dz, double max, IntersectionResult result ) {
+		result.reset();
+		int leaf = traverse( ox, oy, oz, dx, dy, dz, max, false );
+		if( leaf < 0 ) return result;
+
+		double t = triangle( leaf, ox, oy, oz, dx, dy, dz );
+		result.add( ox + t * dx, oy + t * dy, oz + t * dz, t, order[ leaf ] );
+		return result.set( Intersection.Type.INTERSECTION );
+	}
+
+	/**
+	 * Walk the hierarchy, nearest child first, and return the leaf order
+	 * position of the closest triangle hit, or of the first triangle hit when
+	 * any is true.
+	 */
+	private int traverse( double ox, double oy, double oz, double dx, double dy, double dz, double max, boolean any ) {
+		Traversal traversal = TRAVERSAL.get();
+		traversal.visits = 0;
+		if( size == 0 ) return -1;
+
+		double ix = 1 / dx;
+		double iy = 1 / dy;
+		double iz = 1 / dz;
+		double best = max;
+		int found = -1;
+
+		if( Double.isNaN( entry( 0, ox, oy, oz, ix, iy, iz, best ) ) ) return -1;
+
+		int[] stack = traversal.nodes;
+		double[] entries = traversal.entries;
+		int top = 0;
+		int node = 0;
+		while( true ) {
+			traversal.visits++;
+			int first = nodes[ 2 * node ];
+			int count = nodes[ 2 * node + 1 ];
+			if( count > 0 ) {
+				for( int leaf = first; leaf < first + count; leaf++ ) {
+					double t = triangle( leaf, ox, oy, oz, dx, dy, dz );
+					if( t <= best ) {
+						best = t;
+						found = leaf;
+						if( any ) return found;
+					}
+				}
+			} else {
+				int near = node + 1;
+				int far = first;
+				double nearEntry = entry( near, ox, oy, oz, ix, iy, iz, best );
+				double farEntry = entry( far, ox, oy, oz, ix, iy, iz, best );
+				if( Double.isNaN( nearEntry ) ) {
+					// Only the far child can be hit
+					near = far;
+					nearEntry = farEntry;
+					farEntry = Double.NaN;
+				} else if( farEntry < nearEntry ) {
+					int swap = near;
+					near = far;
+					far = swap;
+					double swapEntry = nearEntry;
+					nearEntry = farEntry;
+					farEntry = swapEntry;
+				}
+				if( !Double.isNaN( nearEntry ) ) {
+					if( !Double.isNaN( farEntry ) ) {
+						stack[ top ] = far;
+						entries[ top++ ] = farEntry;
+					}
+					node = near;
+					continue;
+				}
+			}
+
+			// Skip nodes entered beyond the closest hit found since they were pushed
+			do {
+				if( top == 0 ) return found;
+				node = stack[ --top ];
+			} while( entries[ top ] > best );
+		}
+	}
+
+	/**
+	 * Get the number of nodes visited by the last query in the calling thread.
+	 * This is used to test the traversal.
+	 */
+	static int getLastVisitCount() {
+		return TRAVERSAL.get().visits;
+	}
+
+	private double triangle( int leaf, double ox, double oy, double oz, double dx, double dy, double dz ) {
+		int i = 9 * leaf;
+		double[] v = triangles;
+		return Intersection3D.rayTriangle( ox, oy, oz, dx, dy, dz, v[ i ], v[ i + 1 ], v[ i + 2 ], v[ i + 3 ], v[ i + 4 ], v[ i + 5 ], v[ i + 6 ], v[ i + 7 ], v[ i + 8 ] );
+	}
+
+	/**
+	 * Get the ray parameter where the ray enters the node bounds using the slab
+	 * method with the inverse ray direction, or NaN if the ray misses the node
+	 * before the max parameter.
+	 */
+	private double entry( int node, double ox, double oy, double oz, double ix, double iy, double iz, double max ) {
+		int i = 6 * node;
+		double near = 0;
+		double far = max;
+
+		if( Double.isInfinite( ix ) ) {
+			if( ox < bounds[ i ] || ox > bounds[ i + 3 ] ) return Double.NaN;
+		} else {
+			double t1 = (bounds[ i ] - ox) * ix;
+			double t2 = (bounds[ i + 3 ] - ox) * ix;
+			near = Math.max( near, Math.min( t1, t2 ) );
+			far = Math.min( far, Math.max( t1, t2 ) );
+		}
+
+		if( Double.isInfinite( iy ) ) {
+			if( oy < bounds[ i + 1 ] || oy > bounds[ i + 4 ] ) return Double.NaN;
+		} else {
+			double t1 = (bounds[ i + 1 ] - oy) * iy;
+			double t2 = (bounds[ i + 4 ] - oy) * iy;
+			near = Math.max( near, Math.min( t1, t2 ) );
+			far = Math.min( far, Math.max( t1, t2 ) );
+		}
+
+		if( Double.isInfinite( iz ) ) {
+			if( oz < bounds[ i + 2 ] || oz > bounds[ i + 5 ] ) return Double.NaN;
+		} else {
+			double t1 = (bounds[ i + 2 ] - oz) * iz;
+			double t2 = (bounds[ i + 5 ] - oz) * iz;
+			near = Math.max( near, Math.min( t1, t2 ) );
+			far = Math.min( far, Math.max( t1, t2 ) );
+		}
+
+		return near <= far ? near : Double.NaN;
+	}
+
+	private int flatten( Node node, int index ) {
+		System.arraycopy( node.bounds, 0, bounds, 6 * index, 6 );
+		if( node.left == null ) {
+			nodes[ 2 * index ] = node.start;
+			nodes[ 2 * index + 1 ] = node.count;
+			return index + 1;
+		}
+
+		int next = flatten( node.left, index + 1 );
+		nodes[ 2 * index ] = next;
+		nodes[ 2 * index + 1 ] = 0;
+		return flatten( node.right, next );
+	}
+
+	private static double area( double[] box, int offset ) {
+		double x = box[ offset + 3 ] - box[ offset ];
+		double y = box[ offset + 4 ] - box[ offset + 1 ];
+		double z = box[ offset + 5 ] - box[ offset + 2 ];
+		return x * y + y * z + z * x;
+	}
+
+	private static void empty( double[] box, int offset ) {
+		box[ offset ] = box[ offset + 1 ] = box[ offset + 2 ] = Double.POSITIVE_INFINITY;
+		box[ offset + 3 ] = box[ offset + 4 ] = box[ offset + 5 ] = Double.NEGATIVE_INFINITY;
+	}
+
+	private static void grow( double[] box, int offset, double[] source, int sourceOffset ) {
+		for( int axis = 0; axis < 3; axis++ ) {
+			box[ offset + axis ] = Math.min( box[ offset + axis ], source[ sourceOffset + axis ] );
+			box[ offset + 3 + axis ] = Math.max( box[ offset + 3 + axis ], source[ sourceOffset + 3 + axis ] );
+		}
+	}
+
+	private static final class Traversal {
+
+		private final int[] nodes = new int[ MAX_DEPTH ];
+
+		private final double[] entries = new double[ MAX_DEPTH ];
+
+		private int visits;
+
+	}
+
+	private static final class Node {
+
+		private final double[] bounds = new double[ 6 ];
+
+		private int start;
+
+		private int count;
+
+		private int nodeCount = 1;
+
+		private Node left;
+
+		private Node right;
+
+	}
+
+	private static class BuildTask extends RecursiveTask<Node> {
+
+		private final double[] boxes;
+
+		private final double[] centroids;
+
+		private final int[] order;
+
+		private final int start;
+
+		private final int end;
+
+		private final int depth;
+
+		private final boolean parallel;
+
+		private BuildTask( double[] boxes, double[] centroids, int[] order, int start, int end, int depth, boolean parallel ) {
+			this.boxes = boxes;
+			this.centroids = centroids;
+			this.order = order;
+			this.start = start;
+			this.end = end;
+			this.depth = depth;
+			this.parallel = parallel;
+		}
+
+		@Override
+		protected Node compute() {
+			Node node = new Node();
+			node.start = start;
+			node.count = end - start;
+
+			// Node bounds and centroid bounds
+			double[] centroidBounds = new double[ 6 ];
+			empty( node.bounds, 0 );
+			empty( centroidBounds, 0 );
+			for( int index = start; index < end; index++ ) {
+				int triangle = order[ index ];
+				grow( node.bounds, 0, boxes, 6 * triangle );
+				for( int axis = 0; axis < 3; axis++ ) {
+					double value = centroids[ 3 * triangle + axis ];
+					centroidBounds[ axis ] = Math.min( centroidBounds[ axis ], value );
+					centroidBounds[ 3 + axis ] = Math.max( centroidBounds[ 3 + axis ], value );
+				}
+			}
+			if( node.count <= 2 || depth >= MAX_DEPTH - 1 ) return node;
+
+			// Find the cheapest split over the bins of all three axes
+			int[] counts = new int[ BIN_COUNT ];
+			double[] binBounds = new double[ 6 * BIN_COUNT ];
+			double[] rightAreas = new double[ BIN_COUNT ];
+			double[] sweep = new double[ 6 ];
+			double bestCost = Double.POSITIVE_INFINITY;
+			int bestAxis = -1;
+			int bestSplit = -1;
+			for( int axis = 0; axis < 3; axis++ ) {
+				double min = centroidBounds[ axis ];
+				double extent = centroidBounds[ 3 + axis ] - min;
+				if( extent <= 0 ) continue;
+
+				Arrays.fill( counts, 0 );
+				for( int bin = 0; bin < BIN_COUNT; bin++ ) {
+					empty( binBounds, 6 * bin );
+				}
+				for( int index = start; index < end; index++ ) {
+					int triangle = order[ index ];
+					int bin = bin( centroids[ 3 * triangle + axis ], min, extent );
+					counts[ bin ]++;
+					grow( binBounds, 6 * bin, boxes, 6 * triangle );
+				}
+
+				// Sweep from the right to get the area right of each split
+				empty( sweep, 0 );
+				for( int bin = BIN_COUNT - 1; bin > 0; bin-- ) {
+					grow( sweep, 0, binBounds, 6 * bin );
+					rightAreas[ bin ] = area( sweep, 0 );
+				}
+
+				// Sweep from the left and evaluate each split
+				empty( sweep, 0 );
+				int leftCount = 0;
+				for( int split = 1; split < BIN_COUNT; split++ ) {
+					grow( sweep, 0, binBounds, 6 * (split - 1) );
+					leftCount += counts[ split - 1 ];
+					int rightCount = node.count - leftCount;
+					if( leftCount == 0 || rightCount == 0 ) continue;
+					double cost = area( sweep, 0 ) * leftCount + rightAreas[ split ] * rightCount;
+					if( cost < bestCost ) {
+						bestCost = cost;
+						bestAxis = axis;
+						bestSplit = split;
+					}
+				}
+			}
+			if( bestAxis < 0 ) return node;
+
+			// Compare the split cost with the cost of a leaf
+			double area = area( node.bounds, 0 );
+			double splitCost = area > 0 ? TRAVERSAL_COST + bestCost / area : TRAVERSAL_COST + node.count;
+			if( splitCost >= node.count && node.count <= MAX_LEAF_SIZE ) return node;
+
+			// Partition the triangles
+			double min = centroidBounds[ bestAxis ];
+			double extent = centroidBounds[ 3 + bestAxis ] - min;
+			int middle = start;
+			for( int index = start; index < end; index++ ) {
+				int triangle = order[ index ];
+				if( bin( centroids[ 3 * triangle + bestAxis ], min, extent ) < bestSplit ) {
+					order[ index ] = order[ middle ];
+					order[ middle++ ] = triangle;
+				}
+			}
+
+			BuildTask leftTask = new BuildTask( boxes, centroids, order, start, middle, depth + 1, parallel );
+			BuildTask rightTask = new BuildTask( boxes, centroids, order, middle, end, depth + 1, parallel );
+			if( parallel && node.count > PARALLEL_THRESHOLD ) {
+				leftTask.fork();
+				node.right = rightTask.compute();
+				node.left = leftTask.join();
+			} else {
+				node.left = leftTask.compute();
+				node.right = rightTask.compute();
+			}
+			node.nodeCount = 1 + node.left.nodeCount + node.right.nodeCount;
+			return node;
+		}
+
+		private static int bin( double value, double min, double extent ) {
+			int bin = (int)(BIN_COUNT * (value - min) / extent);
+			return Math.min( Math.max( bin, 0 ), BIN_COUNT - 1 );
+		}
+
+	}
+
+}
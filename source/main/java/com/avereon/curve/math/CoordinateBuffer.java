@@ -0,0 +1,200 @@
+package com.avereon.curve.math;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+
+/**
+ * A fixed number of points stored off the heap. The coordinates are packed as
+ * x, y, z in direct buffers in the native byte order, so large point sets do
+ * not add to garbage collection work and can be handed to native code without
+ * copying.
+ * <p>
+ * The points are split into chunks of a fixed number of points, each chunk in
+ * its own direct buffer, so the size of a coordinate buffer is not limited by
+ * the two gigabyte limit of a single buffer. Native code receives the points
+ * a chunk at a time through {@link #getChunk(int)}.
+ * <p>
+ * There is no way to release the memory deterministically. The memory is
+ * released by the garbage collector once the coordinate buffer and every
+ * chunk view are unreachable, so drop references to coordinate buffers that
+ * are no longer needed. The amount of direct memory available is limited by
+ * the -XX:MaxDirectMemorySize option.
+ * <p>
+ * Reading from several threads is safe, writing the same points from several
+ * threads is not.
+ */
+public class CoordinateBuffer {
+
+	/**
+	 * The default number of points in a chunk, 24 megabytes of coordinates.
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+	private final int size;
+
+	private final int chunkShift;
+
+	private final int chunkMask;
+
+	private final DoubleBuffer[] chunks;
+
+	/**
+	 * Create a coordinate buffer with all points at the origin.
+	 *
+	 * @param size The number of points
+	 */
+	public CoordinateBuffer( int size ) {
+		this( size, DEFAULT_CHUNK_SIZE );
+	}
+
+	/**
+	 * Create a coordinate buffer with all points at the origin.
+	 *
+	 * @param size The number of points
+	 * @param chunkSize The number of points in a chunk, a power of two
+	 */
+	public CoordinateBuffer( int size, int chunkSize ) {
+		if( size < 0 ) throw new IllegalArgumentException( "Size must not be negative: " + size );
+		if( chunkSize < 1 || Integer.bitCount( chunkSize ) != 1 || chunkSize > DEFAULT_CHUNK_SIZE << 4 ) {
+			throw new IllegalArgumentException( "Chunk size must be a power of two no larger than " + (DEFAULT_CHUNK_SIZE << 4) + ": " + chunkSize );
+		}
+		this.size = size;
+		this.chunkShift = Integer.numberOfTrailingZeros( chunkSize );
+		this.chunkMask = chunkSize - 1;
+
+		int count = (int)(((long)size + chunkSize - 1) >> chunkShift);
+		this.chunks = new DoubleBuffer[ count ];
+		for( int chunk = 0; chunk < count; chunk++ ) {
+			int points = Math.min( chunkSize, size - chunk * chunkSize );
+			chunks[ chunk ] = ByteBuffer.allocateDirect( 3 * points * Double.BYTES ).order( ByteOrder.nativeOrder() ).asDoubleBuffer();
+		}
+	}
+
+	/**
+	 * Create a coordinate buffer with a copy of the points.
+	 *
+	 * @param points The points
+	 * @return A new coordinate buffer
+	 */
+	public static CoordinateBuffer of( double[]... points ) {
+		CoordinateBuffer buffer = new CoordinateBuffer( points.length );
+		for( int index = 0; index < points.length; index++ ) {
+			buffer.set( index, points[ index ] );
+		}
+		return buffer;
+	}
+
+	/**
+	 * Get the number of points.
+	 *
+	 * @return The number of points
+	 */
+	public int size() {
+		return size;
+	}
+
+	public double getX( int index ) {
+		return chunk( index ).get( offset( index ) );
+	}
+
+	public double getY( int index ) {
+		return chunk( index ).get( offset( index ) + 1 );
+	}
+
+	public double getZ( int index ) {
+		return chunk( index ).get( offset( index ) + 2 );
+	}
+
+	/**
+	 * Get a point.
+	 *
+	 * @param index The point index
+	 * @return A new array with the point
+	 */
+	public double[] get( int index ) {
+		return get( index, new double[ 3 ] );
+	}
+
+	/**
+	 * Get a point into an existing array.
+	 *
+	 * @param index The point index
+	 * @param result The array in which to store the point
+	 * @return The result array
+	 */
+	public double[] get( int index, double[] result ) {
+		DoubleBuffer buffer = chunk( index );
+		int offset = offset( index );
+		result[ 0 ] = buffer.get( offset );
+		result[ 1 ] = buffer.get( offset + 1 );
+		result[ 2 ] = buffer.get( offset + 2 );
+		return result;
+	}
+
+	public void set( int index, double[] point ) {
+		set( index, point[ 0 ], point[ 1 ], point[ 2 ] );
+	}
+
+	public void set( int index, double x, double y, double z ) {
+		DoubleBuffer buffer = chunk( index );
+		int offset = offset( index );
+		buffer.put( offset, x );
+		buffer.put( offset + 1, y );
+		buffer.put( offset + 2, z );
+	}
+
+	/**
+	 * Get the number of points in a chunk. Every chunk but the last is full.
+	 *
+	 * @return The number of points in a chunk
+	 */
+	public int getChunkSize() {
+		return chunkMask + 1;
+	}
+
+	/**
+	 * Get the number of chunks.
+	 *
+	 * @return The number of chunks
+	 */
+	public int getChunkCount() {
+		return chunks.length;
+	}
+
+	/**
+	 * Get the coordinates of a chunk as a direct buffer for native code. The
+	 * buffer is a view of the coordinates, x, y, z for each point in the chunk,
+	 * starting with point chunk * {@link #getChunkSize()}, and changes to it
+	 * change the points.
+	 *
+	 * @param chunk The chunk index
+	 * @return A view of the chunk coordinates
+	 */
+	public DoubleBuffer getChunk( int chunk ) {
+		return chunks[ chunk ].duplicate().clear();
+	}
+
+	/**
+	 * Copy the points to the heap.
+	 *
+	 * @return A new array of points
+	 */
+	public double[][] toArray() {
+		double[][] points = new double[ size ][];
+		for( int index = 0; index < size; index++ ) {
+			points[ index ] = get( index );
+		}
+		return points;
+	}
+
+	private DoubleBuffer chunk( int index ) {
+		if( index < 0 || index >= size ) throw new IndexOutOfBoundsException( "Index " + index + " out of bounds for size " + size );
+		return chunks[ index >>> chunkShift ];
+	}
+
+	private int offset( int index ) {
+		return 3 * (index & chunkMask);
+	}
+
+}
@@ -0,0 +1,176 @@
+package com.avereon.curve.math;
+
+/**
+ * Cubic spline interpolation through a list of points, producing cubic
+ * Bézier curve segments. The spline uses a uniform parameter, one unit per
+ * segment, and is C2 continuous at the interior points.
+ * <p>
+ * The derivative at each point is found by solving a tridiagonal system for
+ * each coordinate with {@link Matrix#solveTridiagonal(double[], double[], double[], double[], double[], double[])},
+ * so the work grows linearly with the number of points. The Bézier control
+ * points of the segment from point i to point i + 1 with derivatives Di and
+ * Di+1 are Pi, Pi + Di / 3, Pi+1 - Di+1 / 3 and Pi+1.
+ * <p>
+ * The segments are returned as an array of curves where each curve has the
+ * four control points a, b, c and d.
+ */
+public class CubicSpline {
+
+	/**
+	 * Interpolate the points with a natural cubic spline, which has no
+	 * curvature at the end points.
+	 *
+	 * @param points The points to interpolate
+	 * @return The cubic Bézier segments, one less than the number of points
+	 */
+	public static double[][][] natural( double[][] points ) {
+		int n = points.length;
+		if( n < 2 ) return new double[ 0 ][][];
+
+		double[][] derivatives = new double[ n ][ 3 ];
+		Work work = new Work( n );
+		for( int axis = 0; axis < 3; axis++ ) {
+			work.b[ 0 ] = 2;
+			work.c[ 0 ] = 1;
+			work.d[ 0 ] = 3 * (points[ 1 ][ axis ] - points[ 0 ][ axis ]);
+			for( int i = 1; i < n - 1; i++ ) {
+				work.a[ i ] = 1;
+				work.b[ i ] = 4;
+				work.c[ i ] = 1;
+				work.d[ i ] = 3 * (points[ i + 1 ][ axis ] - points[ i - 1 ][ axis ]);
+			}
+			work.a[ n - 1 ] = 1;
+			work.b[ n - 1 ] = 2;
+			work.d[ n - 1 ] = 3 * (points[ n - 1 ][ axis ] - points[ n - 2 ][ axis ]);
+
+			Matrix.solveTridiagonal( work.a, work.b, work.c, work.d, work.x, work.work );
+			work.store( derivatives, axis );
+		}
+
+		return segments( points, derivatives, false );
+	}
+
+	/**
+	 * Interpolate the points with a clamped cubic spline, which has the given
+	 * derivatives at the end points. The derivatives are with respect to the
+	 * spline parameter, so a derivative of the same length as the first segment
+	 * chord is a moderate tangent.
+	 *
+	 * @param points The points to interpolate
+	 * @param start The derivative at the first point
+	 * @param end The derivative at the last point
+	 * @return The cubic Bézier segments, one less than the number of points
+	 */
+	public static double[][][] clamped( double[][] points, double[] start, double[] end ) {
+		int n = points.length;
+		if( n < 2 ) return new double[ 0 ][][];
+
+		double[][] derivatives = new double[ n ][ 3 ];
+		Work work = new Work( n );
+		for( int axis = 0; axis < 3; axis++ ) {
+			work.b[ 0 ] = 1;
+			work.c[ 0 ] = 0;
+			work.d[ 0 ] = start[ axis ];
+			for( int i = 1; i < n - 1; i++ ) {
+				work.a[ i ] = 1;
+				work.b[ i ] = 4;
+				work.c[ i ] = 1;
+				work.d[ i ] = 3 * (points[ i + 1 ][ axis ] - points[ i - 1 ][ axis ]);
+			}
+			work.a[ n - 1 ] = 0;
+			work.b[ n - 1 ] = 1;
+			work.d[ n - 1 ] = end[ axis ];
+
+			Matrix.solveTridiagonal( work.a, work.b, work.c, work.d, work.x, work.work );
+			work.store( derivatives, axis );
+		}
+
+		return segments( points, derivatives, false );
+	}
+
+	/**
+	 * Interpolate the points with a periodic cubic spline, a closed curve that
+	 * returns from the last point to the first point and is C2 continuous
+	 * everywhere. The first point should not be repeated at the end.
+	 *
+	 * @param points The points to interpolate, at least three
+	 * @return The cubic Bézier segments, one for each point
+	 */
+	public static double[][][] periodic( double[][] points ) {
+		int n = points.length;
+		if( n < 3 ) throw new IllegalArgumentException( "Periodic spline requires at least three points: " + n );
+
+		double[][] derivatives = new double[ n ][ 3 ];
+		Work work = new Work( n );
+		for( int axis = 0; axis < 3; axis++ ) {
+			for( int i = 0; i < n; i++ ) {
+				work.a[ i ] = 1;
+				work.b[ i ] = 4;
+				work.c[ i ] = 1;
+				work.d[ i ] = 3 * (points[ (i + 1) % n ][ axis ] - points[ (i + n - 1) % n ][ axis ]);
+			}
+
+			Matrix.solveCyclicTridiagonal( work.a, work.b, work.c, work.d, work.x, work.work );
+			work.store( derivatives, axis );
+		}
+
+		return segments( points, derivatives, true );
+	}
+
+	private static double[][][] segments( double[][] points, double[][] derivatives, boolean closed ) {
+		int n = points.length;
+		int count = closed ? n : n - 1;
+		double[][][] curves = new double[ count ][ 4 ][ 3 ];
+		for( int index = 0; index < count; index++ ) {
+			int next = (index + 1) % n;
+			double[] p0 = points[ index ];
+			double[] p1 = points[ next ];
+			double[] d0 = derivatives[ index ];
+			double[] d1 = derivatives[ next ];
+			double[][] curve = curves[ index ];
+			for( int axis = 0; axis < 3; axis++ ) {
+				curve[ 0 ][ axis ] = p0[ axis ];
+				curve[ 1 ][ axis ] = p0[ axis ] + d0[ axis ] / 3;
+				curve[ 2 ][ axis ] = p1[ axis ] - d1[ axis ] / 3;
+				curve[ 3 ][ axis ] = p1[ axis ];
+			}
+		}
+		return curves;
+	}
+
+	/**
+	 * The primitive arrays used to set up and solve the system for one
+	 * coordinate, reused for each coordinate.
+	 */
+	private static final class Work {
+
+		private final double[] a;
+
+		private final double[] b;
+
+		private final double[] c;
+
+		private final double[] d;
+
+		private final double[] x;
+
+		private final double[] work;
+
+		private Work( int n ) {
+			a = new double[ n ];
+			b = new double[ n ];
+			c = new double[ n ];
+			d = new double[ n ];
+			x = new double[ n ];
+			work = new double[ 3 * n ];
+		}
+
+		private void store( double[][] derivatives, int axis ) {
+			for( int i = 0; i < x.length; i++ ) {
+				derivatives[ i ][ axis ] = x[ i ];
+			}
+		}
+
+	}
+
+}
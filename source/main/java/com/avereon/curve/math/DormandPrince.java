@@ -0,0 +1,542 @@
+package com.avereon.curve.math;
+
+/**
+ * An adaptive step integrator for systems of ordinary differential equations
+ * using the Dormand-Prince 5(4) embedded Runge-Kutta method. Each step
+ * computes a fifth order solution and a fourth order solution from the same
+ * seven slopes, and the difference between them estimates the error. The step
+ * size is adjusted with a proportional-integral controller so the estimated
+ * error of each step stays within the absolute and relative tolerances.
+ * <p>
+ * The last slope of an accepted step is the first slope of the next step, so
+ * an accepted step costs six evaluations of the system. After each accepted
+ * step the solution can be evaluated anywhere in the step with a fourth order
+ * continuous extension, see {@link #interpolate(double, double[])}.
+ * <p>
+ * An integrator is created for a system size and keeps all the arrays it
+ * needs, so integrating does not allocate. It is not thread safe, create an
+ * integrator for each thread.
+ */
+public class DormandPrince {
+
+	/**
+	 * The default absolute and relative tolerance.
+	 */
+	public static final double DEFAULT_TOLERANCE = 1e-6;
+
+	/**
+	 * The default maximum number of steps for one integration.
+	 */
+	public static final int DEFAULT_MAX_STEPS = 100000;
+
+	private static final double C2 = 1.0 / 5.0;
+
+	private static final double C3 = 3.0 / 10.0;
+
+	private static final double C4 = 4.0 / 5.0;
+
+	private static final double C5 = 8.0 / 9.0;
+
+	private static final double A21 = 1.0 / 5.0;
+
+	private static final double A31 = 3.0 / 40.0;
+
+	private static final double A32 = 9.0 / 40.0;
+
+	private static final double A41 = 44.0 / 45.0;
+
+	private static final double A42 = -56.0 / 15.0;
+
+	private static final double A43 = 32.0 / 9.0;
+
+	private static final double A51 = 19372.0 / 6561.0;
+
+	private static final double A52 = -25360.0 / 2187.0;
+
+	private static final double A53 = 64448.0 / 6561.0;
+
+	private static final double A54 = -212.0 / 729.0;
+
+	private static final double A61 = 9017.0 / 3168.0;
+
+	private static final double A62 = -355.0 / 33.0;
+
+	private static final double A63 = 46732.0 / 5247.0;
+
+	private static final double A64 = 49.0 / 176.0;
+
+	private static final double A65 = -5103.0 / 18656.0;
+
+	private static final double A71 = 35.0 / 384.0;
+
+	private static final double A73 = 500.0 / 1113.0;
+
+	private static final double A74 = 125.0 / 192.0;
+
+	private static final double A75 = -2187.0 / 6784.0;
+
+	private static final double A76 = 11.0 / 84.0;
+
+	// The difference between the fifth and fourth order weights
+	private static final double E1 = 71.0 / 57600.0;
+
+	private static final double E3 = -71.0 / 16695.0;
+
+	private static final double E4 = 71.0 / 1920.0;
+
+	private static final double E5 = -17253.0 / 339200.0;
+
+	private static final double E6 = 22.0 / 525.0;
+
+	private static final double E7 = -1.0 / 40.0;
+
+	// The weights of the continuous extension
+	private static final double D1 = -12715105075.0 / 11282082432.0;
+
+	private static final double D3 = 87487479700.0 / 32700410799.0;
+
+	private static final double D4 = -10690763975.0 / 1880347072.0;
+
+	private static final double D5 = 701980252875.0 / 199316789632.0;
+
+	private static final double D6 = -1453857185.0 / 822651844.0;
+
+	private static final double D7 = 69997945.0 / 29380423.0;
+
+	// The step size controller parameters
+	private static final double SAFETY = 0.9;
+
+	private static final double MIN_FACTOR = 0.2;
+
+	private static final double MAX_FACTOR = 10.0;
+
+	private static final double BETA = 0.04;
+
+	private static final double ALPHA = 0.2 - 0.75 * BETA;
+
+	private final int n;
+
+	private final double[] k1;
+
+	private final double[] k2;
+
+	private final double[] k3;
+
+	private final double[] k4;
+
+	private final double[] k5;
+
+	private final double[] k6;
+
+	private final double[] k7;
+
+	private final double[] temp;
+
+	private final double[] next;
+
+	// The coefficients of the continuous extension of the last accepted step
+	private final double[] r1;
+
+	private final double[] r2;
+
+	private final double[] r3;
+
+	private final double[] r4;
+
+	private final double[] r5;
+
+	private double absoluteTolerance = DEFAULT_TOLERANCE;
+
+	private double relativeTolerance = DEFAULT_TOLERANCE;
+
+	private double initialStep;
+
+	private double maxStep = Double.POSITIVE_INFINITY;
+
+	private int maxSteps = DEFAULT_MAX_STEPS;
+
+	private double stepStart;
+
+	private double stepSize;
+
+	private int acceptedSteps;
+
+	private int rejectedSteps;
+
+	private int evaluations;
+
+	/**
+	 * Create an integrator for systems with the given number of state values.
+	 *
+	 * @param n The number of values in the system state
+	 */
+	public DormandPrince( int n ) {
+		if( n < 1 ) throw new IllegalArgumentException( "System size must be greater than zero: " + n );
+		this.n = n;
+		k1 = new double[ n ];
+		k2 = new double[ n ];
+		k3 = new double[ n ];
+		k4 = new double[ n ];
+		k5 = new double[ n ];
+		k6 = new double[ n ];
+		k7 = new double[ n ];
+		temp = new double[ n ];
+		next = new double[ n ];
+		r1 = new double[ n ];
+		r2 = new double[ n ];
+		r3 = new double[ n ];
+		r4 = new double[ n ];
+		r5 = new double[ n ];
+	}
+
+	/**
+	 * Get the number of values in the system state.
+	 *
+	 * @return The state size
+	 */
+	public int size() {
+		return n;
+	}
+
+	public double getAbsoluteTolerance() {
+		return absoluteTolerance;
+	}
+
+	public double getRelativeTolerance() {
+		return relativeTolerance;
+	}
+
+	/**
+	 * Set the error tolerances. The error of each state value in a step must be
+	 * less than absolute + relative * |y|.
+	 *
+	 * @param absolute The absolute tolerance
+	 * @param relative The relative tolerance
+	 */
+	public void setTolerance( double absolute, double relative ) {
+		if( absolute < 0 || relative < 0 || absolute + relative <= 0 ) throw new IllegalArgumentException( "Tolerance must be positive: " + absolute + ", " + relative );
+		this.absoluteTolerance = absolute;
+		this.relativeTolerance = relative;
+	}
+
+	public double getInitialStep() {
+		return initialStep;
+	}
+
+	/**
+	 * Set the size of the first step. When zero, the default, the first step
+	 * size is estimated from the system at the start of the integration.
+	 *
+	 * @param initialStep The size of the first step, or zero to estimate it
+	 */
+	public void setInitialStep( double initialStep ) {
+		this.initialStep = Math.abs( initialStep );
+	}
+
+	public double getMaxStep() {
+		return maxStep;
+	}
+
+	/**
+	 * Set the maximum step size. Limiting the step size keeps the integrator
+	 * from stepping over short features of the system.
+	 *
+	 * @param maxStep The maximum step size
+	 */
+	public void setMaxStep( double maxStep ) {
+		if( !(maxStep > 0) ) throw new IllegalArgumentException( "Maximum step must be positive: " + maxStep );
+		this.maxStep = maxStep;
+	}
+
+	public int getMaxSteps() {
+		return maxSteps;
+	}
+
+	/**
+	 * Set the maximum number of steps, accepted and rejected, for one
+	 * integration.
+	 *
+	 * @param maxSteps The maximum number of steps
+	 */
+	public void setMaxSteps( int maxSteps ) {
+		if( maxSteps < 1 ) throw new IllegalArgumentException( "Maximum steps must be greater than zero: " + maxSteps );
+		this.maxSteps = maxSteps;
+	}
+
+	/**
+	 * Get the number of accepted steps of the last integration.
+	 *
+	 * @return The number of accepted steps
+	 */
+	public int getAcceptedSteps() {
+		return acceptedSteps;
+	}
+
+	/**
+	 * Get the number of rejected steps of the last integration.
+	 *
+	 * @return The number of rejected steps
+	 */
+	public int getRejectedSteps() {
+		return rejectedSteps;
+	}
+
+	/**
+	 * Get the number of system evaluations of the last integration.
+	 *
+	 * @return The number of evaluations
+	 */
+	public int getEvaluations() {
+		return evaluations;
+	}
+
+	/**
+	 * Integrate the system from the start time to the end time. The end time
+	 * may be before the start time to integrate backward.
+	 *
+	 * @param system The system of equations
+	 * @param t The start time
+	 * @param y The initial state, which is replaced by the final state
+	 * @param end The end time
+	 * @return The state array
+	 * @throws ArithmeticException If the step size becomes too small or the maximum number of steps is exceeded
+	 */
+	public double[] integrate( OdeSystem system, double t, double[] y, double end ) {
+		return integrate( system, t, y, end, null, null );
+	}
+
+	/**
+	 * Integrate the system from the start time to the end time, storing the
+	 * state at each output time with the continuous extension. The output
+	 * times must be between the start and end times, in the direction of
+	 * integration. The output array holds one state for each output time, one
+	 * after the other.
+	 *
+	 * @param system The system of equations
+	 * @param t The start time
+	 * @param y The initial state, which is replaced by the final state
+	 * @param end The end time
+	 * @param times The output times
+	 * @param output The array in which to store the state at each output time
+	 * @return The state array
+	 * @throws ArithmeticException If the step size becomes too small or the maximum number of steps is exceeded
+	 */
+	public double[] integrate( OdeSystem system, double t, double[] y, double end, double[] times, double[] output ) {
+		if( y.length != n ) throw new IllegalArgumentException( "State must have " + n + " values: " + y.length );
+		int outputCount = times == null ? 0 : times.length;
+		if( outputCount > 0 && output.length < outputCount * n ) throw new IllegalArgumentException( "Output must have at least " + (outputCount * n) + " values: " + output.length );
+
+		acceptedSteps = 0;
+		rejectedSteps = 0;
+		evaluations = 0;
+		stepStart = t;
+		stepSize = 0;
+
+		double direction = end < t ? -1 : 1;
+		int outputIndex = 0;
+
+		// Output times at the start need no step
+		while( outputIndex < outputCount && direction * (times[ outputIndex ] - t) <= 0 ) {
+			System.arraycopy( y, 0, output, outputIndex++ * n, n );
+		}
+		if( t == end ) return y;
+
+		system.derivative( t, y, k1 );
+		evaluations++;
+
+		double h = initialStep > 0 ? initialStep : estimateInitialStep( system, t, y, direction );
+		h = direction * Math.min( Math.min( h, maxStep ), Math.abs( end - t ) );
+		double previousError = 1e-4;
+		boolean rejected = false;
+		boolean last = false;
+
+		while( !last ) {
+			if( acceptedSteps + rejectedSteps >= maxSteps ) throw new ArithmeticException( "Maximum steps exceeded: " + maxSteps );
+			if( Math.abs( h ) <= 10 * Math.ulp( t ) ) throw new ArithmeticException( "Step size too small at t=" + t );
+
+			// Land exactly on the end time
+			if( direction * (t + 1.01 * h - end) >= 0 ) {
+				h = end - t;
+				last = true;
+			}
+
+			double error = step( system, t, y, h );
+
+			// The proportional-integral step size factor
+			double factor = Math.pow( error, ALPHA );
+			double scale = Math.max( 1 / MAX_FACTOR, Math.min( 1 / MIN_FACTOR, factor / Math.pow( previousError, BETA ) / SAFETY ) );
+			double hNew = h / scale;
+
+			if( error <= 1 ) {
+				acceptedSteps++;
+				previousError = Math.max( error, 1e-4 );
+				prepareInterpolation( h, y );
+				stepStart = t;
+				stepSize = h;
+
+				double tNew = last ? end : t + h;
+				while( outputIndex < outputCount && direction * (times[ outputIndex ] - tNew) <= 0 ) {
+					interpolate( times[ outputIndex ], output, outputIndex++ * n );
+				}
+
+				// The last slope is the first slope of the next step
+				System.arraycopy( k7, 0, k1, 0, n );
+				System.arraycopy( next, 0, y, 0, n );
+				t = tNew;
+
+				if( Math.abs( hNew ) > maxStep ) hNew = direction * maxStep;
+				if( rejected ) hNew = direction * Math.min( Math.abs( hNew ), Math.abs( h ) );
+				rejected = false;
+			} else {
+				rejectedSteps++;
+				hNew = h / Math.min( 1 / MIN_FACTOR, factor / SAFETY );
+				rejected = true;
+				last = false;
+			}
+			h = hNew;
+		}
+
+		return y;
+	}
+
+	/**
+	 * Evaluate the solution anywhere in the last accepted step with the fourth
+	 * order continuous extension.
+	 *
+	 * @param t The time, within the last accepted step
+	 * @param y The array in which to store the state
+	 * @return The state array
+	 */
+	public double[] interpolate( double t, double[] y ) {
+		if( stepSize == 0 ) throw new IllegalStateException( "No step has been accepted" );
+		return interpolate( t, y, 0 );
+	}
+
+	/**
+	 * Get the start time of the last accepted step.
+	 *
+	 * @return The start time of the last step
+	 */
+	public double getStepStart() {
+		return stepStart;
+	}
+
+	/**
+	 * Get the size of the last accepted step, negative when integrating
+	 * backward.
+	 *
+	 * @return The size of the last step
+	 */
+	public double getStepSize() {
+		return stepSize;
+	}
+
+	private double[] interpolate( double t, double[] y, int offset ) {
+		double theta = (t - stepStart) / stepSize;
+		double theta1 = 1 - theta;
+		for( int i = 0; i < n; i++ ) {
+			y[ offset + i ] = r1[ i ] + theta * (r2[ i ] + theta1 * (r3[ i ] + theta * (r4[ i ] + theta1 * r5[ i ])));
+		}
+		return y;
+	}
+
+	/**
+	 * Take one step from the state with the first slope in k1, storing the
+	 * fifth order solution in next and the last slope in k7.
+	 *
+	 * @return The scaled error norm of the step, a step is accepted when not greater than one
+	 */
+	private double step( OdeSystem system, double t, double[] y, double h ) {
+		for( int i = 0; i < n; i++ ) {
+			temp[ i ] = y[ i ] + h * A21 * k1[ i ];
+		}
+		system.derivative( t + C2 * h, temp, k2 );
+
+		for( int i = 0; i < n; i++ ) {
+			temp[ i ] = y[ i ] + h * (A31 * k1[ i ] + A32 * k2[ i ]);
+		}
+		system.derivative( t + C3 * h, temp, k3 );
+
+		for( int i = 0; i < n; i++ ) {
+			temp[ i ] = y[ i ] + h * (A41 * k1[ i ] + A42 * k2[ i ] + A43 * k3[ i ]);
+		}
+		system.derivative( t + C4 * h, temp, k4 );
+
+		for( int i = 0; i < n; i++ ) {
+			temp[ i ] = y[ i ] + h * (A51 * k1[ i ] + A52 * k2[ i ] + A53 * k3[ i ] + A54 * k4[ i ]);
+		}
+		system.derivative( t + C5 * h, temp, k5 );
+
+		for( int i = 0; i < n; i++ ) {
+			temp[ i ] = y[ i ] + h * (A61 * k1[ i ] + A62 * k2[ i ] + A63 * k3[ i ] + A64 * k4[ i ] + A65 * k5[ i ]);
+		}
+		system.derivative( t + h, temp, k6 );
+
+		for( int i = 0; i < n; i++ ) {
+			next[ i ] = y[ i ] + h * (A71 * k1[ i ] + A73 * k3[ i ] + A74 * k4[ i ] + A75 * k5[ i ] + A76 * k6[ i ]);
+		}
+		system.derivative( t + h, next, k7 );
+		evaluations += 6;
+
+		// The root mean square of the scaled error
+		double sum = 0;
+		for( int i = 0; i < n; i++ ) {
+			double error = h * (E1 * k1[ i ] + E3 * k3[ i ] + E4 * k4[ i ] + E5 * k5[ i ] + E6 * k6[ i ] + E7 * k7[ i ]);
+			double scale = absoluteTolerance + relativeTolerance * Math.max( Math.abs( y[ i ] ), Math.abs( next[ i ] ) );
+			double ratio = error / scale;
+			sum += ratio * ratio;
+		}
+		return Math.sqrt( sum / n );
+	}
+
+	private void prepareInterpolation( double h, double[] y ) {
+		for( int i = 0; i < n; i++ ) {
+			double difference = next[ i ] - y[ i ];
+			double spline = h * k1[ i ] - difference;
+			r1[ i ] = y[ i ];
+			r2[ i ] = difference;
+			r3[ i ] = spline;
+			r4[ i ] = difference - h * k7[ i ] - spline;
+			r5[ i ] = h * (D1 * k1[ i ] + D3 * k3[ i ] + D4 * k4[ i ] + D5 * k5[ i ] + D6 * k6[ i ] + D7 * k7[ i ]);
+		}
+	}
+
+	/**
+	 * Estimate the size of the first step from the size of the state, the
+	 * first slope and an estimate of the second derivative, as described by
+	 * Hairer, Nørsett and Wanner. Uses one evaluation of the system.
+	 */
+	private double estimateInitialStep( OdeSystem system, double t, double[] y, double direction ) {
+		double y0 = 0;
+		double f0 = 0;
+		for( int i = 0; i < n; i++ ) {
+			double scale = absoluteTolerance + relativeTolerance * Math.abs( y[ i ] );
+			y0 += (y[ i ] / scale) * (y[ i ] / scale);
+			f0 += (k1[ i ] / scale) * (k1[ i ] / scale);
+		}
+		y0 = Math.sqrt( y0 / n );
+		f0 = Math.sqrt( f0 / n );
+		double h = y0 < 1e-5 || f0 < 1e-5 ? 1e-6 : 0.01 * y0 / f0;
+		h = Math.min( h, maxStep );
+
+		// An explicit Euler step to estimate the second derivative
+		for( int i = 0; i < n; i++ ) {
+			temp[ i ] = y[ i ] + direction * h * k1[ i ];
+		}
+		system.derivative( t + direction * h, temp, k2 );
+		evaluations++;
+
+		double f2 = 0;
+		for( int i = 0; i < n; i++ ) {
+			double scale = absoluteTolerance + relativeTolerance * Math.abs( y[ i ] );
+			double difference = (k2[ i ] - k1[ i ]) / scale;
+			f2 += difference * difference;
+		}
+		f2 = Math.sqrt( f2 / n ) / h;
+
+		double max = Math.max( f0, f2 );
+		double h1 = max <= 1e-15 ? Math.max( 1e-6, h * 1e-3 ) : Math.pow( 0.01 / max, 0.2 );
+		return Math.min( 100 * h, h1 );
+	}
+
+}
@@ -0,0 +1,124 @@
+package com.avereon.curve.math;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * Export of transforms and vertex data as single precision floats in direct
+ * buffers, the form graphics APIs take for matrix and vertex uploads.
+ * <p>
+ * The buffers are allocated off the heap in the native byte order so they
+ * can be handed to native bindings without another copy. The export methods
+ * take the buffer from the previous export and reuse it when it is large
+ * enough, so a frame that exports the same amount of data does not allocate.
+ * Matrices are written in column-major order, the same as
+ * {@link Transform#getMatrix()}, and vertices are packed as x, y, z.
+ */
+public class Float32 {
+
+	/**
+	 * The number of floats in a matrix.
+	 */
+	public static final int MATRIX_SIZE = 16;
+
+	/**
+	 * The number of floats in a vertex.
+	 */
+	public static final int VERTEX_SIZE = 3;
+
+	/**
+	 * Allocate a direct float buffer in the native byte order.
+	 *
+	 * @param count The number of floats
+	 * @return A new direct buffer
+	 */
+	public static FloatBuffer allocate( int count ) {
+		if( count < 0 ) throw new IllegalArgumentException( "Count must not be negative: " + count );
+		return ByteBuffer.allocateDirect( count * Float.BYTES ).order( ByteOrder.nativeOrder() ).asFloatBuffer();
+	}
+
+	/**
+	 * Get a buffer for a number of floats, reusing a buffer when it is large
+	 * enough. The returned buffer is cleared and its limit set to the count.
+	 *
+	 * @param buffer The buffer to reuse, may be null
+	 * @param count The number of floats
+	 * @return The reused buffer or a new direct buffer
+	 */
+	public static FloatBuffer reserve( FloatBuffer buffer, int count ) {
+		if( buffer == null || buffer.capacity() < count ) return allocate( count );
+		buffer.clear().limit( count );
+		return buffer;
+	}
+
+	/**
+	 * Export a transform as a column-major float matrix.
+	 *
+	 * @param transform The transform
+	 * @param buffer The buffer to reuse, may be null
+	 * @return The buffer, flipped and ready to read
+	 */
+	public static FloatBuffer matrix( Transform transform, FloatBuffer buffer ) {
+		return transform.getMatrix( reserve( buffer, MATRIX_SIZE ) ).flip();
+	}
+
+	/**
+	 * Export points as packed float vertices.
+	 *
+	 * @param points The points
+	 * @param buffer The buffer to reuse, may be null
+	 * @return The buffer, flipped and ready to read
+	 */
+	public static FloatBuffer vertices( double[][] points, FloatBuffer buffer ) {
+		return put( points, reserve( buffer, points.length * VERTEX_SIZE ) ).flip();
+	}
+
+	/**
+	 * Export points packed in an array, three values per point, as packed
+	 * float vertices.
+	 *
+	 * @param points The packed points
+	 * @param offset The index of the first point value
+	 * @param count The number of points
+	 * @param buffer The buffer to reuse, may be null
+	 * @return The buffer, flipped and ready to read
+	 * @see TransformStack#apply(double[], int, double[], int, int)
+	 */
+	public static FloatBuffer vertices( double[] points, int offset, int count, FloatBuffer buffer ) {
+		return put( points, offset, count * VERTEX_SIZE, reserve( buffer, count * VERTEX_SIZE ) ).flip();
+	}
+
+	/**
+	 * Put points into a buffer as packed float vertices at its position.
+	 *
+	 * @param points The points
+	 * @param buffer The buffer
+	 * @return The buffer
+	 */
+	public static FloatBuffer put( double[][] points, FloatBuffer buffer ) {
+		for( double[] point : points ) {
+			buffer.put( (float)point[ 0 ] );
+			buffer.put( (float)point[ 1 ] );
+			buffer.put( (float)point[ 2 ] );
+		}
+		return buffer;
+	}
+
+	/**
+	 * Put values into a buffer as floats at its position.
+	 *
+	 * @param values The values
+	 * @param offset The index of the first value
+	 * @param count The number of values
+	 * @param buffer The buffer
+	 * @return The buffer
+	 */
+	public static FloatBuffer put( double[] values, int offset, int count, FloatBuffer buffer ) {
+		for( int index = offset; index < offset + count; index++ ) {
+			buffer.put( (float)values[ index ] );
+		}
+		return buffer;
+	}
+
+}
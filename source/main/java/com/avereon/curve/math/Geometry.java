@@ -1,11 +1,11 @@
 package com.avereon.curve.math;
 
-import org.tinyspline.BSpline;
-
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import static com.avereon.curve.math.Constants.FULL_CIRCLE;
 
@@ -14,6 +14,12 @@ import static com.avereon.curve.math.Constants.FULL_CIRCLE;
  */
 public class Geometry {
 
+	/**
+	 * The number of points above which the bounds and length reductions split
+	 * their work when given a fork-join pool.
+	 */
+	public static final int REDUCTION_THRESHOLD = 16384;
+
 	/**
 	 * Get the square of the value. This is mainly a convenience method for readability.
 	 *
@@ -117,12 +123,146 @@ public class Geometry {
 			double[] point = points[ index ];
 			min[ 0 ] = Math.min( min[ 0 ], point[ 0 ] );
 			min[ 1 ] = Math.min( min[ 1 ], point[ 1 ] );
+			min[ 2 ] = Math.min( min[ 2 ], point[ 2 ] );
 			max[ 0 ] = Math.max( max[ 0 ], point[ 0 ] );
 			max[ 1 ] = Math.max( max[ 1 ], point[ 1 ] );
+			max[ 2 ] = Math.max( max[ 2 ], point[ 2 ] );
 		}
 		return new double[][]{ min, max };
 	}
 
+	/**
+	 * Get the total distance between points packed in an array, three values
+	 * per point.
+	 *
+	 * @param coordinates The packed points
+	 * @param offset The index of the first point value
+	 * @param count The number of points
+	 * @return The total distance between all points
+	 */
+	public static double length( double[] coordinates, int offset, int count ) {
+		return length( coordinates, offset, count, null );
+	}
+
+	/**
+	 * Get the total distance between points packed in an array, three values
+	 * per point, splitting the sum across a fork-join pool.
+	 *
+	 * @param coordinates The packed points
+	 * @param offset The index of the first point value
+	 * @param count The number of points
+	 * @param pool The pool to use, null to compute in the calling thread
+	 * @return The total distance between all points
+	 * @see #REDUCTION_THRESHOLD
+	 */
+	public static double length( double[] coordinates, int offset, int count, ForkJoinPool pool ) {
+		return length( DoubleBuffer.wrap( coordinates, offset, 3 * count ).slice(), count, pool );
+	}
+
+	/**
+	 * Get the total distance between the points in a coordinate buffer.
+	 *
+	 * @param points The points
+	 * @return The total distance between all points
+	 */
+	public static double length( CoordinateBuffer points ) {
+		return length( points, null );
+	}
+
+	/**
+	 * Get the total distance between the points in a coordinate buffer,
+	 * splitting the sum across a fork-join pool.
+	 *
+	 * @param points The points
+	 * @param pool The pool to use, null to compute in the calling thread
+	 * @return The total distance between all points
+	 * @see #REDUCTION_THRESHOLD
+	 */
+	public static double length( CoordinateBuffer points, ForkJoinPool pool ) {
+		int size = points.size();
+		if( size == 0 ) return Double.NaN;
+
+		int chunkSize = points.getChunkSize();
+		double length = 0;
+		for( int chunk = 0; chunk < points.getChunkCount(); chunk++ ) {
+			int start = chunk * chunkSize;
+			length += length( points.getChunk( chunk ), Math.min( chunkSize, size - start ), pool );
+
+			// The segment joining the previous chunk
+			if( start > 0 ) {
+				length += Vector.magnitude( points.getX( start ) - points.getX( start - 1 ), points.getY( start ) - points.getY( start - 1 ), points.getZ( start ) - points.getZ( start - 1 ) );
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * Determine the bounds of points packed in an array, three values per
+	 * point.
+	 *
+	 * @param coordinates The packed points
+	 * @param offset The index of the first point value
+	 * @param count The number of points
+	 * @return The bounds of the points
+	 */
+	public static double[][] bounds( double[] coordinates, int offset, int count ) {
+		return bounds( coordinates, offset, count, null );
+	}
+
+	/**
+	 * Determine the bounds of points packed in an array, three values per
+	 * point, splitting the search across a fork-join pool.
+	 *
+	 * @param coordinates The packed points
+	 * @param offset The index of the first point value
+	 * @param count The number of points
+	 * @param pool The pool to use, null to compute in the calling thread
+	 * @return The bounds of the points
+	 * @see #REDUCTION_THRESHOLD
+	 */
+	public static double[][] bounds( double[] coordinates, int offset, int count, ForkJoinPool pool ) {
+		return bounds( DoubleBuffer.wrap( coordinates, offset, 3 * count ).slice(), count, pool );
+	}
+
+	/**
+	 * Determine the bounds of the points in a coordinate buffer.
+	 *
+	 * @param points The points
+	 * @return The bounds of the points
+	 */
+	public static double[][] bounds( CoordinateBuffer points ) {
+		return bounds( points, null );
+	}
+
+	/**
+	 * Determine the bounds of the points in a coordinate buffer, splitting the
+	 * search across a fork-join pool.
+	 *
+	 * @param points The points
+	 * @param pool The pool to use, null to compute in the calling thread
+	 * @return The bounds of the points
+	 * @see #REDUCTION_THRESHOLD
+	 */
+	public static double[][] bounds( CoordinateBuffer points, ForkJoinPool pool ) {
+		int size = points.size();
+		if( size == 0 ) return new double[][]{ Point.ZERO, Point.ZERO };
+
+		int chunkSize = points.getChunkSize();
+		double[] bounds = null;
+		for( int chunk = 0; chunk < points.getChunkCount(); chunk++ ) {
+			double[] chunkBounds = reduceBounds( points.getChunk( chunk ), Math.min( chunkSize, size - chunk * chunkSize ), pool );
+			if( bounds == null ) {
+				bounds = chunkBounds;
+			} else {
+				for( int index = 0; index < 3; index++ ) {
+					bounds[ index ] = Math.min( bounds[ index ], chunkBounds[ index ] );
+					bounds[ index + 3 ] = Math.max( bounds[ index + 3 ], chunkBounds[ index + 3 ] );
+				}
+			}
+		}
+		return new double[][]{ { bounds[ 0 ], bounds[ 1 ], bounds[ 2 ] }, { bounds[ 3 ], bounds[ 4 ], bounds[ 5 ] } };
+	}
+
 	/**
 	 * Get the angle between the x-axis and the point with the vertex at the origin.
 	 *
@@ -1013,44 +1153,15 @@ public class Geometry {
 
 	/**
 	 * Convert a list of points into a natural cubic spline curve as a list of
-	 * cubic Bézier curve segments.
+	 * cubic Bézier curve segments. See {@link CubicSpline#natural(double[][])}.
+	 * Use {@link SplineInterpolator#tinyspline()} for the tinyspline
+	 * implementation.
 	 *
 	 * @param points The list of 2D points to interpolate
 	 * @return The list of cubic curve segments
 	 */
 	public static double[][][] interpolateCubicNatural( double[][] points ) {
-		List<Double> valueList = new ArrayList<>( points.length * 3 );
-		for( double[] point : points ) {
-			valueList.add( point[ 0 ] );
-			valueList.add( point[ 1 ] );
-			valueList.add( point[ 2 ] );
-		}
-
-		// Use tinyspline to interpolate the curves
-		BSpline spline = BSpline.interpolateCubicNatural( valueList, 3 );
-
-		List<Double> controlPoints = spline.getControlPoints();
-		int size = (int)(spline.getOrder() * spline.getDimension());
-		int surfaceCount = controlPoints.size() / size;
-
-		double[][][] curves = new double[ surfaceCount ][ 4 ][ 3 ];
-		for( int index = 0; index < surfaceCount; index++ ) {
-			int offset = index * size;
-			curves[ index ][ 0 ][ 0 ] = controlPoints.get( offset );
-			curves[ index ][ 0 ][ 1 ] = controlPoints.get( offset + 1 );
-			curves[ index ][ 0 ][ 2 ] = controlPoints.get( offset + 2 );
-			curves[ index ][ 1 ][ 0 ] = controlPoints.get( offset + 3 );
-			curves[ index ][ 1 ][ 1 ] = controlPoints.get( offset + 4 );
-			curves[ index ][ 1 ][ 2 ] = controlPoints.get( offset + 5 );
-			curves[ index ][ 2 ][ 0 ] = controlPoints.get( offset + 6 );
-			curves[ index ][ 2 ][ 1 ] = controlPoints.get( offset + 7 );
-			curves[ index ][ 2 ][ 2 ] = controlPoints.get( offset + 8 );
-			curves[ index ][ 3 ][ 0 ] = controlPoints.get( offset + 9 );
-			curves[ index ][ 3 ][ 1 ] = controlPoints.get( offset + 10 );
-			curves[ index ][ 3 ][ 2 ] = controlPoints.get( offset + 11 );
-		}
-
-		return curves;
+		return CubicSpline.natural( points );
 	}
 
 	public static double[][] cubicBounds( double[] a, double[] b, double[] c, double[] d ) {
@@ -1229,7 +1340,8 @@ public class Geometry {
 	}
 
 	/**
-	 * Use the x and y coordinates to determine if the three points are in counter-clockwise, straight, or clockwise order.
+	 * Use the x and y coordinates to determine if the three points are in counter-clockwise, straight, or clockwise order. The answer is exact, see
+	 * {@link Predicates#orient2d(double[], double[], double[])}.
 	 *
 	 * @param a First point
 	 * @param b Second point
@@ -1237,9 +1349,8 @@ public class Geometry {
 	 * @return One if CCW, zero if straight, and minus one if CW.
 	 */
 	public static double getSpin( double[] a, double[] b, double[] c ) {
-		double[] ab = Vector.minus( a, b );
-		double[] cb = Vector.minus( c, b );
-		return Math.signum( Vector.cross( cb, ab )[ 2 ] );
+		double orientation = Predicates.orient2d( a, b, c );
+		return orientation > 0 ? 1.0 : orientation < 0 ? -1.0 : 0.0;
 	}
 
 	/**
@@ -1324,4 +1435,130 @@ public class Geometry {
 		return polarToCartesian( Point.of( point[ 0 ], Math.toRadians( point[ 1 ] ), point[ 2 ] ) );
 	}
 
+	private static double length( DoubleBuffer coordinates, int count, ForkJoinPool pool ) {
+		if( count == 0 ) return Double.NaN;
+		LengthTask task = new LengthTask( coordinates, 1, count, pool != null );
+		return pool == null ? task.compute() : pool.invoke( task );
+	}
+
+	private static double[][] bounds( DoubleBuffer coordinates, int count, ForkJoinPool pool ) {
+		if( count == 0 ) return new double[][]{ Point.ZERO, Point.ZERO };
+		double[] bounds = reduceBounds( coordinates, count, pool );
+		return new double[][]{ { bounds[ 0 ], bounds[ 1 ], bounds[ 2 ] }, { bounds[ 3 ], bounds[ 4 ], bounds[ 5 ] } };
+	}
+
+	/**
+	 * Find the bounds of at least one point as min x, y, z and max x, y, z.
+	 */
+	private static double[] reduceBounds( DoubleBuffer coordinates, int count, ForkJoinPool pool ) {
+		BoundsTask task = new BoundsTask( coordinates, 0, count, pool != null );
+		return pool == null ? task.compute() : pool.invoke( task );
+	}
+
+	/**
+	 * Sums the lengths of the segments from point index - 1 to point index for
+	 * the indexes from start to end.
+	 */
+	private static class LengthTask extends RecursiveTask<Double> {
+
+		private final DoubleBuffer coordinates;
+
+		private final int start;
+
+		private final int end;
+
+		private final boolean parallel;
+
+		private LengthTask( DoubleBuffer coordinates, int start, int end, boolean parallel ) {
+			this.coordinates = coordinates;
+			this.start = start;
+			this.end = end;
+			this.parallel = parallel;
+		}
+
+		@Override
+		protected Double compute() {
+			if( parallel && end - start > REDUCTION_THRESHOLD ) {
+				int middle = (start + end) >>> 1;
+				LengthTask left = new LengthTask( coordinates, start, middle, true );
+				LengthTask right = new LengthTask( coordinates, middle, end, true );
+				left.fork();
+				double length = right.compute();
+				return left.join() + length;
+			}
+
+			DoubleBuffer c = coordinates;
+			double length = 0;
+			for( int index = 3 * start; index < 3 * end; index += 3 ) {
+				double dx = c.get( index ) - c.get( index - 3 );
+				double dy = c.get( index + 1 ) - c.get( index - 2 );
+				double dz = c.get( index + 2 ) - c.get( index - 1 );
+				length += Math.sqrt( dx * dx + dy * dy + dz * dz );
+			}
+			return length;
+		}
+
+	}
+
+	/**
+	 * Finds the minimum and maximum coordinates of the points from start to
+	 * end, as min x, y, z and max x, y, z.
+	 */
+	private static class BoundsTask extends RecursiveTask<double[]> {
+
+		private final DoubleBuffer coordinates;
+
+		private final int start;
+
+		private final int end;
+
+		private final boolean parallel;
+
+		private BoundsTask( DoubleBuffer coordinates, int start, int end, boolean parallel ) {
+			this.coordinates = coordinates;
+			this.start = start;
+			this.end = end;
+			this.parallel = parallel;
+		}
+
+		@Override
+		protected double[] compute() {
+			if( parallel && end - start > REDUCTION_THRESHOLD ) {
+				int middle = (start + end) >>> 1;
+				BoundsTask left = new BoundsTask( coordinates, start, middle, true );
+				BoundsTask right = new BoundsTask( coordinates, middle, end, true );
+				left.fork();
+				double[] bounds = right.compute();
+				double[] leftBounds = left.join();
+				for( int index = 0; index < 3; index++ ) {
+					bounds[ index ] = Math.min( bounds[ index ], leftBounds[ index ] );
+					bounds[ index + 3 ] = Math.max( bounds[ index + 3 ], leftBounds[ index + 3 ] );
+				}
+				return bounds;
+			}
+
+			DoubleBuffer c = coordinates;
+			int first = 3 * start;
+			double minX = c.get( first );
+			double minY = c.get( first + 1 );
+			double minZ = c.get( first + 2 );
+			double maxX = minX;
+			double maxY = minY;
+			double maxZ = minZ;
+			for( int index = first + 3; index < 3 * end; index += 3 ) {
+				double x = c.get( index );
+				double y = c.get( index + 1 );
+				double z = c.get( index + 2 );
+				minX = Math.min( minX, x );
+				minY = Math.min( minY, y );
+				minZ = Math.min( minZ, z );
+				maxX = Math.max( maxX, x );
+				maxY = Math.max( maxY, y );
+				maxZ = Math.max( maxZ, z );
+			}
+			return new double[]{ minX, minY, minZ, maxX, maxY, maxZ };
+		}
+
+	}
+
 }
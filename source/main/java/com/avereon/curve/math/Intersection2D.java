@@ -1,9 +1,6 @@
 package com.avereon.curve.math;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
-import java.util.stream.IntStream;
 
 /**
  * A reference on 2D intersections: http://www.kevlindev.com/geometry/2D/intersections/index.htm
@@ -46,12 +43,31 @@ public class Intersection2D extends Intersection {
 	 * @return The intersection
 	 */
 	public static Intersection2D intersectLineLine( double[] a1, double[] a2, double[] b1, double[] b2 ) {
+		return intersectLineLine( a1, a2, b1, b2, new IntersectionResult() ).toIntersection2D();
+	}
+
+	/**
+	 * Find the intersection of two infinitely long lines and store it in the
+	 * result. See {@link #intersectLineLine(double[], double[], double[], double[])}.
+	 *
+	 * @param a1 Line A point 1
+	 * @param a2 Line A point 2
+	 * @param b1 Line B point 1
+	 * @param b2 Line B point 2
+	 * @param result The result in which to store the intersection
+	 * @return The result
+	 */
+	public static IntersectionResult intersectLineLine( double[] a1, double[] a2, double[] b1, double[] b2, IntersectionResult result ) {
+		result.reset();
+
 		double c = (b2[ 0 ] - b1[ 0 ]) * (a1[ 1 ] - b1[ 1 ]) - (b2[ 1 ] - b1[ 1 ]) * (a1[ 0 ] - b1[ 0 ]);
-		if( near( c ) ) return new Intersection2D( Type.SAME );
+		if( near( c ) ) return result.set( Type.SAME );
 
 		double d = (b2[ 1 ] - b1[ 1 ]) * (a2[ 0 ] - a1[ 0 ]) - (b2[ 0 ] - b1[ 0 ]) * (a2[ 1 ] - a1[ 1 ]);
+		double e = (a2[ 0 ] - a1[ 0 ]) * (a1[ 1 ] - b1[ 1 ]) - (a2[ 1 ] - a1[ 1 ]) * (a1[ 0 ] - b1[ 0 ]);
 		double scale = c / d;
-		return new Intersection2D( Type.INTERSECTION, Vector.of( a1[ 0 ] + scale * (a2[ 0 ] - a1[ 0 ]), a1[ 1 ] + scale * (a2[ 1 ] - a1[ 1 ]) ) );
+		result.add( a1[ 0 ] + scale * (a2[ 0 ] - a1[ 0 ]), a1[ 1 ] + scale * (a2[ 1 ] - a1[ 1 ]), scale, e / d );
+		return result.set( Type.INTERSECTION );
 	}
 
 	/**
@@ -71,39 +87,49 @@ public class Intersection2D extends Intersection {
 	 * @return The intersection
 	 */
 	public static Intersection2D intersectSegmentSegment( double[] a1, double[] a2, double[] b1, double[] b2 ) {
+		return intersectSegmentSegment( a1, a2, b1, b2, new IntersectionResult() ).toIntersection2D();
+	}
+
+	/**
+	 * Find the intersection of two line segments and store it in the result.
+	 * See {@link #intersectSegmentSegment(double[], double[], double[], double[])}.
+	 *
+	 * @param a1 Line A point 1
+	 * @param a2 Line A point 2
+	 * @param b1 Line B point 1
+	 * @param b2 Line B point 2
+	 * @param result The result in which to store the intersection
+	 * @return The result
+	 */
+	public static IntersectionResult intersectSegmentSegment( double[] a1, double[] a2, double[] b1, double[] b2, IntersectionResult result ) {
+		result.reset();
+
 		// Same segments
-		if( Arrays.equals( a1, b1 ) && Arrays.equals( a2, b2 ) ) return new Intersection2D( Intersection2D.Type.SAME );
-		if( Arrays.equals( a1, b2 ) && Arrays.equals( a2, b1 ) ) return new Intersection2D( Intersection2D.Type.SAME );
+		if( Arrays.equals( a1, b1 ) && Arrays.equals( a2, b2 ) ) return result.set( Type.SAME );
+		if( Arrays.equals( a1, b2 ) && Arrays.equals( a2, b1 ) ) return result.set( Type.SAME );
 
 		// Matching end points
-		if( Arrays.equals( a1, b1 ) ) return new Intersection2D( Intersection2D.Type.INTERSECTION, a1 );
-		if( Arrays.equals( a1, b2 ) ) return new Intersection2D( Intersection2D.Type.INTERSECTION, a1 );
-		if( Arrays.equals( a2, b1 ) ) return new Intersection2D( Intersection2D.Type.INTERSECTION, a2 );
-		if( Arrays.equals( a2, b2 ) ) return new Intersection2D( Intersection2D.Type.INTERSECTION, a2 );
+		if( Arrays.equals( a1, b1 ) ) return endPoint( a1, 0, 0, result );
+		if( Arrays.equals( a1, b2 ) ) return endPoint( a1, 0, 1, result );
+		if( Arrays.equals( a2, b1 ) ) return endPoint( a2, 1, 0, result );
+		if( Arrays.equals( a2, b2 ) ) return endPoint( a2, 1, 1, result );
 
 		double c = (b2[ 0 ] - b1[ 0 ]) * (a1[ 1 ] - b1[ 1 ]) - (b2[ 1 ] - b1[ 1 ]) * (a1[ 0 ] - b1[ 0 ]);
 		double d = (a2[ 0 ] - a1[ 0 ]) * (a1[ 1 ] - b1[ 1 ]) - (a2[ 1 ] - a1[ 1 ]) * (a1[ 0 ] - b1[ 0 ]);
 		double alpha = (b2[ 1 ] - b1[ 1 ]) * (a2[ 0 ] - a1[ 0 ]) - (b2[ 0 ] - b1[ 0 ]) * (a2[ 1 ] - a1[ 1 ]);
 
-		Intersection2D result;
 		if( alpha != 0 ) {
 			double ua = c / alpha;
 			double ub = d / alpha;
 
 			if( 0 <= ua && ua <= 1 && 0 <= ub && ub <= 1 ) {
-				result = new Intersection2D( Type.INTERSECTION, Vector.of( a1[ 0 ] + ua * (a2[ 0 ] - a1[ 0 ]), a1[ 1 ] + ua * (a2[ 1 ] - a1[ 1 ]) ) );
-			} else {
-				result = new Intersection2D( Type.NONE );
-			}
-		} else {
-			if( near( c ) || near( d ) ) {
-				result = new Intersection2D( Type.COINCIDENT );
-			} else {
-				result = new Intersection2D( Type.PARALLEL );
+				result.add( a1[ 0 ] + ua * (a2[ 0 ] - a1[ 0 ]), a1[ 1 ] + ua * (a2[ 1 ] - a1[ 1 ]), ua, ub );
+				return result.set( Type.INTERSECTION );
 			}
+			return result.set( Type.NONE );
 		}
 
-		return result;
+		return result.set( near( c ) || near( d ) ? Type.COINCIDENT : Type.PARALLEL );
 	}
 
 	/**
@@ -122,16 +148,26 @@ public class Intersection2D extends Intersection {
 	 * @return The intersection
 	 */
 	public static Intersection2D intersectLineCircle( double[] a1, double[] a2, double[] o, double radius ) {
-		// Transform the line points relative to the circle origin
-		double[] p1 = Vector.subtract( a1, o );
-		double[] p2 = Vector.subtract( a2, o );
+		return intersectLineCircle( a1, a2, o, radius, new IntersectionResult() ).toIntersection2D();
+	}
 
-		Intersection2D x = intersectLineCircle( p1, p2, radius );
+	/**
+	 * Find the intersection of a line and a circle and store it in the result.
+	 * See {@link #intersectLineCircle(double[], double[], double[], double)}.
+	 *
+	 * @param a1 The first line point
+	 * @param a2 The other line point
+	 * @param o The center of the circle
+	 * @param radius The radius of the circle
+	 * @param result The result in which to store the intersection
+	 * @return The result
+	 */
+	public static IntersectionResult intersectLineCircle( double[] a1, double[] a2, double[] o, double radius, IntersectionResult result ) {
+		// Transform the line points relative to the circle origin
+		lineCircle( a1[ 0 ] - o[ 0 ], a1[ 1 ] - o[ 1 ], a2[ 0 ] - o[ 0 ], a2[ 1 ] - o[ 1 ], radius, result );
 
 		// Transform the intersection points relative to the circle origin
-		double[][] points = Arrays.stream( x.getPoints() ).map( p -> Vector.add( p, o ) ).toArray( double[][]::new );
-
-		return new Intersection2D( x.getType(), points );
+		return rotateAndMove( result, 1, 0, o );
 	}
 
 	/**
@@ -143,34 +179,20 @@ public class Intersection2D extends Intersection {
 	 * @return The intersection
 	 */
 	public static Intersection2D intersectLineCircle( double[] p1, double[] p2, double radius ) {
-		// Determine the separation from the origin of the circle
-		double[] offset = Geometry.vectorToLine( p1, p2, Point.of( 0, 0 ) );
-
-		// If the offset is greater than the radius the line does not intersect
-		if( Vector.magnitude( offset ) > radius ) return new Intersection2D( Type.NONE );
-
-		// If within tolerance the line is tangent to the circle
-		double[] tangent = Vector.scale( Vector.normalize( offset ), radius );
-		if( Geometry.areSamePoint( offset, tangent ) ) return new Intersection2D( Type.INTERSECTION, offset );
-
-		// At this point the line crosses the circle at two points
-		double dx = p2[ 0 ] - p1[ 0 ];
-		double dy = p2[ 1 ] - p1[ 1 ];
-		double dr = Math.sqrt( dx * dx + dy * dy );
-
-		double dr2 = dr * dr;
-		double determinant = p1[ 0 ] * p2[ 1 ] - p2[ 0 ] * p1[ 1 ];
-		double dis2 = radius * radius * dr2 - determinant * determinant;
-		if( dis2 <= 0 ) return new Intersection2D( Type.NONE );
-
-		double discriminant = Math.sqrt( dis2 );
-
-		double x1 = (determinant * dy + Arithmetic.sign( dy ) * dx * discriminant) / dr2;
-		double y1 = (-determinant * dx + Math.abs( dy ) * discriminant) / dr2;
-		double x2 = (determinant * dy - Arithmetic.sign( dy ) * dx * discriminant) / dr2;
-		double y2 = (-determinant * dx - Math.abs( dy ) * discriminant) / dr2;
+		return intersectLineCircle( p1, p2, radius, new IntersectionResult() ).toIntersection2D();
+	}
 
-		return new Intersection2D( Type.INTERSECTION, Point.of( x1, y1 ), Point.of( x2, y2 ) );
+	/**
+	 * This implementation assumes that the circle is at the origin.
+	 *
+	 * @param p1 First line point
+	 * @param p2 Other line point
+	 * @param radius The circle radius
+	 * @param result The result in which to store the intersection
+	 * @return The result
+	 */
+	public static IntersectionResult intersectLineCircle( double[] p1, double[] p2, double radius, IntersectionResult result ) {
+		return lineCircle( p1[ 0 ], p1[ 1 ], p2[ 0 ], p2[ 1 ], radius, result );
 	}
 
 	/**
@@ -191,26 +213,36 @@ public class Intersection2D extends Intersection {
 	 * @return
 	 */
 	public static Intersection2D intersectLineEllipse( double[] a1, double[] a2, double[] o, double rx, double ry, double rotate ) {
-		// Transform the line points relative to the ellipse origin
-		double[] p1 = Vector.subtract( a1, o );
-		double[] p2 = Vector.subtract( a2, o );
-
-		// Take the ellipse rotation out of the line points
-		if( rotate != 0.0 ) p1 = Vector.rotate( p1, -rotate );
-		if( rotate != 0.0 ) p2 = Vector.rotate( p2, -rotate );
+		return intersectLineEllipse( a1, a2, o, rx, ry, rotate, new IntersectionResult() ).toIntersection2D();
+	}
 
-		Intersection2D x = intersectLineEllipse( p1, p2, rx, ry );
+	/**
+	 * Find the intersection of a line and an ellipse and store it in the
+	 * result. See {@link #intersectLineEllipse(double[], double[], double[], double, double, double)}.
+	 *
+	 * @param a1 The first line point
+	 * @param a2 The other line point
+	 * @param o The center of the ellipse
+	 * @param rx The ellipse x radius
+	 * @param ry The ellipse y radius
+	 * @param rotate The ellipse rotation in radians
+	 * @param result The result in which to store the intersection
+	 * @return The result
+	 */
+	public static IntersectionResult intersectLineEllipse( double[] a1, double[] a2, double[] o, double rx, double ry, double rotate, IntersectionResult result ) {
+		double cos = Math.cos( rotate );
+		double sin = Math.sin( rotate );
+
+		// Transform the line points relative to the ellipse origin and take the
+		// ellipse rotation out of the line points
+		double x1 = a1[ 0 ] - o[ 0 ];
+		double y1 = a1[ 1 ] - o[ 1 ];
+		double x2 = a2[ 0 ] - o[ 0 ];
+		double y2 = a2[ 1 ] - o[ 1 ];
+		lineEllipse( x1 * cos + y1 * sin, y1 * cos - x1 * sin, x2 * cos + y2 * sin, y2 * cos - x2 * sin, rx, ry, result );
 
 		// Transform the intersection points relative to the ellipse origin and rotation
-		double[][] points = Arrays.stream( x.getPoints() ).map( p -> {
-			if( rotate != 0.0 ) {
-				return Vector.add( Vector.rotate( p, rotate ), o );
-			} else {
-				return Vector.add( p, o );
-			}
-		} ).toArray( double[][]::new );
-
-		return new Intersection2D( x.getType(), points );
+		return rotateAndMove( result, cos, sin, o );
 	}
 
 	/**
@@ -223,33 +255,52 @@ public class Intersection2D extends Intersection {
 	 * @return The intersection
 	 */
 	static Intersection2D intersectLineEllipse( double[] p1, double[] p2, double rx, double ry ) {
-		Transform targetToLocal = Transform.scale( 1, rx / ry, 0 );
-		Transform localToTarget = Transform.scale( 1, ry / rx, 0 );
-
-		// Transform the line points according to the eccentricity of the ellipse
-		double[] p3 = targetToLocal.apply( p1 );
-		double[] p4 = targetToLocal.apply( p2 );
-
-		Intersection2D intersection = intersectLineCircle( p3, p4, rx );
-		double[][] points = intersection.getPoints();
-		for( int index = 0; index < points.length; index++ ) {
-			points[ index ] = localToTarget.apply( points[ index ] );
-		}
-
-		return new Intersection2D( intersection.getType(), points );
+		return lineEllipse( p1[ 0 ], p1[ 1 ], p2[ 0 ], p2[ 1 ], rx, ry, new IntersectionResult() ).toIntersection2D();
 	}
 
 	public static Intersection2D intersectLineBezier3( double[] l1, double[] l2, double[] a, double[] b, double[] c, double[] d ) {
-		double[] roots = Geometry.curveLineRoots( a, b, c, d, l1, l2 );
+		return intersectLineBezier3( l1, l2, a, b, c, d, new IntersectionResult() ).toIntersection2D();
+	}
 
-		List<double[]> intersections = new ArrayList<>( 3 );
-		for( double t : roots ) {
+	/**
+	 * Find the intersection of a line and a cubic Bézier curve and store it in
+	 * the result.
+	 *
+	 * @param l1 The first line point
+	 * @param l2 The other line point
+	 * @param a The curve point a
+	 * @param b The curve point b
+	 * @param c The curve point c
+	 * @param d The curve point d
+	 * @param result The result in which to store the intersection
+	 * @return The result
+	 */
+	public static IntersectionResult intersectLineBezier3( double[] l1, double[] l2, double[] a, double[] b, double[] c, double[] d, IntersectionResult result ) {
+		result.reset();
+
+		//la=y2-y1
+		double la = l2[ 1 ] - l1[ 1 ];
+		//lb=x1-x2
+		double lb = l1[ 0 ] - l2[ 0 ];
+		//lc=x1*(y1-y2)+y1*(x2-x1)
+		double lc = l1[ 0 ] * (l1[ 1 ] - l2[ 1 ]) + l1[ 1 ] * (l2[ 0 ] - l1[ 0 ]);
+
+		double c3 = la * cubicCoefficient3( a[ 0 ], b[ 0 ], c[ 0 ], d[ 0 ] ) + lb * cubicCoefficient3( a[ 1 ], b[ 1 ], c[ 1 ], d[ 1 ] );
+		double c2 = la * cubicCoefficient2( a[ 0 ], b[ 0 ], c[ 0 ] ) + lb * cubicCoefficient2( a[ 1 ], b[ 1 ], c[ 1 ] );
+		double c1 = la * cubicCoefficient1( a[ 0 ], b[ 0 ] ) + lb * cubicCoefficient1( a[ 1 ], b[ 1 ] );
+		double c0 = la * a[ 0 ] + lb * a[ 1 ] + lc;
+
+		double[] roots = result.roots();
+		int count = Polynomial.getRoots( c3, c2, c1, c0, roots );
+		for( int index = 0; index < count; index++ ) {
+			double t = roots[ index ];
 			if( t < 0.0 || t > 1.0 ) continue;
-			intersections.add( Geometry.curvePoint( a, b, c, d, t ) );
+			double x = curveValue( a[ 0 ], b[ 0 ], c[ 0 ], d[ 0 ], t );
+			double y = curveValue( a[ 1 ], b[ 1 ], c[ 1 ], d[ 1 ], t );
+			result.add( x, y, lineParameter( l1[ 0 ], l1[ 1 ], l2[ 0 ], l2[ 1 ], x, y ), t );
 		}
-		double[][] result = intersections.toArray( new double[ 0 ][ 0 ] );
 
-		return new Intersection2D( (result.length == 0 ? Type.NONE : Type.INTERSECTION), result );
+		return result.set( result.isEmpty() ? Type.NONE : Type.INTERSECTION );
 	}
 
 	/**
@@ -273,92 +324,156 @@ public class Intersection2D extends Intersection {
 	 * @return The intersection
 	 */
 	public static Intersection2D intersectEllipseEllipse( double[] oc1, double rx1, double ry1, double[] oc2, double rx2, double ry2 ) {
-		if( Arrays.equals( oc1, oc2 ) && rx1 == rx2 && ry1 == ry2 ) return new Intersection2D( Type.SAME );
-
-		double[] c1 = Vector.of( 0, 0 );
-		double[] c2 = Vector.of( oc2[ 0 ] - oc1[ 0 ], oc2[ 1 ] - oc1[ 1 ] );
-
-		// Each array has six values
-		double[] a = Geometry.ellipseCoefficients( c1, rx1, ry1 );
-		double[] b = Geometry.ellipseCoefficients( c2, rx2, ry2 );
-
-		Polynomial yPoly = bezout( a, b );
-		double[] yRoots = yPoly.getRoots();
-
-		double norm0 = 1e-3 * (a[ 0 ] * a[ 0 ] + 2 * a[ 1 ] * a[ 1 ] + a[ 2 ] * a[ 2 ]);
-		double norm1 = 1e-3 * (b[ 0 ] * b[ 0 ] + 2 * b[ 1 ] * b[ 1 ] + b[ 2 ] * b[ 2 ]);
-
-		List<double[]> intersections = new ArrayList<>();
+		return intersectEllipseEllipse( oc1, rx1, ry1, oc2, rx2, ry2, new IntersectionResult() ).toIntersection2D();
+	}
 
-		for( double yRoot : yRoots ) {
-			Polynomial xPoly = new Polynomial( a[ 0 ], a[ 3 ] + yRoot * a[ 1 ], a[ 5 ] + yRoot * (a[ 4 ] + yRoot * a[ 2 ]) );
-			double[] xRoots = xPoly.getRoots();
-			for( double xRoot : xRoots ) {
-				double test0 = (a[ 0 ] * xRoot + a[ 1 ] * yRoot + a[ 3 ]) * xRoot + (a[ 2 ] * yRoot + a[ 4 ]) * yRoot + a[ 5 ];
-				if( Math.abs( test0 ) < norm0 ) {
-					double test1 = (b[ 0 ] * xRoot + b[ 1 ] * yRoot + b[ 3 ]) * xRoot + (b[ 2 ] * yRoot + b[ 4 ]) * yRoot + b[ 5 ];
-					if( Math.abs( test1 ) < norm1 ) intersections.add( Vector.of( xRoot + oc1[ 0 ], yRoot + oc1[ 1 ] ) );
-				}
-			}
-		}
+	/**
+	 * Find the intersection of two ellipses and store it in the result. See
+	 * {@link #intersectEllipseEllipse(double[], double, double, double[], double, double)}.
+	 *
+	 * @param oc1 Ellipse 1 center
+	 * @param rx1 Ellipse 1 X radius
+	 * @param ry1 Ellipse 1 Y radius
+	 * @param oc2 Ellipse 2 center
+	 * @param rx2 Ellipse 2 X radius
+	 * @param ry2 Ellipse 2 Y radius
+	 * @param result The result in which to store the intersection
+	 * @return The result
+	 */
+	public static IntersectionResult intersectEllipseEllipse( double[] oc1, double rx1, double ry1, double[] oc2, double rx2, double ry2, IntersectionResult result ) {
+		result.reset();
+		if( Arrays.equals( oc1, oc2 ) && rx1 == rx2 && ry1 == ry2 ) return result.set( Type.SAME );
 
-		return intersections.size() == 0 ? new Intersection2D( Type.NONE ) : new Intersection2D( Type.INTERSECTION, intersections.toArray( new double[ intersections.size() ][] ) );
+		ellipseEllipse( rx1, ry1, oc2[ 0 ] - oc1[ 0 ], oc2[ 1 ] - oc1[ 1 ], rx2, ry2, result );
+		return rotateAndMove( result, 1, 0, oc1 );
 	}
 
 	public static Intersection2D intersectEllipseEllipse( double[] oc1, double rx1, double ry1, double r1, double[] oc2, double rx2, double ry2, double r2 ) {
-		if( near( oc1, oc2 ) && near( rx1, rx2 ) && near( ry1, ry2 ) && nearAngle( r1, r2 ) ) return new Intersection2D( Type.SAME );
+		return intersectEllipseEllipse( oc1, rx1, ry1, r1, oc2, rx2, ry2, r2, new IntersectionResult() ).toIntersection2D();
+	}
+
+	/**
+	 * Find the intersection of two rotated ellipses and store it in the result.
+	 *
+	 * @param oc1 Ellipse 1 center
+	 * @param rx1 Ellipse 1 X radius
+	 * @param ry1 Ellipse 1 Y radius
+	 * @param r1 Ellipse 1 rotation in radians
+	 * @param oc2 Ellipse 2 center
+	 * @param rx2 Ellipse 2 X radius
+	 * @param ry2 Ellipse 2 Y radius
+	 * @param r2 Ellipse 2 rotation in radians
+	 * @param result The result in which to store the intersection
+	 * @return The result
+	 */
+	public static IntersectionResult intersectEllipseEllipse( double[] oc1, double rx1, double ry1, double r1, double[] oc2, double rx2, double ry2, double r2, IntersectionResult result ) {
+		result.reset();
+		if( near( oc1, oc2 ) && near( rx1, rx2 ) && near( ry1, ry2 ) && nearAngle( r1, r2 ) ) return result.set( Type.SAME );
+		double rotate2 = r2;
+		double radius2 = ry2;
 
 		// Move everything so that the center of ellipse 1 is at the origin
-		oc2 = Vector.subtract( oc2, oc1 );
+		double x = oc2[ 0 ] - oc1[ 0 ];
+		double y = oc2[ 1 ] - oc1[ 1 ];
 
 		// Rotate everything so that the axes of ellipse 1 are parallel with the X and Y axes
-		oc2 = Vector.rotate( oc2, -r1 );
+		double cos1 = Math.cos( r1 );
+		double sin1 = Math.sin( r1 );
+		double x1 = x * cos1 + y * sin1;
+		double y1 = y * cos1 - x * sin1;
 		r2 = r2 - r1;
 
 		// Scale everything so that ellipse 1 is a circle
 		double e = rx1 / ry1;
-		oc2 = Vector.scale( oc2, 1, e );
+		y1 = y1 * e;
 		ry2 = e * ry2;
-		r2 = Geometry.cartesianToPolar( Vector.scale( Geometry.polarToCartesian( Vector.of( 1, r2 ) ), 1, e ) )[ 1 ];
+		r2 = Math.atan2( Math.sin( r2 ) * e, Math.cos( r2 ) );
 
 		// Rotate everything so that the axes of ellipse 2 are parallel with the X and Y axes
-		oc2 = Vector.rotate( oc2, -r2 );
+		double cos2 = Math.cos( r2 );
+		double sin2 = Math.sin( r2 );
+		double x2 = x1 * cos2 + y1 * sin2;
+		double y2 = y1 * cos2 - x1 * sin2;
 
-		// Call intersectEllipseEllipse() without rotations
-		Intersection2D xn = intersectEllipseEllipse( Point.of( 0, 0, 0 ), rx1, rx1, oc2, rx2, ry2 );
+		// Intersect the ellipses without rotations, ellipses that are the same have no points
+		if( x2 == 0 && y2 == 0 && rx1 == rx2 && rx1 == ry2 ) return result.set( Type.NONE );
+		ellipseEllipse( rx1, rx1, x2, y2, rx2, ry2, result );
 
 		// For any intersection points, undo rotate, scale, rotate and move
-		double[][] intersections = xn.getPoints();
-		for( int index = 0; index < intersections.length; index++ ) {
-			intersections[ index ] = Vector.add( Vector.rotate( Vector.scale( Vector.rotate( intersections[ index ], r2 ), 1, 1 / e ), r1 ), oc1 );
+		double inverse = 1 / e;
+		for( int index = 0; index < result.size(); index++ ) {
+			double px = result.getX( index );
+			double py = result.getY( index );
+			double qx = px * cos2 - py * sin2;
+			double qy = (px * sin2 + py * cos2) * inverse;
+			result.setPoint( index, qx, qy );
 		}
-
-		return intersections.length == 0 ? new Intersection2D( Type.NONE ) : new Intersection2D( Type.INTERSECTION, intersections );
+		rotateAndMove( result, cos1, sin1, oc1 );
+
+		// The parametric values are only known for the transformed ellipses so
+		// compute the ellipse angles from the intersection points
+		double cos2r = Math.cos( rotate2 );
+		double sin2r = Math.sin( rotate2 );
+		for( int index = 0; index < result.size(); index++ ) {
+			double px = result.getX( index );
+			double py = result.getY( index );
+			result.setParameters( index, ellipseAngle( oc1, rx1, ry1, cos1, sin1, px, py ), ellipseAngle( oc2, rx2, radius2, cos2r, sin2r, px, py ) );
+		}
+		return result;
 	}
 
 	public static Intersection2D intersectEllipseBezier3( double[] ec, double rx, double ry, double er, double[] a, double[] b, double[] c, double[] d ) {
+		return intersectEllipseBezier3( ec, rx, ry, er, a, b, c, d, new IntersectionResult() ).toIntersection2D();
+	}
+
+	/**
+	 * Find the intersection of a rotated ellipse and a cubic Bézier curve and
+	 * store it in the result.
+	 *
+	 * @param ec The ellipse center
+	 * @param rx The ellipse x radius
+	 * @param ry The ellipse y radius
+	 * @param er The ellipse rotation in radians
+	 * @param a The curve point a
+	 * @param b The curve point b
+	 * @param c The curve point c
+	 * @param d The curve point d
+	 * @param result The result in which to store the intersection
+	 * @return The result
+	 */
+	public static IntersectionResult intersectEllipseBezier3( double[] ec, double rx, double ry, double er, double[] a, double[] b, double[] c, double[] d, IntersectionResult result ) {
+		double cos = Math.cos( er );
+		double sin = Math.sin( er );
+
 		// Move everything so that the center of the ellipse is at the origin
-		a = Vector.subtract( a, ec );
-		b = Vector.subtract( b, ec );
-		c = Vector.subtract( c, ec );
-		d = Vector.subtract( d, ec );
+		double ax = a[ 0 ] - ec[ 0 ];
+		double ay = a[ 1 ] - ec[ 1 ];
+		double bx = b[ 0 ] - ec[ 0 ];
+		double by = b[ 1 ] - ec[ 1 ];
+		double cx = c[ 0 ] - ec[ 0 ];
+		double cy = c[ 1 ] - ec[ 1 ];
+		double dx = d[ 0 ] - ec[ 0 ];
+		double dy = d[ 1 ] - ec[ 1 ];
 
 		// Rotate everything so that the axes of the ellipse are parallel with the X and Y axes
-		a = Vector.rotate( a, -er );
-		b = Vector.rotate( b, -er );
-		c = Vector.rotate( c, -er );
-		d = Vector.rotate( d, -er );
-
-		// Find the intersections
-		Intersection2D xn = intersectEllipseBezier3( Point.of( 0, 0, 0 ), rx, ry, a, b, c, d );
+		ellipseBezier3(
+			0,
+			0,
+			rx,
+			ry,
+			ax * cos + ay * sin,
+			ay * cos - ax * sin,
+			bx * cos + by * sin,
+			by * cos - bx * sin,
+			cx * cos + cy * sin,
+			cy * cos - cx * sin,
+			dx * cos + dy * sin,
+			dy * cos - dx * sin,
+			result
+		);
 
 		// For any intersection points, undo rotate and move
-		double[][] intersections = xn.getPoints();
-		for( int index = 0; index < intersections.length; index++ ) {
-			intersections[ index ] = Vector.add( Vector.rotate( intersections[ index ], er ), ec );
-		}
-
-		return intersections.length == 0 ? new Intersection2D( Type.NONE ) : new Intersection2D( Type.INTERSECTION, intersections );
+		return rotateAndMove( result, cos, sin, ec );
 	}
 
 	/**
@@ -375,47 +490,65 @@ public class Intersection2D extends Intersection {
 	 * @return The intersection
 	 */
 	public static Intersection2D intersectEllipseBezier3( double[] ec, double rx, double ry, double[] a, double[] b, double[] c, double[] d ) {
-		double[][] coefficients = Geometry.cubicCoefficients( a, b, c, d );
-		double[] c3 = coefficients[ 0 ];
-		double[] c2 = coefficients[ 1 ];
-		double[] c1 = coefficients[ 2 ];
-		double[] c0 = coefficients[ 3 ];
-
-		double rxrx = rx * rx;
-		double ryry = ry * ry;
-		Polynomial poly = new Polynomial(
-			c3[ 0 ] * c3[ 0 ] * ryry + c3[ 1 ] * c3[ 1 ] * rxrx,
-			2 * (c3[ 0 ] * c2[ 0 ] * ryry + c3[ 1 ] * c2[ 1 ] * rxrx),
-			2 * (c3[ 0 ] * c1[ 0 ] * ryry + c3[ 1 ] * c1[ 1 ] * rxrx) + c2[ 0 ] * c2[ 0 ] * ryry + c2[ 1 ] * c2[ 1 ] * rxrx,
-			2 * c3[ 0 ] * ryry * (c0[ 0 ] - ec[ 0 ]) + 2 * c3[ 1 ] * rxrx * (c0[ 1 ] - ec[ 1 ]) + 2 * (c2[ 0 ] * c1[ 0 ] * ryry + c2[ 1 ] * c1[ 1 ] * rxrx),
-			2 * c2[ 0 ] * ryry * (c0[ 0 ] - ec[ 0 ]) + 2 * c2[ 1 ] * rxrx * (c0[ 1 ] - ec[ 1 ]) + c1[ 0 ] * c1[ 0 ] * ryry + c1[ 1 ] * c1[ 1 ] * rxrx,
-			2 * c1[ 0 ] * ryry * (c0[ 0 ] - ec[ 0 ]) + 2 * c1[ 1 ] * rxrx * (c0[ 1 ] - ec[ 1 ]),
-			c0[ 0 ] * c0[ 0 ] * ryry - 2 * c0[ 1 ] * ec[ 1 ] * rxrx - 2 * c0[ 0 ] * ec[ 0 ] * ryry + c0[ 1 ] * c0[ 1 ] * rxrx + ec[ 0 ] * ec[ 0 ] * ryry + ec[ 1 ] * ec[ 1 ] * rxrx - rxrx * ryry
-		);
-		var roots = poly.getRootsInInterval( 0, 1 );
-
-		double[][] intersections = new double[ roots.length ][];
-		IntStream.range( 0, roots.length ).forEach( i -> intersections[ i ] = Geometry.curvePoint( a, b, c, d, roots[ i ] ) );
+		return intersectEllipseBezier3( ec, rx, ry, a, b, c, d, new IntersectionResult() ).toIntersection2D();
+	}
 
-		return intersections.length == 0 ? new Intersection2D( Type.NONE ) : new Intersection2D( Type.INTERSECTION, intersections );
+	/**
+	 * This implementation assumes that the ellipse axes are aligned with the X
+	 * and Y axes.
+	 *
+	 * @param ec The ellipse center
+	 * @param rx The ellipse x radius
+	 * @param ry The ellipse y radius
+	 * @param a The curve point a
+	 * @param b The curve point b
+	 * @param c The curve point c
+	 * @param d The curve point d
+	 * @param result The result in which to store the intersection
+	 * @return The result
+	 */
+	public static IntersectionResult intersectEllipseBezier3( double[] ec, double rx, double ry, double[] a, double[] b, double[] c, double[] d, IntersectionResult result ) {
+		return ellipseBezier3( ec[ 0 ], ec[ 1 ], rx, ry, a[ 0 ], a[ 1 ], b[ 0 ], b[ 1 ], c[ 0 ], c[ 1 ], d[ 0 ], d[ 1 ], result );
 	}
 
 	public static Intersection2D intersectBezier3Bezier3( double[] a1, double[] a2, double[] a3, double[] a4, double[] b1, double[] b2, double[] b3, double[] b4 ) {
+		return intersectBezier3Bezier3( a1, a2, a3, a4, b1, b2, b3, b4, new IntersectionResult() ).toIntersection2D();
+	}
+
+	/**
+	 * Find the intersection of two cubic Bézier curves and store it in the
+	 * result.
+	 *
+	 * @param a1 Curve A point 1
+	 * @param a2 Curve A point 2
+	 * @param a3 Curve A point 3
+	 * @param a4 Curve A point 4
+	 * @param b1 Curve B point 1
+	 * @param b2 Curve B point 2
+	 * @param b3 Curve B point 3
+	 * @param b4 Curve B point 4
+	 * @param result The result in which to store the intersection
+	 * @return The result
+	 */
+	public static IntersectionResult intersectBezier3Bezier3( double[] a1, double[] a2, double[] a3, double[] a4, double[] b1, double[] b2, double[] b3, double[] b4, IntersectionResult result ) {
+		result.reset();
+
 		boolean sameForward = Arrays.equals( a1, b1 ) && Arrays.equals( a2, b2 ) && Arrays.equals( a3, b3 ) && Arrays.equals( a4, b4 );
 		boolean sameBackward = Arrays.equals( a1, b4 ) && Arrays.equals( a2, b3 ) && Arrays.equals( a3, b2 ) && Arrays.equals( a4, b1 );
-		if( sameForward || sameBackward ) return new Intersection2D( Type.SAME );
+		if( sameForward || sameBackward ) return result.set( Type.SAME );
 
-		double[][] coefficientsA = Geometry.cubicCoefficients( a1, a2, a3, a4 );
-		double[] c13 = coefficientsA[ 0 ];
-		double[] c12 = coefficientsA[ 1 ];
-		double[] c11 = coefficientsA[ 2 ];
-		double[] c10 = coefficientsA[ 3 ];
+		double[][] vectors = result.vectors();
+		double[] c13 = vectors[ 0 ];
+		double[] c12 = vectors[ 1 ];
+		double[] c11 = vectors[ 2 ];
+		double[] c10 = vectors[ 3 ];
+		cubicCoefficients( a1, a2, a3, a4, c13, c12, c11, c10 );
 
-		double[][] coefficientsB = Geometry.cubicCoefficients( b1, b2, b3, b4 );
-		double[] c23 = coefficientsB[ 0 ];
-		double[] c22 = coefficientsB[ 1 ];
-		double[] c21 = coefficientsB[ 2 ];
-		double[] c20 = coefficientsB[ 3 ];
+		double[] c23 = vectors[ 4 ];
+		double[] c22 = vectors[ 5 ];
+		double[] c21 = vectors[ 6 ];
+		double[] c20 = vectors[ 7 ];
+		cubicCoefficients( b1, b2, b3, b4, c23, c22, c21, c20 );
 
 		double c10x2 = c10[ 0 ] * c10[ 0 ];
 		double c10x3 = c10[ 0 ] * c10[ 0 ] * c10[ 0 ];
@@ -447,35 +580,39 @@ public class Intersection2D extends Intersection {
 		double c23x3 = c23[ 0 ] * c23[ 0 ] * c23[ 0 ];
 		double c23y2 = c23[ 1 ] * c23[ 1 ];
 		double c23y3 = c23[ 1 ] * c23[ 1 ] * c23[ 1 ];
-		Polynomial poly = new Polynomial(
-			-c13x3 * c23y3 + c13y3 * c23x3 - 3 * c13[ 0 ] * c13y2 * c23x2 * c23[ 1 ] + 3 * c13x2 * c13[ 1 ] * c23[ 0 ] * c23y2,
-			-6 * c13[ 0 ] * c22[ 0 ] * c13y2 * c23[ 0 ] * c23[ 1 ] + 6 * c13x2 * c13[ 1 ] * c22[ 1 ] * c23[ 0 ] * c23[ 1 ] + 3 * c22[ 0 ] * c13y3 * c23x2 - 3 * c13x3 * c22[ 1 ] * c23y2 - 3 * c13[ 0 ] * c13y2 * c22[ 1 ] * c23x2 + 3 * c13x2 * c22[ 0 ] * c13[ 1 ] * c23y2,
-			-6 * c21[ 0 ] * c13[ 0 ] * c13y2 * c23[ 0 ] * c23[ 1 ] - 6 * c13[ 0 ] * c22[ 0 ] * c13y2 * c22[ 1 ] * c23[ 0 ] + 6 * c13x2 * c22[ 0 ] * c13[ 1 ] * c22[ 1 ] * c23[ 1 ] + 3 * c21[ 0 ] * c13y3 * c23x2 + 3 * c22x2 * c13y3 * c23[ 0 ] + 3 * c21[ 0 ] * c13x2 * c13[ 1 ] * c23y2 - 3 * c13[ 0 ] * c21[ 1 ] * c13y2 * c23x2 - 3 * c13[ 0 ] * c22x2 * c13y2 * c23[ 1 ] + c13x2 * c13[ 1 ] * c23[ 0 ] * (6 * c21[ 1 ] * c23[ 1 ] + 3 * c22y2) + c13x3 * (-c21[ 1 ] * c23y2 - 2 * c22y2 * c23[ 1 ] - c23[ 1 ] * (2 * c21[ 1 ] * c23[ 1 ] + c22y2)),
-			c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23[ 0 ] * c23[ 1 ] - c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * c23[ 0 ] * c23[ 1 ] + 6 * c21[ 0 ] * c22[ 0 ] * c13y3 * c23[ 0 ] + 3 * c11[ 0 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * c23y2 + 6 * c10[ 0 ] * c13[ 0 ] * c13y2 * c23[ 0 ] * c23[ 1 ] - 3 * c11[ 0 ] * c12[ 0 ] * c13y2 * c23[ 0 ] * c23[ 1 ] - 3 * c11[ 1 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23x2 - 6 * c10[ 1 ] * c13x2 * c13[ 1 ] * c23[ 0 ] * c23[ 1 ] - 6 * c20[ 0 ] * c13[ 0 ] * c13y2 * c23[ 0 ] * c23[ 1 ] + 3 * c11[ 1 ] * c12[ 1 ] * c13x2 * c23[ 0 ] * c23[ 1 ] - 2 * c12[ 0 ] * c12y2 * c13[ 0 ] * c23[ 0 ] * c23[ 1 ] - 6 * c21[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13y2 * c23[ 1 ] - 6 * c21[ 0 ] * c13[ 0 ] * c13y2 * c22[ 1 ] * c23[ 0 ] - 6 * c13[ 0 ] * c21[ 1 ] * c22[ 0 ] * c13y2 * c23[ 0 ] + 6 * c21[ 0 ] * c13x2 * c13[ 1 ] * c22[ 1 ] * c23[ 1 ] + 2 * c12x2 * c12[ 1 ] * c13[ 1 ] * c23[ 0 ] * c23[ 1 ] + c22x3 * c13y3 - 3 * c10[ 0 ] * c13y3 * c23x2 + 3 * c10[ 1 ] * c13x3 * c23y2 + 3 * c20[ 0 ] * c13y3 * c23x2 + c12y3 * c13[ 0 ] * c23x2 - c12x3 * c13[ 1 ] * c23y2 - 3 * c10[ 0 ] * c13x2 * c13[ 1 ] * c23y2 + 3 * c10[ 1 ] * c13[ 0 ] * c13y2 * c23x2 - 2 * c11[ 0 ] * c12[ 1 ] * c13x2 * c23y2 + c11[ 0 ] * c12[ 1 ] * c13y2 * c23x2 - c11[ 1 ] * c12[ 0 ] * c13x2 * c23y2 + 2 * c11[ 1 ] * c12[ 0 ] * c13y2 * c23x2 + 3 * c20[ 0 ] * c13x2 * c13[ 1 ] * c23y2 - c12[ 0 ] * c12y2 * c13[ 1 ] * c23x2 - 3 * c20[ 1 ] * c13[ 0 ] * c13y2 * c23x2 + c12x2 * c12[ 1 ] * c13[ 0 ] * c23y2 - 3 * c13[ 0 ] * c22x2 * c13y2 * c22[ 1 ] + c13x2 * c13[ 1 ] * c23[ 0 ] * (6 * c20[ 1 ] * c23[ 1 ] + 6 * c21[ 1 ] * c22[ 1 ]) + c13x2 * c22[ 0 ] * c13[ 1 ] * (6 * c21[ 1 ] * c23[ 1 ] + 3 * c22y2) + c13x3 * (-2 * c21[ 1 ] * c22[ 1 ] * c23[ 1 ] - c20[ 1 ] * c23y2 - c22[ 1 ] * (2 * c21[ 1 ] * c23[ 1 ] + c22y2) - c23[ 1 ] * (2 * c20[ 1 ] * c23[ 1 ] + 2 * c21[ 1 ] * c22[ 1 ])),
-			6 * c11[ 0 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * c22[ 1 ] * c23[ 1 ] + c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] * c23[ 1 ] + c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c22[ 1 ] * c23[ 0 ] - c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] * c23[ 1 ] - c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * c22[ 1 ] * c23[ 0 ] - 6 * c11[ 1 ] * c12[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] * c23[ 0 ] - 6 * c10[ 0 ] * c22[ 0 ] * c13y3 * c23[ 0 ] + 6 * c20[ 0 ] * c22[ 0 ] * c13y3 * c23[ 0 ] + 6 * c10[ 1 ] * c13x3 * c22[ 1 ] * c23[ 1 ] + 2 * c12y3 * c13[ 0 ] * c22[ 0 ] * c23[ 0 ] - 2 * c12x3 * c13[ 1 ] * c22[ 1 ] * c23[ 1 ] + 6 * c10[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13y2 * c23[ 1 ] + 6 * c10[ 0 ] * c13[ 0 ] * c13y2 * c22[ 1 ] * c23[ 0 ] + 6 * c10[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13y2 * c23[ 0 ] - 3 * c11[ 0 ] * c12[ 0 ] * c22[ 0 ] * c13y2 * c23[ 1 ] - 3 * c11[ 0 ] * c12[ 0 ] * c13y2 * c22[ 1 ] * c23[ 0 ] + 2 * c11[ 0 ] * c12[ 1 ] * c22[ 0 ] * c13y2 * c23[ 0 ] + 4 * c11[ 1 ] * c12[ 0 ] * c22[ 0 ] * c13y2 * c23[ 0 ] - 6 * c10[ 0 ] * c13x2 * c13[ 1 ] * c22[ 1 ] * c23[ 1 ] - 6 * c10[ 1 ] * c13x2 * c22[ 0 ] * c13[ 1 ] * c23[ 1 ] - 6 * c10[ 1 ] * c13x2 * c13[ 1 ] * c22[ 1 ] * c23[ 0 ] - 4 * c11[ 0 ] * c12[ 1 ] * c13x2 * c22[ 1 ] * c23[ 1 ] - 6 * c20[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13y2 * c23[ 1 ] - 6 * c20[ 0 ] * c13[ 0 ] * c13y2 * c22[ 1 ] * c23[ 0 ] - 2 * c11[ 1 ] * c12[ 0 ] * c13x2 * c22[ 1 ] * c23[ 1 ] + 3 * c11[ 1 ] * c12[ 1 ] * c13x2 * c22[ 0 ] * c23[ 1 ] + 3 * c11[ 1 ] * c12[ 1 ] * c13x2 * c22[ 1 ] * c23[ 0 ] - 2 * c12[ 0 ] * c12y2 * c13[ 0 ] * c22[ 0 ] * c23[ 1 ] - 2 * c12[ 0 ] * c12y2 * c13[ 0 ] * c22[ 1 ] * c23[ 0 ] - 2 * c12[ 0 ] * c12y2 * c22[ 0 ] * c13[ 1 ] * c23[ 0 ] - 6 * c20[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13y2 * c23[ 0 ] - 6 * c21[ 0 ] * c13[ 0 ] * c21[ 1 ] * c13y2 * c23[ 0 ] - 6 * c21[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13y2 * c22[ 1 ] + 6 * c20[ 0 ] * c13x2 * c13[ 1 ] * c22[ 1 ] * c23[ 1 ] + 2 * c12x2 * c12[ 1 ] * c13[ 0 ] * c22[ 1 ] * c23[ 1 ] + 2 * c12x2 * c12[ 1 ] * c22[ 0 ] * c13[ 1 ] * c23[ 1 ] + 2 * c12x2 * c12[ 1 ] * c13[ 1 ] * c22[ 1 ] * c23[ 0 ] + 3 * c21[ 0 ] * c22x2 * c13y3 + 3 * c21x2 * c13y3 * c23[ 0 ] - 3 * c13[ 0 ] * c21[ 1 ] * c22x2 * c13y2 - 3 * c21x2 * c13[ 0 ] * c13y2 * c23[ 1 ] + c13x2 * c22[ 0 ] * c13[ 1 ] * (6 * c20[ 1 ] * c23[ 1 ] + 6 * c21[ 1 ] * c22[ 1 ]) + c13x2 * c13[ 1 ] * c23[ 0 ] * (6 * c20[ 1 ] * c22[ 1 ] + 3 * c21y2) + c21[ 0 ] * c13x2 * c13[ 1 ] * (6 * c21[ 1 ] * c23[ 1 ] + 3 * c22y2) + c13x3 * (-2 * c20[ 1 ] * c22[ 1 ] * c23[ 1 ] - c23[ 1 ] * (2 * c20[ 1 ] * c22[ 1 ] + c21y2) - c21[ 1 ] * (2 * c21[ 1 ] * c23[ 1 ] + c22y2) - c22[ 1 ] * (2 * c20[ 1 ] * c23[ 1 ] + 2 * c21[ 1 ] * c22[ 1 ])),
-			c11[ 0 ] * c21[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23[ 1 ] + c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c21[ 1 ] * c13[ 1 ] * c23[ 0 ] + c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] * c22[ 1 ] - c11[ 1 ] * c12[ 0 ] * c21[ 0 ] * c13[ 0 ] * c13[ 1 ] * c23[ 1 ] - c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c21[ 1 ] * c13[ 1 ] * c23[ 0 ] - c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] * c22[ 1 ] - 6 * c11[ 1 ] * c21[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23[ 0 ] - 6 * c10[ 0 ] * c21[ 0 ] * c13y3 * c23[ 0 ] + 6 * c20[ 0 ] * c21[ 0 ] * c13y3 * c23[ 0 ] + 2 * c21[ 0 ] * c12y3 * c13[ 0 ] * c23[ 0 ] + 6 * c10[ 0 ] * c21[ 0 ] * c13[ 0 ] * c13y2 * c23[ 1 ] + 6 * c10[ 0 ] * c13[ 0 ] * c21[ 1 ] * c13y2 * c23[ 0 ] + 6 * c10[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13y2 * c22[ 1 ] + 6 * c10[ 1 ] * c21[ 0 ] * c13[ 0 ] * c13y2 * c23[ 0 ] - 3 * c11[ 0 ] * c12[ 0 ] * c21[ 0 ] * c13y2 * c23[ 1 ] - 3 * c11[ 0 ] * c12[ 0 ] * c21[ 1 ] * c13y2 * c23[ 0 ] - 3 * c11[ 0 ] * c12[ 0 ] * c22[ 0 ] * c13y2 * c22[ 1 ] + 2 * c11[ 0 ] * c21[ 0 ] * c12[ 1 ] * c13y2 * c23[ 0 ] + 4 * c11[ 1 ] * c12[ 0 ] * c21[ 0 ] * c13y2 * c23[ 0 ] - 6 * c10[ 1 ] * c21[ 0 ] * c13x2 * c13[ 1 ] * c23[ 1 ] - 6 * c10[ 1 ] * c13x2 * c21[ 1 ] * c13[ 1 ] * c23[ 0 ] - 6 * c10[ 1 ] * c13x2 * c22[ 0 ] * c13[ 1 ] * c22[ 1 ] - 6 * c20[ 0 ] * c21[ 0 ] * c13[ 0 ] * c13y2 * c23[ 1 ] - 6 * c20[ 0 ] * c13[ 0 ] * c21[ 1 ] * c13y2 * c23[ 0 ] - 6 * c20[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13y2 * c22[ 1 ] + 3 * c11[ 1 ] * c21[ 0 ] * c12[ 1 ] * c13x2 * c23[ 1 ] - 3 * c11[ 1 ] * c12[ 1 ] * c13[ 0 ] * c22x2 * c13[ 1 ] + 3 * c11[ 1 ] * c12[ 1 ] * c13x2 * c21[ 1 ] * c23[ 0 ] + 3 * c11[ 1 ] * c12[ 1 ] * c13x2 * c22[ 0 ] * c22[ 1 ] - 2 * c12[ 0 ] * c21[ 0 ] * c12y2 * c13[ 0 ] * c23[ 1 ] - 2 * c12[ 0 ] * c21[ 0 ] * c12y2 * c13[ 1 ] * c23[ 0 ] - 2 * c12[ 0 ] * c12y2 * c13[ 0 ] * c21[ 1 ] * c23[ 0 ] - 2 * c12[ 0 ] * c12y2 * c13[ 0 ] * c22[ 0 ] * c22[ 1 ] - 6 * c20[ 1 ] * c21[ 0 ] * c13[ 0 ] * c13y2 * c23[ 0 ] - 6 * c21[ 0 ] * c13[ 0 ] * c21[ 1 ] * c22[ 0 ] * c13y2 + 6 * c20[ 1 ] * c13x2 * c21[ 1 ] * c13[ 1 ] * c23[ 0 ] + 2 * c12x2 * c21[ 0 ] * c12[ 1 ] * c13[ 1 ] * c23[ 1 ] + 2 * c12x2 * c12[ 1 ] * c21[ 1 ] * c13[ 1 ] * c23[ 0 ] + 2 * c12x2 * c12[ 1 ] * c22[ 0 ] * c13[ 1 ] * c22[ 1 ] - 3 * c10[ 0 ] * c22x2 * c13y3 + 3 * c20[ 0 ] * c22x2 * c13y3 + 3 * c21x2 * c22[ 0 ] * c13y3 + c12y3 * c13[ 0 ] * c22x2 + 3 * c10[ 1 ] * c13[ 0 ] * c22x2 * c13y2 + c11[ 0 ] * c12[ 1 ] * c22x2 * c13y2 + 2 * c11[ 1 ] * c12[ 0 ] * c22x2 * c13y2 - c12[ 0 ] * c12y2 * c22x2 * c13[ 1 ] - 3 * c20[ 1 ] * c13[ 0 ] * c22x2 * c13y2 - 3 * c21x2 * c13[ 0 ] * c13y2 * c22[ 1 ] + c12x2 * c12[ 1 ] * c13[ 0 ] * (2 * c21[ 1 ] * c23[ 1 ] + c22y2) + c11[ 0 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * (6 * c21[ 1 ] * c23[ 1 ] + 3 * c22y2) + c21[ 0 ] * c13x2 * c13[ 1 ] * (6 * c20[ 1 ] * c23[ 1 ] + 6 * c21[ 1 ] * c22[ 1 ]) + c12x3 * c13[ 1 ] * (-2 * c21[ 1 ] * c23[ 1 ] - c22y2) + c10[ 1 ] * c13x3 * (6 * c21[ 1 ] * c23[ 1 ] + 3 * c22y2) + c11[ 1 ] * c12[ 0 ] * c13x2 * (-2 * c21[ 1 ] * c23[ 1 ] - c22y2) + c11[ 0 ] * c12[ 1 ] * c13x2 * (-4 * c21[ 1 ] * c23[ 1 ] - 2 * c22y2) + c10[ 0 ] * c13x2 * c13[ 1 ] * (-6 * c21[ 1 ] * c23[ 1 ] - 3 * c22y2) + c13x2 * c22[ 0 ] * c13[ 1 ] * (6 * c20[ 1 ] * c22[ 1 ] + 3 * c21y2) + c20[ 0 ] * c13x2 * c13[ 1 ] * (6 * c21[ 1 ] * c23[ 1 ] + 3 * c22y2) + c13x3 * (-2 * c20[ 1 ] * c21[ 1 ] * c23[ 1 ] - c22[ 1 ] * (2 * c20[ 1 ] * c22[ 1 ] + c21y2) - c20[ 1 ] * (2 * c21[ 1 ] * c23[ 1 ] + c22y2) - c21[ 1 ] * (2 * c20[ 1 ] * c23[ 1 ] + 2 * c21[ 1 ] * c22[ 1 ])),
-			-c10[ 0 ] * c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23[ 1 ] + c10[ 0 ] * c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * c23[ 1 ] + 6 * c10[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23[ 0 ] - 6 * c10[ 1 ] * c11[ 0 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * c23[ 1 ] - c10[ 1 ] * c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23[ 0 ] + c10[ 1 ] * c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * c23[ 0 ] + c11[ 0 ] * c11[ 1 ] * c12[ 0 ] * c12[ 1 ] * c13[ 0 ] * c23[ 1 ] - c11[ 0 ] * c11[ 1 ] * c12[ 0 ] * c12[ 1 ] * c13[ 1 ] * c23[ 0 ] + c11[ 0 ] * c20[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23[ 1 ] + c11[ 0 ] * c20[ 1 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23[ 0 ] + c11[ 0 ] * c21[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c22[ 1 ] + c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c21[ 1 ] * c22[ 0 ] * c13[ 1 ] - c20[ 0 ] * c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * c23[ 1 ] - 6 * c20[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23[ 0 ] - c11[ 1 ] * c12[ 0 ] * c20[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23[ 0 ] - c11[ 1 ] * c12[ 0 ] * c21[ 0 ] * c13[ 0 ] * c13[ 1 ] * c22[ 1 ] - c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c21[ 1 ] * c22[ 0 ] * c13[ 1 ] - 6 * c11[ 1 ] * c21[ 0 ] * c12[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] - 6 * c10[ 0 ] * c20[ 0 ] * c13y3 * c23[ 0 ] - 6 * c10[ 0 ] * c21[ 0 ] * c22[ 0 ] * c13y3 - 2 * c10[ 0 ] * c12y3 * c13[ 0 ] * c23[ 0 ] + 6 * c20[ 0 ] * c21[ 0 ] * c22[ 0 ] * c13y3 + 2 * c20[ 0 ] * c12y3 * c13[ 0 ] * c23[ 0 ] + 2 * c21[ 0 ] * c12y3 * c13[ 0 ] * c22[ 0 ] + 2 * c10[ 1 ] * c12x3 * c13[ 1 ] * c23[ 1 ] - 6 * c10[ 0 ] * c10[ 1 ] * c13[ 0 ] * c13y2 * c23[ 0 ] + 3 * c10[ 0 ] * c11[ 0 ] * c12[ 0 ] * c13y2 * c23[ 1 ] - 2 * c10[ 0 ] * c11[ 0 ] * c12[ 1 ] * c13y2 * c23[ 0 ] - 4 * c10[ 0 ] * c11[ 1 ] * c12[ 0 ] * c13y2 * c23[ 0 ] + 3 * c10[ 1 ] * c11[ 0 ] * c12[ 0 ] * c13y2 * c23[ 0 ] + 6 * c10[ 0 ] * c10[ 1 ] * c13x2 * c13[ 1 ] * c23[ 1 ] + 6 * c10[ 0 ] * c20[ 0 ] * c13[ 0 ] * c13y2 * c23[ 1 ] - 3 * c10[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13x2 * c23[ 1 ] + 2 * c10[ 0 ] * c12[ 0 ] * c12y2 * c13[ 0 ] * c23[ 1 ] + 2 * c10[ 0 ] * c12[ 0 ] * c12y2 * c13[ 1 ] * c23[ 0 ] + 6 * c10[ 0 ] * c20[ 1 ] * c13[ 0 ] * c13y2 * c23[ 0 ] + 6 * c10[ 0 ] * c21[ 0 ] * c13[ 0 ] * c13y2 * c22[ 1 ] + 6 * c10[ 0 ] * c13[ 0 ] * c21[ 1 ] * c22[ 0 ] * c13y2 + 4 * c10[ 1 ] * c11[ 0 ] * c12[ 1 ] * c13x2 * c23[ 1 ] + 6 * c10[ 1 ] * c20[ 0 ] * c13[ 0 ] * c13y2 * c23[ 0 ] + 2 * c10[ 1 ] * c11[ 1 ] * c12[ 0 ] * c13x2 * c23[ 1 ] - 3 * c10[ 1 ] * c11[ 1 ] * c12[ 1 ] * c13x2 * c23[ 0 ] + 2 * c10[ 1 ] * c12[ 0 ] * c12y2 * c13[ 0 ] * c23[ 0 ] + 6 * c10[ 1 ] * c21[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13y2 - 3 * c11[ 0 ] * c20[ 0 ] * c12[ 0 ] * c13y2 * c23[ 1 ] + 2 * c11[ 0 ] * c20[ 0 ] * c12[ 1 ] * c13y2 * c23[ 0 ] + c11[ 0 ] * c11[ 1 ] * c12y2 * c13[ 0 ] * c23[ 0 ] - 3 * c11[ 0 ] * c12[ 0 ] * c20[ 1 ] * c13y2 * c23[ 0 ] - 3 * c11[ 0 ] * c12[ 0 ] * c21[ 0 ] * c13y2 * c22[ 1 ] - 3 * c11[ 0 ] * c12[ 0 ] * c21[ 1 ] * c22[ 0 ] * c13y2 + 2 * c11[ 0 ] * c21[ 0 ] * c12[ 1 ] * c22[ 0 ] * c13y2 + 4 * c20[ 0 ] * c11[ 1 ] * c12[ 0 ] * c13y2 * c23[ 0 ] + 4 * c11[ 1 ] * c12[ 0 ] * c21[ 0 ] * c22[ 0 ] * c13y2 - 2 * c10[ 0 ] * c12x2 * c12[ 1 ] * c13[ 1 ] * c23[ 1 ] - 6 * c10[ 1 ] * c20[ 0 ] * c13x2 * c13[ 1 ] * c23[ 1 ] - 6 * c10[ 1 ] * c20[ 1 ] * c13x2 * c13[ 1 ] * c23[ 0 ] - 6 * c10[ 1 ] * c21[ 0 ] * c13x2 * c13[ 1 ] * c22[ 1 ] - 2 * c10[ 1 ] * c12x2 * c12[ 1 ] * c13[ 0 ] * c23[ 1 ] - 2 * c10[ 1 ] * c12x2 * c12[ 1 ] * c13[ 1 ] * c23[ 0 ] - 6 * c10[ 1 ] * c13x2 * c21[ 1 ] * c22[ 0 ] * c13[ 1 ] - c11[ 0 ] * c11[ 1 ] * c12x2 * c13[ 1 ] * c23[ 1 ] - 2 * c11[ 0 ] * c11y2 * c13[ 0 ] * c13[ 1 ] * c23[ 0 ] + 3 * c20[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13x2 * c23[ 1 ] - 2 * c20[ 0 ] * c12[ 0 ] * c12y2 * c13[ 0 ] * c23[ 1 ] - 2 * c20[ 0 ] * c12[ 0 ] * c12y2 * c13[ 1 ] * c23[ 0 ] - 6 * c20[ 0 ] * c20[ 1 ] * c13[ 0 ] * c13y2 * c23[ 0 ] - 6 * c20[ 0 ] * c21[ 0 ] * c13[ 0 ] * c13y2 * c22[ 1 ] - 6 * c20[ 0 ] * c13[ 0 ] * c21[ 1 ] * c22[ 0 ] * c13y2 + 3 * c11[ 1 ] * c20[ 1 ] * c12[ 1 ] * c13x2 * c23[ 0 ] + 3 * c11[ 1 ] * c21[ 0 ] * c12[ 1 ] * c13x2 * c22[ 1 ] + 3 * c11[ 1 ] * c12[ 1 ] * c13x2 * c21[ 1 ] * c22[ 0 ] - 2 * c12[ 0 ] * c20[ 1 ] * c12y2 * c13[ 0 ] * c23[ 0 ] - 2 * c12[ 0 ] * c21[ 0 ] * c12y2 * c13[ 0 ] * c22[ 1 ] - 2 * c12[ 0 ] * c21[ 0 ] * c12y2 * c22[ 0 ] * c13[ 1 ] - 2 * c12[ 0 ] * c12y2 * c13[ 0 ] * c21[ 1 ] * c22[ 0 ] - 6 * c20[ 1 ] * c21[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13y2 - c11y2 * c12[ 0 ] * c12[ 1 ] * c13[ 0 ] * c23[ 0 ] + 2 * c20[ 0 ] * c12x2 * c12[ 1 ] * c13[ 1 ] * c23[ 1 ] + 6 * c20[ 1 ] * c13x2 * c21[ 1 ] * c22[ 0 ] * c13[ 1 ] + 2 * c11x2 * c11[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23[ 1 ] + c11x2 * c12[ 0 ] * c12[ 1 ] * c13[ 1 ] * c23[ 1 ] + 2 * c12x2 * c20[ 1 ] * c12[ 1 ] * c13[ 1 ] * c23[ 0 ] + 2 * c12x2 * c21[ 0 ] * c12[ 1 ] * c13[ 1 ] * c22[ 1 ] + 2 * c12x2 * c12[ 1 ] * c21[ 1 ] * c22[ 0 ] * c13[ 1 ] + c21x3 * c13y3 + 3 * c10x2 * c13y3 * c23[ 0 ] - 3 * c10y2 * c13x3 * c23[ 1 ] + 3 * c20x2 * c13y3 * c23[ 0 ] + c11y3 * c13x2 * c23[ 0 ] - c11x3 * c13y2 * c23[ 1 ] - c11[ 0 ] * c11y2 * c13x2 * c23[ 1 ] + c11x2 * c11[ 1 ] * c13y2 * c23[ 0 ] - 3 * c10x2 * c13[ 0 ] * c13y2 * c23[ 1 ] + 3 * c10y2 * c13x2 * c13[ 1 ] * c23[ 0 ] - c11x2 * c12y2 * c13[ 0 ] * c23[ 1 ] + c11y2 * c12x2 * c13[ 1 ] * c23[ 0 ] - 3 * c21x2 * c13[ 0 ] * c21[ 1 ] * c13y2 - 3 * c20x2 * c13[ 0 ] * c13y2 * c23[ 1 ] + 3 * c20y2 * c13x2 * c13[ 1 ] * c23[ 0 ] + c11[ 0 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * (6 * c20[ 1 ] * c23[ 1 ] + 6 * c21[ 1 ] * c22[ 1 ]) + c12x3 * c13[ 1 ] * (-2 * c20[ 1 ] * c23[ 1 ] - 2 * c21[ 1 ] * c22[ 1 ]) + c10[ 1 ] * c13x3 * (6 * c20[ 1 ] * c23[ 1 ] + 6 * c21[ 1 ] * c22[ 1 ]) + c11[ 1 ] * c12[ 0 ] * c13x2 * (-2 * c20[ 1 ] * c23[ 1 ] - 2 * c21[ 1 ] * c22[ 1 ]) + c12x2 * c12[ 1 ] * c13[ 0 ] * (2 * c20[ 1 ] * c23[ 1 ] + 2 * c21[ 1 ] * c22[ 1 ]) + c11[ 0 ] * c12[ 1 ] * c13x2 * (-4 * c20[ 1 ] * c23[ 1 ] - 4 * c21[ 1 ] * c22[ 1 ]) + c10[ 0 ] * c13x2 * c13[ 1 ] * (-6 * c20[ 1 ] * c23[ 1 ] - 6 * c21[ 1 ] * c22[ 1 ]) + c20[ 0 ] * c13x2 * c13[ 1 ] * (6 * c20[ 1 ] * c23[ 1 ] + 6 * c21[ 1 ] * c22[ 1 ]) + c21[ 0 ] * c13x2 * c13[ 1 ] * (6 * c20[ 1 ] * c22[ 1 ] + 3 * c21y2) + c13x3 * (-2 * c20[ 1 ] * c21[ 1 ] * c22[ 1 ] - c20y2 * c23[ 1 ] - c21[ 1 ] * (2 * c20[ 1 ] * c22[ 1 ] + c21y2) - c20[ 1 ] * (2 * c20[ 1 ] * c23[ 1 ] + 2 * c21[ 1 ] * c22[ 1 ])),
-			-c10[ 0 ] * c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c22[ 1 ] + c10[ 0 ] * c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * c22[ 1 ] + 6 * c10[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] - 6 * c10[ 1 ] * c11[ 0 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * c22[ 1 ] - c10[ 1 ] * c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] + c10[ 1 ] * c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] + c11[ 0 ] * c11[ 1 ] * c12[ 0 ] * c12[ 1 ] * c13[ 0 ] * c22[ 1 ] - c11[ 0 ] * c11[ 1 ] * c12[ 0 ] * c12[ 1 ] * c22[ 0 ] * c13[ 1 ] + c11[ 0 ] * c20[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c22[ 1 ] + c11[ 0 ] * c20[ 1 ] * c12[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] + c11[ 0 ] * c21[ 0 ] * c12[ 1 ] * c13[ 0 ] * c21[ 1 ] * c13[ 1 ] - c20[ 0 ] * c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * c22[ 1 ] - 6 * c20[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] - c11[ 1 ] * c12[ 0 ] * c20[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] - c11[ 1 ] * c12[ 0 ] * c21[ 0 ] * c13[ 0 ] * c21[ 1 ] * c13[ 1 ] - 6 * c10[ 0 ] * c20[ 0 ] * c22[ 0 ] * c13y3 - 2 * c10[ 0 ] * c12y3 * c13[ 0 ] * c22[ 0 ] + 2 * c20[ 0 ] * c12y3 * c13[ 0 ] * c22[ 0 ] + 2 * c10[ 1 ] * c12x3 * c13[ 1 ] * c22[ 1 ] - 6 * c10[ 0 ] * c10[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13y2 + 3 * c10[ 0 ] * c11[ 0 ] * c12[ 0 ] * c13y2 * c22[ 1 ] - 2 * c10[ 0 ] * c11[ 0 ] * c12[ 1 ] * c22[ 0 ] * c13y2 - 4 * c10[ 0 ] * c11[ 1 ] * c12[ 0 ] * c22[ 0 ] * c13y2 + 3 * c10[ 1 ] * c11[ 0 ] * c12[ 0 ] * c22[ 0 ] * c13y2 + 6 * c10[ 0 ] * c10[ 1 ] * c13x2 * c13[ 1 ] * c22[ 1 ] + 6 * c10[ 0 ] * c20[ 0 ] * c13[ 0 ] * c13y2 * c22[ 1 ] - 3 * c10[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13x2 * c22[ 1 ] + 2 * c10[ 0 ] * c12[ 0 ] * c12y2 * c13[ 0 ] * c22[ 1 ] + 2 * c10[ 0 ] * c12[ 0 ] * c12y2 * c22[ 0 ] * c13[ 1 ] + 6 * c10[ 0 ] * c20[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13y2 + 6 * c10[ 0 ] * c21[ 0 ] * c13[ 0 ] * c21[ 1 ] * c13y2 + 4 * c10[ 1 ] * c11[ 0 ] * c12[ 1 ] * c13x2 * c22[ 1 ] + 6 * c10[ 1 ] * c20[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13y2 + 2 * c10[ 1 ] * c11[ 1 ] * c12[ 0 ] * c13x2 * c22[ 1 ] - 3 * c10[ 1 ] * c11[ 1 ] * c12[ 1 ] * c13x2 * c22[ 0 ] + 2 * c10[ 1 ] * c12[ 0 ] * c12y2 * c13[ 0 ] * c22[ 0 ] - 3 * c11[ 0 ] * c20[ 0 ] * c12[ 0 ] * c13y2 * c22[ 1 ] + 2 * c11[ 0 ] * c20[ 0 ] * c12[ 1 ] * c22[ 0 ] * c13y2 + c11[ 0 ] * c11[ 1 ] * c12y2 * c13[ 0 ] * c22[ 0 ] - 3 * c11[ 0 ] * c12[ 0 ] * c20[ 1 ] * c22[ 0 ] * c13y2 - 3 * c11[ 0 ] * c12[ 0 ] * c21[ 0 ] * c21[ 1 ] * c13y2 + 4 * c20[ 0 ] * c11[ 1 ] * c12[ 0 ] * c22[ 0 ] * c13y2 - 2 * c10[ 0 ] * c12x2 * c12[ 1 ] * c13[ 1 ] * c22[ 1 ] - 6 * c10[ 1 ] * c20[ 0 ] * c13x2 * c13[ 1 ] * c22[ 1 ] - 6 * c10[ 1 ] * c20[ 1 ] * c13x2 * c22[ 0 ] * c13[ 1 ] - 6 * c10[ 1 ] * c21[ 0 ] * c13x2 * c21[ 1 ] * c13[ 1 ] - 2 * c10[ 1 ] * c12x2 * c12[ 1 ] * c13[ 0 ] * c22[ 1 ] - 2 * c10[ 1 ] * c12x2 * c12[ 1 ] * c22[ 0 ] * c13[ 1 ] - c11[ 0 ] * c11[ 1 ] * c12x2 * c13[ 1 ] * c22[ 1 ] - 2 * c11[ 0 ] * c11y2 * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] + 3 * c20[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13x2 * c22[ 1 ] - 2 * c20[ 0 ] * c12[ 0 ] * c12y2 * c13[ 0 ] * c22[ 1 ] - 2 * c20[ 0 ] * c12[ 0 ] * c12y2 * c22[ 0 ] * c13[ 1 ] - 6 * c20[ 0 ] * c20[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13y2 - 6 * c20[ 0 ] * c21[ 0 ] * c13[ 0 ] * c21[ 1 ] * c13y2 + 3 * c11[ 1 ] * c20[ 1 ] * c12[ 1 ] * c13x2 * c22[ 0 ] + 3 * c11[ 1 ] * c21[ 0 ] * c12[ 1 ] * c13x2 * c21[ 1 ] - 2 * c12[ 0 ] * c20[ 1 ] * c12y2 * c13[ 0 ] * c22[ 0 ] - 2 * c12[ 0 ] * c21[ 0 ] * c12y2 * c13[ 0 ] * c21[ 1 ] - c11y2 * c12[ 0 ] * c12[ 1 ] * c13[ 0 ] * c22[ 0 ] + 2 * c20[ 0 ] * c12x2 * c12[ 1 ] * c13[ 1 ] * c22[ 1 ] - 3 * c11[ 1 ] * c21x2 * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] + 6 * c20[ 1 ] * c21[ 0 ] * c13x2 * c21[ 1 ] * c13[ 1 ] + 2 * c11x2 * c11[ 1 ] * c13[ 0 ] * c13[ 1 ] * c22[ 1 ] + c11x2 * c12[ 0 ] * c12[ 1 ] * c13[ 1 ] * c22[ 1 ] + 2 * c12x2 * c20[ 1 ] * c12[ 1 ] * c22[ 0 ] * c13[ 1 ] + 2 * c12x2 * c21[ 0 ] * c12[ 1 ] * c21[ 1 ] * c13[ 1 ] - 3 * c10[ 0 ] * c21x2 * c13y3 + 3 * c20[ 0 ] * c21x2 * c13y3 + 3 * c10x2 * c22[ 0 ] * c13y3 - 3 * c10y2 * c13x3 * c22[ 1 ] + 3 * c20x2 * c22[ 0 ] * c13y3 + c21x2 * c12y3 * c13[ 0 ] + c11y3 * c13x2 * c22[ 0 ] - c11x3 * c13y2 * c22[ 1 ] + 3 * c10[ 1 ] * c21x2 * c13[ 0 ] * c13y2 - c11[ 0 ] * c11y2 * c13x2 * c22[ 1 ] + c11[ 0 ] * c21x2 * c12[ 1 ] * c13y2 + 2 * c11[ 1 ] * c12[ 0 ] * c21x2 * c13y2 + c11x2 * c11[ 1 ] * c22[ 0 ] * c13y2 - c12[ 0 ] * c21x2 * c12y2 * c13[ 1 ] - 3 * c20[ 1 ] * c21x2 * c13[ 0 ] * c13y2 - 3 * c10x2 * c13[ 0 ] * c13y2 * c22[ 1 ] + 3 * c10y2 * c13x2 * c22[ 0 ] * c13[ 1 ] - c11x2 * c12y2 * c13[ 0 ] * c22[ 1 ] + c11y2 * c12x2 * c22[ 0 ] * c13[ 1 ] - 3 * c20x2 * c13[ 0 ] * c13y2 * c22[ 1 ] + 3 * c20y2 * c13x2 * c22[ 0 ] * c13[ 1 ] + c12x2 * c12[ 1 ] * c13[ 0 ] * (2 * c20[ 1 ] * c22[ 1 ] + c21y2) + c11[ 0 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * (6 * c20[ 1 ] * c22[ 1 ] + 3 * c21y2) + c12x3 * c13[ 1 ] * (-2 * c20[ 1 ] * c22[ 1 ] - c21y2) + c10[ 1 ] * c13x3 * (6 * c20[ 1 ] * c22[ 1 ] + 3 * c21y2) + c11[ 1 ] * c12[ 0 ] * c13x2 * (-2 * c20[ 1 ] * c22[ 1 ] - c21y2) + c11[ 0 ] * c12[ 1 ] * c13x2 * (-4 * c20[ 1 ] * c22[ 1 ] - 2 * c21y2) + c10[ 0 ] * c13x2 * c13[ 1 ] * (-6 * c20[ 1 ] * c22[ 1 ] - 3 * c21y2) + c20[ 0 ] * c13x2 * c13[ 1 ] * (6 * c20[ 1 ] * c22[ 1 ] + 3 * c21y2) + c13x3 * (-2 * c20[ 1 ] * c21y2 - c20y2 * c22[ 1 ] - c20[ 1 ] * (2 * c20[ 1 ] * c22[ 1 ] + c21y2)),
-			-c10[ 0 ] * c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c21[ 1 ] * c13[ 1 ] + c10[ 0 ] * c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c21[ 1 ] * c13[ 1 ] + 6 * c10[ 0 ] * c11[ 1 ] * c21[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] - 6 * c10[ 1 ] * c11[ 0 ] * c12[ 0 ] * c13[ 0 ] * c21[ 1 ] * c13[ 1 ] - c10[ 1 ] * c11[ 0 ] * c21[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] + c10[ 1 ] * c11[ 1 ] * c12[ 0 ] * c21[ 0 ] * c13[ 0 ] * c13[ 1 ] - c11[ 0 ] * c11[ 1 ] * c12[ 0 ] * c21[ 0 ] * c12[ 1 ] * c13[ 1 ] + c11[ 0 ] * c11[ 1 ] * c12[ 0 ] * c12[ 1 ] * c13[ 0 ] * c21[ 1 ] + c11[ 0 ] * c20[ 0 ] * c12[ 1 ] * c13[ 0 ] * c21[ 1 ] * c13[ 1 ] + 6 * c11[ 0 ] * c12[ 0 ] * c20[ 1 ] * c13[ 0 ] * c21[ 1 ] * c13[ 1 ] + c11[ 0 ] * c20[ 1 ] * c21[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] - c20[ 0 ] * c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c21[ 1 ] * c13[ 1 ] - 6 * c20[ 0 ] * c11[ 1 ] * c21[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] - c11[ 1 ] * c12[ 0 ] * c20[ 1 ] * c21[ 0 ] * c13[ 0 ] * c13[ 1 ] - 6 * c10[ 0 ] * c20[ 0 ] * c21[ 0 ] * c13y3 - 2 * c10[ 0 ] * c21[ 0 ] * c12y3 * c13[ 0 ] + 6 * c10[ 1 ] * c20[ 1 ] * c13x3 * c21[ 1 ] + 2 * c20[ 0 ] * c21[ 0 ] * c12y3 * c13[ 0 ] + 2 * c10[ 1 ] * c12x3 * c21[ 1 ] * c13[ 1 ] - 2 * c12x3 * c20[ 1 ] * c21[ 1 ] * c13[ 1 ] - 6 * c10[ 0 ] * c10[ 1 ] * c21[ 0 ] * c13[ 0 ] * c13y2 + 3 * c10[ 0 ] * c11[ 0 ] * c12[ 0 ] * c21[ 1 ] * c13y2 - 2 * c10[ 0 ] * c11[ 0 ] * c21[ 0 ] * c12[ 1 ] * c13y2 - 4 * c10[ 0 ] * c11[ 1 ] * c12[ 0 ] * c21[ 0 ] * c13y2 + 3 * c10[ 1 ] * c11[ 0 ] * c12[ 0 ] * c21[ 0 ] * c13y2 + 6 * c10[ 0 ] * c10[ 1 ] * c13x2 * c21[ 1 ] * c13[ 1 ] + 6 * c10[ 0 ] * c20[ 0 ] * c13[ 0 ] * c21[ 1 ] * c13y2 - 3 * c10[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13x2 * c21[ 1 ] + 2 * c10[ 0 ] * c12[ 0 ] * c21[ 0 ] * c12y2 * c13[ 1 ] + 2 * c10[ 0 ] * c12[ 0 ] * c12y2 * c13[ 0 ] * c21[ 1 ] + 6 * c10[ 0 ] * c20[ 1 ] * c21[ 0 ] * c13[ 0 ] * c13y2 + 4 * c10[ 1 ] * c11[ 0 ] * c12[ 1 ] * c13x2 * c21[ 1 ] + 6 * c10[ 1 ] * c20[ 0 ] * c21[ 0 ] * c13[ 0 ] * c13y2 + 2 * c10[ 1 ] * c11[ 1 ] * c12[ 0 ] * c13x2 * c21[ 1 ] - 3 * c10[ 1 ] * c11[ 1 ] * c21[ 0 ] * c12[ 1 ] * c13x2 + 2 * c10[ 1 ] * c12[ 0 ] * c21[ 0 ] * c12y2 * c13[ 0 ] - 3 * c11[ 0 ] * c20[ 0 ] * c12[ 0 ] * c21[ 1 ] * c13y2 + 2 * c11[ 0 ] * c20[ 0 ] * c21[ 0 ] * c12[ 1 ] * c13y2 + c11[ 0 ] * c11[ 1 ] * c21[ 0 ] * c12y2 * c13[ 0 ] - 3 * c11[ 0 ] * c12[ 0 ] * c20[ 1 ] * c21[ 0 ] * c13y2 + 4 * c20[ 0 ] * c11[ 1 ] * c12[ 0 ] * c21[ 0 ] * c13y2 - 6 * c10[ 0 ] * c20[ 1 ] * c13x2 * c21[ 1 ] * c13[ 1 ] - 2 * c10[ 0 ] * c12x2 * c12[ 1 ] * c21[ 1 ] * c13[ 1 ] - 6 * c10[ 1 ] * c20[ 0 ] * c13x2 * c21[ 1 ] * c13[ 1 ] - 6 * c10[ 1 ] * c20[ 1 ] * c21[ 0 ] * c13x2 * c13[ 1 ] - 2 * c10[ 1 ] * c12x2 * c21[ 0 ] * c12[ 1 ] * c13[ 1 ] - 2 * c10[ 1 ] * c12x2 * c12[ 1 ] * c13[ 0 ] * c21[ 1 ] - c11[ 0 ] * c11[ 1 ] * c12x2 * c21[ 1 ] * c13[ 1 ] - 4 * c11[ 0 ] * c20[ 1 ] * c12[ 1 ] * c13x2 * c21[ 1 ] - 2 * c11[ 0 ] * c11y2 * c21[ 0 ] * c13[ 0 ] * c13[ 1 ] + 3 * c20[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13x2 * c21[ 1 ] - 2 * c20[ 0 ] * c12[ 0 ] * c21[ 0 ] * c12y2 * c13[ 1 ] - 2 * c20[ 0 ] * c12[ 0 ] * c12y2 * c13[ 0 ] * c21[ 1 ] - 6 * c20[ 0 ] * c20[ 1 ] * c21[ 0 ] * c13[ 0 ] * c13y2 - 2 * c11[ 1 ] * c12[ 0 ] * c20[ 1 ] * c13x2 * c21[ 1 ] + 3 * c11[ 1 ] * c20[ 1 ] * c21[ 0 ] * c12[ 1 ] * c13x2 - 2 * c12[ 0 ] * c20[ 1 ] * c21[ 0 ] * c12y2 * c13[ 0 ] - c11y2 * c12[ 0 ] * c21[ 0 ] * c12[ 1 ] * c13[ 0 ] + 6 * c20[ 0 ] * c20[ 1 ] * c13x2 * c21[ 1 ] * c13[ 1 ] + 2 * c20[ 0 ] * c12x2 * c12[ 1 ] * c21[ 1 ] * c13[ 1 ] + 2 * c11x2 * c11[ 1 ] * c13[ 0 ] * c21[ 1 ] * c13[ 1 ] + c11x2 * c12[ 0 ] * c12[ 1 ] * c21[ 1 ] * c13[ 1 ] + 2 * c12x2 * c20[ 1 ] * c21[ 0 ] * c12[ 1 ] * c13[ 1 ] + 2 * c12x2 * c20[ 1 ] * c12[ 1 ] * c13[ 0 ] * c21[ 1 ] + 3 * c10x2 * c21[ 0 ] * c13y3 - 3 * c10y2 * c13x3 * c21[ 1 ] + 3 * c20x2 * c21[ 0 ] * c13y3 + c11y3 * c21[ 0 ] * c13x2 - c11x3 * c21[ 1 ] * c13y2 - 3 * c20y2 * c13x3 * c21[ 1 ] - c11[ 0 ] * c11y2 * c13x2 * c21[ 1 ] + c11x2 * c11[ 1 ] * c21[ 0 ] * c13y2 - 3 * c10x2 * c13[ 0 ] * c21[ 1 ] * c13y2 + 3 * c10y2 * c21[ 0 ] * c13x2 * c13[ 1 ] - c11x2 * c12y2 * c13[ 0 ] * c21[ 1 ] + c11y2 * c12x2 * c21[ 0 ] * c13[ 1 ] - 3 * c20x2 * c13[ 0 ] * c21[ 1 ] * c13y2 + 3 * c20y2 * c21[ 0 ] * c13x2 * c13[ 1 ],
-			c10[ 0 ] * c10[ 1 ] * c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] - c10[ 0 ] * c10[ 1 ] * c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] + c10[ 0 ] * c11[ 0 ] * c11[ 1 ] * c12[ 0 ] * c12[ 1 ] * c13[ 1 ] - c10[ 1 ] * c11[ 0 ] * c11[ 1 ] * c12[ 0 ] * c12[ 1 ] * c13[ 0 ] - c10[ 0 ] * c11[ 0 ] * c20[ 1 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] + 6 * c10[ 0 ] * c20[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] + c10[ 0 ] * c11[ 1 ] * c12[ 0 ] * c20[ 1 ] * c13[ 0 ] * c13[ 1 ] - c10[ 1 ] * c11[ 0 ] * c20[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] - 6 * c10[ 1 ] * c11[ 0 ] * c12[ 0 ] * c20[ 1 ] * c13[ 0 ] * c13[ 1 ] + c10[ 1 ] * c20[ 0 ] * c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] - c11[ 0 ] * c20[ 0 ] * c11[ 1 ] * c12[ 0 ] * c12[ 1 ] * c13[ 1 ] + c11[ 0 ] * c11[ 1 ] * c12[ 0 ] * c20[ 1 ] * c12[ 1 ] * c13[ 0 ] + c11[ 0 ] * c20[ 0 ] * c20[ 1 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] - c20[ 0 ] * c11[ 1 ] * c12[ 0 ] * c20[ 1 ] * c13[ 0 ] * c13[ 1 ] - 2 * c10[ 0 ] * c20[ 0 ] * c12y3 * c13[ 0 ] + 2 * c10[ 1 ] * c12x3 * c20[ 1 ] * c13[ 1 ] - 3 * c10[ 0 ] * c10[ 1 ] * c11[ 0 ] * c12[ 0 ] * c13y2 - 6 * c10[ 0 ] * c10[ 1 ] * c20[ 0 ] * c13[ 0 ] * c13y2 + 3 * c10[ 0 ] * c10[ 1 ] * c11[ 1 ] * c12[ 1 ] * c13x2 - 2 * c10[ 0 ] * c10[ 1 ] * c12[ 0 ] * c12y2 * c13[ 0 ] - 2 * c10[ 0 ] * c11[ 0 ] * c20[ 0 ] * c12[ 1 ] * c13y2 - c10[ 0 ] * c11[ 0 ] * c11[ 1 ] * c12y2 * c13[ 0 ] + 3 * c10[ 0 ] * c11[ 0 ] * c12[ 0 ] * c20[ 1 ] * c13y2 - 4 * c10[ 0 ] * c20[ 0 ] * c11[ 1 ] * c12[ 0 ] * c13y2 + 3 * c10[ 1 ] * c11[ 0 ] * c20[ 0 ] * c12[ 0 ] * c13y2 + 6 * c10[ 0 ] * c10[ 1 ] * c20[ 1 ] * c13x2 * c13[ 1 ] + 2 * c10[ 0 ] * c10[ 1 ] * c12x2 * c12[ 1 ] * c13[ 1 ] + 2 * c10[ 0 ] * c11[ 0 ] * c11y2 * c13[ 0 ] * c13[ 1 ] + 2 * c10[ 0 ] * c20[ 0 ] * c12[ 0 ] * c12y2 * c13[ 1 ] + 6 * c10[ 0 ] * c20[ 0 ] * c20[ 1 ] * c13[ 0 ] * c13y2 - 3 * c10[ 0 ] * c11[ 1 ] * c20[ 1 ] * c12[ 1 ] * c13x2 + 2 * c10[ 0 ] * c12[ 0 ] * c20[ 1 ] * c12y2 * c13[ 0 ] + c10[ 0 ] * c11y2 * c12[ 0 ] * c12[ 1 ] * c13[ 0 ] + c10[ 1 ] * c11[ 0 ] * c11[ 1 ] * c12x2 * c13[ 1 ] + 4 * c10[ 1 ] * c11[ 0 ] * c20[ 1 ] * c12[ 1 ] * c13x2 - 3 * c10[ 1 ] * c20[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13x2 + 2 * c10[ 1 ] * c20[ 0 ] * c12[ 0 ] * c12y2 * c13[ 0 ] + 2 * c10[ 1 ] * c11[ 1 ] * c12[ 0 ] * c20[ 1 ] * c13x2 + c11[ 0 ] * c20[ 0 ] * c11[ 1 ] * c12y2 * c13[ 0 ] - 3 * c11[ 0 ] * c20[ 0 ] * c12[ 0 ] * c20[ 1 ] * c13y2 - 2 * c10[ 0 ] * c12x2 * c20[ 1 ] * c12[ 1 ] * c13[ 1 ] - 6 * c10[ 1 ] * c20[ 0 ] * c20[ 1 ] * c13x2 * c13[ 1 ] - 2 * c10[ 1 ] * c20[ 0 ] * c12x2 * c12[ 1 ] * c13[ 1 ] - 2 * c10[ 1 ] * c11x2 * c11[ 1 ] * c13[ 0 ] * c13[ 1 ] - c10[ 1 ] * c11x2 * c12[ 0 ] * c12[ 1 ] * c13[ 1 ] - 2 * c10[ 1 ] * c12x2 * c20[ 1 ] * c12[ 1 ] * c13[ 0 ] - 2 * c11[ 0 ] * c20[ 0 ] * c11y2 * c13[ 0 ] * c13[ 1 ] - c11[ 0 ] * c11[ 1 ] * c12x2 * c20[ 1 ] * c13[ 1 ] + 3 * c20[ 0 ] * c11[ 1 ] * c20[ 1 ] * c12[ 1 ] * c13x2 - 2 * c20[ 0 ] * c12[ 0 ] * c20[ 1 ] * c12y2 * c13[ 0 ] - c20[ 0 ] * c11y2 * c12[ 0 ] * c12[ 1 ] * c13[ 0 ] + 3 * c10y2 * c11[ 0 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] + 3 * c11[ 0 ] * c12[ 0 ] * c20y2 * c13[ 0 ] * c13[ 1 ] + 2 * c20[ 0 ] * c12x2 * c20[ 1 ] * c12[ 1 ] * c13[ 1 ] - 3 * c10x2 * c11[ 1 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] + 2 * c11x2 * c11[ 1 ] * c20[ 1 ] * c13[ 0 ] * c13[ 1 ] + c11x2 * c12[ 0 ] * c20[ 1 ] * c12[ 1 ] * c13[ 1 ] - 3 * c20x2 * c11[ 1 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] - c10x3 * c13y3 + c10y3 * c13x3 + c20x3 * c13y3 - c20y3 * c13x3 - 3 * c10[ 0 ] * c20x2 * c13y3 - c10[ 0 ] * c11y3 * c13x2 + 3 * c10x2 * c20[ 0 ] * c13y3 + c10[ 1 ] * c11x3 * c13y2 + 3 * c10[ 1 ] * c20y2 * c13x3 + c20[ 0 ] * c11y3 * c13x2 + c10x2 * c12y3 * c13[ 0 ] - 3 * c10y2 * c20[ 1 ] * c13x3 - c10y2 * c12x3 * c13[ 1 ] + c20x2 * c12y3 * c13[ 0 ] - c11x3 * c20[ 1 ] * c13y2 - c12x3 * c20y2 * c13[ 1 ] - c10[ 0 ] * c11x2 * c11[ 1 ] * c13y2 + c10[ 1 ] * c11[ 0 ] * c11y2 * c13x2 - 3 * c10[ 0 ] * c10y2 * c13x2 * c13[ 1 ] - c10[ 0 ] * c11y2 * c12x2 * c13[ 1 ] + c10[ 1 ] * c11x2 * c12y2 * c13[ 0 ] - c11[ 0 ] * c11y2 * c20[ 1 ] * c13x2 + 3 * c10x2 * c10[ 1 ] * c13[ 0 ] * c13y2 + c10x2 * c11[ 0 ] * c12[ 1 ] * c13y2 + 2 * c10x2 * c11[ 1 ] * c12[ 0 ] * c13y2 - 2 * c10y2 * c11[ 0 ] * c12[ 1 ] * c13x2 - c10y2 * c11[ 1 ] * c12[ 0 ] * c13x2 + c11x2 * c20[ 0 ] * c11[ 1 ] * c13y2 - 3 * c10[ 0 ] * c20y2 * c13x2 * c13[ 1 ] + 3 * c10[ 1 ] * c20x2 * c13[ 0 ] * c13y2 + c11[ 0 ] * c20x2 * c12[ 1 ] * c13y2 - 2 * c11[ 0 ] * c20y2 * c12[ 1 ] * c13x2 + c20[ 0 ] * c11y2 * c12x2 * c13[ 1 ] - c11[ 1 ] * c12[ 0 ] * c20y2 * c13x2 - c10x2 * c12[ 0 ] * c12y2 * c13[ 1 ] - 3 * c10x2 * c20[ 1 ] * c13[ 0 ] * c13y2 + 3 * c10y2 * c20[ 0 ] * c13x2 * c13[ 1 ] + c10y2 * c12x2 * c12[ 1 ] * c13[ 0 ] - c11x2 * c20[ 1 ] * c12y2 * c13[ 0 ] + 2 * c20x2 * c11[ 1 ] * c12[ 0 ] * c13y2 + 3 * c20[ 0 ] * c20y2 * c13x2 * c13[ 1 ] - c20x2 * c12[ 0 ] * c12y2 * c13[ 1 ] - 3 * c20x2 * c20[ 1 ] * c13[ 0 ] * c13y2 + c12x2 * c20y2 * c12[ 1 ] * c13[ 0 ]
-		);
-		double[] roots = poly.getRootsInInterval( 0, 1 );
-
-		List<double[]> intersections = new ArrayList<>();
-
-		for( double s : roots ) {
-			double[] xRoots = new Polynomial( c13[ 0 ], c12[ 0 ], c11[ 0 ], c10[ 0 ] - c20[ 0 ] - s * c21[ 0 ] - s * s * c22[ 0 ] - s * s * s * c23[ 0 ] ).getRoots();
-			double[] yRoots = new Polynomial( c13[ 1 ], c12[ 1 ], c11[ 1 ], c10[ 1 ] - c20[ 1 ] - s * c21[ 1 ] - s * s * c22[ 1 ] - s * s * s * c23[ 1 ] ).getRoots();
-
-			if( xRoots.length > 0 && yRoots.length > 0 ) {
+		double[] coefficients = result.coefficients();
+		coefficients[ 0 ] = -c13x3 * c23y3 + c13y3 * c23x3 - 3 * c13[ 0 ] * c13y2 * c23x2 * c23[ 1 ] + 3 * c13x2 * c13[ 1 ] * c23[ 0 ] * c23y2;
+		coefficients[ 1 ] = -6 * c13[ 0 ] * c22[ 0 ] * c13y2 * c23[ 0 ] * c23[ 1 ] + 6 * c13x2 * c13[ 1 ] * c22[ 1 ] * c23[ 0 ] * c23[ 1 ] + 3 * c22[ 0 ] * c13y3 * c23x2 - 3 * c13x3 * c22[ 1 ] * c23y2 - 3 * c13[ 0 ] * c13y2 * c22[ 1 ] * c23x2 + 3 * c13x2 * c22[ 0 ] * c13[ 1 ] * c23y2;
+		coefficients[ 2 ] = -6 * c21[ 0 ] * c13[ 0 ] * c13y2 * c23[ 0 ] * c23[ 1 ] - 6 * c13[ 0 ] * c22[ 0 ] * c13y2 * c22[ 1 ] * c23[ 0 ] + 6 * c13x2 * c22[ 0 ] * c13[ 1 ] * c22[ 1 ] * c23[ 1 ] + 3 * c21[ 0 ] * c13y3 * c23x2 + 3 * c22x2 * c13y3 * c23[ 0 ] + 3 * c21[ 0 ] * c13x2 * c13[ 1 ] * c23y2 - 3 * c13[ 0 ] * c21[ 1 ] * c13y2 * c23x2 - 3 * c13[ 0 ] * c22x2 * c13y2 * c23[ 1 ] + c13x2 * c13[ 1 ] * c23[ 0 ] * (6 * c21[ 1 ] * c23[ 1 ] + 3 * c22y2) + c13x3 * (-c21[ 1 ] * c23y2 - 2 * c22y2 * c23[ 1 ] - c23[ 1 ] * (2 * c21[ 1 ] * c23[ 1 ] + c22y2));
+		coefficients[ 3 ] = c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23[ 0 ] * c23[ 1 ] - c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * c23[ 0 ] * c23[ 1 ] + 6 * c21[ 0 ] * c22[ 0 ] * c13y3 * c23[ 0 ] + 3 * c11[ 0 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * c23y2 + 6 * c10[ 0 ] * c13[ 0 ] * c13y2 * c23[ 0 ] * c23[ 1 ] - 3 * c11[ 0 ] * c12[ 0 ] * c13y2 * c23[ 0 ] * c23[ 1 ] - 3 * c11[ 1 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23x2 - 6 * c10[ 1 ] * c13x2 * c13[ 1 ] * c23[ 0 ] * c23[ 1 ] - 6 * c20[ 0 ] * c13[ 0 ] * c13y2 * c23[ 0 ] * c23[ 1 ] + 3 * c11[ 1 ] * c12[ 1 ] * c13x2 * c23[ 0 ] * c23[ 1 ] - 2 * c12[ 0 ] * c12y2 * c13[ 0 ] * c23[ 0 ] * c23[ 1 ] - 6 * c21[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13y2 * c23[ 1 ] - 6 * c21[ 0 ] * c13[ 0 ] * c13y2 * c22[ 1 ] * c23[ 0 ] - 6 * c13[ 0 ] * c21[ 1 ] * c22[ 0 ] * c13y2 * c23[ 0 ] + 6 * c21[ 0 ] * c13x2 * c13[ 1 ] * c22[ 1 ] * c23[ 1 ] + 2 * c12x2 * c12[ 1 ] * c13[ 1 ] * c23[ 0 ] * c23[ 1 ] + c22x3 * c13y3 - 3 * c10[ 0 ] * c13y3 * c23x2 + 3 * c10[ 1 ] * c13x3 * c23y2 + 3 * c20[ 0 ] * c13y3 * c23x2 + c12y3 * c13[ 0 ] * c23x2 - c12x3 * c13[ 1 ] * c23y2 - 3 * c10[ 0 ] * c13x2 * c13[ 1 ] * c23y2 + 3 * c10[ 1 ] * c13[ 0 ] * c13y2 * c23x2 - 2 * c11[ 0 ] * c12[ 1 ] * c13x2 * c23y2 + c11[ 0 ] * c12[ 1 ] * c13y2 * c23x2 - c11[ 1 ] * c12[ 0 ] * c13x2 * c23y2 + 2 * c11[ 1 ] * c12[ 0 ] * c13y2 * c23x2 + 3 * c20[ 0 ] * c13x2 * c13[ 1 ] * c23y2 - c12[ 0 ] * c12y2 * c13[ 1 ] * c23x2 - 3 * c20[ 1 ] * c13[ 0 ] * c13y2 * c23x2 + c12x2 * c12[ 1 ] * c13[ 0 ] * c23y2 - 3 * c13[ 0 ] * c22x2 * c13y2 * c22[ 1 ] + c13x2 * c13[ 1 ] * c23[ 0 ] * (6 * c20[ 1 ] * c23[ 1 ] + 6 * c21[ 1 ] * c22[ 1 ]) + c13x2 * c22[ 0 ] * c13[ 1 ] * (6 * c21[ 1 ] * c23[ 1 ] + 3 * c22y2) + c13x3 * (-2 * c21[ 1 ] * c22[ 1 ] * c23[ 1 ] - c20[ 1 ] * c23y2 - c22[ 1 ] * (2 * c21[ 1 ] * c23[ 1 ] + c22y2) - c23[ 1 ] * (2 * c20[ 1 ] * c23[ 1 ] + 2 * c21[ 1 ] * c22[ 1 ]));
+		coefficients[ 4 ] = 6 * c11[ 0 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * c22[ 1 ] * c23[ 1 ] + c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] * c23[ 1 ] + c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c22[ 1 ] * c23[ 0 ] - c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] * c23[ 1 ] - c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * c22[ 1 ] * c23[ 0 ] - 6 * c11[ 1 ] * c12[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] * c23[ 0 ] - 6 * c10[ 0 ] * c22[ 0 ] * c13y3 * c23[ 0 ] + 6 * c20[ 0 ] * c22[ 0 ] * c13y3 * c23[ 0 ] + 6 * c10[ 1 ] * c13x3 * c22[ 1 ] * c23[ 1 ] + 2 * c12y3 * c13[ 0 ] * c22[ 0 ] * c23[ 0 ] - 2 * c12x3 * c13[ 1 ] * c22[ 1 ] * c23[ 1 ] + 6 * c10[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13y2 * c23[ 1 ] + 6 * c10[ 0 ] * c13[ 0 ] * c13y2 * c22[ 1 ] * c23[ 0 ] + 6 * c10[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13y2 * c23[ 0 ] - 3 * c11[ 0 ] * c12[ 0 ] * c22[ 0 ] * c13y2 * c23[ 1 ] - 3 * c11[ 0 ] * c12[ 0 ] * c13y2 * c22[ 1 ] * c23[ 0 ] + 2 * c11[ 0 ] * c12[ 1 ] * c22[ 0 ] * c13y2 * c23[ 0 ] + 4 * c11[ 1 ] * c12[ 0 ] * c22[ 0 ] * c13y2 * c23[ 0 ] - 6 * c10[ 0 ] * c13x2 * c13[ 1 ] * c22[ 1 ] * c23[ 1 ] - 6 * c10[ 1 ] * c13x2 * c22[ 0 ] * c13[ 1 ] * c23[ 1 ] - 6 * c10[ 1 ] * c13x2 * c13[ 1 ] * c22[ 1 ] * c23[ 0 ] - 4 * c11[ 0 ] * c12[ 1 ] * c13x2 * c22[ 1 ] * c23[ 1 ] - 6 * c20[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13y2 * c23[ 1 ] - 6 * c20[ 0 ] * c13[ 0 ] * c13y2 * c22[ 1 ] * c23[ 0 ] - 2 * c11[ 1 ] * c12[ 0 ] * c13x2 * c22[ 1 ] * c23[ 1 ] + 3 * c11[ 1 ] * c12[ 1 ] * c13x2 * c22[ 0 ] * c23[ 1 ] + 3 * c11[ 1 ] * c12[ 1 ] * c13x2 * c22[ 1 ] * c23[ 0 ] - 2 * c12[ 0 ] * c12y2 * c13[ 0 ] * c22[ 0 ] * c23[ 1 ] - 2 * c12[ 0 ] * c12y2 * c13[ 0 ] * c22[ 1 ] * c23[ 0 ] - 2 * c12[ 0 ] * c12y2 * c22[ 0 ] * c13[ 1 ] * c23[ 0 ] - 6 * c20[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13y2 * c23[ 0 ] - 6 * c21[ 0 ] * c13[ 0 ] * c21[ 1 ] * c13y2 * c23[ 0 ] - 6 * c21[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13y2 * c22[ 1 ] + 6 * c20[ 0 ] * c13x2 * c13[ 1 ] * c22[ 1 ] * c23[ 1 ] + 2 * c12x2 * c12[ 1 ] * c13[ 0 ] * c22[ 1 ] * c23[ 1 ] + 2 * c12x2 * c12[ 1 ] * c22[ 0 ] * c13[ 1 ] * c23[ 1 ] + 2 * c12x2 * c12[ 1 ] * c13[ 1 ] * c22[ 1 ] * c23[ 0 ] + 3 * c21[ 0 ] * c22x2 * c13y3 + 3 * c21x2 * c13y3 * c23[ 0 ] - 3 * c13[ 0 ] * c21[ 1 ] * c22x2 * c13y2 - 3 * c21x2 * c13[ 0 ] * c13y2 * c23[ 1 ] + c13x2 * c22[ 0 ] * c13[ 1 ] * (6 * c20[ 1 ] * c23[ 1 ] + 6 * c21[ 1 ] * c22[ 1 ]) + c13x2 * c13[ 1 ] * c23[ 0 ] * (6 * c20[ 1 ] * c22[ 1 ] + 3 * c21y2) + c21[ 0 ] * c13x2 * c13[ 1 ] * (6 * c21[ 1 ] * c23[ 1 ] + 3 * c22y2) + c13x3 * (-2 * c20[ 1 ] * c22[ 1 ] * c23[ 1 ] - c23[ 1 ] * (2 * c20[ 1 ] * c22[ 1 ] + c21y2) - c21[ 1 ] * (2 * c21[ 1 ] * c23[ 1 ] + c22y2) - c22[ 1 ] * (2 * c20[ 1 ] * c23[ 1 ] + 2 * c21[ 1 ] * c22[ 1 ]));
+		coefficients[ 5 ] = c11[ 0 ] * c21[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23[ 1 ] + c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c21[ 1 ] * c13[ 1 ] * c23[ 0 ] + c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] * c22[ 1 ] - c11[ 1 ] * c12[ 0 ] * c21[ 0 ] * c13[ 0 ] * c13[ 1 ] * c23[ 1 ] - c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c21[ 1 ] * c13[ 1 ] * c23[ 0 ] - c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] * c22[ 1 ] - 6 * c11[ 1 ] * c21[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23[ 0 ] - 6 * c10[ 0 ] * c21[ 0 ] * c13y3 * c23[ 0 ] + 6 * c20[ 0 ] * c21[ 0 ] * c13y3 * c23[ 0 ] + 2 * c21[ 0 ] * c12y3 * c13[ 0 ] * c23[ 0 ] + 6 * c10[ 0 ] * c21[ 0 ] * c13[ 0 ] * c13y2 * c23[ 1 ] + 6 * c10[ 0 ] * c13[ 0 ] * c21[ 1 ] * c13y2 * c23[ 0 ] + 6 * c10[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13y2 * c22[ 1 ] + 6 * c10[ 1 ] * c21[ 0 ] * c13[ 0 ] * c13y2 * c23[ 0 ] - 3 * c11[ 0 ] * c12[ 0 ] * c21[ 0 ] * c13y2 * c23[ 1 ] - 3 * c11[ 0 ] * c12[ 0 ] * c21[ 1 ] * c13y2 * c23[ 0 ] - 3 * c11[ 0 ] * c12[ 0 ] * c22[ 0 ] * c13y2 * c22[ 1 ] + 2 * c11[ 0 ] * c21[ 0 ] * c12[ 1 ] * c13y2 * c23[ 0 ] + 4 * c11[ 1 ] * c12[ 0 ] * c21[ 0 ] * c13y2 * c23[ 0 ] - 6 * c10[ 1 ] * c21[ 0 ] * c13x2 * c13[ 1 ] * c23[ 1 ] - 6 * c10[ 1 ] * c13x2 * c21[ 1 ] * c13[ 1 ] * c23[ 0 ] - 6 * c10[ 1 ] * c13x2 * c22[ 0 ] * c13[ 1 ] * c22[ 1 ] - 6 * c20[ 0 ] * c21[ 0 ] * c13[ 0 ] * c13y2 * c23[ 1 ] - 6 * c20[ 0 ] * c13[ 0 ] * c21[ 1 ] * c13y2 * c23[ 0 ] - 6 * c20[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13y2 * c22[ 1 ] + 3 * c11[ 1 ] * c21[ 0 ] * c12[ 1 ] * c13x2 * c23[ 1 ] - 3 * c11[ 1 ] * c12[ 1 ] * c13[ 0 ] * c22x2 * c13[ 1 ] + 3 * c11[ 1 ] * c12[ 1 ] * c13x2 * c21[ 1 ] * c23[ 0 ] + 3 * c11[ 1 ] * c12[ 1 ] * c13x2 * c22[ 0 ] * c22[ 1 ] - 2 * c12[ 0 ] * c21[ 0 ] * c12y2 * c13[ 0 ] * c23[ 1 ] - 2 * c12[ 0 ] * c21[ 0 ] * c12y2 * c13[ 1 ] * c23[ 0 ] - 2 * c12[ 0 ] * c12y2 * c13[ 0 ] * c21[ 1 ] * c23[ 0 ] - 2 * c12[ 0 ] * c12y2 * c13[ 0 ] * c22[ 0 ] * c22[ 1 ] - 6 * c20[ 1 ] * c21[ 0 ] * c13[ 0 ] * c13y2 * c23[ 0 ] - 6 * c21[ 0 ] * c13[ 0 ] * c21[ 1 ] * c22[ 0 ] * c13y2 + 6 * c20[ 1 ] * c13x2 * c21[ 1 ] * c13[ 1 ] * c23[ 0 ] + 2 * c12x2 * c21[ 0 ] * c12[ 1 ] * c13[ 1 ] * c23[ 1 ] + 2 * c12x2 * c12[ 1 ] * c21[ 1 ] * c13[ 1 ] * c23[ 0 ] + 2 * c12x2 * c12[ 1 ] * c22[ 0 ] * c13[ 1 ] * c22[ 1 ] - 3 * c10[ 0 ] * c22x2 * c13y3 + 3 * c20[ 0 ] * c22x2 * c13y3 + 3 * c21x2 * c22[ 0 ] * c13y3 + c12y3 * c13[ 0 ] * c22x2 + 3 * c10[ 1 ] * c13[ 0 ] * c22x2 * c13y2 + c11[ 0 ] * c12[ 1 ] * c22x2 * c13y2 + 2 * c11[ 1 ] * c12[ 0 ] * c22x2 * c13y2 - c12[ 0 ] * c12y2 * c22x2 * c13[ 1 ] - 3 * c20[ 1 ] * c13[ 0 ] * c22x2 * c13y2 - 3 * c21x2 * c13[ 0 ] * c13y2 * c22[ 1 ] + c12x2 * c12[ 1 ] * c13[ 0 ] * (2 * c21[ 1 ] * c23[ 1 ] + c22y2) + c11[ 0 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * (6 * c21[ 1 ] * c23[ 1 ] + 3 * c22y2) + c21[ 0 ] * c13x2 * c13[ 1 ] * (6 * c20[ 1 ] * c23[ 1 ] + 6 * c21[ 1 ] * c22[ 1 ]) + c12x3 * c13[ 1 ] * (-2 * c21[ 1 ] * c23[ 1 ] - c22y2) + c10[ 1 ] * c13x3 * (6 * c21[ 1 ] * c23[ 1 ] + 3 * c22y2) + c11[ 1 ] * c12[ 0 ] * c13x2 * (-2 * c21[ 1 ] * c23[ 1 ] - c22y2) + c11[ 0 ] * c12[ 1 ] * c13x2 * (-4 * c21[ 1 ] * c23[ 1 ] - 2 * c22y2) + c10[ 0 ] * c13x2 * c13[ 1 ] * (-6 * c21[ 1 ] * c23[ 1 ] - 3 * c22y2) + c13x2 * c22[ 0 ] * c13[ 1 ] * (6 * c20[ 1 ] * c22[ 1 ] + 3 * c21y2) + c20[ 0 ] * c13x2 * c13[ 1 ] * (6 * c21[ 1 ] * c23[ 1 ] + 3 * c22y2) + c13x3 * (-2 * c20[ 1 ] * c21[ 1 ] * c23[ 1 ] - c22[ 1 ] * (2 * c20[ 1 ] * c22[ 1 ] + c21y2) - c20[ 1 ] * (2 * c21[ 1 ] * c23[ 1 ] + c22y2) - c21[ 1 ] * (2 * c20[ 1 ] * c23[ 1 ] + 2 * c21[ 1 ] * c22[ 1 ]));
+		coefficients[ 6 ] = -c10[ 0 ] * c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23[ 1 ] + c10[ 0 ] * c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * c23[ 1 ] + 6 * c10[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23[ 0 ] - 6 * c10[ 1 ] * c11[ 0 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * c23[ 1 ] - c10[ 1 ] * c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23[ 0 ] + c10[ 1 ] * c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * c23[ 0 ] + c11[ 0 ] * c11[ 1 ] * c12[ 0 ] * c12[ 1 ] * c13[ 0 ] * c23[ 1 ] - c11[ 0 ] * c11[ 1 ] * c12[ 0 ] * c12[ 1 ] * c13[ 1 ] * c23[ 0 ] + c11[ 0 ] * c20[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23[ 1 ] + c11[ 0 ] * c20[ 1 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23[ 0 ] + c11[ 0 ] * c21[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c22[ 1 ] + c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c21[ 1 ] * c22[ 0 ] * c13[ 1 ] - c20[ 0 ] * c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * c23[ 1 ] - 6 * c20[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23[ 0 ] - c11[ 1 ] * c12[ 0 ] * c20[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23[ 0 ] - c11[ 1 ] * c12[ 0 ] * c21[ 0 ] * c13[ 0 ] * c13[ 1 ] * c22[ 1 ] - c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c21[ 1 ] * c22[ 0 ] * c13[ 1 ] - 6 * c11[ 1 ] * c21[ 0 ] * c12[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] - 6 * c10[ 0 ] * c20[ 0 ] * c13y3 * c23[ 0 ] - 6 * c10[ 0 ] * c21[ 0 ] * c22[ 0 ] * c13y3 - 2 * c10[ 0 ] * c12y3 * c13[ 0 ] * c23[ 0 ] + 6 * c20[ 0 ] * c21[ 0 ] * c22[ 0 ] * c13y3 + 2 * c20[ 0 ] * c12y3 * c13[ 0 ] * c23[ 0 ] + 2 * c21[ 0 ] * c12y3 * c13[ 0 ] * c22[ 0 ] + 2 * c10[ 1 ] * c12x3 * c13[ 1 ] * c23[ 1 ] - 6 * c10[ 0 ] * c10[ 1 ] * c13[ 0 ] * c13y2 * c23[ 0 ] + 3 * c10[ 0 ] * c11[ 0 ] * c12[ 0 ] * c13y2 * c23[ 1 ] - 2 * c10[ 0 ] * c11[ 0 ] * c12[ 1 ] * c13y2 * c23[ 0 ] - 4 * c10[ 0 ] * c11[ 1 ] * c12[ 0 ] * c13y2 * c23[ 0 ] + 3 * c10[ 1 ] * c11[ 0 ] * c12[ 0 ] * c13y2 * c23[ 0 ] + 6 * c10[ 0 ] * c10[ 1 ] * c13x2 * c13[ 1 ] * c23[ 1 ] + 6 * c10[ 0 ] * c20[ 0 ] * c13[ 0 ] * c13y2 * c23[ 1 ] - 3 * c10[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13x2 * c23[ 1 ] + 2 * c10[ 0 ] * c12[ 0 ] * c12y2 * c13[ 0 ] * c23[ 1 ] + 2 * c10[ 0 ] * c12[ 0 ] * c12y2 * c13[ 1 ] * c23[ 0 ] + 6 * c10[ 0 ] * c20[ 1 ] * c13[ 0 ] * c13y2 * c23[ 0 ] + 6 * c10[ 0 ] * c21[ 0 ] * c13[ 0 ] * c13y2 * c22[ 1 ] + 6 * c10[ 0 ] * c13[ 0 ] * c21[ 1 ] * c22[ 0 ] * c13y2 + 4 * c10[ 1 ] * c11[ 0 ] * c12[ 1 ] * c13x2 * c23[ 1 ] + 6 * c10[ 1 ] * c20[ 0 ] * c13[ 0 ] * c13y2 * c23[ 0 ] + 2 * c10[ 1 ] * c11[ 1 ] * c12[ 0 ] * c13x2 * c23[ 1 ] - 3 * c10[ 1 ] * c11[ 1 ] * c12[ 1 ] * c13x2 * c23[ 0 ] + 2 * c10[ 1 ] * c12[ 0 ] * c12y2 * c13[ 0 ] * c23[ 0 ] + 6 * c10[ 1 ] * c21[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13y2 - 3 * c11[ 0 ] * c20[ 0 ] * c12[ 0 ] * c13y2 * c23[ 1 ] + 2 * c11[ 0 ] * c20[ 0 ] * c12[ 1 ] * c13y2 * c23[ 0 ] + c11[ 0 ] * c11[ 1 ] * c12y2 * c13[ 0 ] * c23[ 0 ] - 3 * c11[ 0 ] * c12[ 0 ] * c20[ 1 ] * c13y2 * c23[ 0 ] - 3 * c11[ 0 ] * c12[ 0 ] * c21[ 0 ] * c13y2 * c22[ 1 ] - 3 * c11[ 0 ] * c12[ 0 ] * c21[ 1 ] * c22[ 0 ] * c13y2 + 2 * c11[ 0 ] * c21[ 0 ] * c12[ 1 ] * c22[ 0 ] * c13y2 + 4 * c20[ 0 ] * c11[ 1 ] * c12[ 0 ] * c13y2 * c23[ 0 ] + 4 * c11[ 1 ] * c12[ 0 ] * c21[ 0 ] * c22[ 0 ] * c13y2 - 2 * c10[ 0 ] * c12x2 * c12[ 1 ] * c13[ 1 ] * c23[ 1 ] - 6 * c10[ 1 ] * c20[ 0 ] * c13x2 * c13[ 1 ] * c23[ 1 ] - 6 * c10[ 1 ] * c20[ 1 ] * c13x2 * c13[ 1 ] * c23[ 0 ] - 6 * c10[ 1 ] * c21[ 0 ] * c13x2 * c13[ 1 ] * c22[ 1 ] - 2 * c10[ 1 ] * c12x2 * c12[ 1 ] * c13[ 0 ] * c23[ 1 ] - 2 * c10[ 1 ] * c12x2 * c12[ 1 ] * c13[ 1 ] * c23[ 0 ] - 6 * c10[ 1 ] * c13x2 * c21[ 1 ] * c22[ 0 ] * c13[ 1 ] - c11[ 0 ] * c11[ 1 ] * c12x2 * c13[ 1 ] * c23[ 1 ] - 2 * c11[ 0 ] * c11y2 * c13[ 0 ] * c13[ 1 ] * c23[ 0 ] + 3 * c20[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13x2 * c23[ 1 ] - 2 * c20[ 0 ] * c12[ 0 ] * c12y2 * c13[ 0 ] * c23[ 1 ] - 2 * c20[ 0 ] * c12[ 0 ] * c12y2 * c13[ 1 ] * c23[ 0 ] - 6 * c20[ 0 ] * c20[ 1 ] * c13[ 0 ] * c13y2 * c23[ 0 ] - 6 * c20[ 0 ] * c21[ 0 ] * c13[ 0 ] * c13y2 * c22[ 1 ] - 6 * c20[ 0 ] * c13[ 0 ] * c21[ 1 ] * c22[ 0 ] * c13y2 + 3 * c11[ 1 ] * c20[ 1 ] * c12[ 1 ] * c13x2 * c23[ 0 ] + 3 * c11[ 1 ] * c21[ 0 ] * c12[ 1 ] * c13x2 * c22[ 1 ] + 3 * c11[ 1 ] * c12[ 1 ] * c13x2 * c21[ 1 ] * c22[ 0 ] - 2 * c12[ 0 ] * c20[ 1 ] * c12y2 * c13[ 0 ] * c23[ 0 ] - 2 * c12[ 0 ] * c21[ 0 ] * c12y2 * c13[ 0 ] * c22[ 1 ] - 2 * c12[ 0 ] * c21[ 0 ] * c12y2 * c22[ 0 ] * c13[ 1 ] - 2 * c12[ 0 ] * c12y2 * c13[ 0 ] * c21[ 1 ] * c22[ 0 ] - 6 * c20[ 1 ] * c21[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13y2 - c11y2 * c12[ 0 ] * c12[ 1 ] * c13[ 0 ] * c23[ 0 ] + 2 * c20[ 0 ] * c12x2 * c12[ 1 ] * c13[ 1 ] * c23[ 1 ] + 6 * c20[ 1 ] * c13x2 * c21[ 1 ] * c22[ 0 ] * c13[ 1 ] + 2 * c11x2 * c11[ 1 ] * c13[ 0 ] * c13[ 1 ] * c23[ 1 ] + c11x2 * c12[ 0 ] * c12[ 1 ] * c13[ 1 ] * c23[ 1 ] + 2 * c12x2 * c20[ 1 ] * c12[ 1 ] * c13[ 1 ] * c23[ 0 ] + 2 * c12x2 * c21[ 0 ] * c12[ 1 ] * c13[ 1 ] * c22[ 1 ] + 2 * c12x2 * c12[ 1 ] * c21[ 1 ] * c22[ 0 ] * c13[ 1 ] + c21x3 * c13y3 + 3 * c10x2 * c13y3 * c23[ 0 ] - 3 * c10y2 * c13x3 * c23[ 1 ] + 3 * c20x2 * c13y3 * c23[ 0 ] + c11y3 * c13x2 * c23[ 0 ] - c11x3 * c13y2 * c23[ 1 ] - c11[ 0 ] * c11y2 * c13x2 * c23[ 1 ] + c11x2 * c11[ 1 ] * c13y2 * c23[ 0 ] - 3 * c10x2 * c13[ 0 ] * c13y2 * c23[ 1 ] + 3 * c10y2 * c13x2 * c13[ 1 ] * c23[ 0 ] - c11x2 * c12y2 * c13[ 0 ] * c23[ 1 ] + c11y2 * c12x2 * c13[ 1 ] * c23[ 0 ] - 3 * c21x2 * c13[ 0 ] * c21[ 1 ] * c13y2 - 3 * c20x2 * c13[ 0 ] * c13y2 * c23[ 1 ] + 3 * c20y2 * c13x2 * c13[ 1 ] * c23[ 0 ] + c11[ 0 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * (6 * c20[ 1 ] * c23[ 1 ] + 6 * c21[ 1 ] * c22[ 1 ]) + c12x3 * c13[ 1 ] * (-2 * c20[ 1 ] * c23[ 1 ] - 2 * c21[ 1 ] * c22[ 1 ]) + c10[ 1 ] * c13x3 * (6 * c20[ 1 ] * c23[ 1 ] + 6 * c21[ 1 ] * c22[ 1 ]) + c11[ 1 ] * c12[ 0 ] * c13x2 * (-2 * c20[ 1 ] * c23[ 1 ] - 2 * c21[ 1 ] * c22[ 1 ]) + c12x2 * c12[ 1 ] * c13[ 0 ] * (2 * c20[ 1 ] * c23[ 1 ] + 2 * c21[ 1 ] * c22[ 1 ]) + c11[ 0 ] * c12[ 1 ] * c13x2 * (-4 * c20[ 1 ] * c23[ 1 ] - 4 * c21[ 1 ] * c22[ 1 ]) + c10[ 0 ] * c13x2 * c13[ 1 ] * (-6 * c20[ 1 ] * c23[ 1 ] - 6 * c21[ 1 ] * c22[ 1 ]) + c20[ 0 ] * c13x2 * c13[ 1 ] * (6 * c20[ 1 ] * c23[ 1 ] + 6 * c21[ 1 ] * c22[ 1 ]) + c21[ 0 ] * c13x2 * c13[ 1 ] * (6 * c20[ 1 ] * c22[ 1 ] + 3 * c21y2) + c13x3 * (-2 * c20[ 1 ] * c21[ 1 ] * c22[ 1 ] - c20y2 * c23[ 1 ] - c21[ 1 ] * (2 * c20[ 1 ] * c22[ 1 ] + c21y2) - c20[ 1 ] * (2 * c20[ 1 ] * c23[ 1 ] + 2 * c21[ 1 ] * c22[ 1 ]));
+		coefficients[ 7 ] = -c10[ 0 ] * c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c22[ 1 ] + c10[ 0 ] * c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * c22[ 1 ] + 6 * c10[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] - 6 * c10[ 1 ] * c11[ 0 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * c22[ 1 ] - c10[ 1 ] * c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] + c10[ 1 ] * c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] + c11[ 0 ] * c11[ 1 ] * c12[ 0 ] * c12[ 1 ] * c13[ 0 ] * c22[ 1 ] - c11[ 0 ] * c11[ 1 ] * c12[ 0 ] * c12[ 1 ] * c22[ 0 ] * c13[ 1 ] + c11[ 0 ] * c20[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] * c22[ 1 ] + c11[ 0 ] * c20[ 1 ] * c12[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] + c11[ 0 ] * c21[ 0 ] * c12[ 1 ] * c13[ 0 ] * c21[ 1 ] * c13[ 1 ] - c20[ 0 ] * c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * c22[ 1 ] - 6 * c20[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] - c11[ 1 ] * c12[ 0 ] * c20[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] - c11[ 1 ] * c12[ 0 ] * c21[ 0 ] * c13[ 0 ] * c21[ 1 ] * c13[ 1 ] - 6 * c10[ 0 ] * c20[ 0 ] * c22[ 0 ] * c13y3 - 2 * c10[ 0 ] * c12y3 * c13[ 0 ] * c22[ 0 ] + 2 * c20[ 0 ] * c12y3 * c13[ 0 ] * c22[ 0 ] + 2 * c10[ 1 ] * c12x3 * c13[ 1 ] * c22[ 1 ] - 6 * c10[ 0 ] * c10[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13y2 + 3 * c10[ 0 ] * c11[ 0 ] * c12[ 0 ] * c13y2 * c22[ 1 ] - 2 * c10[ 0 ] * c11[ 0 ] * c12[ 1 ] * c22[ 0 ] * c13y2 - 4 * c10[ 0 ] * c11[ 1 ] * c12[ 0 ] * c22[ 0 ] * c13y2 + 3 * c10[ 1 ] * c11[ 0 ] * c12[ 0 ] * c22[ 0 ] * c13y2 + 6 * c10[ 0 ] * c10[ 1 ] * c13x2 * c13[ 1 ] * c22[ 1 ] + 6 * c10[ 0 ] * c20[ 0 ] * c13[ 0 ] * c13y2 * c22[ 1 ] - 3 * c10[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13x2 * c22[ 1 ] + 2 * c10[ 0 ] * c12[ 0 ] * c12y2 * c13[ 0 ] * c22[ 1 ] + 2 * c10[ 0 ] * c12[ 0 ] * c12y2 * c22[ 0 ] * c13[ 1 ] + 6 * c10[ 0 ] * c20[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13y2 + 6 * c10[ 0 ] * c21[ 0 ] * c13[ 0 ] * c21[ 1 ] * c13y2 + 4 * c10[ 1 ] * c11[ 0 ] * c12[ 1 ] * c13x2 * c22[ 1 ] + 6 * c10[ 1 ] * c20[ 0 ] * c13[ 0 ] * c22[ 0 ] * c13y2 + 2 * c10[ 1 ] * c11[ 1 ] * c12[ 0 ] * c13x2 * c22[ 1 ] - 3 * c10[ 1 ] * c11[ 1 ] * c12[ 1 ] * c13x2 * c22[ 0 ] + 2 * c10[ 1 ] * c12[ 0 ] * c12y2 * c13[ 0 ] * c22[ 0 ] - 3 * c11[ 0 ] * c20[ 0 ] * c12[ 0 ] * c13y2 * c22[ 1 ] + 2 * c11[ 0 ] * c20[ 0 ] * c12[ 1 ] * c22[ 0 ] * c13y2 + c11[ 0 ] * c11[ 1 ] * c12y2 * c13[ 0 ] * c22[ 0 ] - 3 * c11[ 0 ] * c12[ 0 ] * c20[ 1 ] * c22[ 0 ] * c13y2 - 3 * c11[ 0 ] * c12[ 0 ] * c21[ 0 ] * c21[ 1 ] * c13y2 + 4 * c20[ 0 ] * c11[ 1 ] * c12[ 0 ] * c22[ 0 ] * c13y2 - 2 * c10[ 0 ] * c12x2 * c12[ 1 ] * c13[ 1 ] * c22[ 1 ] - 6 * c10[ 1 ] * c20[ 0 ] * c13x2 * c13[ 1 ] * c22[ 1 ] - 6 * c10[ 1 ] * c20[ 1 ] * c13x2 * c22[ 0 ] * c13[ 1 ] - 6 * c10[ 1 ] * c21[ 0 ] * c13x2 * c21[ 1 ] * c13[ 1 ] - 2 * c10[ 1 ] * c12x2 * c12[ 1 ] * c13[ 0 ] * c22[ 1 ] - 2 * c10[ 1 ] * c12x2 * c12[ 1 ] * c22[ 0 ] * c13[ 1 ] - c11[ 0 ] * c11[ 1 ] * c12x2 * c13[ 1 ] * c22[ 1 ] - 2 * c11[ 0 ] * c11y2 * c13[ 0 ] * c22[ 0 ] * c13[ 1 ] + 3 * c20[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13x2 * c22[ 1 ] - 2 * c20[ 0 ] * c12[ 0 ] * c12y2 * c13[ 0 ] * c22[ 1 ] - 2 * c20[ 0 ] * c12[ 0 ] * c12y2 * c22[ 0 ] * c13[ 1 ] - 6 * c20[ 0 ] * c20[ 1 ] * c13[ 0 ] * c22[ 0 ] * c13y2 - 6 * c20[ 0 ] * c21[ 0 ] * c13[ 0 ] * c21[ 1 ] * c13y2 + 3 * c11[ 1 ] * c20[ 1 ] * c12[ 1 ] * c13x2 * c22[ 0 ] + 3 * c11[ 1 ] * c21[ 0 ] * c12[ 1 ] * c13x2 * c21[ 1 ] - 2 * c12[ 0 ] * c20[ 1 ] * c12y2 * c13[ 0 ] * c22[ 0 ] - 2 * c12[ 0 ] * c21[ 0 ] * c12y2 * c13[ 0 ] * c21[ 1 ] - c11y2 * c12[ 0 ] * c12[ 1 ] * c13[ 0 ] * c22[ 0 ] + 2 * c20[ 0 ] * c12x2 * c12[ 1 ] * c13[ 1 ] * c22[ 1 ] - 3 * c11[ 1 ] * c21x2 * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] + 6 * c20[ 1 ] * c21[ 0 ] * c13x2 * c21[ 1 ] * c13[ 1 ] + 2 * c11x2 * c11[ 1 ] * c13[ 0 ] * c13[ 1 ] * c22[ 1 ] + c11x2 * c12[ 0 ] * c12[ 1 ] * c13[ 1 ] * c22[ 1 ] + 2 * c12x2 * c20[ 1 ] * c12[ 1 ] * c22[ 0 ] * c13[ 1 ] + 2 * c12x2 * c21[ 0 ] * c12[ 1 ] * c21[ 1 ] * c13[ 1 ] - 3 * c10[ 0 ] * c21x2 * c13y3 + 3 * c20[ 0 ] * c21x2 * c13y3 + 3 * c10x2 * c22[ 0 ] * c13y3 - 3 * c10y2 * c13x3 * c22[ 1 ] + 3 * c20x2 * c22[ 0 ] * c13y3 + c21x2 * c12y3 * c13[ 0 ] + c11y3 * c13x2 * c22[ 0 ] - c11x3 * c13y2 * c22[ 1 ] + 3 * c10[ 1 ] * c21x2 * c13[ 0 ] * c13y2 - c11[ 0 ] * c11y2 * c13x2 * c22[ 1 ] + c11[ 0 ] * c21x2 * c12[ 1 ] * c13y2 + 2 * c11[ 1 ] * c12[ 0 ] * c21x2 * c13y2 + c11x2 * c11[ 1 ] * c22[ 0 ] * c13y2 - c12[ 0 ] * c21x2 * c12y2 * c13[ 1 ] - 3 * c20[ 1 ] * c21x2 * c13[ 0 ] * c13y2 - 3 * c10x2 * c13[ 0 ] * c13y2 * c22[ 1 ] + 3 * c10y2 * c13x2 * c22[ 0 ] * c13[ 1 ] - c11x2 * c12y2 * c13[ 0 ] * c22[ 1 ] + c11y2 * c12x2 * c22[ 0 ] * c13[ 1 ] - 3 * c20x2 * c13[ 0 ] * c13y2 * c22[ 1 ] + 3 * c20y2 * c13x2 * c22[ 0 ] * c13[ 1 ] + c12x2 * c12[ 1 ] * c13[ 0 ] * (2 * c20[ 1 ] * c22[ 1 ] + c21y2) + c11[ 0 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] * (6 * c20[ 1 ] * c22[ 1 ] + 3 * c21y2) + c12x3 * c13[ 1 ] * (-2 * c20[ 1 ] * c22[ 1 ] - c21y2) + c10[ 1 ] * c13x3 * (6 * c20[ 1 ] * c22[ 1 ] + 3 * c21y2) + c11[ 1 ] * c12[ 0 ] * c13x2 * (-2 * c20[ 1 ] * c22[ 1 ] - c21y2) + c11[ 0 ] * c12[ 1 ] * c13x2 * (-4 * c20[ 1 ] * c22[ 1 ] - 2 * c21y2) + c10[ 0 ] * c13x2 * c13[ 1 ] * (-6 * c20[ 1 ] * c22[ 1 ] - 3 * c21y2) + c20[ 0 ] * c13x2 * c13[ 1 ] * (6 * c20[ 1 ] * c22[ 1 ] + 3 * c21y2) + c13x3 * (-2 * c20[ 1 ] * c21y2 - c20y2 * c22[ 1 ] - c20[ 1 ] * (2 * c20[ 1 ] * c22[ 1 ] + c21y2));
+		coefficients[ 8 ] = -c10[ 0 ] * c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c21[ 1 ] * c13[ 1 ] + c10[ 0 ] * c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c21[ 1 ] * c13[ 1 ] + 6 * c10[ 0 ] * c11[ 1 ] * c21[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] - 6 * c10[ 1 ] * c11[ 0 ] * c12[ 0 ] * c13[ 0 ] * c21[ 1 ] * c13[ 1 ] - c10[ 1 ] * c11[ 0 ] * c21[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] + c10[ 1 ] * c11[ 1 ] * c12[ 0 ] * c21[ 0 ] * c13[ 0 ] * c13[ 1 ] - c11[ 0 ] * c11[ 1 ] * c12[ 0 ] * c21[ 0 ] * c12[ 1 ] * c13[ 1 ] + c11[ 0 ] * c11[ 1 ] * c12[ 0 ] * c12[ 1 ] * c13[ 0 ] * c21[ 1 ] + c11[ 0 ] * c20[ 0 ] * c12[ 1 ] * c13[ 0 ] * c21[ 1 ] * c13[ 1 ] + 6 * c11[ 0 ] * c12[ 0 ] * c20[ 1 ] * c13[ 0 ] * c21[ 1 ] * c13[ 1 ] + c11[ 0 ] * c20[ 1 ] * c21[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] - c20[ 0 ] * c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c21[ 1 ] * c13[ 1 ] - 6 * c20[ 0 ] * c11[ 1 ] * c21[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] - c11[ 1 ] * c12[ 0 ] * c20[ 1 ] * c21[ 0 ] * c13[ 0 ] * c13[ 1 ] - 6 * c10[ 0 ] * c20[ 0 ] * c21[ 0 ] * c13y3 - 2 * c10[ 0 ] * c21[ 0 ] * c12y3 * c13[ 0 ] + 6 * c10[ 1 ] * c20[ 1 ] * c13x3 * c21[ 1 ] + 2 * c20[ 0 ] * c21[ 0 ] * c12y3 * c13[ 0 ] + 2 * c10[ 1 ] * c12x3 * c21[ 1 ] * c13[ 1 ] - 2 * c12x3 * c20[ 1 ] * c21[ 1 ] * c13[ 1 ] - 6 * c10[ 0 ] * c10[ 1 ] * c21[ 0 ] * c13[ 0 ] * c13y2 + 3 * c10[ 0 ] * c11[ 0 ] * c12[ 0 ] * c21[ 1 ] * c13y2 - 2 * c10[ 0 ] * c11[ 0 ] * c21[ 0 ] * c12[ 1 ] * c13y2 - 4 * c10[ 0 ] * c11[ 1 ] * c12[ 0 ] * c21[ 0 ] * c13y2 + 3 * c10[ 1 ] * c11[ 0 ] * c12[ 0 ] * c21[ 0 ] * c13y2 + 6 * c10[ 0 ] * c10[ 1 ] * c13x2 * c21[ 1 ] * c13[ 1 ] + 6 * c10[ 0 ] * c20[ 0 ] * c13[ 0 ] * c21[ 1 ] * c13y2 - 3 * c10[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13x2 * c21[ 1 ] + 2 * c10[ 0 ] * c12[ 0 ] * c21[ 0 ] * c12y2 * c13[ 1 ] + 2 * c10[ 0 ] * c12[ 0 ] * c12y2 * c13[ 0 ] * c21[ 1 ] + 6 * c10[ 0 ] * c20[ 1 ] * c21[ 0 ] * c13[ 0 ] * c13y2 + 4 * c10[ 1 ] * c11[ 0 ] * c12[ 1 ] * c13x2 * c21[ 1 ] + 6 * c10[ 1 ] * c20[ 0 ] * c21[ 0 ] * c13[ 0 ] * c13y2 + 2 * c10[ 1 ] * c11[ 1 ] * c12[ 0 ] * c13x2 * c21[ 1 ] - 3 * c10[ 1 ] * c11[ 1 ] * c21[ 0 ] * c12[ 1 ] * c13x2 + 2 * c10[ 1 ] * c12[ 0 ] * c21[ 0 ] * c12y2 * c13[ 0 ] - 3 * c11[ 0 ] * c20[ 0 ] * c12[ 0 ] * c21[ 1 ] * c13y2 + 2 * c11[ 0 ] * c20[ 0 ] * c21[ 0 ] * c12[ 1 ] * c13y2 + c11[ 0 ] * c11[ 1 ] * c21[ 0 ] * c12y2 * c13[ 0 ] - 3 * c11[ 0 ] * c12[ 0 ] * c20[ 1 ] * c21[ 0 ] * c13y2 + 4 * c20[ 0 ] * c11[ 1 ] * c12[ 0 ] * c21[ 0 ] * c13y2 - 6 * c10[ 0 ] * c20[ 1 ] * c13x2 * c21[ 1 ] * c13[ 1 ] - 2 * c10[ 0 ] * c12x2 * c12[ 1 ] * c21[ 1 ] * c13[ 1 ] - 6 * c10[ 1 ] * c20[ 0 ] * c13x2 * c21[ 1 ] * c13[ 1 ] - 6 * c10[ 1 ] * c20[ 1 ] * c21[ 0 ] * c13x2 * c13[ 1 ] - 2 * c10[ 1 ] * c12x2 * c21[ 0 ] * c12[ 1 ] * c13[ 1 ] - 2 * c10[ 1 ] * c12x2 * c12[ 1 ] * c13[ 0 ] * c21[ 1 ] - c11[ 0 ] * c11[ 1 ] * c12x2 * c21[ 1 ] * c13[ 1 ] - 4 * c11[ 0 ] * c20[ 1 ] * c12[ 1 ] * c13x2 * c21[ 1 ] - 2 * c11[ 0 ] * c11y2 * c21[ 0 ] * c13[ 0 ] * c13[ 1 ] + 3 * c20[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13x2 * c21[ 1 ] - 2 * c20[ 0 ] * c12[ 0 ] * c21[ 0 ] * c12y2 * c13[ 1 ] - 2 * c20[ 0 ] * c12[ 0 ] * c12y2 * c13[ 0 ] * c21[ 1 ] - 6 * c20[ 0 ] * c20[ 1 ] * c21[ 0 ] * c13[ 0 ] * c13y2 - 2 * c11[ 1 ] * c12[ 0 ] * c20[ 1 ] * c13x2 * c21[ 1 ] + 3 * c11[ 1 ] * c20[ 1 ] * c21[ 0 ] * c12[ 1 ] * c13x2 - 2 * c12[ 0 ] * c20[ 1 ] * c21[ 0 ] * c12y2 * c13[ 0 ] - c11y2 * c12[ 0 ] * c21[ 0 ] * c12[ 1 ] * c13[ 0 ] + 6 * c20[ 0 ] * c20[ 1 ] * c13x2 * c21[ 1 ] * c13[ 1 ] + 2 * c20[ 0 ] * c12x2 * c12[ 1 ] * c21[ 1 ] * c13[ 1 ] + 2 * c11x2 * c11[ 1 ] * c13[ 0 ] * c21[ 1 ] * c13[ 1 ] + c11x2 * c12[ 0 ] * c12[ 1 ] * c21[ 1 ] * c13[ 1 ] + 2 * c12x2 * c20[ 1 ] * c21[ 0 ] * c12[ 1 ] * c13[ 1 ] + 2 * c12x2 * c20[ 1 ] * c12[ 1 ] * c13[ 0 ] * c21[ 1 ] + 3 * c10x2 * c21[ 0 ] * c13y3 - 3 * c10y2 * c13x3 * c21[ 1 ] + 3 * c20x2 * c21[ 0 ] * c13y3 + c11y3 * c21[ 0 ] * c13x2 - c11x3 * c21[ 1 ] * c13y2 - 3 * c20y2 * c13x3 * c21[ 1 ] - c11[ 0 ] * c11y2 * c13x2 * c21[ 1 ] + c11x2 * c11[ 1 ] * c21[ 0 ] * c13y2 - 3 * c10x2 * c13[ 0 ] * c21[ 1 ] * c13y2 + 3 * c10y2 * c21[ 0 ] * c13x2 * c13[ 1 ] - c11x2 * c12y2 * c13[ 0 ] * c21[ 1 ] + c11y2 * c12x2 * c21[ 0 ] * c13[ 1 ] - 3 * c20x2 * c13[ 0 ] * c21[ 1 ] * c13y2 + 3 * c20y2 * c21[ 0 ] * c13x2 * c13[ 1 ];
+		coefficients[ 9 ] = c10[ 0 ] * c10[ 1 ] * c11[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] - c10[ 0 ] * c10[ 1 ] * c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] + c10[ 0 ] * c11[ 0 ] * c11[ 1 ] * c12[ 0 ] * c12[ 1 ] * c13[ 1 ] - c10[ 1 ] * c11[ 0 ] * c11[ 1 ] * c12[ 0 ] * c12[ 1 ] * c13[ 0 ] - c10[ 0 ] * c11[ 0 ] * c20[ 1 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] + 6 * c10[ 0 ] * c20[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] + c10[ 0 ] * c11[ 1 ] * c12[ 0 ] * c20[ 1 ] * c13[ 0 ] * c13[ 1 ] - c10[ 1 ] * c11[ 0 ] * c20[ 0 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] - 6 * c10[ 1 ] * c11[ 0 ] * c12[ 0 ] * c20[ 1 ] * c13[ 0 ] * c13[ 1 ] + c10[ 1 ] * c20[ 0 ] * c11[ 1 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] - c11[ 0 ] * c20[ 0 ] * c11[ 1 ] * c12[ 0 ] * c12[ 1 ] * c13[ 1 ] + c11[ 0 ] * c11[ 1 ] * c12[ 0 ] * c20[ 1 ] * c12[ 1 ] * c13[ 0 ] + c11[ 0 ] * c20[ 0 ] * c20[ 1 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] - c20[ 0 ] * c11[ 1 ] * c12[ 0 ] * c20[ 1 ] * c13[ 0 ] * c13[ 1 ] - 2 * c10[ 0 ] * c20[ 0 ] * c12y3 * c13[ 0 ] + 2 * c10[ 1 ] * c12x3 * c20[ 1 ] * c13[ 1 ] - 3 * c10[ 0 ] * c10[ 1 ] * c11[ 0 ] * c12[ 0 ] * c13y2 - 6 * c10[ 0 ] * c10[ 1 ] * c20[ 0 ] * c13[ 0 ] * c13y2 + 3 * c10[ 0 ] * c10[ 1 ] * c11[ 1 ] * c12[ 1 ] * c13x2 - 2 * c10[ 0 ] * c10[ 1 ] * c12[ 0 ] * c12y2 * c13[ 0 ] - 2 * c10[ 0 ] * c11[ 0 ] * c20[ 0 ] * c12[ 1 ] * c13y2 - c10[ 0 ] * c11[ 0 ] * c11[ 1 ] * c12y2 * c13[ 0 ] + 3 * c10[ 0 ] * c11[ 0 ] * c12[ 0 ] * c20[ 1 ] * c13y2 - 4 * c10[ 0 ] * c20[ 0 ] * c11[ 1 ] * c12[ 0 ] * c13y2 + 3 * c10[ 1 ] * c11[ 0 ] * c20[ 0 ] * c12[ 0 ] * c13y2 + 6 * c10[ 0 ] * c10[ 1 ] * c20[ 1 ] * c13x2 * c13[ 1 ] + 2 * c10[ 0 ] * c10[ 1 ] * c12x2 * c12[ 1 ] * c13[ 1 ] + 2 * c10[ 0 ] * c11[ 0 ] * c11y2 * c13[ 0 ] * c13[ 1 ] + 2 * c10[ 0 ] * c20[ 0 ] * c12[ 0 ] * c12y2 * c13[ 1 ] + 6 * c10[ 0 ] * c20[ 0 ] * c20[ 1 ] * c13[ 0 ] * c13y2 - 3 * c10[ 0 ] * c11[ 1 ] * c20[ 1 ] * c12[ 1 ] * c13x2 + 2 * c10[ 0 ] * c12[ 0 ] * c20[ 1 ] * c12y2 * c13[ 0 ] + c10[ 0 ] * c11y2 * c12[ 0 ] * c12[ 1 ] * c13[ 0 ] + c10[ 1 ] * c11[ 0 ] * c11[ 1 ] * c12x2 * c13[ 1 ] + 4 * c10[ 1 ] * c11[ 0 ] * c20[ 1 ] * c12[ 1 ] * c13x2 - 3 * c10[ 1 ] * c20[ 0 ] * c11[ 1 ] * c12[ 1 ] * c13x2 + 2 * c10[ 1 ] * c20[ 0 ] * c12[ 0 ] * c12y2 * c13[ 0 ] + 2 * c10[ 1 ] * c11[ 1 ] * c12[ 0 ] * c20[ 1 ] * c13x2 + c11[ 0 ] * c20[ 0 ] * c11[ 1 ] * c12y2 * c13[ 0 ] - 3 * c11[ 0 ] * c20[ 0 ] * c12[ 0 ] * c20[ 1 ] * c13y2 - 2 * c10[ 0 ] * c12x2 * c20[ 1 ] * c12[ 1 ] * c13[ 1 ] - 6 * c10[ 1 ] * c20[ 0 ] * c20[ 1 ] * c13x2 * c13[ 1 ] - 2 * c10[ 1 ] * c20[ 0 ] * c12x2 * c12[ 1 ] * c13[ 1 ] - 2 * c10[ 1 ] * c11x2 * c11[ 1 ] * c13[ 0 ] * c13[ 1 ] - c10[ 1 ] * c11x2 * c12[ 0 ] * c12[ 1 ] * c13[ 1 ] - 2 * c10[ 1 ] * c12x2 * c20[ 1 ] * c12[ 1 ] * c13[ 0 ] - 2 * c11[ 0 ] * c20[ 0 ] * c11y2 * c13[ 0 ] * c13[ 1 ] - c11[ 0 ] * c11[ 1 ] * c12x2 * c20[ 1 ] * c13[ 1 ] + 3 * c20[ 0 ] * c11[ 1 ] * c20[ 1 ] * c12[ 1 ] * c13x2 - 2 * c20[ 0 ] * c12[ 0 ] * c20[ 1 ] * c12y2 * c13[ 0 ] - c20[ 0 ] * c11y2 * c12[ 0 ] * c12[ 1 ] * c13[ 0 ] + 3 * c10y2 * c11[ 0 ] * c12[ 0 ] * c13[ 0 ] * c13[ 1 ] + 3 * c11[ 0 ] * c12[ 0 ] * c20y2 * c13[ 0 ] * c13[ 1 ] + 2 * c20[ 0 ] * c12x2 * c20[ 1 ] * c12[ 1 ] * c13[ 1 ] - 3 * c10x2 * c11[ 1 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] + 2 * c11x2 * c11[ 1 ] * c20[ 1 ] * c13[ 0 ] * c13[ 1 ] + c11x2 * c12[ 0 ] * c20[ 1 ] * c12[ 1 ] * c13[ 1 ] - 3 * c20x2 * c11[ 1 ] * c12[ 1 ] * c13[ 0 ] * c13[ 1 ] - c10x3 * c13y3 + c10y3 * c13x3 + c20x3 * c13y3 - c20y3 * c13x3 - 3 * c10[ 0 ] * c20x2 * c13y3 - c10[ 0 ] * c11y3 * c13x2 + 3 * c10x2 * c20[ 0 ] * c13y3 + c10[ 1 ] * c11x3 * c13y2 + 3 * c10[ 1 ] * c20y2 * c13x3 + c20[ 0 ] * c11y3 * c13x2 + c10x2 * c12y3 * c13[ 0 ] - 3 * c10y2 * c20[ 1 ] * c13x3 - c10y2 * c12x3 * c13[ 1 ] + c20x2 * c12y3 * c13[ 0 ] - c11x3 * c20[ 1 ] * c13y2 - c12x3 * c20y2 * c13[ 1 ] - c10[ 0 ] * c11x2 * c11[ 1 ] * c13y2 + c10[ 1 ] * c11[ 0 ] * c11y2 * c13x2 - 3 * c10[ 0 ] * c10y2 * c13x2 * c13[ 1 ] - c10[ 0 ] * c11y2 * c12x2 * c13[ 1 ] + c10[ 1 ] * c11x2 * c12y2 * c13[ 0 ] - c11[ 0 ] * c11y2 * c20[ 1 ] * c13x2 + 3 * c10x2 * c10[ 1 ] * c13[ 0 ] * c13y2 + c10x2 * c11[ 0 ] * c12[ 1 ] * c13y2 + 2 * c10x2 * c11[ 1 ] * c12[ 0 ] * c13y2 - 2 * c10y2 * c11[ 0 ] * c12[ 1 ] * c13x2 - c10y2 * c11[ 1 ] * c12[ 0 ] * c13x2 + c11x2 * c20[ 0 ] * c11[ 1 ] * c13y2 - 3 * c10[ 0 ] * c20y2 * c13x2 * c13[ 1 ] + 3 * c10[ 1 ] * c20x2 * c13[ 0 ] * c13y2 + c11[ 0 ] * c20x2 * c12[ 1 ] * c13y2 - 2 * c11[ 0 ] * c20y2 * c12[ 1 ] * c13x2 + c20[ 0 ] * c11y2 * c12x2 * c13[ 1 ] - c11[ 1 ] * c12[ 0 ] * c20y2 * c13x2 - c10x2 * c12[ 0 ] * c12y2 * c13[ 1 ] - 3 * c10x2 * c20[ 1 ] * c13[ 0 ] * c13y2 + 3 * c10y2 * c20[ 0 ] * c13x2 * c13[ 1 ] + c10y2 * c12x2 * c12[ 1 ] * c13[ 0 ] - c11x2 * c20[ 1 ] * c12y2 * c13[ 0 ] + 2 * c20x2 * c11[ 1 ] * c12[ 0 ] * c13y2 + 3 * c20[ 0 ] * c20y2 * c13x2 * c13[ 1 ] - c20x2 * c12[ 0 ] * c12y2 * c13[ 1 ] - 3 * c20x2 * c20[ 1 ] * c13[ 0 ] * c13y2 + c12x2 * c20y2 * c12[ 1 ] * c13[ 0 ];
+		double[] roots = result.roots();
+		int count = Polynomial.getRootsInInterval( coefficients, 9, 0, 1, roots, result.work() );
+
+		double[] xRoots = result.xRoots();
+		double[] yRoots = result.yRoots();
+		for( int index = 0; index < count; index++ ) {
+			double s = roots[ index ];
+			int xCount = Polynomial.getRoots( c13[ 0 ], c12[ 0 ], c11[ 0 ], c10[ 0 ] - c20[ 0 ] - s * c21[ 0 ] - s * s * c22[ 0 ] - s * s * s * c23[ 0 ], xRoots );
+			int yCount = Polynomial.getRoots( c13[ 1 ], c12[ 1 ], c11[ 1 ], c10[ 1 ] - c20[ 1 ] - s * c21[ 1 ] - s * s * c22[ 1 ] - s * s * s * c23[ 1 ], yRoots );
+
+			if( xCount > 0 && yCount > 0 ) {
 				double TOLERANCE = 1e-4;
 
 				checkRoots:
-				for( double xRoot : xRoots ) {
+				for( int x = 0; x < xCount; x++ ) {
+					double xRoot = xRoots[ x ];
 					if( 0 <= xRoot && xRoot <= 1 ) {
-						for( double yRoot : yRoots ) {
-							if( Math.abs( xRoot - yRoot ) < TOLERANCE ) {
-								intersections.add( Vector.add( Vector.scale( c23, s * s * s ), Vector.add( Vector.scale( c22, s * s ), Vector.add( Vector.scale( c21, s ), c20 ) ) ) );
+						for( int y = 0; y < yCount; y++ ) {
+							if( Math.abs( xRoot - yRoots[ y ] ) < TOLERANCE ) {
+								double sss = s * s * s;
+								double ss = s * s;
+								result.add( c23[ 0 ] * sss + (c22[ 0 ] * ss + (c21[ 0 ] * s + c20[ 0 ])), c23[ 1 ] * sss + (c22[ 1 ] * ss + (c21[ 1 ] * s + c20[ 1 ])), xRoot, s );
 								break checkRoots;
 							}
 						}
@@ -484,10 +621,393 @@ public class Intersection2D extends Intersection {
 			}
 		}
 
-		return intersections.size() == 0 ? new Intersection2D( Type.NONE ) : new Intersection2D( Type.INTERSECTION, intersections.toArray( new double[ intersections.size() ][] ) );
+		return result.set( result.isEmpty() ? Type.NONE : Type.INTERSECTION );
+	}
+
+	/**
+	 * Find the intersections of one line with many cubic Bézier curves. The
+	 * implicit line coefficients are computed once for all the curves and any
+	 * curve with all of its control points on one side of the line is skipped
+	 * without solving for roots. The intersections are appended to the result
+	 * buffer along with the index of the curve that produced them.
+	 *
+	 * @param l1 The first line point
+	 * @param l2 The other line point
+	 * @param curves The curves, each an array of four control points
+	 * @param result The buffer to which the intersections are added
+	 * @return The number of intersections added to the buffer
+	 */
+	public static int intersectLineBezier3( double[] l1, double[] l2, double[][][] curves, IntersectionBuffer result ) {
+		double la = l2[ 1 ] - l1[ 1 ];
+		double lb = l1[ 0 ] - l2[ 0 ];
+		double lc = l1[ 0 ] * (l1[ 1 ] - l2[ 1 ]) + l1[ 1 ] * (l2[ 0 ] - l1[ 0 ]);
+
+		double[] roots = new double[ 3 ];
+		int count = 0;
+		for( int index = 0; index < curves.length; index++ ) {
+			double[][] curve = curves[ index ];
+			count += intersectLineBezier3( l1, l2, la, lb, lc, curve[ 0 ], curve[ 1 ], curve[ 2 ], curve[ 3 ], index, roots, result );
+		}
+		return count;
+	}
+
+	/**
+	 * Find the intersections of one cubic Bézier curve with many lines. The
+	 * curve polynomial coefficients are computed once for all the lines. The
+	 * intersections are appended to the result buffer along with the index of
+	 * the line that produced them.
+	 *
+	 * @param a The curve point a
+	 * @param b The curve point b
+	 * @param c The curve point c
+	 * @param d The curve point d
+	 * @param lines The lines, each an array of two points
+	 * @param result The buffer to which the intersections are added
+	 * @return The number of intersections added to the buffer
+	 */
+	public static int intersectBezier3Line( double[] a, double[] b, double[] c, double[] d, double[][][] lines, IntersectionBuffer result ) {
+		double c3x = cubicCoefficient3( a[ 0 ], b[ 0 ], c[ 0 ], d[ 0 ] );
+		double c3y = cubicCoefficient3( a[ 1 ], b[ 1 ], c[ 1 ], d[ 1 ] );
+		double c2x = cubicCoefficient2( a[ 0 ], b[ 0 ], c[ 0 ] );
+		double c2y = cubicCoefficient2( a[ 1 ], b[ 1 ], c[ 1 ] );
+		double c1x = cubicCoefficient1( a[ 0 ], b[ 0 ] );
+		double c1y = cubicCoefficient1( a[ 1 ], b[ 1 ] );
+
+		double[] roots = new double[ 3 ];
+		int count = 0;
+		for( int index = 0; index < lines.length; index++ ) {
+			double[] l1 = lines[ index ][ 0 ];
+			double[] l2 = lines[ index ][ 1 ];
+			double la = l2[ 1 ] - l1[ 1 ];
+			double lb = l1[ 0 ] - l2[ 0 ];
+			double lc = l1[ 0 ] * (l1[ 1 ] - l2[ 1 ]) + l1[ 1 ] * (l2[ 0 ] - l1[ 0 ]);
+
+			int rootCount = Polynomial.getRoots( la * c3x + lb * c3y, la * c2x + lb * c2y, la * c1x + lb * c1y, la * a[ 0 ] + lb * a[ 1 ] + lc, roots );
+			for( int root = 0; root < rootCount; root++ ) {
+				double t = roots[ root ];
+				if( t < 0.0 || t > 1.0 ) continue;
+				double x = curveValue( a[ 0 ], b[ 0 ], c[ 0 ], d[ 0 ], t );
+				double y = curveValue( a[ 1 ], b[ 1 ], c[ 1 ], d[ 1 ], t );
+				result.add( index, x, y, t, lineParameter( l1[ 0 ], l1[ 1 ], l2[ 0 ], l2[ 1 ], x, y ) );
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Find the intersections of one ellipse with many cubic Bézier curves. The
+	 * ellipse frame (center, rotation and radii) is set up once for all the
+	 * curves and any curve with a control polygon that does not overlap the
+	 * ellipse bounds is skipped without solving for roots. The intersections
+	 * are appended to the result buffer along with the index of the curve that
+	 * produced them.
+	 *
+	 * @param ec The ellipse center
+	 * @param rx The ellipse x radius
+	 * @param ry The ellipse y radius
+	 * @param er The ellipse rotation in radians
+	 * @param curves The curves, each an array of four control points
+	 * @param result The buffer to which the intersections are added
+	 * @return The number of intersections added to the buffer
+	 */
+	public static int intersectEllipseBezier3( double[] ec, double rx, double ry, double er, double[][][] curves, IntersectionBuffer result ) {
+		double cos = Math.cos( -er );
+		double sin = Math.sin( -er );
+		IntersectionResult xn = new IntersectionResult();
+
+		int count = 0;
+		double[] x = new double[ 4 ];
+		double[] y = new double[ 4 ];
+		for( int index = 0; index < curves.length; index++ ) {
+			double[][] curve = curves[ index ];
+
+			// Move the control points into the ellipse frame
+			double minX = Double.POSITIVE_INFINITY;
+			double minY = Double.POSITIVE_INFINITY;
+			double maxX = Double.NEGATIVE_INFINITY;
+			double maxY = Double.NEGATIVE_INFINITY;
+			for( int point = 0; point < 4; point++ ) {
+				double px = curve[ point ][ 0 ] - ec[ 0 ];
+				double py = curve[ point ][ 1 ] - ec[ 1 ];
+				x[ point ] = px * cos - py * sin;
+				y[ point ] = px * sin + py * cos;
+				minX = Math.min( minX, x[ point ] );
+				minY = Math.min( minY, y[ point ] );
+				maxX = Math.max( maxX, x[ point ] );
+				maxY = Math.max( maxY, y[ point ] );
+			}
+
+			// The curve is inside the control polygon so check the bounds first
+			if( minX > rx || maxX < -rx || minY > ry || maxY < -ry ) continue;
+
+			ellipseBezier3( 0, 0, rx, ry, x[ 0 ], y[ 0 ], x[ 1 ], y[ 1 ], x[ 2 ], y[ 2 ], x[ 3 ], y[ 3 ], xn );
+
+			// Move the intersection points back out of the ellipse frame
+			for( int point = 0; point < xn.size(); point++ ) {
+				double px = xn.getX( point );
+				double py = xn.getY( point );
+				result.add( index, px * cos + py * sin + ec[ 0 ], py * cos - px * sin + ec[ 1 ], xn.getParameterA( point ), xn.getParameterB( point ) );
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static int intersectLineBezier3( double[] l1, double[] l2, double la, double lb, double lc, double[] a, double[] b, double[] c, double[] d, int target, double[] roots, IntersectionBuffer result ) {
+		// The curve is inside the control polygon so if all the control points
+		// are on the same side of the line there are no intersections
+		double sa = la * a[ 0 ] + lb * a[ 1 ] + lc;
+		double sb = la * b[ 0 ] + lb * b[ 1 ] + lc;
+		double sc = la * c[ 0 ] + lb * c[ 1 ] + lc;
+		double sd = la * d[ 0 ] + lb * d[ 1 ] + lc;
+		if( (sa > 0 && sb > 0 && sc > 0 && sd > 0) || (sa < 0 && sb < 0 && sc < 0 && sd < 0) ) return 0;
+
+		double c3x = cubicCoefficient3( a[ 0 ], b[ 0 ], c[ 0 ], d[ 0 ] );
+		double c3y = cubicCoefficient3( a[ 1 ], b[ 1 ], c[ 1 ], d[ 1 ] );
+		double c2x = cubicCoefficient2( a[ 0 ], b[ 0 ], c[ 0 ] );
+		double c2y = cubicCoefficient2( a[ 1 ], b[ 1 ], c[ 1 ] );
+		double c1x = cubicCoefficient1( a[ 0 ], b[ 0 ] );
+		double c1y = cubicCoefficient1( a[ 1 ], b[ 1 ] );
+
+		int count = 0;
+		int rootCount = Polynomial.getRoots( la * c3x + lb * c3y, la * c2x + lb * c2y, la * c1x + lb * c1y, sa, roots );
+		for( int root = 0; root < rootCount; root++ ) {
+			double t = roots[ root ];
+			if( t < 0.0 || t > 1.0 ) continue;
+			double x = curveValue( a[ 0 ], b[ 0 ], c[ 0 ], d[ 0 ], t );
+			double y = curveValue( a[ 1 ], b[ 1 ], c[ 1 ], d[ 1 ], t );
+			result.add( target, x, y, lineParameter( l1[ 0 ], l1[ 1 ], l2[ 0 ], l2[ 1 ], x, y ), t );
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Intersect a line with a circle at the origin.
+	 */
+	private static IntersectionResult lineCircle( double x1, double y1, double x2, double y2, double radius, IntersectionResult result ) {
+		result.reset();
+
+		double dx = x2 - x1;
+		double dy = y2 - y1;
+		double dr = Math.sqrt( dx * dx + dy * dy );
+		double dr2 = dr * dr;
+		double determinant = x1 * y2 - x2 * y1;
+
+		// Determine the separation from the origin of the circle
+		double ox = determinant * dy / dr2;
+		double oy = -determinant * dx / dr2;
+		double offset = Math.sqrt( ox * ox + oy * oy );
+
+		// If the offset is greater than the radius the line does not intersect
+		if( offset > radius ) return result;
+
+		// If within tolerance the line is tangent to the circle
+		if( offset > 0 && Math.abs( radius - offset ) < Constants.RESOLUTION_LENGTH ) {
+			result.add( ox, oy, lineParameter( x1, y1, x2, y2, ox, oy ), Math.atan2( oy, ox ) );
+			return result.set( Type.INTERSECTION );
+		}
+
+		// At this point the line crosses the circle at two points
+		double dis2 = radius * radius * dr2 - determinant * determinant;
+		if( dis2 <= 0 ) return result;
+
+		double discriminant = Math.sqrt( dis2 );
+
+		double px = (determinant * dy + Arithmetic.sign( dy ) * dx * discriminant) / dr2;
+		double py = (-determinant * dx + Math.abs( dy ) * discriminant) / dr2;
+		result.add( px, py, lineParameter( x1, y1, x2, y2, px, py ), Math.atan2( py, px ) );
+		px = (determinant * dy - Arithmetic.sign( dy ) * dx * discriminant) / dr2;
+		py = (-determinant * dx - Math.abs( dy ) * discriminant) / dr2;
+		result.add( px, py, lineParameter( x1, y1, x2, y2, px, py ), Math.atan2( py, px ) );
+		return result.set( Type.INTERSECTION );
+	}
+
+	/**
+	 * Intersect a line with an ellipse at the origin with axes aligned with the
+	 * X and Y axes.
+	 */
+	private static IntersectionResult lineEllipse( double x1, double y1, double x2, double y2, double rx, double ry, IntersectionResult result ) {
+		// Transform the line points according to the eccentricity of the ellipse
+		double scale = rx / ry;
+		lineCircle( x1, y1 * scale, x2, y2 * scale, rx, result );
+
+		double inverse = ry / rx;
+		for( int index = 0; index < result.size(); index++ ) {
+			result.setPoint( index, result.getX( index ), result.getY( index ) * inverse );
+		}
+		return result;
+	}
+
+	/**
+	 * Intersect an ellipse at the origin with another ellipse, both with axes
+	 * aligned with the X and Y axes.
+	 */
+	private static IntersectionResult ellipseEllipse( double rx1, double ry1, double x2, double y2, double rx2, double ry2, IntersectionResult result ) {
+		result.reset();
+
+		// Each array has six values
+		double[][] vectors = result.vectors();
+		double[] a = ellipseCoefficients( 0, 0, rx1, ry1, vectors[ 0 ] );
+		double[] b = ellipseCoefficients( x2, y2, rx2, ry2, vectors[ 1 ] );
+
+		double[] y = bezout( a, b, result.coefficients() );
+		double[] yRoots = result.roots();
+		int yCount = Polynomial.getRoots( y[ 0 ], y[ 1 ], y[ 2 ], y[ 3 ], y[ 4 ], yRoots );
+
+		double norm0 = 1e-3 * (a[ 0 ] * a[ 0 ] + 2 * a[ 1 ] * a[ 1 ] + a[ 2 ] * a[ 2 ]);
+		double norm1 = 1e-3 * (b[ 0 ] * b[ 0 ] + 2 * b[ 1 ] * b[ 1 ] + b[ 2 ] * b[ 2 ]);
+
+		double[] xRoots = result.xRoots();
+		for( int i = 0; i < yCount; i++ ) {
+			double yRoot = yRoots[ i ];
+			int xCount = Polynomial.getRoots( 0, a[ 0 ], a[ 3 ] + yRoot * a[ 1 ], a[ 5 ] + yRoot * (a[ 4 ] + yRoot * a[ 2 ]), xRoots );
+			for( int j = 0; j < xCount; j++ ) {
+				double xRoot = xRoots[ j ];
+				double test0 = (a[ 0 ] * xRoot + a[ 1 ] * yRoot + a[ 3 ]) * xRoot + (a[ 2 ] * yRoot + a[ 4 ]) * yRoot + a[ 5 ];
+				if( Math.abs( test0 ) < norm0 ) {
+					double test1 = (b[ 0 ] * xRoot + b[ 1 ] * yRoot + b[ 3 ]) * xRoot + (b[ 2 ] * yRoot + b[ 4 ]) * yRoot + b[ 5 ];
+					if( Math.abs( test1 ) < norm1 ) result.add( xRoot, yRoot, Math.atan2( yRoot / ry1, xRoot / rx1 ), Math.atan2( (yRoot - y2) / ry2, (xRoot - x2) / rx2 ) );
+				}
+			}
+		}
+
+		return result.set( result.isEmpty() ? Type.NONE : Type.INTERSECTION );
+	}
+
+	/**
+	 * Intersect an ellipse, with axes aligned with the X and Y axes, with a
+	 * cubic Bézier curve.
+	 */
+	private static IntersectionResult ellipseBezier3( double ecx, double ecy, double rx, double ry, double ax, double ay, double bx, double by, double cx, double cy, double dx, double dy, IntersectionResult result ) {
+		result.reset();
+
+		double c3x = cubicCoefficient3( ax, bx, cx, dx );
+		double c3y = cubicCoefficient3( ay, by, cy, dy );
+		double c2x = cubicCoefficient2( ax, bx, cx );
+		double c2y = cubicCoefficient2( ay, by, cy );
+		double c1x = cubicCoefficient1( ax, bx );
+		double c1y = cubicCoefficient1( ay, by );
+		double c0x = ax;
+		double c0y = ay;
+
+		double rxrx = rx * rx;
+		double ryry = ry * ry;
+		double[] coefficients = result.coefficients();
+		coefficients[ 0 ] = c3x * c3x * ryry + c3y * c3y * rxrx;
+		coefficients[ 1 ] = 2 * (c3x * c2x * ryry + c3y * c2y * rxrx);
+		coefficients[ 2 ] = 2 * (c3x * c1x * ryry + c3y * c1y * rxrx) + c2x * c2x * ryry + c2y * c2y * rxrx;
+		coefficients[ 3 ] = 2 * c3x * ryry * (c0x - ecx) + 2 * c3y * rxrx * (c0y - ecy) + 2 * (c2x * c1x * ryry + c2y * c1y * rxrx);
+		coefficients[ 4 ] = 2 * c2x * ryry * (c0x - ecx) + 2 * c2y * rxrx * (c0y - ecy) + c1x * c1x * ryry + c1y * c1y * rxrx;
+		coefficients[ 5 ] = 2 * c1x * ryry * (c0x - ecx) + 2 * c1y * rxrx * (c0y - ecy);
+		coefficients[ 6 ] = c0x * c0x * ryry - 2 * c0y * ecy * rxrx - 2 * c0x * ecx * ryry + c0y * c0y * rxrx + ecx * ecx * ryry + ecy * ecy * rxrx - rxrx * ryry;
+
+		double[] roots = result.roots();
+		int count = Polynomial.getRootsInInterval( coefficients, 6, 0, 1, roots, result.work() );
+		for( int index = 0; index < count; index++ ) {
+			double t = roots[ index ];
+			double x = curveValue( ax, bx, cx, dx, t );
+			double y = curveValue( ay, by, cy, dy, t );
+			result.add( x, y, Math.atan2( (y - ecy) / ry, (x - ecx) / rx ), t );
+		}
+
+		return result.set( result.isEmpty() ? Type.NONE : Type.INTERSECTION );
+	}
+
+	private static IntersectionResult endPoint( double[] point, double a, double b, IntersectionResult result ) {
+		result.add( point[ 0 ], point[ 1 ], a, b );
+		return result.set( Type.INTERSECTION );
+	}
+
+	/**
+	 * Compute the line parameter for a point on the line through (x1, y1) and
+	 * (x2, y2), where 0 is the first point and 1 is the second point.
+	 */
+	private static double lineParameter( double x1, double y1, double x2, double y2, double x, double y ) {
+		double dx = x2 - x1;
+		double dy = y2 - y1;
+		return ((x - x1) * dx + (y - y1) * dy) / (dx * dx + dy * dy);
+	}
+
+	/**
+	 * Compute the angle of a point on an ellipse, the same as
+	 * {@link Geometry#ellipseAngle(double[], double, double, double, double[])},
+	 * with the ellipse rotation given by its cosine and sine.
+	 */
+	private static double ellipseAngle( double[] o, double rx, double ry, double cos, double sin, double x, double y ) {
+		double dx = x - o[ 0 ];
+		double dy = y - o[ 1 ];
+		return Math.atan2( (dy * cos - dx * sin) / ry, (dx * cos + dy * sin) / rx );
+	}
+
+	/**
+	 * Rotate the result points by the angle, given by its cosine and sine, and
+	 * then move them by the offset.
+	 */
+	private static IntersectionResult rotateAndMove( IntersectionResult result, double cos, double sin, double[] offset ) {
+		for( int index = 0; index < result.size(); index++ ) {
+			double x = result.getX( index );
+			double y = result.getY( index );
+			result.setPoint( index, x * cos - y * sin + offset[ 0 ], x * sin + y * cos + offset[ 1 ] );
+		}
+		return result;
+	}
+
+	/**
+	 * Compute the cubic Bézier power basis coefficients for the curve points,
+	 * the same as {@link Geometry#cubicCoefficients} without creating arrays.
+	 */
+	private static void cubicCoefficients( double[] a, double[] b, double[] c, double[] d, double[] c3, double[] c2, double[] c1, double[] c0 ) {
+		for( int index = 0; index < 2; index++ ) {
+			c3[ index ] = cubicCoefficient3( a[ index ], b[ index ], c[ index ], d[ index ] );
+			c2[ index ] = cubicCoefficient2( a[ index ], b[ index ], c[ index ] );
+			c1[ index ] = cubicCoefficient1( a[ index ], b[ index ] );
+			c0[ index ] = a[ index ];
+		}
+	}
+
+	private static double cubicCoefficient3( double a, double b, double c, double d ) {
+		return -a + (3 * b + (-3 * c + d));
+	}
+
+	private static double cubicCoefficient2( double a, double b, double c ) {
+		return 3 * a + (-6 * b + 3 * c);
+	}
+
+	private static double cubicCoefficient1( double a, double b ) {
+		return -3 * a + 3 * b;
+	}
+
+	/**
+	 * Compute the ellipse coefficients, the same as
+	 * {@link Geometry#ellipseCoefficients} without creating an array.
+	 */
+	private static double[] ellipseCoefficients( double x, double y, double rx, double ry, double[] coefficients ) {
+		coefficients[ 0 ] = ry * ry;
+		coefficients[ 1 ] = 0;
+		coefficients[ 2 ] = rx * rx;
+		coefficients[ 3 ] = -2 * ry * ry * x;
+		coefficients[ 4 ] = -2 * rx * rx * y;
+		coefficients[ 5 ] = ry * ry * x * x + rx * rx * y * y - rx * rx * ry * ry;
+		return coefficients;
+	}
+
+	/**
+	 * Compute one coordinate of a point on a cubic Bézier curve. This uses the
+	 * same linear interpolation steps as {@link Geometry#curvePoint} without
+	 * creating intermediate arrays.
+	 */
+	private static double curveValue( double a, double b, double c, double d, double t ) {
+		double e = a + t * (b - a);
+		double f = b + t * (c - b);
+		double g = c + t * (d - c);
+		double h = e + t * (f - e);
+		double i = f + t * (g - f);
+		return h + t * (i - h);
 	}
 
-	private static Polynomial bezout( double[] e1, double[] e2 ) {
+	private static double[] bezout( double[] e1, double[] e2, double[] coefficients ) {
 		double AB = e1[ 0 ] * e2[ 1 ] - e2[ 0 ] * e1[ 1 ];
 		double AC = e1[ 0 ] * e2[ 2 ] - e2[ 0 ] * e1[ 2 ];
 		double AD = e1[ 0 ] * e2[ 3 ] - e2[ 0 ] * e1[ 3 ];
@@ -506,7 +1026,12 @@ public class Intersection2D extends Intersection {
 		double BFpDE = BF + DE;
 		double BEmCD = BE - CD;
 
-		return new Polynomial( AB * BC - AC * AC, AB * BEmCD + AD * BC - 2 * AC * AE, AB * BFpDE + AD * BEmCD - AE * AE - 2 * AC * AF, AB * DF + AD * BFpDE - 2 * AE * AF, AD * DF - AF * AF );
+		coefficients[ 0 ] = AB * BC - AC * AC;
+		coefficients[ 1 ] = AB * BEmCD + AD * BC - 2 * AC * AE;
+		coefficients[ 2 ] = AB * BFpDE + AD * BEmCD - AE * AE - 2 * AC * AF;
+		coefficients[ 3 ] = AB * DF + AD * BFpDE - 2 * AE * AF;
+		coefficients[ 4 ] = AD * DF - AF * AF;
+		return coefficients;
 	}
 
 }
@@ -1,27 +1,474 @@
 package com.avereon.curve.math;
 
+/**
+ * 3D intersections.
+ * <p>
+ * The ray methods return the ray parameter t of the nearest intersection, or
+ * NaN if there is no intersection. The intersection point is o + t * d. Only
+ * intersections with t greater than or equal to zero are reported. The ray
+ * methods do not allocate so they can be used in tight loops, such as
+ * picking. A line segment from a to b can be checked as a ray with o = a and
+ * d = b - a and accepting t values up to one.
+ * <p>
+ * Packed triangle arrays store nine values per triangle, the x, y and z
+ * coordinates of the three triangle points. Packed box arrays store six
+ * values per box, the minimum and maximum corners. Packed sphere arrays store
+ * four values per sphere, the center and the radius. Packed cylinder arrays
+ * store seven values per cylinder, the two axis end points and the radius.
+ */
 public class Intersection3D extends Intersection {
 
+	/**
+	 * The tolerance used to detect a ray parallel to a triangle, plane or
+	 * cylinder axis.
+	 */
+	private static final double EPSILON = 1e-12;
+
 	protected Intersection3D( Type status, double[]... points ) {
 		super( status, points );
 	}
 
 	public static Intersection3D intersectLinePlane( double[] a, double[] b, double[] o, double[] n ) {
-		double den = Vector.dot( Vector.subtract( b, a ), n );
-		if( den == 0 ) return new Intersection3D( Type.NONE );
+		return intersectLinePlane( a, b, o, n, new IntersectionResult() ).toIntersection3D();
+	}
+
+	/**
+	 * Find the intersection of a line and a plane and store it in the result.
+	 * The first parameter of the intersection point is the line parameter.
+	 *
+	 * @param a The first line point
+	 * @param b The other line point
+	 * @param o The plane origin
+	 * @param n The plane normal
+	 * @param result The result in which to store the intersection
+	 * @return The result
+	 */
+	public static IntersectionResult intersectLinePlane( double[] a, double[] b, double[] o, double[] n, IntersectionResult result ) {
+		result.reset();
+
+		double dx = b[ 0 ] - a[ 0 ];
+		double dy = b[ 1 ] - a[ 1 ];
+		double dz = b[ 2 ] - a[ 2 ];
+		double den = dx * n[ 0 ] + dy * n[ 1 ] + dz * n[ 2 ];
+		if( den == 0 ) return result;
 
-		double z = (Vector.dot( o, n ) - Vector.dot( a, n )) / den;
-		return new Intersection3D( Type.INTERSECTION, Vector.add( a, Vector.scale( Vector.subtract( b, a ), z ) ) );
+		double z = (dot( o, n ) - dot( a, n )) / den;
+		result.add( a[ 0 ] + dx * z, a[ 1 ] + dy * z, a[ 2 ] + dz * z, z, Double.NaN );
+		return result.set( Type.INTERSECTION );
 	}
 
+	/**
+	 * Find the intersection of a line segment and a plane. An intersection
+	 * object is returned with the following values:
+	 * <ul>
+	 * <li>None, no points: the segment does not reach the plane or is parallel to it
+	 * <li>Intersection, 1 intersection point: the segment crosses the plane
+	 * </ul>
+	 *
+	 * @param a The first segment point
+	 * @param b The other segment point
+	 * @param o The plane origin
+	 * @param n The plane normal
+	 * @return The intersection
+	 */
+	public static Intersection3D intersectSegmentPlane( double[] a, double[] b, double[] o, double[] n ) {
+		return intersectSegmentPlane( a, b, o, n, new IntersectionResult() ).toIntersection3D();
+	}
+
+	/**
+	 * Find the intersection of a line segment and a plane and store it in the
+	 * result. See {@link #intersectSegmentPlane(double[], double[], double[], double[])}.
+	 *
+	 * @param a The first segment point
+	 * @param b The other segment point
+	 * @param o The plane origin
+	 * @param n The plane normal
+	 * @param result The result in which to store the intersection
+	 * @return The result
+	 */
+	public static IntersectionResult intersectSegmentPlane( double[] a, double[] b, double[] o, double[] n, IntersectionResult result ) {
+		intersectLinePlane( a, b, o, n, result );
+		if( result.isEmpty() ) return result;
+
+		double t = result.getParameterA( 0 );
+		return t < 0 || t > 1 ? result.reset() : result;
+	}
+
+	/**
+	 * Find the intersection of two planes. An intersection object is returned
+	 * with the following values:
+	 * <ul>
+	 * <li>Parallel, no points: the planes are parallel, but do not overlap
+	 * <li>Same, no points: the planes are the same plane
+	 * <li>Intersection, 2 points: the planes intersect along the line through
+	 * the points, the first point is the point on the line closest to the
+	 * coordinate origin and the second point is one unit along the line
+	 * </ul>
+	 *
+	 * @param ao Plane A origin
+	 * @param an Plane A normal
+	 * @param bo Plane B origin
+	 * @param bn Plane B normal
+	 * @return The intersection
+	 */
 	public static Intersection3D intersectPlanePlane( double[] ao, double[] an, double[] bo, double[] bn ) {
+		return intersectPlanePlane( ao, an, bo, bn, new IntersectionResult() ).toIntersection3D();
+	}
+
+	/**
+	 * Find the intersection of two planes and store it in the result. See
+	 * {@link #intersectPlanePlane(double[], double[], double[], double[])}.
+	 *
+	 * @param ao Plane A origin
+	 * @param an Plane A normal
+	 * @param bo Plane B origin
+	 * @param bn Plane B normal
+	 * @param result The result in which to store the intersection
+	 * @return The result
+	 */
+	public static IntersectionResult intersectPlanePlane( double[] ao, double[] an, double[] bo, double[] bn, IntersectionResult result ) {
+		result.reset();
+
 		// Determine the vector parallel to the intersection line
-		double[] v = Vector.cross( an, bn );
+		double ux = an[ 1 ] * bn[ 2 ] - an[ 2 ] * bn[ 1 ];
+		double uy = an[ 2 ] * bn[ 0 ] - an[ 0 ] * bn[ 2 ];
+		double uz = an[ 0 ] * bn[ 1 ] - an[ 1 ] * bn[ 0 ];
+		double uu = ux * ux + uy * uy + uz * uz;
+
+		// Parallel planes are the same if the origin of B is on plane A
+		if( uu <= EPSILON * dot( an, an ) * dot( bn, bn ) ) {
+			double distance = ((bo[ 0 ] - ao[ 0 ]) * an[ 0 ] + (bo[ 1 ] - ao[ 1 ]) * an[ 1 ] + (bo[ 2 ] - ao[ 2 ]) * an[ 2 ]) / Math.sqrt( dot( an, an ) );
+			return result.set( Math.abs( distance ) <= Constants.RESOLUTION_LENGTH ? Type.SAME : Type.PARALLEL );
+		}
+
+		// The point on the line closest to the origin is
+		// (da * (bn x u) + db * (u x an)) / (u . u)
+		double da = dot( ao, an );
+		double db = dot( bo, bn );
+		double x = (da * (bn[ 1 ] * uz - bn[ 2 ] * uy) + db * (uy * an[ 2 ] - uz * an[ 1 ])) / uu;
+		double y = (da * (bn[ 2 ] * ux - bn[ 0 ] * uz) + db * (uz * an[ 0 ] - ux * an[ 2 ])) / uu;
+		double z = (da * (bn[ 0 ] * uy - bn[ 1 ] * ux) + db * (ux * an[ 1 ] - uy * an[ 0 ])) / uu;
+
+		double length = Math.sqrt( uu );
+		result.add( x, y, z, 0, Double.NaN );
+		result.add( x + ux / length, y + uy / length, z + uz / length, 1, Double.NaN );
+		return result.set( Type.INTERSECTION );
+	}
+
+	/**
+	 * Find the intersection of a ray and a triangle using the Möller–Trumbore
+	 * algorithm. Both sides of the triangle are hit.
+	 *
+	 * @param o The ray origin
+	 * @param d The ray direction
+	 * @param a The first triangle point
+	 * @param b The second triangle point
+	 * @param c The third triangle point
+	 * @return The ray parameter of the intersection or NaN
+	 */
+	public static double intersectRayTriangle( double[] o, double[] d, double[] a, double[] b, double[] c ) {
+		return rayTriangle( o[ 0 ], o[ 1 ], o[ 2 ], d[ 0 ], d[ 1 ], d[ 2 ], a[ 0 ], a[ 1 ], a[ 2 ], b[ 0 ], b[ 1 ], b[ 2 ], c[ 0 ], c[ 1 ], c[ 2 ] );
+	}
+
+	/**
+	 * Find the intersection of a ray and a triangle in a packed triangle array.
+	 *
+	 * @param o The ray origin
+	 * @param d The ray direction
+	 * @param triangles The packed triangle array
+	 * @param index The triangle index
+	 * @return The ray parameter of the intersection or NaN
+	 */
+	public static double intersectRayTriangle( double[] o, double[] d, double[] triangles, int index ) {
+		int i = 9 * index;
+		double[] v = triangles;
+		return rayTriangle( o[ 0 ], o[ 1 ], o[ 2 ], d[ 0 ], d[ 1 ], d[ 2 ], v[ i ], v[ i + 1 ], v[ i + 2 ], v[ i + 3 ], v[ i + 4 ], v[ i + 5 ], v[ i + 6 ], v[ i + 7 ], v[ i + 8 ] );
+	}
+
+	/**
+	 * Find the intersections of a ray with all the triangles in a packed
+	 * triangle array.
+	 *
+	 * @param o The ray origin
+	 * @param d The ray direction
+	 * @param triangles The packed triangle array
+	 * @param t The array in which to store the ray parameter, or NaN, for each triangle
+	 * @return The number of triangles hit by the ray
+	 */
+	public static int intersectRayTriangles( double[] o, double[] d, double[] triangles, double[] t ) {
+		int count = 0;
+		int size = triangles.length / 9;
+		for( int index = 0; index < size; index++ ) {
+			t[ index ] = intersectRayTriangle( o, d, triangles, index );
+			if( !Double.isNaN( t[ index ] ) ) count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Find the triangle in a packed triangle array closest to the ray origin
+	 * along the ray.
+	 *
+	 * @param o The ray origin
+	 * @param d The ray direction
+	 * @param triangles The packed triangle array
+	 * @return The index of the closest triangle hit by the ray or -1
+	 */
+	public static int closestRayTriangle( double[] o, double[] d, double[] triangles ) {
+		int closest = -1;
+		double nearest = Double.POSITIVE_INFINITY;
+		int size = triangles.length / 9;
+		for( int index = 0; index < size; index++ ) {
+			double t = intersectRayTriangle( o, d, triangles, index );
+			if( t < nearest ) {
+				nearest = t;
+				closest = index;
+			}
+		}
+		return closest;
+	}
+
+	/**
+	 * Find the intersection of a ray and an axis aligned box using the slab
+	 * method. If the ray origin is inside the box the result is zero.
+	 *
+	 * @param o The ray origin
+	 * @param d The ray direction
+	 * @param min The minimum box corner
+	 * @param max The maximum box corner
+	 * @return The ray parameter of the intersection or NaN
+	 */
+	public static double intersectRayBox( double[] o, double[] d, double[] min, double[] max ) {
+		return rayBox( o, d, min[ 0 ], min[ 1 ], min[ 2 ], max[ 0 ], max[ 1 ], max[ 2 ] );
+	}
+
+	/**
+	 * Find the intersections of a ray with all the boxes in a packed box array.
+	 *
+	 * @param o The ray origin
+	 * @param d The ray direction
+	 * @param boxes The packed box array
+	 * @param t The array in which to store the ray parameter, or NaN, for each box
+	 * @return The number of boxes hit by the ray
+	 */
+	public static int intersectRayBoxes( double[] o, double[] d, double[] boxes, double[] t ) {
+		int count = 0;
+		int size = boxes.length / 6;
+		for( int index = 0; index < size; index++ ) {
+			int i = 6 * index;
+			t[ index ] = rayBox( o, d, boxes[ i ], boxes[ i + 1 ], boxes[ i + 2 ], boxes[ i + 3 ], boxes[ i + 4 ], boxes[ i + 5 ] );
+			if( !Double.isNaN( t[ index ] ) ) count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Find the intersection of a ray and a sphere. If the ray origin is inside
+	 * the sphere the result is where the ray leaves the sphere.
+	 *
+	 * @param o The ray origin
+	 * @param d The ray direction
+	 * @param c The sphere center
+	 * @param radius The sphere radius
+	 * @return The ray parameter of the intersection or NaN
+	 */
+	public static double intersectRaySphere( double[] o, double[] d, double[] c, double radius ) {
+		return raySphere( o, d, c[ 0 ], c[ 1 ], c[ 2 ], radius );
+	}
 
-		// TODO Determine a specific point on the line
+	/**
+	 * Find the intersections of a ray with all the spheres in a packed sphere
+	 * array.
+	 *
+	 * @param o The ray origin
+	 * @param d The ray direction
+	 * @param spheres The packed sphere array
+	 * @param t The array in which to store the ray parameter, or NaN, for each sphere
+	 * @return The number of spheres hit by the ray
+	 */
+	public static int intersectRaySpheres( double[] o, double[] d, double[] spheres, double[] t ) {
+		int count = 0;
+		int size = spheres.length / 4;
+		for( int index = 0; index < size; index++ ) {
+			int i = 4 * index;
+			t[ index ] = raySphere( o, d, spheres[ i ], spheres[ i + 1 ], spheres[ i + 2 ], spheres[ i + 3 ] );
+			if( !Double.isNaN( t[ index ] ) ) count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Find the intersection of a ray and a capped cylinder. If the ray origin
+	 * is inside the cylinder the result is where the ray leaves the cylinder.
+	 *
+	 * @param o The ray origin
+	 * @param d The ray direction
+	 * @param a The center of one end of the cylinder
+	 * @param b The center of the other end of the cylinder
+	 * @param radius The cylinder radius
+	 * @return The ray parameter of the intersection or NaN
+	 */
+	public static double intersectRayCylinder( double[] o, double[] d, double[] a, double[] b, double radius ) {
+		return rayCylinder( o, d, a[ 0 ], a[ 1 ], a[ 2 ], b[ 0 ], b[ 1 ], b[ 2 ], radius );
+	}
+
+	/**
+	 * Find the intersections of a ray with all the cylinders in a packed
+	 * cylinder array.
+	 *
+	 * @param o The ray origin
+	 * @param d The ray direction
+	 * @param cylinders The packed cylinder array
+	 * @param t The array in which to store the ray parameter, or NaN, for each cylinder
+	 * @return The number of cylinders hit by the ray
+	 */
+	public static int intersectRayCylinders( double[] o, double[] d, double[] cylinders, double[] t ) {
+		int count = 0;
+		int size = cylinders.length / 7;
+		for( int index = 0; index < size; index++ ) {
+			int i = 7 * index;
+			double[] v = cylinders;
+			t[ index ] = rayCylinder( o, d, v[ i ], v[ i + 1 ], v[ i + 2 ], v[ i + 3 ], v[ i + 4 ], v[ i + 5 ], v[ i + 6 ] );
+			if( !Double.isNaN( t[ index ] ) ) count++;
+		}
+		return count;
+	}
+
+	static double rayTriangle( double ox, double oy, double oz, double dx, double dy, double dz, double ax, double ay, double az, double bx, double by, double bz, double cx, double cy, double cz ) {
+		// Triangle edges
+		double e1x = bx - ax;
+		double e1y = by - ay;
+		double e1z = bz - az;
+		double e2x = cx - ax;
+		double e2y = cy - ay;
+		double e2z = cz - az;
+
+		// If the determinant is near zero the ray is parallel to the triangle
+		double px = dy * e2z - dz * e2y;
+		double py = dz * e2x - dx * e2z;
+		double pz = dx * e2y - dy * e2x;
+		double det = e1x * px + e1y * py + e1z * pz;
+		if( Math.abs( det ) < EPSILON ) return Double.NaN;
+		double inverse = 1 / det;
+
+		// Barycentric coordinates of the intersection
+		double sx = ox - ax;
+		double sy = oy - ay;
+		double sz = oz - az;
+		double u = (sx * px + sy * py + sz * pz) * inverse;
+		if( u < 0 || u > 1 ) return Double.NaN;
+
+		double qx = sy * e1z - sz * e1y;
+		double qy = sz * e1x - sx * e1z;
+		double qz = sx * e1y - sy * e1x;
+		double v = (dx * qx + dy * qy + dz * qz) * inverse;
+		if( v < 0 || u + v > 1 ) return Double.NaN;
+
+		double t = (e2x * qx + e2y * qy + e2z * qz) * inverse;
+		return t < 0 ? Double.NaN : t;
+	}
+
+	private static double rayBox( double[] o, double[] d, double minX, double minY, double minZ, double maxX, double maxY, double maxZ ) {
+		double near = 0;
+		double far = Double.POSITIVE_INFINITY;
+
+		// Clip the ray against each pair of slabs
+		for( int axis = 0; axis < 3; axis++ ) {
+			double min = axis == 0 ? minX : axis == 1 ? minY : minZ;
+			double max = axis == 0 ? maxX : axis == 1 ? maxY : maxZ;
+			if( d[ axis ] == 0 ) {
+				// The ray is parallel to the slabs
+				if( o[ axis ] < min || o[ axis ] > max ) return Double.NaN;
+				continue;
+			}
+
+			double inverse = 1 / d[ axis ];
+			double t1 = (min - o[ axis ]) * inverse;
+			double t2 = (max - o[ axis ]) * inverse;
+			if( t1 > t2 ) {
+				double swap = t1;
+				t1 = t2;
+				t2 = swap;
+			}
+			if( t1 > near ) near = t1;
+			if( t2 < far ) far = t2;
+			if( near > far ) return Double.NaN;
+		}
+
+		return near;
+	}
+
+	private static double raySphere( double[] o, double[] d, double cx, double cy, double cz, double radius ) {
+		double ocx = o[ 0 ] - cx;
+		double ocy = o[ 1 ] - cy;
+		double ocz = o[ 2 ] - cz;
+
+		double a = d[ 0 ] * d[ 0 ] + d[ 1 ] * d[ 1 ] + d[ 2 ] * d[ 2 ];
+		double b = ocx * d[ 0 ] + ocy * d[ 1 ] + ocz * d[ 2 ];
+		double c = ocx * ocx + ocy * ocy + ocz * ocz - radius * radius;
+		double discriminant = b * b - a * c;
+		if( discriminant < 0 || a == 0 ) return Double.NaN;
+
+		double root = Math.sqrt( discriminant );
+		double t = (-b - root) / a;
+		if( t >= 0 ) return t;
+		t = (-b + root) / a;
+		return t >= 0 ? t : Double.NaN;
+	}
+
+	private static double rayCylinder( double[] o, double[] d, double ax, double ay, double az, double bx, double by, double bz, double radius ) {
+		// Axis and ray origin relative to the first end
+		double bax = bx - ax;
+		double bay = by - ay;
+		double baz = bz - az;
+		double ocx = o[ 0 ] - ax;
+		double ocy = o[ 1 ] - ay;
+		double ocz = o[ 2 ] - az;
+
+		double baba = bax * bax + bay * bay + baz * baz;
+		double bard = bax * d[ 0 ] + bay * d[ 1 ] + baz * d[ 2 ];
+		double baoc = bax * ocx + bay * ocy + baz * ocz;
+		double ococ = ocx * ocx + ocy * ocy + ocz * ocz;
+		double ocrd = ocx * d[ 0 ] + ocy * d[ 1 ] + ocz * d[ 2 ];
+		double rdrd = d[ 0 ] * d[ 0 ] + d[ 1 ] * d[ 1 ] + d[ 2 ] * d[ 2 ];
+
+		// Quadratic for the infinite cylinder, scaled by the axis length squared
+		double k2 = baba * rdrd - bard * bard;
+		double k1 = baba * ocrd - baoc * bard;
+		double k0 = baba * ococ - baoc * baoc - radius * radius * baba;
+
+		double nearest = Double.NaN;
+
+		// The cylinder side
+		if( k2 > EPSILON * baba * rdrd ) {
+			double h = k1 * k1 - k2 * k0;
+			if( h < 0 ) return Double.NaN;
+			h = Math.sqrt( h );
+			for( int sign = -1; sign <= 1; sign += 2 ) {
+				double t = (-k1 + sign * h) / k2;
+				double y = baoc + t * bard;
+				if( y >= 0 && y <= baba ) nearest = nearer( nearest, t );
+			}
+		}
+
+		// The cylinder caps
+		if( Math.abs( bard ) > EPSILON * Math.sqrt( baba * rdrd ) ) {
+			for( int cap = 0; cap < 2; cap++ ) {
+				double t = ((cap == 0 ? 0 : baba) - baoc) / bard;
+				if( (k2 * t + 2 * k1) * t + k0 <= 0 ) nearest = nearer( nearest, t );
+			}
+		}
+
+		return nearest;
+	}
+
+	private static double nearer( double nearest, double t ) {
+		if( t < 0 ) return nearest;
+		return Double.isNaN( nearest ) || t < nearest ? t : nearest;
+	}
 
-		// TODO Implement plane-plane intersection
-		return new Intersection3D( Type.NONE );
+	private static double dot( double[] a, double[] b ) {
+		return a[ 0 ] * b[ 0 ] + a[ 1 ] * b[ 1 ] + a[ 2 ] * b[ 2 ];
 	}
 
 }
@@ -0,0 +1,193 @@
+package com.avereon.curve.math;
+
+import java.util.Arrays;
+
+/**
+ * A growable buffer of intersection points used by the batch intersection
+ * methods in {@link Intersection2D} and by {@link IntersectionScene2D}. Each
+ * entry records the indices of the source and target shapes that produced
+ * the intersection along with the intersection point coordinates and the
+ * parametric values of the point on both shapes, as described in
+ * {@link IntersectionResult}. The values
+ * are kept in primitive arrays so the buffer can be cleared and reused across
+ * queries without creating new objects.
+ * <p>
+ * The batch methods append to the buffer, so results from several queries
+ * can be collected in the same buffer. Call {@link #clear()} to reuse it.
+ */
+public class IntersectionBuffer {
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private int[] sources;
+
+	private int[] targets;
+
+	private double[] points;
+
+	private double[] parameters;
+
+	private int size;
+
+	public IntersectionBuffer() {
+		this( DEFAULT_CAPACITY );
+	}
+
+	public IntersectionBuffer( int capacity ) {
+		if( capacity < 1 ) capacity = 1;
+		sources = new int[ capacity ];
+		targets = new int[ capacity ];
+		points = new double[ capacity << 1 ];
+		parameters = new double[ capacity << 1 ];
+	}
+
+	/**
+	 * Get the number of intersections in the buffer.
+	 *
+	 * @return The number of intersections
+	 */
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Remove all the intersections from the buffer. The storage is retained so
+	 * the buffer can be reused without allocation.
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Get the index of the source shape that produced the intersection. The
+	 * batch methods in {@link Intersection2D} use a single probe shape so the
+	 * source is always zero for those intersections.
+	 *
+	 * @param index The intersection index
+	 * @return The index of the source shape
+	 */
+	public int getSource( int index ) {
+		return sources[ check( index ) ];
+	}
+
+	/**
+	 * Get the index of the target shape that produced the intersection.
+	 *
+	 * @param index The intersection index
+	 * @return The index of the target shape in the target array
+	 */
+	public int getTarget( int index ) {
+		return targets[ check( index ) ];
+	}
+
+	public double getX( int index ) {
+		return points[ check( index ) << 1 ];
+	}
+
+	public double getY( int index ) {
+		return points[ (check( index ) << 1) + 1 ];
+	}
+
+	/**
+	 * Get the parametric value of the intersection point on the source shape.
+	 *
+	 * @param index The intersection index
+	 * @return The parametric value on the source shape
+	 */
+	public double getSourceParameter( int index ) {
+		return parameters[ check( index ) << 1 ];
+	}
+
+	/**
+	 * Get the parametric value of the intersection point on the target shape.
+	 *
+	 * @param index The intersection index
+	 * @return The parametric value on the target shape
+	 */
+	public double getTargetParameter( int index ) {
+		return parameters[ (check( index ) << 1) + 1 ];
+	}
+
+	/**
+	 * Get the intersection point as a new point. This is a convenience method
+	 * that allocates a new array, use {@link #getX(int)} and {@link #getY(int)}
+	 * in tight loops.
+	 *
+	 * @param index The intersection index
+	 * @return A new point with the intersection coordinates
+	 */
+	public double[] getPoint( int index ) {
+		return Point.of( getX( index ), getY( index ) );
+	}
+
+	/**
+	 * Get all the intersection points in the buffer as new points.
+	 *
+	 * @return The intersection points
+	 */
+	public double[][] getPoints() {
+		double[][] result = new double[ size ][];
+		for( int index = 0; index < size; index++ ) {
+			result[ index ] = getPoint( index );
+		}
+		return result;
+	}
+
+	/**
+	 * Add all the intersections from another buffer to this buffer.
+	 *
+	 * @param buffer The buffer from which to copy the intersections
+	 */
+	public void addAll( IntersectionBuffer buffer ) {
+		ensureCapacity( size + buffer.size );
+		System.arraycopy( buffer.sources, 0, sources, size, buffer.size );
+		System.arraycopy( buffer.targets, 0, targets, size, buffer.size );
+		System.arraycopy( buffer.points, 0, points, size << 1, buffer.size << 1 );
+		System.arraycopy( buffer.parameters, 0, parameters, size << 1, buffer.size << 1 );
+		size += buffer.size;
+	}
+
+	void add( int target, double x, double y, double sourceParameter, double targetParameter ) {
+		add( 0, target, x, y, sourceParameter, targetParameter );
+	}
+
+	void add( int source, int target, double x, double y, double sourceParameter, double targetParameter ) {
+		ensureCapacity( size + 1 );
+		sources[ size ] = source;
+		targets[ size ] = target;
+		points[ size << 1 ] = x;
+		points[ (size << 1) + 1 ] = y;
+		parameters[ size << 1 ] = sourceParameter;
+		parameters[ (size << 1) + 1 ] = targetParameter;
+		size++;
+	}
+
+	private void ensureCapacity( int capacity ) {
+		if( capacity <= targets.length ) return;
+		capacity = Math.max( capacity, targets.length << 1 );
+		sources = Arrays.copyOf( sources, capacity );
+		targets = Arrays.copyOf( targets, capacity );
+		points = Arrays.copyOf( points, capacity << 1 );
+		parameters = Arrays.copyOf( parameters, capacity << 1 );
+	}
+
+	private int check( int index ) {
+		if( index < 0 || index >= size ) throw new IndexOutOfBoundsException( "Index " + index + " out of bounds for size " + size );
+		return index;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder( "IntersectionBuffer[" );
+		for( int index = 0; index < size; index++ ) {
+			if( index > 0 ) builder.append( "," );
+			builder.append( " " ).append( sources[ index ] ).append( ":" ).append( targets[ index ] ).append( ":" ).append( Arrays.toString( getPoint( index ) ) );
+		}
+		return builder.append( " ]" ).toString();
+	}
+
+}
@@ -0,0 +1,245 @@
+package com.avereon.curve.math;
+
+import java.util.Arrays;
+
+/**
+ * A mutable intersection result that can be filled by the intersect methods in
+ * {@link Intersection2D} and {@link Intersection3D} and reused for many
+ * queries. The intersection type
+ * and point coordinates are kept in primitive fields so filling the result
+ * does not create any objects once the result has been used. The result also
+ * holds the work arrays the intersect methods need for root finding.
+ * <p>
+ * Each intersection point also carries the parametric value of the point on
+ * both shapes, in the order the shapes are given to the intersect method. The
+ * value for a line is the parameter t, where 0 is the first line point and 1
+ * is the other line point. The value for a Bézier curve is the curve
+ * parameter t. The value for an ellipse is the angle of the point on the
+ * ellipse, the same as {@link Geometry#ellipseAngle(double[], double, double, double, double[])}.
+ * <p>
+ * Each intersect method resets the result before filling it. A result must
+ * not be shared between threads.
+ */
+public class IntersectionResult {
+
+	/**
+	 * The largest number of points produced by the intersect methods, from two
+	 * cubic Bézier curves.
+	 */
+	private static final int DEFAULT_CAPACITY = 9;
+
+	private Intersection.Type type;
+
+	private double[] points;
+
+	private double[] parameters;
+
+	private int size;
+
+	private double[] coefficients;
+
+	private double[] roots;
+
+	private double[] xRoots;
+
+	private double[] yRoots;
+
+	private double[] work;
+
+	private double[][] vectors;
+
+	public IntersectionResult() {
+		type = Intersection.Type.NONE;
+		points = new double[ 3 * DEFAULT_CAPACITY ];
+		parameters = new double[ 2 * DEFAULT_CAPACITY ];
+	}
+
+	public Intersection.Type getType() {
+		return type;
+	}
+
+	/**
+	 * Get the number of intersection points.
+	 *
+	 * @return The number of intersection points
+	 */
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public double getX( int index ) {
+		return points[ 3 * check( index ) ];
+	}
+
+	public double getY( int index ) {
+		return points[ 3 * check( index ) + 1 ];
+	}
+
+	public double getZ( int index ) {
+		return points[ 3 * check( index ) + 2 ];
+	}
+
+	/**
+	 * Get the parametric value of the intersection point on the first shape.
+	 *
+	 * @param index The intersection point index
+	 * @return The parametric value on the first shape
+	 */
+	public double getParameterA( int index ) {
+		return parameters[ 2 * check( index ) ];
+	}
+
+	/**
+	 * Get the parametric value of the intersection point on the second shape.
+	 *
+	 * @param index The intersection point index
+	 * @return The parametric value on the second shape
+	 */
+	public double getParameterB( int index ) {
+		return parameters[ 2 * check( index ) + 1 ];
+	}
+
+	/**
+	 * Get the intersection point as a new point. This is a convenience method
+	 * that allocates a new array, use {@link #getX(int)} and {@link #getY(int)}
+	 * in tight loops.
+	 *
+	 * @param index The intersection point index
+	 * @return A new point with the intersection coordinates
+	 */
+	public double[] getPoint( int index ) {
+		return Point.of( getX( index ), getY( index ), getZ( index ) );
+	}
+
+	/**
+	 * Get all the intersection points as new points.
+	 *
+	 * @return The intersection points
+	 */
+	public double[][] getPoints() {
+		double[][] result = new double[ size ][];
+		for( int index = 0; index < size; index++ ) {
+			result[ index ] = getPoint( index );
+		}
+		return result;
+	}
+
+	/**
+	 * Clear the intersection points and set the type to NONE. The storage is
+	 * retained so the result can be reused without allocation.
+	 *
+	 * @return This result
+	 */
+	public IntersectionResult reset() {
+		type = Intersection.Type.NONE;
+		size = 0;
+		return this;
+	}
+
+	/**
+	 * Create an immutable intersection from this result.
+	 *
+	 * @return A new intersection with the type and points of this result
+	 */
+	public Intersection2D toIntersection2D() {
+		return new Intersection2D( type, getPoints() );
+	}
+
+	/**
+	 * Create an immutable 3D intersection from this result.
+	 *
+	 * @return A new intersection with the type and points of this result
+	 */
+	public Intersection3D toIntersection3D() {
+		return new Intersection3D( type, getPoints() );
+	}
+
+	IntersectionResult set( Intersection.Type type ) {
+		this.type = type;
+		return this;
+	}
+
+	void add( double x, double y, double a, double b ) {
+		add( x, y, 0, a, b );
+	}
+
+	void add( double x, double y, double z, double a, double b ) {
+		if( 3 * (size + 1) > points.length ) {
+			points = Arrays.copyOf( points, points.length << 1 );
+			parameters = Arrays.copyOf( parameters, parameters.length << 1 );
+		}
+		setPoint( size, x, y, z );
+		setParameters( size++, a, b );
+	}
+
+	void setPoint( int index, double x, double y ) {
+		setPoint( index, x, y, getZ( index ) );
+	}
+
+	void setPoint( int index, double x, double y, double z ) {
+		int offset = 3 * index;
+		points[ offset ] = x;
+		points[ offset + 1 ] = y;
+		points[ offset + 2 ] = z;
+	}
+
+	void setParameters( int index, double a, double b ) {
+		parameters[ 2 * index ] = a;
+		parameters[ 2 * index + 1 ] = b;
+	}
+
+	double[] coefficients() {
+		if( coefficients == null ) coefficients = new double[ DEFAULT_CAPACITY + 1 ];
+		return coefficients;
+	}
+
+	double[] roots() {
+		if( roots == null ) roots = new double[ DEFAULT_CAPACITY ];
+		return roots;
+	}
+
+	double[] xRoots() {
+		if( xRoots == null ) xRoots = new double[ 3 ];
+		return xRoots;
+	}
+
+	double[] yRoots() {
+		if( yRoots == null ) yRoots = new double[ 3 ];
+		return yRoots;
+	}
+
+	/**
+	 * Get the work array used by {@link Polynomial#getRootsInInterval(double[], int, double, double, double[], double[])}.
+	 */
+	double[] work() {
+		if( work == null ) work = new double[ (DEFAULT_CAPACITY + 1) * (DEFAULT_CAPACITY + 1) ];
+		return work;
+	}
+
+	/**
+	 * Get small arrays used for curve and ellipse coefficients.
+	 */
+	double[][] vectors() {
+		if( vectors == null ) vectors = new double[ 8 ][ 6 ];
+		return vectors;
+	}
+
+	private int check( int index ) {
+		if( index < 0 || index >= size ) throw new IndexOutOfBoundsException( "Index " + index + " out of bounds for size " + size );
+		return index;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder( "IntersectionResult[" ).append( type );
+		for( int index = 0; index < size; index++ ) {
+			builder.append( index == 0 ? " " : ", " ).append( Arrays.toString( getPoint( index ) ) );
+		}
+		return builder.append( "]" ).toString();
+	}
+
+}
@@ -0,0 +1,331 @@
+package com.avereon.curve.math;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Find all the intersections between the shapes in a scene. Shapes are added
+ * to the scene and then {@link #intersect()} finds the intersection points
+ * for every pair of shapes that intersect.
+ * <p>
+ * Candidate pairs are found with a sweep and prune broad phase over the shape
+ * bounds. The sweep is split into fork-join tasks and each task checks its
+ * candidate pairs with the {@link Intersection2D} methods, reusing one
+ * {@link IntersectionResult} and collecting the results in its own
+ * {@link IntersectionBuffer}. The task results are merged when the tasks are
+ * joined so no locking is needed.
+ * <p>
+ * Lines are treated as line segments between the two points. Arcs are
+ * elliptic arcs defined the same way as in {@link Geometry}. Only
+ * intersection points are reported, shapes that are the same or coincident
+ * do not produce any points.
+ * <p>
+ * The scene must not be modified while an intersection is in progress.
+ */
+public class IntersectionScene2D {
+
+	public enum Shape {
+		LINE,
+		ARC,
+		ELLIPSE,
+		BEZIER3
+	}
+
+	/**
+	 * The number of shapes, in sweep order, checked by a single task before the
+	 * work is split into smaller tasks.
+	 */
+	private static final int SWEEP_THRESHOLD = 32;
+
+	private final List<Item> items;
+
+	public IntersectionScene2D() {
+		items = new ArrayList<>();
+	}
+
+	/**
+	 * Add a line segment to the scene.
+	 *
+	 * @param a The first point
+	 * @param b The second point
+	 * @return The index of the shape in the scene
+	 */
+	public int addLine( double[] a, double[] b ) {
+		Item item = new Item( items.size(), Shape.LINE, a, b );
+		item.bounds( a, b );
+		return add( item );
+	}
+
+	/**
+	 * Add an elliptic arc to the scene.
+	 *
+	 * @param origin The arc center
+	 * @param rx The arc x radius
+	 * @param ry The arc y radius
+	 * @param rotate The arc rotation in radians
+	 * @param start The arc start angle in radians
+	 * @param extent The arc extent angle in radians
+	 * @return The index of the shape in the scene
+	 */
+	public int addArc( double[] origin, double rx, double ry, double rotate, double start, double extent ) {
+		Item item = new Item( items.size(), Shape.ARC, origin );
+		item.ellipse( rx, ry, rotate );
+		item.start = start;
+		item.extent = extent;
+		return add( item );
+	}
+
+	/**
+	 * Add an ellipse to the scene.
+	 *
+	 * @param origin The ellipse center
+	 * @param rx The ellipse x radius
+	 * @param ry The ellipse y radius
+	 * @param rotate The ellipse rotation in radians
+	 * @return The index of the shape in the scene
+	 */
+	public int addEllipse( double[] origin, double rx, double ry, double rotate ) {
+		Item item = new Item( items.size(), Shape.ELLIPSE, origin );
+		item.ellipse( rx, ry, rotate );
+		return add( item );
+	}
+
+	/**
+	 * Add a cubic Bézier curve to the scene.
+	 *
+	 * @param a The curve point a
+	 * @param b The curve point b
+	 * @param c The curve point c
+	 * @param d The curve point d
+	 * @return The index of the shape in the scene
+	 */
+	public int addBezier3( double[] a, double[] b, double[] c, double[] d ) {
+		Item item = new Item( items.size(), Shape.BEZIER3, a, b, c, d );
+		item.bounds( a, b, c, d );
+		return add( item );
+	}
+
+	public int size() {
+		return items.size();
+	}
+
+	public Shape getShape( int index ) {
+		return items.get( index ).shape;
+	}
+
+	public void clear() {
+		items.clear();
+	}
+
+	/**
+	 * Find the intersections between all the shapes in the scene using the
+	 * common fork-join pool.
+	 *
+	 * @return The intersections, the source and target are the shape indices
+	 */
+	public IntersectionBuffer intersect() {
+		return intersect( ForkJoinPool.commonPool() );
+	}
+
+	/**
+	 * Find the intersections between all the shapes in the scene. Each
+	 * intersection is reported once with the smaller shape index as the source
+	 * and the larger shape index as the target. The source and target
+	 * parameters are the parametric values of the point on each shape, the
+	 * line parameter for lines, the curve parameter for curves and the ellipse
+	 * angle for arcs and ellipses.
+	 *
+	 * @param pool The fork-join pool in which to run the tasks
+	 * @return The intersections, the source and target are the shape indices
+	 */
+	public IntersectionBuffer intersect( ForkJoinPool pool ) {
+		Item[] sorted = items.toArray( new Item[ 0 ] );
+		if( sorted.length < 2 ) return new IntersectionBuffer();
+
+		Arrays.sort( sorted, Comparator.comparingDouble( item -> item.minX ) );
+		return pool.invoke( new SweepTask( sorted, 0, sorted.length ) );
+	}
+
+	private int add( Item item ) {
+		items.add( item );
+		return item.index;
+	}
+
+	private static void intersect( Item a, Item b, IntersectionResult xn, IntersectionBuffer result ) {
+		if( a.shape.ordinal() > b.shape.ordinal() ) {
+			Item swap = a;
+			a = b;
+			b = swap;
+		}
+
+		switch( a.shape ) {
+			case LINE -> {
+				switch( b.shape ) {
+					case LINE -> Intersection2D.intersectSegmentSegment( a.points[ 0 ], a.points[ 1 ], b.points[ 0 ], b.points[ 1 ], xn );
+					case ARC, ELLIPSE -> Intersection2D.intersectLineEllipse( a.points[ 0 ], a.points[ 1 ], b.points[ 0 ], b.rx, b.ry, b.rotate, xn );
+					case BEZIER3 -> Intersection2D.intersectLineBezier3( a.points[ 0 ], a.points[ 1 ], b.points[ 0 ], b.points[ 1 ], b.points[ 2 ], b.points[ 3 ], xn );
+				}
+			}
+			case ARC, ELLIPSE -> {
+				switch( b.shape ) {
+					case ARC, ELLIPSE -> Intersection2D.intersectEllipseEllipse( a.points[ 0 ], a.rx, a.ry, a.rotate, b.points[ 0 ], b.rx, b.ry, b.rotate, xn );
+					default -> Intersection2D.intersectEllipseBezier3( a.points[ 0 ], a.rx, a.ry, a.rotate, b.points[ 0 ], b.points[ 1 ], b.points[ 2 ], b.points[ 3 ], xn );
+				}
+			}
+			case BEZIER3 -> Intersection2D.intersectBezier3Bezier3( a.points[ 0 ], a.points[ 1 ], a.points[ 2 ], a.points[ 3 ], b.points[ 0 ], b.points[ 1 ], b.points[ 2 ], b.points[ 3 ], xn );
+		}
+		if( xn.getType() != Intersection.Type.INTERSECTION ) return;
+
+		boolean forward = a.index < b.index;
+		int source = forward ? a.index : b.index;
+		int target = forward ? b.index : a.index;
+		for( int index = 0; index < xn.size(); index++ ) {
+			double parameterA = xn.getParameterA( index );
+			double parameterB = xn.getParameterB( index );
+			if( !a.contains( parameterA ) || !b.contains( parameterB ) ) continue;
+			if( forward ) {
+				result.add( source, target, xn.getX( index ), xn.getY( index ), parameterA, parameterB );
+			} else {
+				result.add( source, target, xn.getX( index ), xn.getY( index ), parameterB, parameterA );
+			}
+		}
+	}
+
+	private static final class Item {
+
+		private final int index;
+
+		private final Shape shape;
+
+		private final double[][] points;
+
+		private double rx;
+
+		private double ry;
+
+		private double rotate;
+
+		private double start;
+
+		private double extent;
+
+		private double minX;
+
+		private double minY;
+
+		private double maxX;
+
+		private double maxY;
+
+		private Item( int index, Shape shape, double[]... points ) {
+			this.index = index;
+			this.shape = shape;
+			this.points = points;
+		}
+
+		private void bounds( double[]... points ) {
+			double[][] bounds = Geometry.bounds( points );
+			minX = bounds[ 0 ][ 0 ];
+			minY = bounds[ 0 ][ 1 ];
+			maxX = bounds[ 1 ][ 0 ];
+			maxY = bounds[ 1 ][ 1 ];
+		}
+
+		private void ellipse( double rx, double ry, double rotate ) {
+			this.rx = rx;
+			this.ry = ry;
+			this.rotate = rotate;
+			this.extent = Constants.FULL_CIRCLE;
+
+			double[][] bounds = Geometry.ellipseBounds( points[ 0 ], Point.of( rx, ry ), rotate );
+			minX = bounds[ 0 ][ 0 ];
+			minY = bounds[ 0 ][ 1 ];
+			maxX = bounds[ 1 ][ 0 ];
+			maxY = bounds[ 1 ][ 1 ];
+		}
+
+		private boolean overlaps( Item that ) {
+			double tolerance = Constants.RESOLUTION_LENGTH;
+			return that.minX <= maxX + tolerance && that.maxX >= minX - tolerance && that.minY <= maxY + tolerance && that.maxY >= minY - tolerance;
+		}
+
+		/**
+		 * Check if an intersection point, already known to be on the underlying
+		 * line or ellipse, is within the extent of the line segment or arc using
+		 * the parametric value of the point.
+		 */
+		private boolean contains( double parameter ) {
+			return switch( shape ) {
+				case LINE -> isOnSegment( parameter );
+				case ARC -> isOnArc( parameter );
+				default -> true;
+			};
+		}
+
+		private boolean isOnSegment( double t ) {
+			double length = Math.hypot( points[ 1 ][ 0 ] - points[ 0 ][ 0 ], points[ 1 ][ 1 ] - points[ 0 ][ 1 ] );
+			double along = t * length;
+			return along >= -Constants.RESOLUTION_LENGTH && along <= length + Constants.RESOLUTION_LENGTH;
+		}
+
+		private boolean isOnArc( double angle ) {
+			if( Math.abs( extent ) >= Constants.FULL_CIRCLE ) return true;
+
+			double delta = extent < 0 ? start - angle : angle - start;
+			delta %= Constants.FULL_CIRCLE;
+			if( delta < 0 ) delta += Constants.FULL_CIRCLE;
+
+			return delta <= Math.abs( extent ) + Constants.RESOLUTION_ANGLE || delta >= Constants.FULL_CIRCLE - Constants.RESOLUTION_ANGLE;
+		}
+
+	}
+
+	private static class SweepTask extends RecursiveTask<IntersectionBuffer> {
+
+		private final Item[] sorted;
+
+		private final int start;
+
+		private final int end;
+
+		private SweepTask( Item[] sorted, int start, int end ) {
+			this.sorted = sorted;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected IntersectionBuffer compute() {
+			if( end - start <= SWEEP_THRESHOLD ) return sweep();
+
+			int middle = (start + end) >>> 1;
+			SweepTask left = new SweepTask( sorted, start, middle );
+			SweepTask right = new SweepTask( sorted, middle, end );
+			left.fork();
+			IntersectionBuffer result = right.compute();
+			IntersectionBuffer leftResult = left.join();
+			leftResult.addAll( result );
+			return leftResult;
+		}
+
+		private IntersectionBuffer sweep() {
+			IntersectionBuffer result = new IntersectionBuffer();
+			IntersectionResult xn = new IntersectionResult();
+			for( int i = start; i < end; i++ ) {
+				Item a = sorted[ i ];
+				double limit = a.maxX + Constants.RESOLUTION_LENGTH;
+				for( int j = i + 1; j < sorted.length && sorted[ j ].minX <= limit; j++ ) {
+					Item b = sorted[ j ];
+					if( a.overlaps( b ) ) intersect( a, b, xn, result );
+				}
+			}
+			return result;
+		}
+
+	}
+
+}
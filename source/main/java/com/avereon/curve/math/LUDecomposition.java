@@ -0,0 +1,404 @@
+package com.avereon.curve.math;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * An LU decomposition, with partial pivoting, of a square matrix stored in a
+ * flat row-major array. The matrix is factored once and can then be used to
+ * solve for any number of right-hand sides, compute the determinant or
+ * compute the inverse without factoring again.
+ * <p>
+ * The lower and upper factors are stored together in one array. The unit
+ * diagonal of the lower factor is not stored. The row exchanges are stored
+ * as a pivot row for each step, in the order they were applied, so a
+ * right-hand side can be permuted in place.
+ * <p>
+ * Large matrices can be factored with a blocked algorithm. The columns are
+ * factored one panel of block size columns at a time and the rest of the
+ * matrix is updated with the panel in cache sized tiles. The trailing matrix
+ * updates are split over the rows and run in a fork-join pool.
+ * <p>
+ * A decomposition can be reused for a new matrix of the same size with
+ * {@link #decompose(double[])}, which does not allocate. The solve methods do
+ * not modify the decomposition and can be called from many threads at the
+ * same time.
+ */
+public class LUDecomposition {
+
+	/**
+	 * The default number of columns in a panel, and rows and columns in a tile,
+	 * for the blocked factorization.
+	 */
+	public static final int DEFAULT_BLOCK_SIZE = 64;
+
+	private final int n;
+
+	private final double[] lu;
+
+	private final int[] pivots;
+
+	private int sign;
+
+	private boolean singular;
+
+	/**
+	 * Factor a matrix stored as an array of rows.
+	 *
+	 * @param matrix The square matrix to factor
+	 */
+	public LUDecomposition( double[][] matrix ) {
+		this( matrix.length );
+		for( int row = 0; row < n; row++ ) {
+			if( matrix[ row ].length != n ) throw new IllegalArgumentException( "Matrix must be square" );
+			System.arraycopy( matrix[ row ], 0, lu, row * n, n );
+		}
+		factor( null, n );
+	}
+
+	/**
+	 * Factor a square matrix stored in a flat row-major array. The array is
+	 * copied and is not modified.
+	 *
+	 * @param matrix The square matrix to factor
+	 * @param n The number of rows and columns
+	 */
+	public LUDecomposition( double[] matrix, int n ) {
+		this( n );
+		decompose( matrix );
+	}
+
+	/**
+	 * Factor a square matrix stored in a flat row-major array with the blocked
+	 * algorithm. The array is copied and is not modified.
+	 *
+	 * @param matrix The square matrix to factor
+	 * @param n The number of rows and columns
+	 * @param pool The fork-join pool in which to update the trailing matrix
+	 * @param blockSize The number of columns in a panel
+	 */
+	public LUDecomposition( double[] matrix, int n, ForkJoinPool pool, int blockSize ) {
+		this( n );
+		decompose( matrix, pool, blockSize );
+	}
+
+	private LUDecomposition( int n ) {
+		if( n < 1 ) throw new IllegalArgumentException( "Matrix size must be greater than zero: " + n );
+		this.n = n;
+		this.lu = new double[ n * n ];
+		this.pivots = new int[ n ];
+	}
+
+	/**
+	 * Factor a new matrix of the same size, reusing the storage of this
+	 * decomposition.
+	 *
+	 * @param matrix The square matrix to factor in a flat row-major array
+	 * @return This decomposition
+	 */
+	public LUDecomposition decompose( double[] matrix ) {
+		if( matrix.length != n * n ) throw new IllegalArgumentException( "Matrix must have " + (n * n) + " values: " + matrix.length );
+		System.arraycopy( matrix, 0, lu, 0, lu.length );
+		factor( null, n );
+		return this;
+	}
+
+	/**
+	 * Factor a new matrix of the same size with the blocked algorithm, reusing
+	 * the storage of this decomposition. The pivots, and so the result, are the
+	 * same as the unblocked algorithm up to rounding.
+	 *
+	 * @param matrix The square matrix to factor in a flat row-major array
+	 * @param pool The fork-join pool in which to update the trailing matrix, or null to use the calling thread
+	 * @param blockSize The number of columns in a panel
+	 * @return This decomposition
+	 */
+	public LUDecomposition decompose( double[] matrix, ForkJoinPool pool, int blockSize ) {
+		if( matrix.length != n * n ) throw new IllegalArgumentException( "Matrix must have " + (n * n) + " values: " + matrix.length );
+		if( blockSize < 1 ) throw new IllegalArgumentException( "Block size must be greater than zero: " + blockSize );
+		System.arraycopy( matrix, 0, lu, 0, lu.length );
+		factor( pool, blockSize );
+		return this;
+	}
+
+	/**
+	 * Get the number of rows and columns of the matrix.
+	 *
+	 * @return The matrix size
+	 */
+	public int size() {
+		return n;
+	}
+
+	/**
+	 * Check if the matrix is singular. A singular matrix has a zero pivot and
+	 * can not be used to solve or invert.
+	 *
+	 * @return True if the matrix is singular, false otherwise
+	 */
+	public boolean isSingular() {
+		return singular;
+	}
+
+	/**
+	 * Get the determinant of the matrix.
+	 *
+	 * @return The determinant
+	 */
+	public double determinant() {
+		double determinant = sign;
+		for( int index = 0; index < n; index++ ) {
+			determinant *= lu[ index * n + index ];
+		}
+		return determinant;
+	}
+
+	/**
+	 * Solve the system A x = b.
+	 *
+	 * @param b The right-hand side
+	 * @return A new array with the solution
+	 * @throws ArithmeticException If the matrix is singular
+	 */
+	public double[] solve( double[] b ) {
+		double[] x = new double[ n ];
+		solveInto( b, x );
+		return x;
+	}
+
+	/**
+	 * Solve the system A x = b into an existing array. The solution array may
+	 * be the right-hand side array, in which case the right-hand side is
+	 * overwritten.
+	 *
+	 * @param b The right-hand side
+	 * @param x The array in which to store the solution
+	 * @return The solution array
+	 * @throws ArithmeticException If the matrix is singular
+	 */
+	public double[] solveInto( double[] b, double[] x ) {
+		return solveInto( b, x, 1 );
+	}
+
+	/**
+	 * Solve the system A X = B for many right-hand sides at once. The
+	 * right-hand sides are the columns of B, which is stored in a flat
+	 * row-major array with n rows. The solution array may be the right-hand
+	 * side array, in which case the right-hand side is overwritten.
+	 *
+	 * @param b The right-hand sides
+	 * @param x The array in which to store the solutions
+	 * @param columns The number of right-hand sides
+	 * @return The solution array
+	 * @throws ArithmeticException If the matrix is singular
+	 */
+	public double[] solveInto( double[] b, double[] x, int columns ) {
+		if( b.length != n * columns || x.length != n * columns ) throw new IllegalArgumentException( "Right-hand side must have " + (n * columns) + " values" );
+		if( singular ) throw new ArithmeticException( "Matrix is singular" );
+		if( x != b ) System.arraycopy( b, 0, x, 0, x.length );
+
+		// Apply the row exchanges
+		for( int row = 0; row < n; row++ ) {
+			int pivot = pivots[ row ];
+			if( pivot != row ) {
+				for( int column = 0; column < columns; column++ ) {
+					double swap = x[ row * columns + column ];
+					x[ row * columns + column ] = x[ pivot * columns + column ];
+					x[ pivot * columns + column ] = swap;
+				}
+			}
+		}
+
+		// Forward substitution with the unit lower factor
+		for( int row = 1; row < n; row++ ) {
+			for( int k = 0; k < row; k++ ) {
+				double factor = lu[ row * n + k ];
+				if( factor == 0 ) continue;
+				for( int column = 0; column < columns; column++ ) {
+					x[ row * columns + column ] -= factor * x[ k * columns + column ];
+				}
+			}
+		}
+
+		// Back substitution with the upper factor
+		for( int row = n - 1; row >= 0; row-- ) {
+			for( int k = row + 1; k < n; k++ ) {
+				double factor = lu[ row * n + k ];
+				if( factor == 0 ) continue;
+				for( int column = 0; column < columns; column++ ) {
+					x[ row * columns + column ] -= factor * x[ k * columns + column ];
+				}
+			}
+			double diagonal = lu[ row * n + row ];
+			for( int column = 0; column < columns; column++ ) {
+				x[ row * columns + column ] /= diagonal;
+			}
+		}
+
+		return x;
+	}
+
+	/**
+	 * Get the inverse of the matrix.
+	 *
+	 * @return A new flat row-major array with the inverse
+	 * @throws ArithmeticException If the matrix is singular
+	 */
+	public double[] inverse() {
+		return inverse( new double[ n * n ] );
+	}
+
+	/**
+	 * Get the inverse of the matrix into an existing array.
+	 *
+	 * @param inverse The flat row-major array in which to store the inverse
+	 * @return The inverse array
+	 * @throws ArithmeticException If the matrix is singular
+	 */
+	public double[] inverse( double[] inverse ) {
+		for( int row = 0; row < n; row++ ) {
+			for( int column = 0; column < n; column++ ) {
+				inverse[ row * n + column ] = row == column ? 1 : 0;
+			}
+		}
+		return solveInto( inverse, inverse, n );
+	}
+
+	private void factor( ForkJoinPool pool, int blockSize ) {
+		sign = 1;
+		singular = false;
+
+		for( int start = 0; start < n; start += blockSize ) {
+			int end = Math.min( start + blockSize, n );
+			factorPanel( start, end );
+			if( end == n ) break;
+
+			// Solve for the upper factor to the right of the panel
+			for( int row = start + 1; row < end; row++ ) {
+				for( int k = start; k < row; k++ ) {
+					double factor = lu[ row * n + k ];
+					if( factor == 0 ) continue;
+					for( int column = end; column < n; column++ ) {
+						lu[ row * n + column ] -= factor * lu[ k * n + column ];
+					}
+				}
+			}
+
+			// Update the trailing matrix
+			UpdateTask task = new UpdateTask( lu, n, start, end, end, n, blockSize, pool != null );
+			if( pool == null ) {
+				task.compute();
+			} else {
+				pool.invoke( task );
+			}
+		}
+	}
+
+	/**
+	 * Factor the columns from start to end, exchanging whole rows and updating
+	 * only the columns in the panel. With a panel of all the columns this is
+	 * the unblocked algorithm.
+	 */
+	private void factorPanel( int start, int end ) {
+		for( int k = start; k < end; k++ ) {
+			// Find the pivot row
+			int pivot = k;
+			double max = Math.abs( lu[ k * n + k ] );
+			for( int row = k + 1; row < n; row++ ) {
+				double value = Math.abs( lu[ row * n + k ] );
+				if( value > max ) {
+					max = value;
+					pivot = row;
+				}
+			}
+			pivots[ k ] = pivot;
+
+			if( pivot != k ) {
+				for( int column = 0; column < n; column++ ) {
+					double swap = lu[ k * n + column ];
+					lu[ k * n + column ] = lu[ pivot * n + column ];
+					lu[ pivot * n + column ] = swap;
+				}
+				sign = -sign;
+			}
+
+			double diagonal = lu[ k * n + k ];
+			if( diagonal == 0 ) {
+				singular = true;
+				continue;
+			}
+
+			// Eliminate below the pivot, updating the rows in memory order
+			for( int row = k + 1; row < n; row++ ) {
+				double factor = lu[ row * n + k ] / diagonal;
+				lu[ row * n + k ] = factor;
+				if( factor == 0 ) continue;
+				for( int column = k + 1; column < end; column++ ) {
+					lu[ row * n + column ] -= factor * lu[ k * n + column ];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Subtract the product of the lower factor left of the trailing matrix and
+	 * the upper factor above it from a range of trailing matrix rows. The
+	 * columns are updated in tiles so the upper factor rows of a tile stay in
+	 * cache while the rows are updated.
+	 */
+	private static class UpdateTask extends RecursiveAction {
+
+		private final double[] lu;
+
+		private final int n;
+
+		private final int start;
+
+		private final int end;
+
+		private final int rowStart;
+
+		private final int rowEnd;
+
+		private final int blockSize;
+
+		private final boolean parallel;
+
+		private UpdateTask( double[] lu, int n, int start, int end, int rowStart, int rowEnd, int blockSize, boolean parallel ) {
+			this.lu = lu;
+			this.n = n;
+			this.start = start;
+			this.end = end;
+			this.rowStart = rowStart;
+			this.rowEnd = rowEnd;
+			this.blockSize = blockSize;
+			this.parallel = parallel;
+		}
+
+		@Override
+		protected void compute() {
+			if( parallel && rowEnd - rowStart > blockSize ) {
+				int middle = (rowStart + rowEnd) >>> 1;
+				invokeAll( new UpdateTask( lu, n, start, end, rowStart, middle, blockSize, true ), new UpdateTask( lu, n, start, end, middle, rowEnd, blockSize, true ) );
+				return;
+			}
+
+			for( int tile = end; tile < n; tile += blockSize ) {
+				int tileEnd = Math.min( tile + blockSize, n );
+				for( int row = rowStart; row < rowEnd; row++ ) {
+					int offset = row * n;
+					for( int k = start; k < end; k++ ) {
+						double factor = lu[ offset + k ];
+						if( factor == 0 ) continue;
+						int upper = k * n;
+						for( int column = tile; column < tileEnd; column++ ) {
+							lu[ offset + column ] -= factor * lu[ upper + column ];
+						}
+					}
+				}
+			}
+		}
+
+	}
+
+}
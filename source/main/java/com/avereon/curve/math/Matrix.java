@@ -1,5 +1,7 @@
 package com.avereon.curve.math;
 
+import java.util.concurrent.ForkJoinPool;
+
 public class Matrix {
 
 	public static final void gauss( double[][] matrix ) {
@@ -47,6 +49,180 @@ public class Matrix {
 		}
 	}
 
+	/**
+	 * Factor a square matrix into an LU decomposition that can be used to solve
+	 * many right-hand sides.
+	 *
+	 * @param matrix The square matrix as an array of rows
+	 * @return The LU decomposition
+	 */
+	public static final LUDecomposition lu( double[][] matrix ) {
+		return new LUDecomposition( matrix );
+	}
+
+	/**
+	 * Factor a square matrix, stored in a flat row-major array, into an LU
+	 * decomposition that can be used to solve many right-hand sides.
+	 *
+	 * @param matrix The square matrix in a flat row-major array
+	 * @param n The number of rows and columns
+	 * @return The LU decomposition
+	 */
+	public static final LUDecomposition lu( double[] matrix, int n ) {
+		return new LUDecomposition( matrix, n );
+	}
+
+	/**
+	 * Factor a large square matrix, stored in a flat row-major array, with the
+	 * blocked LU algorithm, updating the trailing matrix in parallel.
+	 *
+	 * @param matrix The square matrix in a flat row-major array
+	 * @param n The number of rows and columns
+	 * @param pool The fork-join pool in which to update the trailing matrix
+	 * @param blockSize The number of columns in a panel, see {@link LUDecomposition#DEFAULT_BLOCK_SIZE}
+	 * @return The LU decomposition
+	 */
+	public static final LUDecomposition lu( double[] matrix, int n, ForkJoinPool pool, int blockSize ) {
+		return new LUDecomposition( matrix, n, pool, blockSize );
+	}
+
+	/**
+	 * Factor a banded matrix, stored in compact band storage, into an LU
+	 * decomposition that can be used to solve many right-hand sides.
+	 *
+	 * @param band The band storage as described in {@link BandedLUDecomposition}
+	 * @param n The number of rows and columns
+	 * @param lower The number of sub-diagonals
+	 * @param upper The number of super-diagonals
+	 * @return The banded LU decomposition
+	 */
+	public static final BandedLUDecomposition luBanded( double[] band, int n, int lower, int upper ) {
+		return new BandedLUDecomposition( band, n, lower, upper );
+	}
+
+	/**
+	 * Solve a tridiagonal system with the Thomas algorithm. Row i of the matrix
+	 * is a[i], b[i] and c[i] at columns i - 1, i and i + 1. The values a[0] and
+	 * c[n - 1] are not used. The system is solved without pivoting, so the
+	 * matrix should be diagonally dominant, as spline systems are.
+	 *
+	 * @param a The sub-diagonal
+	 * @param b The diagonal
+	 * @param c The super-diagonal
+	 * @param d The right-hand side
+	 * @return A new array with the solution
+	 * @throws ArithmeticException If a zero pivot is found
+	 */
+	public static final double[] solveTridiagonal( double[] a, double[] b, double[] c, double[] d ) {
+		int n = b.length;
+		return solveTridiagonal( a, b, c, d, new double[ n ], new double[ n ] );
+	}
+
+	/**
+	 * Solve a tridiagonal system with the Thomas algorithm without allocating.
+	 * See {@link #solveTridiagonal(double[], double[], double[], double[])}.
+	 * The solution array may be the right-hand side array.
+	 *
+	 * @param a The sub-diagonal
+	 * @param b The diagonal
+	 * @param c The super-diagonal
+	 * @param d The right-hand side
+	 * @param x The array in which to store the solution
+	 * @param work A work array with at least n values
+	 * @return The solution array
+	 * @throws ArithmeticException If a zero pivot is found
+	 */
+	public static final double[] solveTridiagonal( double[] a, double[] b, double[] c, double[] d, double[] x, double[] work ) {
+		tridiagonal( a, b, 0, c, d, 0, x, 0, work, 0, b.length );
+		return x;
+	}
+
+	/**
+	 * Solve a cyclic tridiagonal system, as produced by periodic splines, with
+	 * the Sherman-Morrison formula and two tridiagonal solves. Row i of the
+	 * matrix is a[i], b[i] and c[i] at columns i - 1, i and i + 1, wrapping
+	 * around, so a[0] is at column n - 1 of the first row and c[n - 1] is at
+	 * column 0 of the last row.
+	 *
+	 * @param a The sub-diagonal and the upper right corner
+	 * @param b The diagonal
+	 * @param c The super-diagonal and the lower left corner
+	 * @param d The right-hand side
+	 * @return A new array with the solution
+	 * @throws ArithmeticException If a zero pivot is found
+	 */
+	public static final double[] solveCyclicTridiagonal( double[] a, double[] b, double[] c, double[] d ) {
+		int n = b.length;
+		return solveCyclicTridiagonal( a, b, c, d, new double[ n ], new double[ 3 * n ] );
+	}
+
+	/**
+	 * Solve a cyclic tridiagonal system without allocating. See
+	 * {@link #solveCyclicTridiagonal(double[], double[], double[], double[])}.
+	 * The solution array may not be the right-hand side array.
+	 *
+	 * @param a The sub-diagonal and the upper right corner
+	 * @param b The diagonal
+	 * @param c The super-diagonal and the lower left corner
+	 * @param d The right-hand side
+	 * @param x The array in which to store the solution
+	 * @param work A work array with at least 3n values
+	 * @return The solution array
+	 * @throws ArithmeticException If a zero pivot is found
+	 */
+	public static final double[] solveCyclicTridiagonal( double[] a, double[] b, double[] c, double[] d, double[] x, double[] work ) {
+		int n = b.length;
+		if( n < 3 ) throw new IllegalArgumentException( "Cyclic tridiagonal system must have at least three rows: " + n );
+
+		double alpha = c[ n - 1 ];
+		double beta = a[ 0 ];
+		double gamma = -b[ 0 ];
+		if( gamma == 0 ) gamma = -1;
+
+		// The work array holds the modified diagonal, the correction vector and the Thomas work values
+		int diagonal = 0;
+		int z = n;
+		int thomas = 2 * n;
+		for( int i = 0; i < n; i++ ) {
+			work[ diagonal + i ] = b[ i ];
+			work[ z + i ] = 0;
+		}
+		work[ diagonal ] = b[ 0 ] - gamma;
+		work[ diagonal + n - 1 ] = b[ n - 1 ] - alpha * beta / gamma;
+		work[ z ] = gamma;
+		work[ z + n - 1 ] = alpha;
+
+		tridiagonal( a, work, diagonal, c, d, 0, x, 0, work, thomas, n );
+		tridiagonal( a, work, diagonal, c, work, z, work, z, work, thomas, n );
+
+		double factor = (x[ 0 ] + beta * x[ n - 1 ] / gamma) / (1 + work[ z ] + beta * work[ z + n - 1 ] / gamma);
+		for( int i = 0; i < n; i++ ) {
+			x[ i ] -= factor * work[ z + i ];
+		}
+		return x;
+	}
+
+	/**
+	 * The Thomas algorithm with the diagonal, right-hand side, solution and
+	 * work values at offsets in their arrays.
+	 */
+	private static void tridiagonal( double[] a, double[] b, int bOffset, double[] c, double[] d, int dOffset, double[] x, int xOffset, double[] work, int workOffset, int n ) {
+		if( n == 0 ) return;
+
+		double pivot = b[ bOffset ];
+		if( pivot == 0 ) throw new ArithmeticException( "Zero pivot in tridiagonal system at row 0" );
+		x[ xOffset ] = d[ dOffset ] / pivot;
+		for( int i = 1; i < n; i++ ) {
+			work[ workOffset + i ] = c[ i - 1 ] / pivot;
+			pivot = b[ bOffset + i ] - a[ i ] * work[ workOffset + i ];
+			if( pivot == 0 ) throw new ArithmeticException( "Zero pivot in tridiagonal system at row " + i );
+			x[ xOffset + i ] = (d[ dOffset + i ] - a[ i ] * x[ xOffset + i - 1 ]) / pivot;
+		}
+		for( int i = n - 2; i >= 0; i-- ) {
+			x[ xOffset + i ] -= work[ workOffset + i + 1 ] * x[ xOffset + i + 1 ];
+		}
+	}
+
 	public static final void swap( double[][] matrix, int source, int target ) {
 		double[] row = matrix[ source ];
 		matrix[ source ] = matrix[ target ];
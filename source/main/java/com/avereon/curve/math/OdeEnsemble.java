@@ -0,0 +1,27 @@
+package com.avereon.curve.math;
+
+/**
+ * A system of first order ordinary differential equations evaluated for many
+ * independent trajectories at once. The states of the ensemble are stored as
+ * a structure of arrays: state value i of trajectory j is at index
+ * i * count + j, where count is the number of trajectories. Evaluating a range
+ * of trajectories in an inner loop over contiguous values lets the compiler
+ * vectorize the evaluation across trajectories.
+ */
+@FunctionalInterface
+public interface OdeEnsemble {
+
+	/**
+	 * Compute the derivative of the states of a range of trajectories at a
+	 * time. Only the values of the trajectories in the range may be written.
+	 *
+	 * @param t The time
+	 * @param y The states of the ensemble, which must not be modified
+	 * @param dydt The array in which to store the derivatives of the ensemble
+	 * @param count The number of trajectories in the ensemble
+	 * @param from The first trajectory in the range, inclusive
+	 * @param to The last trajectory in the range, exclusive
+	 */
+	void derivative( double t, double[] y, double[] dydt, int count, int from, int to );
+
+}
@@ -0,0 +1,20 @@
+package com.avereon.curve.math;
+
+/**
+ * A system of first order ordinary differential equations, dy/dt = f(t, y),
+ * over a state array. The derivative is written into an array supplied by
+ * the integrator so evaluating the system does not allocate.
+ */
+@FunctionalInterface
+public interface OdeSystem {
+
+	/**
+	 * Compute the derivative of the state at a time.
+	 *
+	 * @param t The time
+	 * @param y The state, which must not be modified
+	 * @param dydt The array in which to store the derivative of each state value
+	 */
+	void derivative( double t, double[] y, double[] dydt );
+
+}
@@ -20,6 +20,12 @@ public class Orientation {
 
 	private double zrotation;
 
+	/**
+	 * The rotation angles are only calculated when requested and are valid
+	 * until the normal or rotate vector changes.
+	 */
+	private boolean rotationAnglesValid;
+
 	public Orientation() {
 		this( Vector.of(), Vector.UNIT_Z, Vector.UNIT_Y );
 	}
@@ -31,7 +37,7 @@ public class Orientation {
 	public Orientation( double[] origin, double[] normal ) {
 		double[] axis = Vector.cross( Vector.UNIT_Z, normal );
 		double angle = Geometry.getAbsAngle( Vector.UNIT_Z, normal );
-		double[] rotate = Transform.rotation( axis, angle ).apply( Vector.UNIT_Y );
+		double[] rotate = Quaternion.apply( Quaternion.rotation( axis, angle ), Vector.UNIT_Y );
 		set( origin, normal, rotate );
 	}
 
@@ -125,7 +131,7 @@ public class Orientation {
 		this.normal = normal;
 		this.rotate = rotate;
 
-		calculateRotationAngles( normal, rotate );
+		rotationAnglesValid = false;
 		toLocal = toTarget = null;
 	}
 
@@ -137,13 +143,53 @@ public class Orientation {
 	 * @param zrotation The rotation angle around the z axis in radians
 	 */
 	public final void setRotationAngles( double xrotation, double yrotation, double zrotation ) {
-		this.xrotation = xrotation;
-		this.yrotation = yrotation;
-		this.zrotation = zrotation;
+		// The normal and rotate vectors are the z and y columns of the rotation
+		// Ry(-yrotation) Rx(-xrotation) Rz(-zrotation), written out so no
+		// transforms are created
+		double cy = Math.cos( -yrotation );
+		double sy = Math.sin( -yrotation );
+		double cx = Math.cos( -xrotation );
+		double sx = Math.sin( -xrotation );
+		double cz = Math.cos( -zrotation );
+		double sz = Math.sin( -zrotation );
+
+		double[] normal = Vector.of( sy * cx, -sx, cy * cx );
+		double[] rotate = Vector.of( cy * -sz + (sy * sx) * cz, cx * cz, -sy * -sz + (cy * sx) * cz );
+		set( getOrigin(), normal, rotate );
+	}
 
-		Transform transform = Transform.yrotation( -yrotation ).combine( Transform.xrotation( -xrotation ) ).combine( Transform.zrotation( -zrotation ) );
-		set( getOrigin(), transform.apply( Vector.UNIT_Z ), transform.apply( Vector.UNIT_Y ) );
-		toLocal = toTarget = null;
+	/**
+	 * Get the rotation of this orientation as a unit quaternion. The rotation
+	 * takes the z axis to the normal and the y axis to the rotate vector, it is
+	 * the rotation part of the local to world transform.
+	 *
+	 * @return The rotation quaternion
+	 * @see Quaternion
+	 */
+	public final double[] getRotation() {
+		return Quaternion.basis( getNormal(), getRotate() );
+	}
+
+	/**
+	 * Set the pose of this orientation from a rotation quaternion without
+	 * changing the origin. The normal is the rotated z axis and the rotate
+	 * vector is the rotated y axis.
+	 *
+	 * @param rotation The rotation quaternion
+	 */
+	public final void setRotation( double[] rotation ) {
+		set( getOrigin(), Quaternion.apply( rotation, Vector.UNIT_Z ), Quaternion.apply( rotation, Vector.UNIT_Y ) );
+	}
+
+	/**
+	 * Rotate the axes of this orientation by a rotation quaternion. This is the
+	 * same as {@link #transformAxes(Transform)} with a rotation transform but
+	 * does not create a transform.
+	 *
+	 * @param rotation The rotation quaternion
+	 */
+	public final void rotate( double[] rotation ) {
+		set( getOrigin(), Quaternion.apply( rotation, getNormal() ), Quaternion.apply( rotation, getRotate() ) );
 	}
 
 	/**
@@ -196,6 +242,16 @@ public class Orientation {
 		return toLocal;
 	}
 
+	/**
+	 * Create an immutable snapshot of the current state of this orientation
+	 * that can be shared between threads.
+	 *
+	 * @return The orientation snapshot
+	 */
+	public final OrientationSnapshot snapshot() {
+		return OrientationSnapshot.of( this );
+	}
+
 	@Override
 	public final Orientation clone() {
 		return new Orientation( Vector.of( getOrigin() ), Vector.of( getNormal() ), Vector.of( getRotate() ) );
@@ -248,14 +304,17 @@ public class Orientation {
 	}
 
 	double getXRotation() {
+		if( !rotationAnglesValid ) calculateRotationAngles( normal, rotate );
 		return xrotation;
 	}
 
 	double getYRotation() {
+		if( !rotationAnglesValid ) calculateRotationAngles( normal, rotate );
 		return yrotation;
 	}
 
 	double getZRotation() {
+		if( !rotationAnglesValid ) calculateRotationAngles( normal, rotate );
 		return zrotation;
 	}
 
@@ -287,6 +346,8 @@ public class Orientation {
 		zrotation = Math.acos( vector[ 1 ] / length );
 		if( Double.isNaN( zrotation ) ) zrotation = Math.acos( vector[ 1 ] > 0.0 ? 1.0 : -1.0 );
 		if( vector[ 0 ] < 0.0 ) zrotation *= -1.0;
+
+		rotationAnglesValid = true;
 	}
 
 }
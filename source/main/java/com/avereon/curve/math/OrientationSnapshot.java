@@ -0,0 +1,254 @@
+package com.avereon.curve.math;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+
+/**
+ * An immutable copy of an {@link Orientation}. The vectors are copied when the
+ * snapshot is created and the transform matrices and rotation are calculated
+ * eagerly, all in final fields that are never exposed, so a snapshot can be
+ * shared between threads without locks.
+ * <p>
+ * The vector and transform getters return copies, use the methods that take a
+ * result array or buffer, or {@link #toWorld(double[], double[])} and
+ * {@link #toLocal(double[], double[])}, to read without allocating.
+ */
+public final class OrientationSnapshot {
+
+	private final double[] origin;
+
+	private final double[] normal;
+
+	private final double[] rotate;
+
+	private final double[] rotation;
+
+	/**
+	 * The local to target matrix, sixteen values in row-major order.
+	 */
+	private final double[] toTarget;
+
+	/**
+	 * The target to local matrix, sixteen values in row-major order.
+	 */
+	private final double[] toLocal;
+
+	/**
+	 * Create a snapshot of an orientation from its vectors. The vectors are
+	 * copied.
+	 *
+	 * @param origin The orientation origin
+	 * @param normal The orientation normal
+	 * @param rotate The orientation rotate
+	 */
+	public OrientationSnapshot( double[] origin, double[] normal, double[] rotate ) {
+		this.origin = Vector.of( origin );
+		this.normal = Vector.of( normal );
+		this.rotate = Vector.of( rotate );
+		this.rotation = Quaternion.basis( normal, rotate );
+		this.toTarget = Transform.worldTransform( this.origin, this.normal, this.rotate ).toArray( new double[ 16 ], 0 );
+		this.toLocal = Transform.localTransform( this.origin, this.normal, this.rotate ).toArray( new double[ 16 ], 0 );
+	}
+
+	/**
+	 * Create a snapshot of the current state of an orientation.
+	 *
+	 * @param orientation The orientation
+	 * @return The snapshot
+	 */
+	public static OrientationSnapshot of( Orientation orientation ) {
+		return new OrientationSnapshot( orientation.getOrigin(), orientation.getNormal(), orientation.getRotate() );
+	}
+
+	public double[] getOrigin() {
+		return Vector.of( origin );
+	}
+
+	public double[] getOrigin( double[] result ) {
+		return copy( origin, result );
+	}
+
+	public double[] getNormal() {
+		return Vector.of( normal );
+	}
+
+	public double[] getNormal( double[] result ) {
+		return copy( normal, result );
+	}
+
+	public double[] getRotate() {
+		return Vector.of( rotate );
+	}
+
+	public double[] getRotate( double[] result ) {
+		return copy( rotate, result );
+	}
+
+	/**
+	 * Get the rotation of the orientation as a unit quaternion.
+	 *
+	 * @return A copy of the rotation quaternion
+	 * @see Orientation#getRotation()
+	 */
+	public double[] getRotation() {
+		return rotation.clone();
+	}
+
+	public double[] getRotation( double[] result ) {
+		System.arraycopy( rotation, 0, result, 0, 4 );
+		return result;
+	}
+
+	/**
+	 * Return a transform which will transform coordinates from the local
+	 * orientation to the target orientation.
+	 *
+	 * @return A new transform to convert to the target orientation
+	 */
+	public Transform getLocalToWorldTransform() {
+		return Transform.of( toTarget, 0 );
+	}
+
+	/**
+	 * Copy the local to target matrix into a flat array in row-major order.
+	 *
+	 * @param values The array in which to store the sixteen matrix values
+	 * @param offset The index of the first matrix value
+	 * @return The values array
+	 */
+	public double[] getLocalToWorldMatrix( double[] values, int offset ) {
+		System.arraycopy( toTarget, 0, values, offset, 16 );
+		return values;
+	}
+
+	/**
+	 * Put the local to target matrix into a buffer in column-major order, the
+	 * same order as {@link Transform#getMatrix()}.
+	 *
+	 * @param buffer The buffer, the sixteen values are put at its position
+	 * @return The buffer
+	 */
+	public DoubleBuffer getLocalToWorldMatrix( DoubleBuffer buffer ) {
+		return put( toTarget, buffer );
+	}
+
+	/**
+	 * Return a transform which will transform coordinates from the target
+	 * orientation to the local orientation.
+	 *
+	 * @return A new transform to convert to the local orientation
+	 */
+	public Transform getWorldToLocalTransform() {
+		return Transform.of( toLocal, 0 );
+	}
+
+	/**
+	 * Copy the target to local matrix into a flat array in row-major order.
+	 *
+	 * @param values The array in which to store the sixteen matrix values
+	 * @param offset The index of the first matrix value
+	 * @return The values array
+	 */
+	public double[] getWorldToLocalMatrix( double[] values, int offset ) {
+		System.arraycopy( toLocal, 0, values, offset, 16 );
+		return values;
+	}
+
+	/**
+	 * Put the target to local matrix into a buffer in column-major order, the
+	 * same order as {@link Transform#getMatrix()}.
+	 *
+	 * @param buffer The buffer, the sixteen values are put at its position
+	 * @return The buffer
+	 */
+	public DoubleBuffer getWorldToLocalMatrix( DoubleBuffer buffer ) {
+		return put( toLocal, buffer );
+	}
+
+	/**
+	 * Convert a point from local coordinates to target coordinates without
+	 * allocating.
+	 *
+	 * @param point The point in local coordinates
+	 * @param result The array in which to store the point in target coordinates, may be the point
+	 * @return The result array
+	 */
+	public double[] toWorld( double[] point, double[] result ) {
+		Quaternion.apply( rotation, point, result );
+		result[ 0 ] += origin[ 0 ];
+		result[ 1 ] += origin[ 1 ];
+		result[ 2 ] += origin[ 2 ];
+		return result;
+	}
+
+	/**
+	 * Convert a point from target coordinates to local coordinates without
+	 * allocating.
+	 *
+	 * @param point The point in target coordinates
+	 * @param result The array in which to store the point in local coordinates, may be the point
+	 * @return The result array
+	 */
+	public double[] toLocal( double[] point, double[] result ) {
+		result[ 0 ] = point[ 0 ] - origin[ 0 ];
+		result[ 1 ] = point[ 1 ] - origin[ 1 ];
+		result[ 2 ] = point[ 2 ] - origin[ 2 ];
+
+		// Rotate by the conjugate of the rotation
+		double w = rotation[ 0 ];
+		double x = -rotation[ 1 ];
+		double y = -rotation[ 2 ];
+		double z = -rotation[ 3 ];
+		double tx = 2 * (y * result[ 2 ] - z * result[ 1 ]);
+		double ty = 2 * (z * result[ 0 ] - x * result[ 2 ]);
+		double tz = 2 * (x * result[ 1 ] - y * result[ 0 ]);
+		double rx = result[ 0 ] + w * tx + y * tz - z * ty;
+		double ry = result[ 1 ] + w * ty + z * tx - x * tz;
+		double rz = result[ 2 ] + w * tz + x * ty - y * tx;
+		result[ 0 ] = rx;
+		result[ 1 ] = ry;
+		result[ 2 ] = rz;
+		return result;
+	}
+
+	/**
+	 * Create a new mutable orientation with the values of this snapshot.
+	 *
+	 * @return A new orientation
+	 */
+	public Orientation toOrientation() {
+		return new Orientation( getOrigin(), getNormal(), getRotate() );
+	}
+
+	@Override
+	public String toString() {
+		return toOrientation().toJson();
+	}
+
+	@Override
+	public int hashCode() {
+		return Vector.hash( origin ) ^ Vector.hash( normal ) ^ Vector.hash( rotate );
+	}
+
+	@Override
+	public boolean equals( Object object ) {
+		if( !(object instanceof OrientationSnapshot) ) return false;
+		OrientationSnapshot that = (OrientationSnapshot)object;
+		return Arrays.equals( this.origin, that.origin ) && Arrays.equals( this.normal, that.normal ) && Arrays.equals( this.rotate, that.rotate );
+	}
+
+	private static DoubleBuffer put( double[] matrix, DoubleBuffer buffer ) {
+		for( int column = 0; column < 4; column++ ) {
+			for( int row = 0; row < 4; row++ ) {
+				buffer.put( matrix[ 4 * row + column ] );
+			}
+		}
+		return buffer;
+	}
+
+	private static double[] copy( double[] vector, double[] result ) {
+		System.arraycopy( vector, 0, result, 0, 3 );
+		return result;
+	}
+
+}
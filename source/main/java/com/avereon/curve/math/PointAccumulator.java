@@ -0,0 +1,222 @@
+package com.avereon.curve.math;
+
+/**
+ * Accumulates a sequence of points one at a time, or a chunk at a time, and
+ * keeps the bounds, polyline length, centroid and signed area of the points
+ * seen so far without storing the points. The memory used does not depend on
+ * the number of points.
+ * <p>
+ * Accumulators can be merged, so a long sequence can be split into chunks,
+ * each chunk accumulated separately, for example in parallel, and the chunk
+ * accumulators merged in sequence order. Merging gives the same result as
+ * accumulating the whole sequence in one accumulator, up to rounding.
+ * <p>
+ * The length is the length of the open polyline through the points in order.
+ * The area is the signed area, in the XY plane, of the polygon closed from
+ * the last point back to the first, positive when the points run
+ * counterclockwise. The centroid is the mean of the points.
+ */
+public class PointAccumulator {
+
+	private long count;
+
+	private double firstX;
+
+	private double firstY;
+
+	private double firstZ;
+
+	private double lastX;
+
+	private double lastY;
+
+	private double lastZ;
+
+	private double minX;
+
+	private double minY;
+
+	private double minZ;
+
+	private double maxX;
+
+	private double maxY;
+
+	private double maxZ;
+
+	private double sumX;
+
+	private double sumY;
+
+	private double sumZ;
+
+	private double length;
+
+	/**
+	 * The sum of the cross products of consecutive points, twice the area
+	 * without the closing edge.
+	 */
+	private double cross;
+
+	public PointAccumulator add( double[] point ) {
+		return add( point[ 0 ], point[ 1 ], point[ 2 ] );
+	}
+
+	public PointAccumulator add( double x, double y, double z ) {
+		if( count == 0 ) {
+			firstX = minX = maxX = x;
+			firstY = minY = maxY = y;
+			firstZ = minZ = maxZ = z;
+		} else {
+			minX = Math.min( minX, x );
+			minY = Math.min( minY, y );
+			minZ = Math.min( minZ, z );
+			maxX = Math.max( maxX, x );
+			maxY = Math.max( maxY, y );
+			maxZ = Math.max( maxZ, z );
+			length += Vector.magnitude( x - lastX, y - lastY, z - lastZ );
+			cross += lastX * y - x * lastY;
+		}
+		sumX += x;
+		sumY += y;
+		sumZ += z;
+		lastX = x;
+		lastY = y;
+		lastZ = z;
+		count++;
+		return this;
+	}
+
+	/**
+	 * Add a chunk of points.
+	 *
+	 * @param points The points
+	 * @return This accumulator
+	 */
+	public PointAccumulator add( double[]... points ) {
+		for( double[] point : points ) {
+			add( point[ 0 ], point[ 1 ], point[ 2 ] );
+		}
+		return this;
+	}
+
+	/**
+	 * Add a chunk of points packed in an array, three values per point.
+	 *
+	 * @param coordinates The packed points
+	 * @param offset The index of the first point value
+	 * @param count The number of points
+	 * @return This accumulator
+	 */
+	public PointAccumulator add( double[] coordinates, int offset, int count ) {
+		for( int index = offset; index < offset + 3 * count; index += 3 ) {
+			add( coordinates[ index ], coordinates[ index + 1 ], coordinates[ index + 2 ] );
+		}
+		return this;
+	}
+
+	/**
+	 * Add the points of another accumulator as if they followed the points of
+	 * this accumulator. The other accumulator is not changed.
+	 *
+	 * @param other The accumulator of the following points
+	 * @return This accumulator
+	 */
+	public PointAccumulator merge( PointAccumulator other ) {
+		if( other.count == 0 ) return this;
+		if( count == 0 ) {
+			firstX = other.firstX;
+			firstY = other.firstY;
+			firstZ = other.firstZ;
+			minX = other.minX;
+			minY = other.minY;
+			minZ = other.minZ;
+			maxX = other.maxX;
+			maxY = other.maxY;
+			maxZ = other.maxZ;
+		} else {
+			minX = Math.min( minX, other.minX );
+			minY = Math.min( minY, other.minY );
+			minZ = Math.min( minZ, other.minZ );
+			maxX = Math.max( maxX, other.maxX );
+			maxY = Math.max( maxY, other.maxY );
+			maxZ = Math.max( maxZ, other.maxZ );
+
+			// The edge joining the two sequences
+			length += Vector.magnitude( other.firstX - lastX, other.firstY - lastY, other.firstZ - lastZ );
+			cross += lastX * other.firstY - other.firstX * lastY;
+		}
+		length += other.length;
+		cross += other.cross;
+		sumX += other.sumX;
+		sumY += other.sumY;
+		sumZ += other.sumZ;
+		lastX = other.lastX;
+		lastY = other.lastY;
+		lastZ = other.lastZ;
+		count += other.count;
+		return this;
+	}
+
+	/**
+	 * Remove all the points.
+	 *
+	 * @return This accumulator
+	 */
+	public PointAccumulator clear() {
+		count = 0;
+		sumX = sumY = sumZ = 0;
+		length = 0;
+		cross = 0;
+		return this;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public boolean isEmpty() {
+		return count == 0;
+	}
+
+	/**
+	 * Get the bounds of the points, the same as {@link Geometry#bounds(double[]...)}.
+	 *
+	 * @return The minimum and maximum corners of the bounds
+	 */
+	public double[][] getBounds() {
+		if( count == 0 ) return new double[][]{ Point.ZERO, Point.ZERO };
+		return new double[][]{ { minX, minY, minZ }, { maxX, maxY, maxZ } };
+	}
+
+	/**
+	 * Get the length of the polyline through the points, the same as
+	 * {@link Geometry#length(double[]...)}.
+	 *
+	 * @return The total distance between all points, NaN if there are no points
+	 */
+	public double getLength() {
+		return count == 0 ? Double.NaN : length;
+	}
+
+	/**
+	 * Get the mean of the points.
+	 *
+	 * @return The centroid, NaN values if there are no points
+	 */
+	public double[] getCentroid() {
+		return new double[]{ sumX / count, sumY / count, sumZ / count };
+	}
+
+	/**
+	 * Get the signed area, in the XY plane, of the polygon through the points
+	 * closed from the last point back to the first.
+	 *
+	 * @return The signed area, positive for counterclockwise points
+	 */
+	public double getArea() {
+		if( count < 3 ) return 0;
+		return 0.5 * (cross + lastX * firstY - firstX * lastY);
+	}
+
+}
@@ -170,37 +170,7 @@ public class Polynomial {
 	}
 
 	public final double bisection( double min, double max ) {
-		double result = Double.NaN;
-		double minValue = this.evaluate( min );
-		double maxValue = this.evaluate( max );
-		double tolerance = TOLERANCE;
-
-		if( Math.abs( minValue ) <= tolerance ) {
-			result = min;
-		} else if( Math.abs( maxValue ) <= tolerance ) {
-			result = max;
-		} else if( minValue * maxValue <= 0 ) {
-			double tmp1 = Math.log( max - min );
-			double tmp2 = LN10 * Polynomial.ACCURACY;
-			double iters = Math.ceil( (tmp1 + tmp2) / LN2 );
-
-			for( int i = 0; i < iters; i++ ) {
-				result = 0.5 * (min + max);
-				double value = this.evaluate( result );
-
-				if( Math.abs( value ) <= tolerance ) break;
-
-				if( value * minValue < 0 ) {
-					max = result;
-					maxValue = value;
-				} else {
-					min = result;
-					minValue = value;
-				}
-			}
-		}
-
-		return result;
+		return bisection( coefficients, 0, getDegree(), min, max );
 	}
 
 	public final double[] getRoots() {
@@ -242,44 +212,10 @@ public class Polynomial {
 	}
 
 	public final double[] getRootsInInterval( double min, double max ) {
-		int count = 0;
-		double value = 0;
-		double[] roots = new double[ getDegree() ];
-
-		if( this.getDegree() == 1 ) {
-			value = this.bisection( min, max );
-			if( !Double.isNaN( value ) ) roots[ count++ ] = value;
-		} else {
-			// Get the roots of the derivative.
-			Polynomial derivitive = this.getDerivative();
-			double[] derivitiveRoots = derivitive.getRootsInInterval( min, max );
-
-			if( derivitiveRoots.length > 0 ) {
-				// Find the roots on [min, derivitiveRoots[0]]
-				value = this.bisection( min, derivitiveRoots[ 0 ] );
-				if( !Double.isNaN( value ) ) roots[ count++ ] = value;
-
-				// Find the roots on [derivitiveRoots[i],derivitiveRoots[i+1]] for 0 <= i <= count-2
-				for( int i = 0; i <= derivitiveRoots.length - 2; i++ ) {
-					value = this.bisection( derivitiveRoots[ i ], derivitiveRoots[ i + 1 ] );
-					if( !Double.isNaN( value ) ) roots[ count++ ] = value;
-				}
-
-				// Find the roots on [derivitiveRoots[count-1],xmax]
-				value = this.bisection( derivitiveRoots[ derivitiveRoots.length - 1 ], max );
-				if( !Double.isNaN( value ) ) roots[ count++ ] = value;
-			} else {
-				// The polynomial is monotone on [min,max]. Has at most one root.
-				value = this.bisection( min, max );
-				if( !Double.isNaN( value ) ) roots[ count++ ] = value;
-			}
-		}
-
-		if( count == roots.length ) return roots;
-
-		double[] result = new double[ count ];
-		System.arraycopy( roots, 0, result, 0, count );
-		return result;
+		int degree = getDegree();
+		double[] roots = new double[ degree ];
+		double[] work = new double[ Math.max( 0, degree * degree - 1 ) ];
+		return copyOf( roots, rootsInInterval( coefficients, 0, degree, min, max, roots, 0, work, 0 ) );
 	}
 
 	@Override
@@ -364,6 +300,10 @@ public class Polynomial {
 		return values;
 	}
 
+	private static double fixit( double value ) {
+		return value == -0.0 ? 0.0 : value;
+	}
+
 	private double[] getLinearRoot() {
 		double a = this.coefficients[ 1 ];
 		return fixit( a == 0 ? new double[ 0 ] : new double[]{ -this.coefficients[ 0 ] / a } );
@@ -376,38 +316,220 @@ public class Polynomial {
 	 */
 	// Derived from: http://read.pudn.com/downloads21/sourcecode/graph/71499/gems/Roots3And4.c__.htm
 	private double[] getQuadricRoots() {
+		double[] roots = new double[ 2 ];
+		return copyOf( roots, quadricRoots( coefficients[ 2 ], coefficients[ 1 ], coefficients[ 0 ], roots, 0 ) );
+	}
+
+	/**
+	 * Determine cubic roots.
+	 *
+	 * @return The cubic roots
+	 */
+	private double[] getCubicRoots() {
+		double[] roots = new double[ 3 ];
+		return copyOf( roots, cubicRoots( coefficients[ 3 ], coefficients[ 2 ], coefficients[ 1 ], coefficients[ 0 ], roots ) );
+	}
+
+	/**
+	 * Determine the real roots of the polynomial c3*x^3 + c2*x^2 + c1*x + c0
+	 * without creating a Polynomial object. Leading coefficients that are
+	 * effectively zero are removed in the same way the constructor simplifies
+	 * the coefficients, so the result is the same as
+	 * <code>new Polynomial( c3, c2, c1, c0 ).getRoots()</code>.
+	 * <p>
+	 * This method does not allocate and is intended for tight loops that only
+	 * need the roots.
+	 *
+	 * @param c3 The coefficient for x^3
+	 * @param c2 The coefficient for x^2
+	 * @param c1 The coefficient for x^1
+	 * @param c0 The coefficient for x^0
+	 * @param roots The array in which to store the roots, must have room for three values
+	 * @return The number of roots stored in the roots array
+	 */
+	public static int getRoots( double c3, double c2, double c1, double c0, double[] roots ) {
+		if( Math.abs( c3 ) > TOLERANCE ) return cubicRoots( c3, c2, c1, c0, roots );
+		if( Math.abs( c2 ) > TOLERANCE ) return quadricRoots( c2, c1, c0, roots, 0 );
+		if( Math.abs( c1 ) > TOLERANCE ) {
+			roots[ 0 ] = fixit( -c0 / c1 );
+			return 1;
+		}
+		return 0;
+	}
+
+	/**
+	 * Determine the real roots of the polynomial
+	 * c4*x^4 + c3*x^3 + c2*x^2 + c1*x + c0 without creating a Polynomial object.
+	 * The result is the same as
+	 * <code>new Polynomial( c4, c3, c2, c1, c0 ).getRoots()</code>.
+	 *
+	 * @param c4 The coefficient for x^4
+	 * @param c3 The coefficient for x^3
+	 * @param c2 The coefficient for x^2
+	 * @param c1 The coefficient for x^1
+	 * @param c0 The coefficient for x^0
+	 * @param roots The array in which to store the roots, must have room for four values
+	 * @return The number of roots stored in the roots array
+	 */
+	public static int getRoots( double c4, double c3, double c2, double c1, double c0, double[] roots ) {
+		if( Math.abs( c4 ) > TOLERANCE ) return quarticRoots( c4, c3, c2, c1, c0, roots );
+		return getRoots( c3, c2, c1, c0, roots );
+	}
+
+	/**
+	 * Determine the real roots of a polynomial in the interval [min, max]
+	 * without creating Polynomial objects. The coefficients are in standard
+	 * order, highest degree first, the same as the constructor. Leading
+	 * coefficients that are effectively zero are removed so the result is the
+	 * same as <code>new Polynomial( coefficients ).getRootsInInterval( min, max )</code>.
+	 * <p>
+	 * The derivative polynomials and their roots are kept in the work array,
+	 * which must have room for at least (degree + 1)^2 values.
+	 *
+	 * @param coefficients The polynomial coefficients, highest degree first
+	 * @param degree The degree of the polynomial, coefficients 0 through degree are used
+	 * @param min The interval minimum
+	 * @param max The interval maximum
+	 * @param roots The array in which to store the roots, must have room for degree values
+	 * @param work The work array
+	 * @return The number of roots stored in the roots array
+	 */
+	public static int getRootsInInterval( double[] coefficients, int degree, double min, double max, double[] roots, double[] work ) {
+		// Skip leading coefficients that are effectively zero
+		int first = 0;
+		while( first < degree && Math.abs( coefficients[ first ] ) <= TOLERANCE ) {
+			first++;
+		}
+		degree -= first;
+
+		// Store the coefficients in reverse order like the constructor
+		for( int index = 0; index <= degree; index++ ) {
+			work[ degree - index ] = coefficients[ first + index ];
+		}
+
+		return rootsInInterval( work, 0, degree, min, max, roots, 0, work, degree + 1 );
+	}
+
+	/**
+	 * Find the roots of the polynomial, with coefficients stored lowest degree
+	 * first at the offset, in the interval [min, max]. The derivative
+	 * coefficients and roots are stored in the work array at the work offset,
+	 * which needs room for degree^2 - 1 values.
+	 */
+	private static int rootsInInterval( double[] c, int offset, int degree, double min, double max, double[] roots, int rootOffset, double[] work, int workOffset ) {
+		if( degree < 1 ) return 0;
+
+		int count = 0;
+		double value;
+
+		if( degree == 1 ) {
+			value = bisection( c, offset, degree, min, max );
+			if( !Double.isNaN( value ) ) roots[ rootOffset + count++ ] = value;
+			return count;
+		}
+
+		// Get the roots of the derivative
+		int derivative = workOffset;
+		for( int i = 1; i <= degree; i++ ) {
+			work[ derivative + i - 1 ] = i * c[ offset + i ];
+		}
+		int derivativeRoots = derivative + degree;
+		int derivativeCount = rootsInInterval( work, derivative, degree - 1, min, max, work, derivativeRoots, work, derivativeRoots + degree - 1 );
+
+		if( derivativeCount > 0 ) {
+			// Find the roots on [min, derivativeRoots[0]]
+			value = bisection( c, offset, degree, min, work[ derivativeRoots ] );
+			if( !Double.isNaN( value ) ) roots[ rootOffset + count++ ] = value;
+
+			// Find the roots on [derivativeRoots[i],derivativeRoots[i+1]] for 0 <= i <= count-2
+			for( int i = 0; i <= derivativeCount - 2; i++ ) {
+				value = bisection( c, offset, degree, work[ derivativeRoots + i ], work[ derivativeRoots + i + 1 ] );
+				if( !Double.isNaN( value ) ) roots[ rootOffset + count++ ] = value;
+			}
+
+			// Find the roots on [derivativeRoots[count-1],max]
+			value = bisection( c, offset, degree, work[ derivativeRoots + derivativeCount - 1 ], max );
+			if( !Double.isNaN( value ) ) roots[ rootOffset + count++ ] = value;
+		} else {
+			// The polynomial is monotone on [min,max]. Has at most one root.
+			value = bisection( c, offset, degree, min, max );
+			if( !Double.isNaN( value ) ) roots[ rootOffset + count++ ] = value;
+		}
+
+		return count;
+	}
+
+	private static double evaluate( double[] c, int offset, int degree, double value ) {
+		double result = 0;
+		for( int index = degree; index >= 0; index-- ) {
+			result = result * value + c[ offset + index ];
+		}
+		return result;
+	}
+
+	private static double bisection( double[] c, int offset, int degree, double min, double max ) {
+		double result = Double.NaN;
+		double minValue = evaluate( c, offset, degree, min );
+		double maxValue = evaluate( c, offset, degree, max );
+		double tolerance = TOLERANCE;
+
+		if( Math.abs( minValue ) <= tolerance ) {
+			result = min;
+		} else if( Math.abs( maxValue ) <= tolerance ) {
+			result = max;
+		} else if( minValue * maxValue <= 0 ) {
+			double tmp1 = Math.log( max - min );
+			double tmp2 = LN10 * Polynomial.ACCURACY;
+			double iters = Math.ceil( (tmp1 + tmp2) / LN2 );
+
+			for( int i = 0; i < iters; i++ ) {
+				result = 0.5 * (min + max);
+				double value = evaluate( c, offset, degree, result );
+
+				if( Math.abs( value ) <= tolerance ) break;
+
+				if( value * minValue < 0 ) {
+					max = result;
+					maxValue = value;
+				} else {
+					min = result;
+					minValue = value;
+				}
+			}
+		}
+
+		return result;
+	}
+
+	// Derived from: http://read.pudn.com/downloads21/sourcecode/graph/71499/gems/Roots3And4.c__.htm
+	private static int quadricRoots( double c2, double c1, double c0, double[] roots, int offset ) {
 		// Normal form: x^2 + px + q = 0
-		double p = coefficients[ 1 ] / (2 * coefficients[ 2 ]);
-		double q = coefficients[ 0 ] / coefficients[ 2 ];
+		double p = c1 / (2 * c2);
+		double q = c0 / c2;
 		double d = p * p - q;
 
-		double[] result = new double[ 0 ];
 		if( closeToZero( d ) ) {
 			// Single solution
-			result = new double[]{ -p };
-		} else if( d < 0 ) {
-			// No solution
-			result = new double[ 0 ];
+			roots[ offset ] = fixit( -p );
+			return 1;
 		} else if( d > 0 ) {
 			// Two solutions
 			double sqrtD = Math.sqrt( d );
-			result = new double[]{ -p - sqrtD, -p + sqrtD };
+			roots[ offset ] = fixit( -p - sqrtD );
+			roots[ offset + 1 ] = fixit( -p + sqrtD );
+			return 2;
 		}
 
-		return fixit( result );
+		// No solution
+		return 0;
 	}
 
-	/**
-	 * Determine cubic roots.
-	 *
-	 * @return The cubic roots
-	 */
 	// Derived from: http://read.pudn.com/downloads21/sourcecode/graph/71499/gems/Roots3And4.c__.htm
-	private double[] getCubicRoots() {
+	private static int cubicRoots( double c3, double c2, double c1, double c0, double[] roots ) {
 		// Normal form: x^3 + ax^2 + bx + c = 0
-		double a = coefficients[ 2 ] / coefficients[ 3 ];
-		double b = coefficients[ 1 ] / coefficients[ 3 ];
-		double c = coefficients[ 0 ] / coefficients[ 3 ];
+		double a = c2 / c3;
+		double b = c1 / c3;
+		double c = c0 / c3;
 
 		// Substitute x = y - a/3 to eliminate quadric term: x^3 +px + q = 0
 		double sq_A = a * a;
@@ -418,37 +540,51 @@ public class Polynomial {
 		double ppp = p * p * p;
 		double d = q * q + ppp;
 
-		double[] result;
+		int count;
 
 		if( closeToZero( d ) ) {
 			if( closeToZero( q ) ) {
 				// One triple solution
-				result = new double[]{ 0 };
+				roots[ 0 ] = 0;
+				count = 1;
 			} else {
 				// One single and one double solution
 				double u = Math.cbrt( -q );
-				result = new double[]{ 2 * u, -u };
+				roots[ 0 ] = 2 * u;
+				roots[ 1 ] = -u;
+				count = 2;
 			}
 		} else if( d < 0 ) {
 			// Three real solutions
 			double phi = ONE_THIRD * Math.acos( -q / Math.sqrt( -ppp ) );
 			double t = 2 * Math.sqrt( -p );
-			result = new double[]{ -t * Math.cos( phi - PI_OVER_THREE ), -t * Math.cos( phi + PI_OVER_THREE ), t * Math.cos( phi ) };
+			roots[ 0 ] = -t * Math.cos( phi - PI_OVER_THREE );
+			roots[ 1 ] = -t * Math.cos( phi + PI_OVER_THREE );
+			roots[ 2 ] = t * Math.cos( phi );
+			count = 3;
 		} else {
 			// One real solution
 			double sqrt_D = Math.sqrt( d );
 			double u = Math.cbrt( sqrt_D - q );
 			double v = -Math.cbrt( sqrt_D + q );
-			result = new double[]{ u + v };
+			roots[ 0 ] = u + v;
+			count = 1;
 		}
 
 		// Resubstitute
 		double sub = ONE_THIRD * a;
-		for( int i = 0; i < result.length; ++i ) {
-			result[ i ] -= sub;
+		for( int i = 0; i < count; ++i ) {
+			roots[ i ] = fixit( roots[ i ] - sub );
 		}
 
-		return fixit( result );
+		return count;
+	}
+
+	private static double[] copyOf( double[] values, int count ) {
+		if( count == values.length ) return values;
+		double[] result = new double[ count ];
+		System.arraycopy( values, 0, result, 0, count );
+		return result;
 	}
 
 	/**
@@ -456,14 +592,19 @@ public class Polynomial {
 	 *
 	 * @return The quartic roots
 	 */
-	// Derived from: http://read.pudn.com/downloads21/sourcecode/graph/71499/gems/Roots3And4.c__.htm
 	private double[] getQuarticRoots() {
+		double[] roots = new double[ 4 ];
+		return copyOf( roots, quarticRoots( coefficients[ 4 ], coefficients[ 3 ], coefficients[ 2 ], coefficients[ 1 ], coefficients[ 0 ], roots ) );
+	}
+
+	// Derived from: http://read.pudn.com/downloads21/sourcecode/graph/71499/gems/Roots3And4.c__.htm
+	private static int quarticRoots( double c4, double c3, double c2, double c1, double c0, double[] roots ) {
 		// Normal form: x^4 + ax^3 + bx^2 + cx + d = 0
 
-		double a = coefficients[ 3 ] / coefficients[ 4 ];
-		double b = coefficients[ 2 ] / coefficients[ 4 ];
-		double c = coefficients[ 1 ] / coefficients[ 4 ];
-		double d = coefficients[ 0 ] / coefficients[ 4 ];
+		double a = c3 / c4;
+		double b = c2 / c4;
+		double c = c1 / c4;
+		double d = c0 / c4;
 
 		// Substitute x = y - a/4 to eliminate cubic term: x^4 + px^2 + qx + r = 0
 
@@ -472,16 +613,14 @@ public class Polynomial {
 		double q = 0.125 * aa * a - 0.5 * a * b + c;
 		double r = -0.01171875 * aa * aa + 0.0625 * aa * b - 0.25 * a * c + d;
 
-		double[] result = new double[ 0 ];
+		int count;
 
 		if( closeToZero( r ) ) {
 			// No absolute term: y(y^3 + py + q) = 0
-			result = new Polynomial( 1, 0, p, q ).getCubicRoots();
+			count = cubicRoots( 1, 0, p, q, roots );
 		} else {
-			// Solve the resolvent cubic ...
-			double[] roots = new Polynomial( 1, -0.5 * p, -r, 0.5 * r * p - 0.125 * q * q ).getCubicRoots();
-
-			// ... and take the one real solution ...
+			// Solve the resolvent cubic and take the one real solution ...
+			cubicRoots( 1, -0.5 * p, -r, 0.5 * r * p - 0.125 * q * q, roots );
 			double z = roots[ 0 ];
 
 			// ... to build two quadric equations
@@ -493,7 +632,7 @@ public class Polynomial {
 			} else if( u > 0 ) {
 				u = Math.sqrt( u );
 			} else {
-				return fixit( result );
+				return 0;
 			}
 
 			if( closeToZero( v ) ) {
@@ -501,27 +640,23 @@ public class Polynomial {
 			} else if( v > 0 ) {
 				v = Math.sqrt( v );
 			} else {
-				return fixit( result );
+				return 0;
 			}
 
-			double[] aroots = new Polynomial( 1, q < 0 ? -v : v, z - u ).getQuadricRoots();
-			double[] broots = new Polynomial( 1, q < 0 ? v : -v, z + u ).getQuadricRoots();
-
-			result = new double[ aroots.length + broots.length ];
-			System.arraycopy( aroots, 0, result, 0, aroots.length );
-			System.arraycopy( broots, 0, result, aroots.length, broots.length );
+			count = quadricRoots( 1, q < 0 ? -v : v, z - u, roots, 0 );
+			count += quadricRoots( 1, q < 0 ? v : -v, z + u, roots, count );
 		}
 
 		// Resubstitute
 		double sub = 1.0 / 4 * a;
-		for( int i = 0; i < result.length; ++i ) {
-			result[ i ] -= sub;
+		for( int i = 0; i < count; ++i ) {
+			roots[ i ] = fixit( roots[ i ] - sub );
 		}
 
-		return fixit( result );
+		return count;
 	}
 
-	private boolean closeToZero( double value ) {
+	private static boolean closeToZero( double value ) {
 		return Math.abs( value ) < TOLERANCE;
 	}
 
@@ -0,0 +1,477 @@
+package com.avereon.curve.math;
+
+/**
+ * Robust geometric predicates after Jonathan Shewchuk, "Adaptive Precision
+ * Floating-Point Arithmetic and Fast Robust Geometric Predicates".
+ * <p>
+ * Each predicate first evaluates the determinant in plain double arithmetic
+ * and compares it with a static error bound. Only when the result is too
+ * close to zero to trust is the determinant evaluated again with exact
+ * floating-point expansion arithmetic. The sign of the returned value is
+ * always correct, the magnitude is an approximation of the determinant.
+ * <p>
+ * Expansions are arrays of doubles, ordered by increasing magnitude, whose
+ * exact sum is the represented value. Only the x and y coordinates of the
+ * points are used by the 2D predicates.
+ */
+public class Predicates {
+
+	/**
+	 * Half the machine epsilon, the largest relative rounding error.
+	 */
+	private static final double EPSILON = Math.ulp( 1.0 ) / 2;
+
+	/**
+	 * Used to split a double into two non-overlapping halves.
+	 */
+	private static final double SPLITTER = (1 << 27) + 1;
+
+	private static final double RESULT_ERROR_BOUND = (3.0 + 8.0 * EPSILON) * EPSILON;
+
+	private static final double CCW_ERROR_BOUND_A = (3.0 + 16.0 * EPSILON) * EPSILON;
+
+	private static final double CCW_ERROR_BOUND_B = (2.0 + 12.0 * EPSILON) * EPSILON;
+
+	private static final double CCW_ERROR_BOUND_C = (9.0 + 64.0 * EPSILON) * EPSILON * EPSILON;
+
+	private static final double O3D_ERROR_BOUND_A = (7.0 + 56.0 * EPSILON) * EPSILON;
+
+	private static final double ICC_ERROR_BOUND_A = (10.0 + 96.0 * EPSILON) * EPSILON;
+
+	/**
+	 * Determine the orientation of three points. The result is positive if the
+	 * points a, b and c are in counterclockwise order, negative if they are in
+	 * clockwise order and zero if they are collinear. The result is
+	 * approximately twice the signed area of the triangle.
+	 *
+	 * @param a Point a
+	 * @param b Point b
+	 * @param c Point c
+	 * @return A value with the sign of the orientation
+	 */
+	public static double orient2d( double[] a, double[] b, double[] c ) {
+		double detLeft = (a[ 0 ] - c[ 0 ]) * (b[ 1 ] - c[ 1 ]);
+		double detRight = (a[ 1 ] - c[ 1 ]) * (b[ 0 ] - c[ 0 ]);
+		double det = detLeft - detRight;
+
+		double detSum;
+		if( detLeft > 0 ) {
+			if( detRight <= 0 ) return det;
+			detSum = detLeft + detRight;
+		} else if( detLeft < 0 ) {
+			if( detRight >= 0 ) return det;
+			detSum = -detLeft - detRight;
+		} else {
+			return det;
+		}
+
+		double errorBound = CCW_ERROR_BOUND_A * detSum;
+		if( det >= errorBound || -det >= errorBound ) return det;
+
+		return orient2dAdapt( a, b, c, detSum );
+	}
+
+	/**
+	 * Determine the orientation of a point relative to the plane through three
+	 * points. The result is positive if the point d is below the plane, where
+	 * the points a, b and c appear in counterclockwise order when viewed from
+	 * above the plane. The result is negative if d is above the plane and zero
+	 * if the points are coplanar. The result is approximately six times the
+	 * signed volume of the tetrahedron.
+	 *
+	 * @param a Point a
+	 * @param b Point b
+	 * @param c Point c
+	 * @param d Point d
+	 * @return A value with the sign of the orientation
+	 */
+	public static double orient3d( double[] a, double[] b, double[] c, double[] d ) {
+		double adx = a[ 0 ] - d[ 0 ];
+		double bdx = b[ 0 ] - d[ 0 ];
+		double cdx = c[ 0 ] - d[ 0 ];
+		double ady = a[ 1 ] - d[ 1 ];
+		double bdy = b[ 1 ] - d[ 1 ];
+		double cdy = c[ 1 ] - d[ 1 ];
+		double adz = a[ 2 ] - d[ 2 ];
+		double bdz = b[ 2 ] - d[ 2 ];
+		double cdz = c[ 2 ] - d[ 2 ];
+
+		double bdxcdy = bdx * cdy;
+		double cdxbdy = cdx * bdy;
+		double cdxady = cdx * ady;
+		double adxcdy = adx * cdy;
+		double adxbdy = adx * bdy;
+		double bdxady = bdx * ady;
+
+		double det = adz * (bdxcdy - cdxbdy) + bdz * (cdxady - adxcdy) + cdz * (adxbdy - bdxady);
+		double permanent = (Math.abs( bdxcdy ) + Math.abs( cdxbdy )) * Math.abs( adz ) + (Math.abs( cdxady ) + Math.abs( adxcdy )) * Math.abs( bdz ) + (Math.abs( adxbdy ) + Math.abs( bdxady )) * Math.abs( cdz );
+		double errorBound = O3D_ERROR_BOUND_A * permanent;
+		if( det > errorBound || -det > errorBound ) return det;
+
+		return orient3dExact( a, b, c, d );
+	}
+
+	/**
+	 * Determine if a point is inside the circle through three points. The
+	 * result is positive if the point d is inside the circle, negative if it is
+	 * outside and zero if it is on the circle. The points a, b and c must be in
+	 * counterclockwise order, otherwise the sign of the result is reversed.
+	 *
+	 * @param a Point a
+	 * @param b Point b
+	 * @param c Point c
+	 * @param d Point d
+	 * @return A value with the sign of the in-circle test
+	 */
+	public static double incircle( double[] a, double[] b, double[] c, double[] d ) {
+		double adx = a[ 0 ] - d[ 0 ];
+		double bdx = b[ 0 ] - d[ 0 ];
+		double cdx = c[ 0 ] - d[ 0 ];
+		double ady = a[ 1 ] - d[ 1 ];
+		double bdy = b[ 1 ] - d[ 1 ];
+		double cdy = c[ 1 ] - d[ 1 ];
+
+		double bdxcdy = bdx * cdy;
+		double cdxbdy = cdx * bdy;
+		double alift = adx * adx + ady * ady;
+
+		double cdxady = cdx * ady;
+		double adxcdy = adx * cdy;
+		double blift = bdx * bdx + bdy * bdy;
+
+		double adxbdy = adx * bdy;
+		double bdxady = bdx * ady;
+		double clift = cdx * cdx + cdy * cdy;
+
+		double det = alift * (bdxcdy - cdxbdy) + blift * (cdxady - adxcdy) + clift * (adxbdy - bdxady);
+		double permanent = (Math.abs( bdxcdy ) + Math.abs( cdxbdy )) * alift + (Math.abs( cdxady ) + Math.abs( adxcdy )) * blift + (Math.abs( adxbdy ) + Math.abs( bdxady )) * clift;
+		double errorBound = ICC_ERROR_BOUND_A * permanent;
+		if( det > errorBound || -det > errorBound ) return det;
+
+		return incircleExact( a, b, c, d );
+	}
+
+	/**
+	 * Evaluate the orientation in stages of increasing precision, stopping as
+	 * soon as the sign is certain.
+	 */
+	private static double orient2dAdapt( double[] a, double[] b, double[] c, double detSum ) {
+		double acx = a[ 0 ] - c[ 0 ];
+		double bcx = b[ 0 ] - c[ 0 ];
+		double acy = a[ 1 ] - c[ 1 ];
+		double bcy = b[ 1 ] - c[ 1 ];
+
+		// The exact determinant of the rounded differences
+		double detLeft = acx * bcy;
+		double detLeftTail = twoProductTail( acx, bcy, detLeft );
+		double detRight = acy * bcx;
+		double detRightTail = twoProductTail( acy, bcx, detRight );
+		double[] bb = new double[ 4 ];
+		twoTwoDiff( detLeft, detLeftTail, detRight, detRightTail, bb );
+
+		double det = estimate( bb, 4 );
+		double errorBound = CCW_ERROR_BOUND_B * detSum;
+		if( det >= errorBound || -det >= errorBound ) return det;
+
+		double acxTail = twoDiffTail( a[ 0 ], c[ 0 ], acx );
+		double bcxTail = twoDiffTail( b[ 0 ], c[ 0 ], bcx );
+		double acyTail = twoDiffTail( a[ 1 ], c[ 1 ], acy );
+		double bcyTail = twoDiffTail( b[ 1 ], c[ 1 ], bcy );
+		if( acxTail == 0 && acyTail == 0 && bcxTail == 0 && bcyTail == 0 ) return det;
+
+		// A first order correction for the rounding of the differences
+		errorBound = CCW_ERROR_BOUND_C * detSum + RESULT_ERROR_BOUND * Math.abs( det );
+		det += (acx * bcyTail + bcy * acxTail) - (acy * bcxTail + bcx * acyTail);
+		if( det >= errorBound || -det >= errorBound ) return det;
+
+		// The exact determinant
+		double[] u = new double[ 4 ];
+		double[] c1 = new double[ 8 ];
+		double[] c2 = new double[ 12 ];
+		double[] dd = new double[ 16 ];
+
+		double s1 = acxTail * bcy;
+		double s0 = twoProductTail( acxTail, bcy, s1 );
+		double t1 = acyTail * bcx;
+		double t0 = twoProductTail( acyTail, bcx, t1 );
+		twoTwoDiff( s1, s0, t1, t0, u );
+		int c1Length = sum( bb, 4, u, 4, c1 );
+
+		s1 = acx * bcyTail;
+		s0 = twoProductTail( acx, bcyTail, s1 );
+		t1 = acy * bcxTail;
+		t0 = twoProductTail( acy, bcxTail, t1 );
+		twoTwoDiff( s1, s0, t1, t0, u );
+		int c2Length = sum( c1, c1Length, u, 4, c2 );
+
+		s1 = acxTail * bcyTail;
+		s0 = twoProductTail( acxTail, bcyTail, s1 );
+		t1 = acyTail * bcxTail;
+		t0 = twoProductTail( acyTail, bcxTail, t1 );
+		twoTwoDiff( s1, s0, t1, t0, u );
+		int dLength = sum( c2, c2Length, u, 4, dd );
+
+		return dd[ dLength - 1 ];
+	}
+
+	private static double orient3dExact( double[] a, double[] b, double[] c, double[] d ) {
+		double[] adx = difference( a[ 0 ], d[ 0 ] );
+		double[] bdx = difference( b[ 0 ], d[ 0 ] );
+		double[] cdx = difference( c[ 0 ], d[ 0 ] );
+		double[] ady = difference( a[ 1 ], d[ 1 ] );
+		double[] bdy = difference( b[ 1 ], d[ 1 ] );
+		double[] cdy = difference( c[ 1 ], d[ 1 ] );
+		double[] adz = difference( a[ 2 ], d[ 2 ] );
+		double[] bdz = difference( b[ 2 ], d[ 2 ] );
+		double[] cdz = difference( c[ 2 ], d[ 2 ] );
+
+		double[] det = add( add( multiply( adz, cross( bdx, cdy, cdx, bdy ) ), multiply( bdz, cross( cdx, ady, adx, cdy ) ) ), multiply( cdz, cross( adx, bdy, bdx, ady ) ) );
+		return det[ det.length - 1 ];
+	}
+
+	private static double incircleExact( double[] a, double[] b, double[] c, double[] d ) {
+		double[] adx = difference( a[ 0 ], d[ 0 ] );
+		double[] bdx = difference( b[ 0 ], d[ 0 ] );
+		double[] cdx = difference( c[ 0 ], d[ 0 ] );
+		double[] ady = difference( a[ 1 ], d[ 1 ] );
+		double[] bdy = difference( b[ 1 ], d[ 1 ] );
+		double[] cdy = difference( c[ 1 ], d[ 1 ] );
+
+		double[] alift = add( multiply( adx, adx ), multiply( ady, ady ) );
+		double[] blift = add( multiply( bdx, bdx ), multiply( bdy, bdy ) );
+		double[] clift = add( multiply( cdx, cdx ), multiply( cdy, cdy ) );
+
+		double[] det = add( add( multiply( alift, cross( bdx, cdy, cdx, bdy ) ), multiply( blift, cross( cdx, ady, adx, cdy ) ) ), multiply( clift, cross( adx, bdy, bdx, ady ) ) );
+		return det[ det.length - 1 ];
+	}
+
+	/**
+	 * The exact difference of two doubles as a two component expansion.
+	 */
+	private static double[] difference( double a, double b ) {
+		double x = a - b;
+		return new double[]{ twoDiffTail( a, b, x ), x };
+	}
+
+	/**
+	 * The exact value of a * b - c * d as an expansion.
+	 */
+	private static double[] cross( double[] a, double[] b, double[] c, double[] d ) {
+		return add( multiply( a, b ), negate( multiply( c, d ) ) );
+	}
+
+	private static double[] add( double[] e, double[] f ) {
+		double[] h = new double[ Math.max( 1, e.length + f.length ) ];
+		int length = sum( e, e.length, f, f.length, h );
+		return trim( h, length );
+	}
+
+	private static double[] multiply( double[] e, double[] f ) {
+		double[] result = new double[ 1 ];
+		int length = 1;
+		double[] scaled = new double[ Math.max( 1, 2 * e.length ) ];
+		for( double value : f ) {
+			int scaledLength = scale( e, e.length, value, scaled );
+			double[] h = new double[ Math.max( 1, length + scaledLength ) ];
+			length = sum( result, length, scaled, scaledLength, h );
+			result = h;
+		}
+		return trim( result, length );
+	}
+
+	private static double[] negate( double[] e ) {
+		double[] h = new double[ e.length ];
+		for( int index = 0; index < e.length; index++ ) {
+			h[ index ] = -e[ index ];
+		}
+		return h;
+	}
+
+	private static double[] trim( double[] e, int length ) {
+		if( length == e.length ) return e;
+		if( length == 0 ) return new double[ 1 ];
+		double[] h = new double[ length ];
+		System.arraycopy( e, 0, h, 0, length );
+		return h;
+	}
+
+	/**
+	 * Sum two expansions, eliminating zero components. The result array must
+	 * have room for the components of both expansions.
+	 *
+	 * @return The number of components in the result
+	 */
+	private static int sum( double[] e, int eLength, double[] f, int fLength, double[] h ) {
+		if( eLength == 0 ) {
+			System.arraycopy( f, 0, h, 0, fLength );
+			return fLength;
+		}
+		if( fLength == 0 ) {
+			System.arraycopy( e, 0, h, 0, eLength );
+			return eLength;
+		}
+
+		double enow = e[ 0 ];
+		double fnow = f[ 0 ];
+		int eIndex = 0;
+		int fIndex = 0;
+		double q;
+		if( (fnow > enow) == (fnow > -enow) ) {
+			q = enow;
+			if( ++eIndex < eLength ) enow = e[ eIndex ];
+		} else {
+			q = fnow;
+			if( ++fIndex < fLength ) fnow = f[ fIndex ];
+		}
+
+		int hIndex = 0;
+		double qNew;
+		double hh;
+		if( eIndex < eLength && fIndex < fLength ) {
+			if( (fnow > enow) == (fnow > -enow) ) {
+				qNew = enow + q;
+				hh = q - (qNew - enow);
+				if( ++eIndex < eLength ) enow = e[ eIndex ];
+			} else {
+				qNew = fnow + q;
+				hh = q - (qNew - fnow);
+				if( ++fIndex < fLength ) fnow = f[ fIndex ];
+			}
+			q = qNew;
+			if( hh != 0 ) h[ hIndex++ ] = hh;
+
+			while( eIndex < eLength && fIndex < fLength ) {
+				if( (fnow > enow) == (fnow > -enow) ) {
+					qNew = q + enow;
+					hh = twoSumTail( q, enow, qNew );
+					if( ++eIndex < eLength ) enow = e[ eIndex ];
+				} else {
+					qNew = q + fnow;
+					hh = twoSumTail( q, fnow, qNew );
+					if( ++fIndex < fLength ) fnow = f[ fIndex ];
+				}
+				q = qNew;
+				if( hh != 0 ) h[ hIndex++ ] = hh;
+			}
+		}
+
+		while( eIndex < eLength ) {
+			qNew = q + enow;
+			hh = twoSumTail( q, enow, qNew );
+			if( ++eIndex < eLength ) enow = e[ eIndex ];
+			q = qNew;
+			if( hh != 0 ) h[ hIndex++ ] = hh;
+		}
+		while( fIndex < fLength ) {
+			qNew = q + fnow;
+			hh = twoSumTail( q, fnow, qNew );
+			if( ++fIndex < fLength ) fnow = f[ fIndex ];
+			q = qNew;
+			if( hh != 0 ) h[ hIndex++ ] = hh;
+		}
+
+		if( q != 0 || hIndex == 0 ) h[ hIndex++ ] = q;
+		return hIndex;
+	}
+
+	/**
+	 * Multiply an expansion by a double, eliminating zero components. The
+	 * result array must have room for twice the components of the expansion.
+	 *
+	 * @return The number of components in the result
+	 */
+	private static int scale( double[] e, int eLength, double b, double[] h ) {
+		if( eLength == 0 ) return 0;
+
+		double bc = SPLITTER * b;
+		double bHi = bc - (bc - b);
+		double bLo = b - bHi;
+
+		double q = e[ 0 ] * b;
+		int hIndex = 0;
+		double hh = productTail( e[ 0 ], b, q, bHi, bLo );
+		if( hh != 0 ) h[ hIndex++ ] = hh;
+
+		for( int eIndex = 1; eIndex < eLength; eIndex++ ) {
+			double enow = e[ eIndex ];
+			double product1 = enow * b;
+			double product0 = productTail( enow, b, product1, bHi, bLo );
+			double sum = q + product0;
+			hh = twoSumTail( q, product0, sum );
+			if( hh != 0 ) h[ hIndex++ ] = hh;
+			q = product1 + sum;
+			hh = sum - (q - product1);
+			if( hh != 0 ) h[ hIndex++ ] = hh;
+		}
+
+		if( q != 0 || hIndex == 0 ) h[ hIndex++ ] = q;
+		return hIndex;
+	}
+
+	private static double estimate( double[] e, int length ) {
+		double q = e[ 0 ];
+		for( int index = 1; index < length; index++ ) {
+			q += e[ index ];
+		}
+		return q;
+	}
+
+	/**
+	 * Compute the expansion of (a1 + a0) - (b1 + b0) into four components.
+	 */
+	private static void twoTwoDiff( double a1, double a0, double b1, double b0, double[] x ) {
+		double i = a0 - b0;
+		x[ 0 ] = twoDiffTail( a0, b0, i );
+		double j = a1 + i;
+		double zero = twoSumTail( a1, i, j );
+		i = zero - b1;
+		x[ 1 ] = twoDiffTail( zero, b1, i );
+		x[ 3 ] = j + i;
+		x[ 2 ] = twoSumTail( j, i, x[ 3 ] );
+	}
+
+	/**
+	 * The rounding error of x = a + b.
+	 */
+	private static double twoSumTail( double a, double b, double x ) {
+		double bVirtual = x - a;
+		double aVirtual = x - bVirtual;
+		double bRound = b - bVirtual;
+		double aRound = a - aVirtual;
+		return aRound + bRound;
+	}
+
+	/**
+	 * The rounding error of x = a - b.
+	 */
+	private static double twoDiffTail( double a, double b, double x ) {
+		double bVirtual = a - x;
+		double aVirtual = x + bVirtual;
+		double bRound = bVirtual - b;
+		double aRound = a - aVirtual;
+		return aRound + bRound;
+	}
+
+	/**
+	 * The rounding error of x = a * b.
+	 */
+	private static double twoProductTail( double a, double b, double x ) {
+		double bc = SPLITTER * b;
+		double bHi = bc - (bc - b);
+		return productTail( a, b, x, bHi, b - bHi );
+	}
+
+	/**
+	 * The rounding error of x = a * b where b has already been split.
+	 */
+	private static double productTail( double a, double b, double x, double bHi, double bLo ) {
+		double ac = SPLITTER * a;
+		double aHi = ac - (ac - a);
+		double aLo = a - aHi;
+		double error1 = x - (aHi * bHi);
+		double error2 = error1 - (aLo * bHi);
+		double error3 = error2 - (aHi * bLo);
+		return (aLo * bLo) - error3;
+	}
+
+}
@@ -0,0 +1,340 @@
+package com.avereon.curve.math;
+
+/**
+ * Unit quaternions for representing rotations in three dimensions. A
+ * quaternion is an array of four values { w, x, y, z } where w is the scalar
+ * part and x, y and z are the vector part. The rotation by an angle around a
+ * unit axis is { cos(angle/2), sin(angle/2) * axis }.
+ * <p>
+ * Rotating a vector or composing two rotations takes a handful of multiplies,
+ * fewer than building and combining {@link Transform} matrices, and a
+ * quaternion does not drift from a rotation as far as a matrix does when
+ * rotations are composed many times. The methods that take a result array do
+ * not allocate and allow the result to be one of the arguments.
+ * <p>
+ * The rotations follow the same conventions as {@link Transform#rotation(double[], double)}.
+ */
+public class Quaternion {
+
+	/**
+	 * Below this dot product the rotations are far enough apart to interpolate
+	 * along the arc, above it the interpolation is linear.
+	 */
+	private static final double SLERP_THRESHOLD = 0.9995;
+
+	public static double[] of( double w, double x, double y, double z ) {
+		return new double[]{ w, x, y, z };
+	}
+
+	/**
+	 * Get the quaternion for no rotation.
+	 *
+	 * @return The identity quaternion
+	 */
+	public static double[] identity() {
+		return of( 1, 0, 0, 0 );
+	}
+
+	/**
+	 * Create a quaternion to rotate around an axis. A zero axis or angle is no
+	 * rotation.
+	 *
+	 * @param axis The axis around which to rotate
+	 * @param angle The rotation angle in radians
+	 * @return The rotation quaternion
+	 */
+	public static double[] rotation( double[] axis, double angle ) {
+		double magnitude = Vector.magnitude( axis );
+		if( magnitude == 0 || angle == 0.0 ) return identity();
+
+		double half = 0.5 * angle;
+		double scale = Math.sin( half ) / magnitude;
+		return of( Math.cos( half ), axis[ 0 ] * scale, axis[ 1 ] * scale, axis[ 2 ] * scale );
+	}
+
+	public static double[] xrotation( double angle ) {
+		return of( Math.cos( 0.5 * angle ), Math.sin( 0.5 * angle ), 0, 0 );
+	}
+
+	public static double[] yrotation( double angle ) {
+		return of( Math.cos( 0.5 * angle ), 0, Math.sin( 0.5 * angle ), 0 );
+	}
+
+	public static double[] zrotation( double angle ) {
+		return of( Math.cos( 0.5 * angle ), 0, 0, Math.sin( 0.5 * angle ) );
+	}
+
+	/**
+	 * Create the quaternion of the rotation that takes the z axis to the
+	 * normal and the y axis toward the rotate vector. This is the rotation of
+	 * {@link Transform#worldTransform(double[], double[], double[])}.
+	 *
+	 * @param normal The direction of the rotated z axis
+	 * @param rotate The direction toward which the y axis is rotated
+	 * @return The rotation quaternion
+	 */
+	public static double[] basis( double[] normal, double[] rotate ) {
+		double[] z = Vector.normalize( normal );
+		double[] x = Vector.normalize( Vector.cross( rotate, normal ) );
+		double[] y = Vector.cross( z, x );
+		return fromMatrix( x[ 0 ], y[ 0 ], z[ 0 ], x[ 1 ], y[ 1 ], z[ 1 ], x[ 2 ], y[ 2 ], z[ 2 ] );
+	}
+
+	/**
+	 * Get the quaternion of the rotation part of a transform. The upper left
+	 * three by three matrix of the transform must be a rotation.
+	 *
+	 * @param transform The transform
+	 * @return The rotation quaternion
+	 */
+	public static double[] fromTransform( Transform transform ) {
+		double[][] m = transform.getMatrixArray();
+		return fromMatrix( m[ 0 ][ 0 ], m[ 0 ][ 1 ], m[ 0 ][ 2 ], m[ 1 ][ 0 ], m[ 1 ][ 1 ], m[ 1 ][ 2 ], m[ 2 ][ 0 ], m[ 2 ][ 1 ], m[ 2 ][ 2 ] );
+	}
+
+	/**
+	 * Create a transform that rotates by a quaternion.
+	 *
+	 * @param q The rotation quaternion
+	 * @return The rotation transform
+	 */
+	public static Transform toTransform( double[] q ) {
+		return toTransform( q, Vector.of() );
+	}
+
+	/**
+	 * Create a transform that rotates by a quaternion and then translates to
+	 * an origin. This is the local to world transform of an orientation with
+	 * the rotation and origin.
+	 *
+	 * @param q The rotation quaternion
+	 * @param origin The translation applied after the rotation
+	 * @return The transform
+	 */
+	public static Transform toTransform( double[] q, double[] origin ) {
+		double w = q[ 0 ];
+		double x = q[ 1 ];
+		double y = q[ 2 ];
+		double z = q[ 3 ];
+		double xx = x * x;
+		double yy = y * y;
+		double zz = z * z;
+		double xy = x * y;
+		double xz = x * z;
+		double yz = y * z;
+		double wx = w * x;
+		double wy = w * y;
+		double wz = w * z;
+
+		return new Transform(
+			1 - 2 * (yy + zz),
+			2 * (xy - wz),
+			2 * (xz + wy),
+			origin[ 0 ],
+			2 * (xy + wz),
+			1 - 2 * (xx + zz),
+			2 * (yz - wx),
+			origin[ 1 ],
+			2 * (xz - wy),
+			2 * (yz + wx),
+			1 - 2 * (xx + yy),
+			origin[ 2 ],
+			0.0,
+			0.0,
+			0.0,
+			1.0
+		);
+	}
+
+	/**
+	 * Compose two rotations. The result rotates by b and then by a.
+	 *
+	 * @param a The second rotation
+	 * @param b The first rotation
+	 * @return The composed rotation
+	 */
+	public static double[] multiply( double[] a, double[] b ) {
+		return multiply( a, b, new double[ 4 ] );
+	}
+
+	/**
+	 * Compose two rotations into an existing array. The result rotates by b and
+	 * then by a.
+	 *
+	 * @param a The second rotation
+	 * @param b The first rotation
+	 * @param result The array in which to store the composed rotation, may be a or b
+	 * @return The result array
+	 */
+	public static double[] multiply( double[] a, double[] b, double[] result ) {
+		double w = a[ 0 ] * b[ 0 ] - a[ 1 ] * b[ 1 ] - a[ 2 ] * b[ 2 ] - a[ 3 ] * b[ 3 ];
+		double x = a[ 0 ] * b[ 1 ] + a[ 1 ] * b[ 0 ] + a[ 2 ] * b[ 3 ] - a[ 3 ] * b[ 2 ];
+		double y = a[ 0 ] * b[ 2 ] - a[ 1 ] * b[ 3 ] + a[ 2 ] * b[ 0 ] + a[ 3 ] * b[ 1 ];
+		double z = a[ 0 ] * b[ 3 ] + a[ 1 ] * b[ 2 ] - a[ 2 ] * b[ 1 ] + a[ 3 ] * b[ 0 ];
+		result[ 0 ] = w;
+		result[ 1 ] = x;
+		result[ 2 ] = y;
+		result[ 3 ] = z;
+		return result;
+	}
+
+	/**
+	 * Get the conjugate of a quaternion, which for a unit quaternion is the
+	 * inverse rotation.
+	 *
+	 * @param q The quaternion
+	 * @return The conjugate quaternion
+	 */
+	public static double[] conjugate( double[] q ) {
+		return of( q[ 0 ], -q[ 1 ], -q[ 2 ], -q[ 3 ] );
+	}
+
+	public static double dot( double[] a, double[] b ) {
+		return a[ 0 ] * b[ 0 ] + a[ 1 ] * b[ 1 ] + a[ 2 ] * b[ 2 ] + a[ 3 ] * b[ 3 ];
+	}
+
+	public static double magnitude( double[] q ) {
+		return Math.sqrt( dot( q, q ) );
+	}
+
+	/**
+	 * Scale a quaternion to unit length, which removes the drift from a
+	 * rotation after many compositions.
+	 *
+	 * @param q The quaternion
+	 * @param result The array in which to store the unit quaternion, may be q
+	 * @return The result array
+	 */
+	public static double[] normalize( double[] q, double[] result ) {
+		double scale = 1.0 / magnitude( q );
+		result[ 0 ] = q[ 0 ] * scale;
+		result[ 1 ] = q[ 1 ] * scale;
+		result[ 2 ] = q[ 2 ] * scale;
+		result[ 3 ] = q[ 3 ] * scale;
+		return result;
+	}
+
+	/**
+	 * Get the rotation angle of a unit quaternion.
+	 *
+	 * @param q The quaternion
+	 * @return The rotation angle in radians, from 0 to PI
+	 */
+	public static double angle( double[] q ) {
+		return 2 * Math.acos( Math.min( 1, Math.abs( q[ 0 ] ) ) );
+	}
+
+	/**
+	 * Rotate a vector by a quaternion.
+	 *
+	 * @param q The rotation quaternion
+	 * @param v The vector
+	 * @return The rotated vector
+	 */
+	public static double[] apply( double[] q, double[] v ) {
+		return apply( q, v, new double[ 3 ] );
+	}
+
+	/**
+	 * Rotate a vector by a quaternion into an existing array.
+	 *
+	 * @param q The rotation quaternion
+	 * @param v The vector
+	 * @param result The array in which to store the rotated vector, may be v
+	 * @return The result array
+	 */
+	public static double[] apply( double[] q, double[] v, double[] result ) {
+		double w = q[ 0 ];
+		double x = q[ 1 ];
+		double y = q[ 2 ];
+		double z = q[ 3 ];
+
+		// t = 2 (q x v), v' = v + w t + q x t
+		double tx = 2 * (y * v[ 2 ] - z * v[ 1 ]);
+		double ty = 2 * (z * v[ 0 ] - x * v[ 2 ]);
+		double tz = 2 * (x * v[ 1 ] - y * v[ 0 ]);
+		double rx = v[ 0 ] + w * tx + y * tz - z * ty;
+		double ry = v[ 1 ] + w * ty + z * tx - x * tz;
+		double rz = v[ 2 ] + w * tz + x * ty - y * tx;
+		result[ 0 ] = rx;
+		result[ 1 ] = ry;
+		result[ 2 ] = rz;
+		return result;
+	}
+
+	/**
+	 * Interpolate between two rotations along the shorter arc at a constant
+	 * angular speed.
+	 *
+	 * @param a The rotation at zero
+	 * @param b The rotation at one
+	 * @param t The interpolation parameter
+	 * @return The interpolated rotation
+	 */
+	public static double[] slerp( double[] a, double[] b, double t ) {
+		return slerp( a, b, t, new double[ 4 ] );
+	}
+
+	/**
+	 * Interpolate between two rotations along the shorter arc at a constant
+	 * angular speed into an existing array.
+	 *
+	 * @param a The rotation at zero
+	 * @param b The rotation at one
+	 * @param t The interpolation parameter
+	 * @param result The array in which to store the rotation, may be a or b
+	 * @return The result array
+	 */
+	public static double[] slerp( double[] a, double[] b, double t, double[] result ) {
+		double cos = dot( a, b );
+
+		// The quaternions q and -q are the same rotation, use the nearer one
+		double sign = 1;
+		if( cos < 0 ) {
+			cos = -cos;
+			sign = -1;
+		}
+
+		double wa;
+		double wb;
+		if( cos > SLERP_THRESHOLD ) {
+			wa = 1 - t;
+			wb = t;
+		} else {
+			double theta = Math.acos( cos );
+			double sin = Math.sin( theta );
+			wa = Math.sin( (1 - t) * theta ) / sin;
+			wb = Math.sin( t * theta ) / sin;
+		}
+		wb *= sign;
+
+		for( int index = 0; index < 4; index++ ) {
+			result[ index ] = wa * a[ index ] + wb * b[ index ];
+		}
+		return normalize( result, result );
+	}
+
+	/**
+	 * Convert a rotation matrix to a quaternion using the largest of the four
+	 * quaternion values for stability.
+	 */
+	private static double[] fromMatrix( double m00, double m01, double m02, double m10, double m11, double m12, double m20, double m21, double m22 ) {
+		double trace = m00 + m11 + m22;
+		double[] q;
+		if( trace > 0 ) {
+			double s = 0.5 / Math.sqrt( trace + 1 );
+			q = of( 0.25 / s, (m21 - m12) * s, (m02 - m20) * s, (m10 - m01) * s );
+		} else if( m00 > m11 && m00 > m22 ) {
+			double s = 2 * Math.sqrt( 1 + m00 - m11 - m22 );
+			q = of( (m21 - m12) / s, 0.25 * s, (m01 + m10) / s, (m02 + m20) / s );
+		} else if( m11 > m22 ) {
+			double s = 2 * Math.sqrt( 1 + m11 - m00 - m22 );
+			q = of( (m02 - m20) / s, (m01 + m10) / s, 0.25 * s, (m12 + m21) / s );
+		} else {
+			double s = 2 * Math.sqrt( 1 + m22 - m00 - m11 );
+			q = of( (m10 - m01) / s, (m02 + m20) / s, (m12 + m21) / s, 0.25 * s );
+		}
+		return normalize( q, q );
+	}
+
+}
@@ -1,10 +1,20 @@
 package com.avereon.curve.math;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.BiFunction;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 public class RK4 {
 
+	/**
+	 * The number of trajectories below which an ensemble integration is not
+	 * split into more parallel tasks.
+	 */
+	public static final int ENSEMBLE_THRESHOLD = 256;
+
 	/**
 	 * The Runge-Kutta 4th order method, for partial differential equations.
 	 *
@@ -15,14 +25,28 @@ public class RK4 {
 	 * @return The next value
 	 */
 	public static double next( double t, double y, double dt, BiFunction<Double, Double, Double> dydt ) {
+		return nextDouble( t, y, dt, dydt::apply );
+	}
+
+	/**
+	 * The Runge-Kutta 4th order method, for partial differential equations,
+	 * without boxing.
+	 *
+	 * @param t The current time
+	 * @param y The current value
+	 * @param dt The time step size
+	 * @param dydt The derivative function
+	 * @return The next value
+	 */
+	public static double nextDouble( double t, double y, double dt, DoubleBinaryOperator dydt ) {
 		// The slope at t
-		double k1 = dt * dydt.apply( t, y );
+		double k1 = dt * dydt.applyAsDouble( t, y );
 		// The slope halfway through the step
-		double k2 = dt * dydt.apply( t + dt / 2, y + dt * k1 / 2 );
+		double k2 = dt * dydt.applyAsDouble( t + dt / 2, y + dt * k1 / 2 );
 		// The slope halfway through the step, again
-		double k3 = dt * dydt.apply( t + dt / 2, y + dt * k2 / 2 );
+		double k3 = dt * dydt.applyAsDouble( t + dt / 2, y + dt * k2 / 2 );
 		// The slope at the end of the step
-		double k4 = dt * dydt.apply( t + dt, y + dt * k3 );
+		double k4 = dt * dydt.applyAsDouble( t + dt, y + dt * k3 );
 		// The next y is computed
 		return y + (k1 + 4 * k2 + k4) / 6;
 	}
@@ -38,14 +62,28 @@ public class RK4 {
 	 * @return The next value
 	 */
 	public static double next( double t, double y, double dt, Function<Double, Double> dydt ) {
+		return nextDouble( t, y, dt, dydt::apply );
+	}
+
+	/**
+	 * The Runge-Kutta 4th order method, optimized for non-partial differential
+	 * equations, without boxing.
+	 *
+	 * @param t The current time
+	 * @param y The current value
+	 * @param dt The time step size
+	 * @param dydt The derivative function
+	 * @return The next value
+	 */
+	public static double nextDouble( double t, double y, double dt, DoubleUnaryOperator dydt ) {
 		// The slope at t
-		double k1 = dt * dydt.apply( t );
+		double k1 = dt * dydt.applyAsDouble( t );
 
 		// The slope halfway through the step, used twice
-		double k2 = dt * dydt.apply( t + dt / 2 );
+		double k2 = dt * dydt.applyAsDouble( t + dt / 2 );
 
 		// The slope at the end of the step
-		double k4 = dt * dydt.apply( t + dt );
+		double k4 = dt * dydt.applyAsDouble( t + dt );
 
 		// The next y is computed
 		return y + (k1 + 4 * k2 + k4) / 6;
@@ -86,4 +124,260 @@ public class RK4 {
 		return v;
 	}
 
+	/**
+	 * The classic Runge-Kutta 4th order method for a system of equations. The
+	 * intermediate slopes are stored in the work arrays so the step does not
+	 * allocate.
+	 *
+	 * @param t The current time
+	 * @param y The current state
+	 * @param dt The time step size
+	 * @param system The system of equations
+	 * @param next The array in which to store the next state, may be the current state array
+	 * @param work The work arrays, sized for the state
+	 * @return The next state array
+	 */
+	public static double[] next( double t, double[] y, double dt, OdeSystem system, double[] next, Work work ) {
+		int n = y.length;
+		if( work.size() != n ) throw new IllegalArgumentException( "Work arrays must have " + n + " values: " + work.size() );
+		double[] k1 = work.k1;
+		double[] k2 = work.k2;
+		double[] k3 = work.k3;
+		double[] k4 = work.k4;
+		double[] temp = work.temp;
+		double half = dt / 2;
+
+		// The slope at t
+		system.derivative( t, y, k1 );
+
+		// The slope halfway through the step using the slope at t
+		for( int i = 0; i < n; i++ ) {
+			temp[ i ] = y[ i ] + half * k1[ i ];
+		}
+		system.derivative( t + half, temp, k2 );
+
+		// The slope halfway through the step using the first halfway slope
+		for( int i = 0; i < n; i++ ) {
+			temp[ i ] = y[ i ] + half * k2[ i ];
+		}
+		system.derivative( t + half, temp, k3 );
+
+		// The slope at the end of the step
+		for( int i = 0; i < n; i++ ) {
+			temp[ i ] = y[ i ] + dt * k3[ i ];
+		}
+		system.derivative( t + dt, temp, k4 );
+
+		// The next state is computed
+		for( int i = 0; i < n; i++ ) {
+			next[ i ] = y[ i ] + dt * (k1[ i ] + 2 * k2[ i ] + 2 * k3[ i ] + k4[ i ]) / 6;
+		}
+
+		return next;
+	}
+
+	/**
+	 * Integrate a system of equations with fixed steps, updating the state in
+	 * place. No memory is allocated.
+	 *
+	 * @param system The system of equations
+	 * @param t The start time
+	 * @param y The initial state, which is replaced by the final state
+	 * @param dt The time step size
+	 * @param steps The number of steps
+	 * @param work The work arrays, sized for the state
+	 * @return The final time
+	 */
+	public static double integrate( OdeSystem system, double t, double[] y, double dt, int steps, Work work ) {
+		for( int step = 0; step < steps; step++ ) {
+			next( t, y, dt, system, y, work );
+			t += dt;
+		}
+		return t;
+	}
+
+	/**
+	 * Integrate a system of equations with fixed steps, storing every state of
+	 * the trajectory. The trajectory array holds steps + 1 states, one after
+	 * the other, starting with the initial state. No memory is allocated.
+	 *
+	 * @param system The system of equations
+	 * @param t The start time
+	 * @param y The initial state, which is replaced by the final state
+	 * @param dt The time step size
+	 * @param steps The number of steps
+	 * @param trajectory The array in which to store the states, at least (steps + 1) times the state length
+	 * @param work The work arrays, sized for the state
+	 * @return The trajectory array
+	 */
+	public static double[] integrate( OdeSystem system, double t, double[] y, double dt, int steps, double[] trajectory, Work work ) {
+		int n = y.length;
+		if( trajectory.length < (steps + 1) * n ) throw new IllegalArgumentException( "Trajectory must have at least " + ((steps + 1) * n) + " values: " + trajectory.length );
+		System.arraycopy( y, 0, trajectory, 0, n );
+		for( int step = 0; step < steps; step++ ) {
+			next( t, y, dt, system, y, work );
+			t += dt;
+			System.arraycopy( y, 0, trajectory, (step + 1) * n, n );
+		}
+		return trajectory;
+	}
+
+	/**
+	 * Integrate an ensemble of independent trajectories with fixed steps using
+	 * the classic Runge-Kutta 4th order method, updating the states in place.
+	 * The states are stored as a structure of arrays, see {@link OdeEnsemble}.
+	 * The trajectories are split into ranges integrated in parallel in the
+	 * pool, or all in the calling thread when the pool is null.
+	 *
+	 * @param system The system of equations
+	 * @param n The number of values in the state of each trajectory
+	 * @param t The start time
+	 * @param states The initial states of the ensemble, which are replaced by the final states
+	 * @param count The number of trajectories
+	 * @param dt The time step size
+	 * @param steps The number of steps
+	 * @param pool The pool in which to integrate, or null to integrate in the calling thread
+	 * @return The final time
+	 */
+	public static double integrate( OdeEnsemble system, int n, double t, double[] states, int count, double dt, int steps, ForkJoinPool pool ) {
+		if( n < 1 || count < 0 ) throw new IllegalArgumentException( "Invalid ensemble size: " + n + ", " + count );
+		if( states.length != n * count ) throw new IllegalArgumentException( "States must have " + (n * count) + " values: " + states.length );
+
+		// The work arrays are shared, each task only uses the values of its trajectories
+		double[][] work = new double[ 5 ][ n * count ];
+		EnsembleTask task = new EnsembleTask( system, n, t, states, count, dt, steps, work, 0, count, pool != null );
+		if( pool == null ) {
+			task.compute();
+		} else {
+			pool.invoke( task );
+		}
+
+		return t + steps * dt;
+	}
+
+	/**
+	 * The preallocated arrays used by the system methods for the intermediate
+	 * slopes and states. A work instance can be reused for any number of steps
+	 * of systems with the same size but must not be shared between threads.
+	 */
+	public static final class Work {
+
+		private final double[] k1;
+
+		private final double[] k2;
+
+		private final double[] k3;
+
+		private final double[] k4;
+
+		private final double[] temp;
+
+		/**
+		 * Create the work arrays for a system.
+		 *
+		 * @param n The number of values in the system state
+		 */
+		public Work( int n ) {
+			k1 = new double[ n ];
+			k2 = new double[ n ];
+			k3 = new double[ n ];
+			k4 = new double[ n ];
+			temp = new double[ n ];
+		}
+
+		/**
+		 * Get the number of values in the system state.
+		 *
+		 * @return The state size
+		 */
+		public int size() {
+			return k1.length;
+		}
+
+	}
+
+	private static class EnsembleTask extends RecursiveAction {
+
+		private final OdeEnsemble system;
+
+		private final int n;
+
+		private final double t;
+
+		private final double[] y;
+
+		private final int count;
+
+		private final double dt;
+
+		private final int steps;
+
+		private final double[][] work;
+
+		private final int from;
+
+		private final int to;
+
+		private final boolean parallel;
+
+		private EnsembleTask( OdeEnsemble system, int n, double t, double[] y, int count, double dt, int steps, double[][] work, int from, int to, boolean parallel ) {
+			this.system = system;
+			this.n = n;
+			this.t = t;
+			this.y = y;
+			this.count = count;
+			this.dt = dt;
+			this.steps = steps;
+			this.work = work;
+			this.from = from;
+			this.to = to;
+			this.parallel = parallel;
+		}
+
+		@Override
+		protected void compute() {
+			if( parallel && to - from > ENSEMBLE_THRESHOLD ) {
+				int middle = (from + to) >>> 1;
+				invokeAll( new EnsembleTask( system, n, t, y, count, dt, steps, work, from, middle, true ), new EnsembleTask( system, n, t, y, count, dt, steps, work, middle, to, true ) );
+				return;
+			}
+
+			double[] k1 = work[ 0 ];
+			double[] k2 = work[ 1 ];
+			double[] k3 = work[ 2 ];
+			double[] k4 = work[ 3 ];
+			double[] temp = work[ 4 ];
+			double half = dt / 2;
+
+			for( int step = 0; step < steps; step++ ) {
+				double time = t + step * dt;
+
+				system.derivative( time, y, k1, count, from, to );
+				stage( y, k1, half, temp );
+				system.derivative( time + half, temp, k2, count, from, to );
+				stage( y, k2, half, temp );
+				system.derivative( time + half, temp, k3, count, from, to );
+				stage( y, k3, dt, temp );
+				system.derivative( time + dt, temp, k4, count, from, to );
+
+				for( int i = 0; i < n; i++ ) {
+					int offset = i * count;
+					for( int j = offset + from; j < offset + to; j++ ) {
+						y[ j ] += dt * (k1[ j ] + 2 * k2[ j ] + 2 * k3[ j ] + k4[ j ]) / 6;
+					}
+				}
+			}
+		}
+
+		private void stage( double[] y, double[] k, double h, double[] temp ) {
+			for( int i = 0; i < n; i++ ) {
+				int offset = i * count;
+				for( int j = offset + from; j < offset + to; j++ ) {
+					temp[ j ] = y[ j ] + h * k[ j ];
+				}
+			}
+		}
+
+	}
+
 }
@@ -0,0 +1,55 @@
+package com.avereon.curve.math;
+
+/**
+ * Interpolates a list of points with a natural cubic spline as a list of
+ * cubic Bézier curve segments.
+ * <p>
+ * The {@link #JAVA} interpolator is the pure Java implementation used by
+ * {@link Geometry#interpolateCubicNatural(double[][])}. The
+ * {@link #tinyspline()} interpolator uses the tinyspline native library. The
+ * library is an optional dependency and is only loaded the first time that
+ * interpolator is requested, so the rest of the math runs without it.
+ */
+public interface SplineInterpolator {
+
+	/**
+	 * The pure Java interpolator, see {@link CubicSpline#natural(double[][])}.
+	 */
+	SplineInterpolator JAVA = CubicSpline::natural;
+
+	/**
+	 * Convert a list of points into a natural cubic spline curve as a list of
+	 * cubic Bézier curve segments.
+	 *
+	 * @param points The list of points to interpolate
+	 * @return The list of cubic curve segments
+	 */
+	double[][][] interpolateCubicNatural( double[][] points );
+
+	/**
+	 * Check if the tinyspline library is available without loading it.
+	 *
+	 * @return True if the tinyspline classes can be found, false otherwise
+	 */
+	static boolean isTinysplineAvailable() {
+		try {
+			Class.forName( "org.tinyspline.BSpline", false, SplineInterpolator.class.getClassLoader() );
+			return true;
+		} catch( ClassNotFoundException | LinkageError exception ) {
+			return false;
+		}
+	}
+
+	/**
+	 * Get the interpolator that uses the tinyspline native library. The
+	 * library is loaded when this method is first called.
+	 *
+	 * @return The tinyspline interpolator
+	 * @throws IllegalStateException If the tinyspline library is not available
+	 */
+	static SplineInterpolator tinyspline() {
+		if( !isTinysplineAvailable() ) throw new IllegalStateException( "The tinyspline library is not available" );
+		return TinysplineInterpolator.INSTANCE;
+	}
+
+}
@@ -0,0 +1,48 @@
+package com.avereon.curve.math;
+
+import org.tinyspline.BSpline;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The tinyspline interpolator. This is the only class that refers to the
+ * tinyspline library, so the library, and its native code, is only loaded
+ * when this class is first used by {@link SplineInterpolator#tinyspline()}.
+ */
+final class TinysplineInterpolator implements SplineInterpolator {
+
+	static final SplineInterpolator INSTANCE = new TinysplineInterpolator();
+
+	private TinysplineInterpolator() {}
+
+	@Override
+	public double[][][] interpolateCubicNatural( double[][] points ) {
+		List<Double> valueList = new ArrayList<>( points.length * 3 );
+		for( double[] point : points ) {
+			valueList.add( point[ 0 ] );
+			valueList.add( point[ 1 ] );
+			valueList.add( point[ 2 ] );
+		}
+
+		// Use tinyspline to interpolate the curves
+		BSpline spline = BSpline.interpolateCubicNatural( valueList, 3 );
+
+		List<Double> controlPoints = spline.getControlPoints();
+		int size = (int)(spline.getOrder() * spline.getDimension());
+		int surfaceCount = controlPoints.size() / size;
+
+		double[][][] curves = new double[ surfaceCount ][ 4 ][ 3 ];
+		for( int index = 0; index < surfaceCount; index++ ) {
+			int offset = index * size;
+			for( int point = 0; point < 4; point++ ) {
+				for( int axis = 0; axis < 3; axis++ ) {
+					curves[ index ][ point ][ axis ] = controlPoints.get( offset + 3 * point + axis );
+				}
+			}
+		}
+
+		return curves;
+	}
+
+}
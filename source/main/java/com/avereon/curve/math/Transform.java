@@ -1,6 +1,7 @@
 package com.avereon.curve.math;
 
 import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
 
 import static com.avereon.curve.math.Vector.UNIT_Z;
 
@@ -73,6 +74,29 @@ public class Transform {
 		);
 	}
 
+	/**
+	 * Multiply this transform by every point in a coordinate buffer.
+	 *
+	 * @param points The points
+	 * @param result The coordinate buffer in which to store the transformed points, may be the points
+	 * @return The result coordinate buffer
+	 */
+	public final CoordinateBuffer apply( CoordinateBuffer points, CoordinateBuffer result ) {
+		if( result.size() != points.size() ) throw new IllegalArgumentException( "Coordinate buffer sizes do not match: " + points.size() + " != " + result.size() );
+		for( int index = 0; index < points.size(); index++ ) {
+			double x = points.getX( index );
+			double y = points.getY( index );
+			double z = points.getZ( index );
+			double w = m[ 3 ][ 0 ] * x + m[ 3 ][ 1 ] * y + m[ 3 ][ 2 ] * z + m[ 3 ][ 3 ];
+			result.set( index,
+				(m[ 0 ][ 0 ] * x + m[ 0 ][ 1 ] * y + m[ 0 ][ 2 ] * z + m[ 0 ][ 3 ]) / w,
+				(m[ 1 ][ 0 ] * x + m[ 1 ][ 1 ] * y + m[ 1 ][ 2 ] * z + m[ 1 ][ 3 ]) / w,
+				(m[ 2 ][ 0 ] * x + m[ 2 ][ 1 ] * y + m[ 2 ][ 2 ] * z + m[ 2 ][ 3 ]) / w
+			);
+		}
+		return result;
+	}
+
 	/**
 	 * This method is identical to times(), except that the specified vector is
 	 * assumed to be a direction vector. The implicit fourth element is assumed to
@@ -136,7 +160,22 @@ public class Transform {
 
 		Transform combined = new Transform( c );
 		combined.negate = this.negate | transform.negate;
-		return new Transform( c );
+		return combined;
+	}
+
+	/**
+	 * Copy the matrix of this transform into a flat array of sixteen values in
+	 * row-major order.
+	 *
+	 * @param values The array in which to store the matrix
+	 * @param offset The index of the first matrix value
+	 * @return The values array
+	 */
+	public final double[] toArray( double[] values, int offset ) {
+		for( int row = 0; row < 4; row++ ) {
+			System.arraycopy( m[ row ], 0, values, offset + 4 * row, 4 );
+		}
+		return values;
 	}
 
 	/**
@@ -231,6 +270,70 @@ public class Transform {
 		return matrix;
 	}
 
+	/**
+	 * Put the transform into a float buffer in the same column-major order as
+	 * {@link #getMatrix()}, for loading into a graphics API that takes float
+	 * matrices. Nothing is allocated, so a direct buffer from
+	 * {@link Float32#allocate(int)} can be reused every frame.
+	 *
+	 * @param buffer The buffer, the sixteen values are put at its position
+	 * @return The buffer
+	 */
+	public final FloatBuffer getMatrix( FloatBuffer buffer ) {
+		for( int column = 0; column < 4; column++ ) {
+			for( int row = 0; row < 4; row++ ) {
+				buffer.put( (float)m[ row ][ column ] );
+			}
+		}
+		return buffer;
+	}
+
+	/**
+	 * Create a transform from a flat array of sixteen values in row-major
+	 * order.
+	 *
+	 * @param values The matrix values
+	 * @param offset The index of the first matrix value
+	 * @return The transform
+	 */
+	public static Transform of( double[] values, int offset ) {
+		return new Transform( values[ offset ],
+			values[ offset + 1 ],
+			values[ offset + 2 ],
+			values[ offset + 3 ],
+			values[ offset + 4 ],
+			values[ offset + 5 ],
+			values[ offset + 6 ],
+			values[ offset + 7 ],
+			values[ offset + 8 ],
+			values[ offset + 9 ],
+			values[ offset + 10 ],
+			values[ offset + 11 ],
+			values[ offset + 12 ],
+			values[ offset + 13 ],
+			values[ offset + 14 ],
+			values[ offset + 15 ]
+		);
+	}
+
+	/**
+	 * Multiply two flat row-major matrices, a times b, storing the product in
+	 * another flat matrix. The product may not overlap either factor.
+	 */
+	static void multiply( double[] a, int aOffset, double[] b, int bOffset, double[] c, int cOffset ) {
+		for( int row = 0; row < 4; row++ ) {
+			int ar = aOffset + 4 * row;
+			double a0 = a[ ar ];
+			double a1 = a[ ar + 1 ];
+			double a2 = a[ ar + 2 ];
+			double a3 = a[ ar + 3 ];
+			int cr = cOffset + 4 * row;
+			for( int column = 0; column < 4; column++ ) {
+				c[ cr + column ] = a0 * b[ bOffset + column ] + a1 * b[ bOffset + 4 + column ] + a2 * b[ bOffset + 8 + column ] + a3 * b[ bOffset + 12 + column ];
+			}
+		}
+	}
+
 	/**
 	 * Create an identity transform.
 	 */
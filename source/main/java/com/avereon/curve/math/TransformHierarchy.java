@@ -0,0 +1,409 @@
+package com.avereon.curve.math;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A hierarchy of nested transforms, such as the local frames of an assembly.
+ * Each node has a local transform relative to its parent and a world
+ * transform that is the product of the local transforms from the root down to
+ * the node.
+ * <p>
+ * Nodes are identified by the index returned when they are added. The local
+ * and world matrices of all the nodes are stored in two flat arrays, sixteen
+ * values per node in row-major order, so updating the hierarchy does not
+ * create any transforms. Changing a local transform only marks the node as
+ * dirty, and {@link #update()} recomputes the world matrices of the dirty
+ * nodes and their descendants, leaving the rest of the hierarchy alone.
+ * <p>
+ * A parent is always added before its children, so the world matrices can be
+ * updated one level at a time. With a pool, the levels with many nodes are
+ * split into ranges updated in parallel.
+ * <p>
+ * A hierarchy is not thread safe. Do not change it while it is updating.
+ */
+public class TransformHierarchy {
+
+	/**
+	 * The parent of a root node.
+	 */
+	public static final int ROOT = -1;
+
+	/**
+	 * The number of nodes in a level below which the level is not split into
+	 * more parallel tasks.
+	 */
+	public static final int PARALLEL_THRESHOLD = 1024;
+
+	private static final int MATRIX_SIZE = 16;
+
+	private static final double[] IDENTITY = Transform.identity().toArray( new double[ MATRIX_SIZE ], 0 );
+
+	private int size;
+
+	private int[] parents;
+
+	private int[] depths;
+
+	private boolean[] dirty;
+
+	private boolean[] changed;
+
+	private double[] locals;
+
+	private double[] worlds;
+
+	/**
+	 * The nodes sorted by depth and the start of each level in that order,
+	 * rebuilt when nodes are added.
+	 */
+	private int[] levelOrder;
+
+	private int[] levelStarts;
+
+	private int levelCount;
+
+	private boolean anyDirty;
+
+	public TransformHierarchy() {
+		this( 16 );
+	}
+
+	/**
+	 * Create a hierarchy with room for a number of nodes. The hierarchy grows
+	 * as needed.
+	 *
+	 * @param capacity The initial number of nodes to make room for
+	 */
+	public TransformHierarchy( int capacity ) {
+		capacity = Math.max( 1, capacity );
+		parents = new int[ capacity ];
+		depths = new int[ capacity ];
+		dirty = new boolean[ capacity ];
+		changed = new boolean[ capacity ];
+		locals = new double[ capacity * MATRIX_SIZE ];
+		worlds = new double[ capacity * MATRIX_SIZE ];
+	}
+
+	/**
+	 * Get the number of nodes.
+	 *
+	 * @return The number of nodes
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Add a node with an identity local transform.
+	 *
+	 * @param parent The parent node or {@link #ROOT}
+	 * @return The new node
+	 */
+	public int add( int parent ) {
+		int node = addNode( parent );
+		System.arraycopy( IDENTITY, 0, locals, node * MATRIX_SIZE, MATRIX_SIZE );
+		return node;
+	}
+
+	/**
+	 * Add a node.
+	 *
+	 * @param parent The parent node or {@link #ROOT}
+	 * @param local The transform from the node to its parent
+	 * @return The new node
+	 */
+	public int add( int parent, Transform local ) {
+		int node = addNode( parent );
+		local.toArray( locals, node * MATRIX_SIZE );
+		return node;
+	}
+
+	public int getParent( int node ) {
+		check( node );
+		return parents[ node ];
+	}
+
+	public int getDepth( int node ) {
+		check( node );
+		return depths[ node ];
+	}
+
+	/**
+	 * Check if the local transform of a node changed since the last update.
+	 *
+	 * @param node The node
+	 * @return True if the node is dirty, false otherwise
+	 */
+	public boolean isDirty( int node ) {
+		check( node );
+		return dirty[ node ];
+	}
+
+	/**
+	 * Set the local transform of a node.
+	 *
+	 * @param node The node
+	 * @param local The transform from the node to its parent
+	 */
+	public void setLocal( int node, Transform local ) {
+		check( node );
+		local.toArray( locals, node * MATRIX_SIZE );
+		markDirty( node );
+	}
+
+	/**
+	 * Set the local transform of a node from a flat row-major matrix.
+	 *
+	 * @param node The node
+	 * @param matrix The sixteen values of the transform from the node to its parent
+	 * @param offset The index of the first matrix value
+	 */
+	public void setLocal( int node, double[] matrix, int offset ) {
+		check( node );
+		System.arraycopy( matrix, offset, locals, node * MATRIX_SIZE, MATRIX_SIZE );
+		markDirty( node );
+	}
+
+	/**
+	 * Set the local transform of a node to a rotation followed by a
+	 * translation, the local to world transform of an orientation with the
+	 * rotation and origin. No transform is created.
+	 *
+	 * @param node The node
+	 * @param rotation The rotation quaternion
+	 * @param origin The origin of the node in its parent
+	 * @see Quaternion
+	 */
+	public void setLocal( int node, double[] rotation, double[] origin ) {
+		check( node );
+		int offset = node * MATRIX_SIZE;
+		double w = rotation[ 0 ];
+		double x = rotation[ 1 ];
+		double y = rotation[ 2 ];
+		double z = rotation[ 3 ];
+		locals[ offset ] = 1 - 2 * (y * y + z * z);
+		locals[ offset + 1 ] = 2 * (x * y - w * z);
+		locals[ offset + 2 ] = 2 * (x * z + w * y);
+		locals[ offset + 3 ] = origin[ 0 ];
+		locals[ offset + 4 ] = 2 * (x * y + w * z);
+		locals[ offset + 5 ] = 1 - 2 * (x * x + z * z);
+		locals[ offset + 6 ] = 2 * (y * z - w * x);
+		locals[ offset + 7 ] = origin[ 1 ];
+		locals[ offset + 8 ] = 2 * (x * z - w * y);
+		locals[ offset + 9 ] = 2 * (y * z + w * x);
+		locals[ offset + 10 ] = 1 - 2 * (x * x + y * y);
+		locals[ offset + 11 ] = origin[ 2 ];
+		locals[ offset + 12 ] = 0;
+		locals[ offset + 13 ] = 0;
+		locals[ offset + 14 ] = 0;
+		locals[ offset + 15 ] = 1;
+		markDirty( node );
+	}
+
+	public Transform getLocal( int node ) {
+		check( node );
+		return Transform.of( locals, node * MATRIX_SIZE );
+	}
+
+	/**
+	 * Get the world transform of a node as of the last update.
+	 *
+	 * @param node The node
+	 * @return A new transform from the node to the world
+	 */
+	public Transform getWorld( int node ) {
+		check( node );
+		return Transform.of( worlds, node * MATRIX_SIZE );
+	}
+
+	/**
+	 * Copy the world matrix of a node, as of the last update, into a flat
+	 * row-major array.
+	 *
+	 * @param node The node
+	 * @param matrix The array in which to store the sixteen matrix values
+	 * @param offset The index of the first matrix value
+	 * @return The matrix array
+	 */
+	public double[] getWorld( int node, double[] matrix, int offset ) {
+		check( node );
+		System.arraycopy( worlds, node * MATRIX_SIZE, matrix, offset, MATRIX_SIZE );
+		return matrix;
+	}
+
+	/**
+	 * Transform a point from the coordinates of a node to world coordinates
+	 * with the world matrix from the last update.
+	 *
+	 * @param node The node
+	 * @param point The point in node coordinates
+	 * @param result The array in which to store the point in world coordinates, may be the point
+	 * @return The result array
+	 */
+	public double[] toWorld( int node, double[] point, double[] result ) {
+		check( node );
+		int offset = node * MATRIX_SIZE;
+		double[] m = worlds;
+		double px = point[ 0 ];
+		double py = point[ 1 ];
+		double pz = point[ 2 ];
+		double w = m[ offset + 12 ] * px + m[ offset + 13 ] * py + m[ offset + 14 ] * pz + m[ offset + 15 ];
+		result[ 0 ] = (m[ offset ] * px + m[ offset + 1 ] * py + m[ offset + 2 ] * pz + m[ offset + 3 ]) / w;
+		result[ 1 ] = (m[ offset + 4 ] * px + m[ offset + 5 ] * py + m[ offset + 6 ] * pz + m[ offset + 7 ]) / w;
+		result[ 2 ] = (m[ offset + 8 ] * px + m[ offset + 9 ] * py + m[ offset + 10 ] * pz + m[ offset + 11 ]) / w;
+		return result;
+	}
+
+	/**
+	 * Recompute the world matrices of the dirty nodes and their descendants
+	 * in the calling thread.
+	 *
+	 * @return The number of world matrices recomputed
+	 */
+	public int update() {
+		return update( null );
+	}
+
+	/**
+	 * Recompute the world matrices of the dirty nodes and their descendants.
+	 * The levels with more than {@link #PARALLEL_THRESHOLD} nodes are updated
+	 * in parallel in the pool.
+	 *
+	 * @param pool The pool in which to update, or null to update in the calling thread
+	 * @return The number of world matrices recomputed
+	 */
+	public int update( ForkJoinPool pool ) {
+		if( !anyDirty ) return 0;
+		if( levelOrder == null ) buildLevels();
+
+		int count = 0;
+		for( int level = 0; level < levelCount; level++ ) {
+			int start = levelStarts[ level ];
+			int end = levelStarts[ level + 1 ];
+			if( pool != null && end - start > PARALLEL_THRESHOLD ) {
+				LevelTask task = new LevelTask( start, end );
+				pool.invoke( task );
+				count += task.count;
+			} else {
+				count += updateRange( start, end );
+			}
+		}
+
+		Arrays.fill( dirty, 0, size, false );
+		anyDirty = false;
+		return count;
+	}
+
+	private int addNode( int parent ) {
+		if( parent != ROOT ) check( parent );
+		if( size == parents.length ) grow();
+
+		int node = size++;
+		parents[ node ] = parent;
+		depths[ node ] = parent == ROOT ? 0 : depths[ parent ] + 1;
+		dirty[ node ] = true;
+		anyDirty = true;
+		levelOrder = null;
+		return node;
+	}
+
+	private void markDirty( int node ) {
+		dirty[ node ] = true;
+		anyDirty = true;
+	}
+
+	private void grow() {
+		int capacity = 2 * parents.length;
+		parents = Arrays.copyOf( parents, capacity );
+		depths = Arrays.copyOf( depths, capacity );
+		dirty = Arrays.copyOf( dirty, capacity );
+		changed = Arrays.copyOf( changed, capacity );
+		locals = Arrays.copyOf( locals, capacity * MATRIX_SIZE );
+		worlds = Arrays.copyOf( worlds, capacity * MATRIX_SIZE );
+	}
+
+	private void check( int node ) {
+		if( node < 0 || node >= size ) throw new IndexOutOfBoundsException( "Node " + node + " is not in the hierarchy of size " + size );
+	}
+
+	/**
+	 * Sort the nodes by depth with a counting sort, keeping the nodes of each
+	 * level in the order they were added.
+	 */
+	private void buildLevels() {
+		int maxDepth = 0;
+		for( int node = 0; node < size; node++ ) {
+			maxDepth = Math.max( maxDepth, depths[ node ] );
+		}
+		levelCount = maxDepth + 1;
+
+		levelStarts = new int[ levelCount + 1 ];
+		for( int node = 0; node < size; node++ ) {
+			levelStarts[ depths[ node ] + 1 ]++;
+		}
+		for( int level = 0; level < levelCount; level++ ) {
+			levelStarts[ level + 1 ] += levelStarts[ level ];
+		}
+
+		levelOrder = new int[ size ];
+		int[] next = Arrays.copyOf( levelStarts, levelCount );
+		for( int node = 0; node < size; node++ ) {
+			levelOrder[ next[ depths[ node ] ]++ ] = node;
+		}
+	}
+
+	/**
+	 * Update the nodes in a range of the level order. The parents of the nodes
+	 * must already be updated.
+	 */
+	private int updateRange( int start, int end ) {
+		int count = 0;
+		for( int index = start; index < end; index++ ) {
+			int node = levelOrder[ index ];
+			int parent = parents[ node ];
+			boolean update = dirty[ node ] || (parent != ROOT && changed[ parent ]);
+			changed[ node ] = update;
+			if( !update ) continue;
+
+			int offset = node * MATRIX_SIZE;
+			if( parent == ROOT ) {
+				System.arraycopy( locals, offset, worlds, offset, MATRIX_SIZE );
+			} else {
+				Transform.multiply( worlds, parent * MATRIX_SIZE, locals, offset, worlds, offset );
+			}
+			count++;
+		}
+		return count;
+	}
+
+	private class LevelTask extends RecursiveAction {
+
+		private final int start;
+
+		private final int end;
+
+		private int count;
+
+		private LevelTask( int start, int end ) {
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if( end - start > PARALLEL_THRESHOLD ) {
+				int middle = (start + end) >>> 1;
+				LevelTask a = new LevelTask( start, middle );
+				LevelTask b = new LevelTask( middle, end );
+				invokeAll( a, b );
+				count = a.count + b.count;
+				return;
+			}
+			count = updateRange( start, end );
+		}
+
+	}
+
+}
@@ -0,0 +1,334 @@
+package com.avereon.curve.math;
+
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * A stack of transform matrices for traversing a hierarchy, such as a scene
+ * being rendered. The top of the stack is the current transform. Entering a
+ * child pushes a copy of the current transform and multiplies the child
+ * transform into it, leaving the child pops back to the parent transform.
+ * <p>
+ * All the matrices are stored in a single flat array allocated when the
+ * stack is created, sixteen values per level in row-major order, and every
+ * operation works in place, so a traversal does not create any transforms.
+ * The multiply operations post-multiply the current transform, the same as
+ * {@link Transform#combine(Transform)}, so the last transform multiplied is
+ * the first applied to a point.
+ * <p>
+ * A stack is not thread safe, use a stack for each thread.
+ */
+public class TransformStack {
+
+	/**
+	 * The default maximum depth of the stack.
+	 */
+	public static final int DEFAULT_CAPACITY = 64;
+
+	private static final int MATRIX_SIZE = 16;
+
+	private final double[] stack;
+
+	private final double[] scratch = new double[ MATRIX_SIZE ];
+
+	private final int capacity;
+
+	/**
+	 * The offset of the top matrix.
+	 */
+	private int top;
+
+	public TransformStack() {
+		this( DEFAULT_CAPACITY );
+	}
+
+	/**
+	 * Create a stack with an identity transform on top.
+	 *
+	 * @param capacity The maximum number of matrices on the stack
+	 */
+	public TransformStack( int capacity ) {
+		if( capacity < 1 ) throw new IllegalArgumentException( "Capacity must be greater than zero: " + capacity );
+		this.capacity = capacity;
+		this.stack = new double[ capacity * MATRIX_SIZE ];
+		identity();
+	}
+
+	/**
+	 * Get the number of matrices on the stack, at least one.
+	 *
+	 * @return The stack depth
+	 */
+	public int depth() {
+		return top / MATRIX_SIZE + 1;
+	}
+
+	/**
+	 * Push a copy of the current transform onto the stack.
+	 *
+	 * @return This stack
+	 * @throws IllegalStateException If the stack is full
+	 */
+	public TransformStack push() {
+		if( depth() == capacity ) throw new IllegalStateException( "Transform stack overflow: " + capacity );
+		System.arraycopy( stack, top, stack, top + MATRIX_SIZE, MATRIX_SIZE );
+		top += MATRIX_SIZE;
+		return this;
+	}
+
+	/**
+	 * Remove the current transform, making the transform below it current.
+	 *
+	 * @return This stack
+	 * @throws IllegalStateException If only one matrix is on the stack
+	 */
+	public TransformStack pop() {
+		if( top == 0 ) throw new IllegalStateException( "Transform stack underflow" );
+		top -= MATRIX_SIZE;
+		return this;
+	}
+
+	/**
+	 * Remove all but the bottom matrix and set it to the identity transform.
+	 *
+	 * @return This stack
+	 */
+	public TransformStack clear() {
+		top = 0;
+		return identity();
+	}
+
+	/**
+	 * Set the current transform to the identity transform.
+	 *
+	 * @return This stack
+	 */
+	public TransformStack identity() {
+		for( int index = 0; index < MATRIX_SIZE; index++ ) {
+			stack[ top + index ] = index % 5 == 0 ? 1 : 0;
+		}
+		return this;
+	}
+
+	/**
+	 * Replace the current transform.
+	 *
+	 * @param transform The new current transform
+	 * @return This stack
+	 */
+	public TransformStack load( Transform transform ) {
+		transform.toArray( stack, top );
+		return this;
+	}
+
+	/**
+	 * Multiply a transform into the current transform.
+	 *
+	 * @param transform The transform to multiply
+	 * @return This stack
+	 */
+	public TransformStack multiply( Transform transform ) {
+		return multiply( transform.toArray( scratch, 0 ), 0 );
+	}
+
+	/**
+	 * Multiply a flat row-major matrix into the current transform.
+	 *
+	 * @param matrix The sixteen values of the matrix to multiply
+	 * @param offset The index of the first matrix value
+	 * @return This stack
+	 */
+	public TransformStack multiply( double[] matrix, int offset ) {
+		double[] m = stack;
+		for( int row = top; row < top + MATRIX_SIZE; row += 4 ) {
+			double a0 = m[ row ];
+			double a1 = m[ row + 1 ];
+			double a2 = m[ row + 2 ];
+			double a3 = m[ row + 3 ];
+			for( int column = 0; column < 4; column++ ) {
+				m[ row + column ] = a0 * matrix[ offset + column ] + a1 * matrix[ offset + 4 + column ] + a2 * matrix[ offset + 8 + column ] + a3 * matrix[ offset + 12 + column ];
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Multiply a translation into the current transform.
+	 *
+	 * @param x The x offset
+	 * @param y The y offset
+	 * @param z The z offset
+	 * @return This stack
+	 */
+	public TransformStack translate( double x, double y, double z ) {
+		double[] m = stack;
+		for( int row = top; row < top + MATRIX_SIZE; row += 4 ) {
+			m[ row + 3 ] += m[ row ] * x + m[ row + 1 ] * y + m[ row + 2 ] * z;
+		}
+		return this;
+	}
+
+	/**
+	 * Multiply a scale into the current transform.
+	 *
+	 * @param x The x scale
+	 * @param y The y scale
+	 * @param z The z scale
+	 * @return This stack
+	 */
+	public TransformStack scale( double x, double y, double z ) {
+		double[] m = stack;
+		for( int row = top; row < top + MATRIX_SIZE; row += 4 ) {
+			m[ row ] *= x;
+			m[ row + 1 ] *= y;
+			m[ row + 2 ] *= z;
+		}
+		return this;
+	}
+
+	/**
+	 * Multiply a rotation around an axis into the current transform.
+	 *
+	 * @param axis The axis around which to rotate
+	 * @param angle The rotation angle in radians
+	 * @return This stack
+	 */
+	public TransformStack rotate( double[] axis, double angle ) {
+		double magnitude = Vector.magnitude( axis );
+		if( magnitude == 0 || angle == 0.0 ) return this;
+
+		double half = 0.5 * angle;
+		double scale = Math.sin( half ) / magnitude;
+		return rotate( Math.cos( half ), axis[ 0 ] * scale, axis[ 1 ] * scale, axis[ 2 ] * scale );
+	}
+
+	/**
+	 * Multiply a rotation into the current transform.
+	 *
+	 * @param rotation The rotation quaternion
+	 * @return This stack
+	 * @see Quaternion
+	 */
+	public TransformStack rotate( double[] rotation ) {
+		return rotate( rotation[ 0 ], rotation[ 1 ], rotation[ 2 ], rotation[ 3 ] );
+	}
+
+	/**
+	 * Apply the current transform to a point.
+	 *
+	 * @param point The point
+	 * @param result The array in which to store the transformed point, may be the point
+	 * @return The result array
+	 */
+	public double[] apply( double[] point, double[] result ) {
+		apply( point, 0, result, 0, 1 );
+		return result;
+	}
+
+	/**
+	 * Apply the current transform to points packed in an array, three values
+	 * per point.
+	 *
+	 * @param points The points
+	 * @param offset The index of the first point value
+	 * @param result The array in which to store the transformed points, may be the points array
+	 * @param resultOffset The index of the first transformed point value
+	 * @param count The number of points
+	 */
+	public void apply( double[] points, int offset, double[] result, int resultOffset, int count ) {
+		double[] m = stack;
+		int t = top;
+		for( int index = 0; index < count; index++ ) {
+			int p = offset + 3 * index;
+			int r = resultOffset + 3 * index;
+			double x = points[ p ];
+			double y = points[ p + 1 ];
+			double z = points[ p + 2 ];
+			double w = m[ t + 12 ] * x + m[ t + 13 ] * y + m[ t + 14 ] * z + m[ t + 15 ];
+			result[ r ] = (m[ t ] * x + m[ t + 1 ] * y + m[ t + 2 ] * z + m[ t + 3 ]) / w;
+			result[ r + 1 ] = (m[ t + 4 ] * x + m[ t + 5 ] * y + m[ t + 6 ] * z + m[ t + 7 ]) / w;
+			result[ r + 2 ] = (m[ t + 8 ] * x + m[ t + 9 ] * y + m[ t + 10 ] * z + m[ t + 11 ]) / w;
+		}
+	}
+
+	/**
+	 * Copy the current transform into a flat array in row-major order.
+	 *
+	 * @param values The array in which to store the sixteen matrix values
+	 * @param offset The index of the first matrix value
+	 * @return The values array
+	 */
+	public double[] get( double[] values, int offset ) {
+		System.arraycopy( stack, top, values, offset, MATRIX_SIZE );
+		return values;
+	}
+
+	/**
+	 * Put the current transform into a buffer in column-major order, the same
+	 * order as {@link Transform#getMatrix()}, for loading into a graphics API.
+	 *
+	 * @param buffer The buffer, the sixteen values are put at its position
+	 * @return The buffer
+	 */
+	public DoubleBuffer get( DoubleBuffer buffer ) {
+		for( int column = 0; column < 4; column++ ) {
+			for( int row = 0; row < 4; row++ ) {
+				buffer.put( stack[ top + 4 * row + column ] );
+			}
+		}
+		return buffer;
+	}
+
+	/**
+	 * Put the current transform into a float buffer in column-major order.
+	 *
+	 * @param buffer The buffer, the sixteen values are put at its position
+	 * @return The buffer
+	 * @see Transform#getMatrix(FloatBuffer)
+	 */
+	public FloatBuffer get( FloatBuffer buffer ) {
+		for( int column = 0; column < 4; column++ ) {
+			for( int row = 0; row < 4; row++ ) {
+				buffer.put( (float)stack[ top + 4 * row + column ] );
+			}
+		}
+		return buffer;
+	}
+
+	/**
+	 * Get a copy of the current transform.
+	 *
+	 * @return A new transform
+	 */
+	public Transform getTransform() {
+		return Transform.of( stack, top );
+	}
+
+	/**
+	 * Post-multiply the current transform by the rotation of a unit
+	 * quaternion. Only the first three columns change.
+	 */
+	private TransformStack rotate( double w, double x, double y, double z ) {
+		double r00 = 1 - 2 * (y * y + z * z);
+		double r01 = 2 * (x * y - w * z);
+		double r02 = 2 * (x * z + w * y);
+		double r10 = 2 * (x * y + w * z);
+		double r11 = 1 - 2 * (x * x + z * z);
+		double r12 = 2 * (y * z - w * x);
+		double r20 = 2 * (x * z - w * y);
+		double r21 = 2 * (y * z + w * x);
+		double r22 = 1 - 2 * (x * x + y * y);
+
+		double[] m = stack;
+		for( int row = top; row < top + MATRIX_SIZE; row += 4 ) {
+			double a0 = m[ row ];
+			double a1 = m[ row + 1 ];
+			double a2 = m[ row + 2 ];
+			m[ row ] = a0 * r00 + a1 * r10 + a2 * r20;
+			m[ row + 1 ] = a0 * r01 + a1 * r11 + a2 * r21;
+			m[ row + 2 ] = a0 * r02 + a1 * r12 + a2 * r22;
+		}
+		return this;
+	}
+
+}
@@ -1,4 +1,4 @@
 module com.avereon.curve {
-	requires tinyspline;
+	requires static tinyspline;
 	exports com.avereon.curve.math;
 }
@@ -1,8 +1,10 @@
 package com.avereon.curve.math;
 
+import org.assertj.core.data.Offset;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
 
 public class ArithmeticTest {
 
@@ -97,6 +99,34 @@ public class ArithmeticTest {
 		assertThat( Arithmetic.bc( 1, 1 ) ).isEqualTo( 1 );
 		assertThat( Arithmetic.bc( 2, 1 ) ).isEqualTo( 2 );
 		assertThat( Arithmetic.bc( 6, 3 ) ).isEqualTo( 20 );
+		assertThat( Arithmetic.bc( 3, 4 ) ).isEqualTo( 0 );
+		assertThat( Arithmetic.bc( 33, 16 ) ).isEqualTo( 1166803110 );
+
+		try {
+			Arithmetic.bc( 34, 17 );
+			fail();
+		} catch( ArithmeticException ignored ) {}
+	}
+
+	@Test
+	public void testBinomial() {
+		assertThat( Arithmetic.binomial( 34, 17 ) ).isEqualTo( 2333606220L );
+		assertThat( Arithmetic.binomial( 66, 33 ) ).isEqualTo( 7219428434016265740L );
+		assertThat( Arithmetic.binomial( 100, 3 ) ).isEqualTo( 161700L );
+		assertThat( Arithmetic.binomial( 1000, 999 ) ).isEqualTo( 1000L );
+
+		try {
+			Arithmetic.binomial( 100, 50 );
+			fail();
+		} catch( ArithmeticException ignored ) {}
+	}
+
+	@Test
+	public void testBinomials() {
+		assertThat( Arithmetic.binomials( 4, new double[ 5 ] ) ).containsExactly( 1, 4, 6, 4, 1 );
+		double[] row = Arithmetic.binomials( 80, new double[ 81 ] );
+		assertThat( row[ 2 ] ).isEqualTo( 3160 );
+		assertThat( row[ 40 ] ).isCloseTo( 1.0750720873333618e23, Offset.offset( 1e9 ) );
 	}
 
 	@Test
@@ -119,6 +149,18 @@ public class ArithmeticTest {
 		assertThat( Arithmetic.factorial( 3 ) ).isEqualTo( 6 );
 		assertThat( Arithmetic.factorial( 4 ) ).isEqualTo( 24 );
 		assertThat( Arithmetic.factorial( 5 ) ).isEqualTo( 120 );
+		assertThat( Arithmetic.factorial( 12 ) ).isEqualTo( 479001600 );
+		assertThat( Arithmetic.factorialLong( 20 ) ).isEqualTo( 2432902008176640000L );
+
+		try {
+			Arithmetic.factorial( 13 );
+			fail();
+		} catch( ArithmeticException ignored ) {}
+
+		try {
+			Arithmetic.factorialLong( 21 );
+			fail();
+		} catch( ArithmeticException ignored ) {}
 	}
 
 }
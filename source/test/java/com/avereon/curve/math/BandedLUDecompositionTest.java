@@ -0,0 +1,94 @@
+package com.avereon.curve.math;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class BandedLUDecompositionTest {
+
+	@Test
+	void testSolveMatchesDense() {
+		Random random = new Random( 23 );
+		int n = 40;
+		int lower = 2;
+		int upper = 3;
+		int width = lower + upper + 1;
+
+		// Small diagonals so the pivoting is exercised
+		double[] band = new double[ n * width ];
+		double[] dense = new double[ n * n ];
+		for( int row = 0; row < n; row++ ) {
+			for( int column = Math.max( 0, row - lower ); column <= Math.min( n - 1, row + upper ); column++ ) {
+				double value = random.nextDouble() - 0.5;
+				if( row == column ) value *= 0.01;
+				band[ row * width + column - row + lower ] = value;
+				dense[ row * n + column ] = value;
+			}
+		}
+		double[] b = new double[ n ];
+		for( int index = 0; index < n; index++ ) {
+			b[ index ] = random.nextDouble();
+		}
+
+		LUDecomposition expected = Matrix.lu( dense, n );
+		BandedLUDecomposition lu = Matrix.luBanded( band, n, lower, upper );
+		assertThat( lu.size() ).isEqualTo( n );
+		assertThat( lu.solve( b ) ).containsExactly( expected.solve( b ), Offset.offset( 1e-9 ) );
+		assertThat( lu.determinant() ).isCloseTo( expected.determinant(), Offset.offset( 1e-9 * Math.abs( expected.determinant() ) ) );
+
+		// Solve in place
+		double[] x = b.clone();
+		assertThat( lu.solveInto( x, x ) ).containsExactly( expected.solve( b ), Offset.offset( 1e-9 ) );
+	}
+
+	@Test
+	void testTridiagonal() {
+		int n = 100000;
+		double[] band = new double[ 3 * n ];
+		double[] b = new double[ n ];
+		for( int row = 0; row < n; row++ ) {
+			band[ 3 * row ] = 1;
+			band[ 3 * row + 1 ] = 4;
+			band[ 3 * row + 2 ] = 1;
+			b[ row ] = 6;
+		}
+		b[ 0 ] = 5;
+		b[ n - 1 ] = 5;
+
+		double[] x = new BandedLUDecomposition( band, n, 1, 1 ).solve( b );
+		for( double value : x ) {
+			assertThat( value ).isEqualTo( 1, Offset.offset( 1e-12 ) );
+		}
+	}
+
+	@Test
+	void testDecompose() {
+		BandedLUDecomposition lu = new BandedLUDecomposition( new double[]{ 0, 2, 1, 1, 2, 1, 1, 2, 0 }, 3, 1, 1 );
+		assertThat( lu.determinant() ).isEqualTo( 4, Offset.offset( 1e-12 ) );
+
+		lu.decompose( new double[]{ 0, 1, 0, 0, 2, 0, 0, 3, 0 } );
+		assertThat( lu.determinant() ).isEqualTo( 6, Offset.offset( 1e-12 ) );
+		assertThat( lu.solve( new double[]{ 1, 2, 3 } ) ).containsExactly( new double[]{ 1, 1, 1 }, Offset.offset( 1e-12 ) );
+	}
+
+	@Test
+	void testSingular() {
+		BandedLUDecomposition lu = new BandedLUDecomposition( new double[]{ 0, 1, 1, 1, 1, 0 }, 2, 1, 1 );
+		assertThat( lu.isSingular() ).isTrue();
+
+		try {
+			lu.solve( new double[]{ 1, 1 } );
+			fail();
+		} catch( ArithmeticException ignored ) {}
+
+		try {
+			new BandedLUDecomposition( new double[ 5 ], 2, 1, 1 );
+			fail();
+		} catch( IllegalArgumentException ignored ) {}
+	}
+
+}
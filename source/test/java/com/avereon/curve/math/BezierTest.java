@@ -0,0 +1,116 @@
+package com.avereon.curve.math;
+
+import com.avereon.curve.assertion.VectorArrayAssert;
+import com.avereon.curve.assertion.VectorAssert;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class BezierTest {
+
+	private static final double[][] CUBIC = new double[][]{ Point.of( 0, 0 ), Point.of( 1, 2 ), Point.of( 3, 2 ), Point.of( 4, 0 ) };
+
+	private static final double[][] QUINTIC = new double[][]{ Point.of( 0, 0 ), Point.of( 1, 3 ), Point.of( 2, -1 ), Point.of( 4, 4 ), Point.of( 5, 1 ), Point.of( 6, 2 ) };
+
+	@Test
+	void testBasis() {
+		assertThat( Bezier.basis( 3, 0, 0.5 ) ).isEqualTo( 0.125 );
+		assertThat( Bezier.basis( 3, 1, 0.5 ) ).isEqualTo( 0.375 );
+		assertThat( Bezier.basis( 3, 4, 0.5 ) ).isEqualTo( 0 );
+
+		// The basis is a partition of unity
+		double sum = 0;
+		for( int index = 0; index <= 10; index++ ) {
+			sum += Bezier.basis( 10, index, 0.3 );
+		}
+		assertThat( sum ).isEqualTo( 1, Offset.offset( 1e-15 ) );
+	}
+
+	@Test
+	void testPoint() {
+		for( double t = 0; t <= 1; t += 0.125 ) {
+			VectorAssert.assertThat( Bezier.point( CUBIC, t ) ).isCloseTo( Geometry.curvePoint( CUBIC[ 0 ], CUBIC[ 1 ], CUBIC[ 2 ], CUBIC[ 3 ], t ) );
+			VectorAssert.assertThat( Bezier.point( QUINTIC, t ) ).isCloseTo( deCasteljau( QUINTIC, t ) );
+		}
+
+		double[] result = new double[ 3 ];
+		assertThat( Bezier.point( QUINTIC, 0, result ) ).isSameAs( result ).isEqualTo( QUINTIC[ 0 ] );
+		assertThat( Bezier.point( QUINTIC, 1, result ) ).isEqualTo( QUINTIC[ 5 ] );
+	}
+
+	@Test
+	void testPointHighDegree() {
+		// A line with uniformly spaced control points is parameterized uniformly
+		double[][] points = new double[ 101 ][];
+		for( int index = 0; index < points.length; index++ ) {
+			points[ index ] = Point.of( index, 2 * index );
+		}
+		VectorAssert.assertThat( Bezier.point( points, 0.3 ) ).isCloseTo( Point.of( 30, 60 ) );
+		VectorAssert.assertThat( Bezier.point( points, 0.75 ) ).isCloseTo( Point.of( 75, 150 ) );
+	}
+
+	@Test
+	void testDerivative() {
+		double h = 1e-6;
+		for( double t = 0.125; t < 1; t += 0.125 ) {
+			double[] expected = Vector.scale( Vector.minus( Bezier.point( QUINTIC, t + h ), Bezier.point( QUINTIC, t - h ) ), 0.5 / h );
+			VectorAssert.assertThat( Bezier.derivative( QUINTIC, t ) ).isCloseTo( expected, 1e-6 );
+			VectorAssert.assertThat( Bezier.derivative( QUINTIC, t ) ).isCloseTo( Bezier.point( Bezier.hodograph( QUINTIC ), t ) );
+		}
+		VectorAssert.assertThat( Bezier.derivative( CUBIC, 0 ) ).isCloseTo( Point.of( 3, 6 ) );
+		VectorAssert.assertThat( Bezier.derivative( new double[][]{ Point.of( 1, 1 ) }, 0.5 ) ).isCloseTo( Point.of( 0, 0 ) );
+	}
+
+	@Test
+	void testSubdivide() {
+		double[][][] curves = Bezier.subdivide( CUBIC, 0.25 );
+		double[][][] expected = Geometry.curveSubdivide( CUBIC[ 0 ], CUBIC[ 1 ], CUBIC[ 2 ], CUBIC[ 3 ], 0.25 );
+		VectorArrayAssert.assertThat( curves[ 0 ] ).areCloseTo( expected[ 0 ] );
+		VectorArrayAssert.assertThat( curves[ 1 ] ).areCloseTo( expected[ 1 ] );
+
+		curves = Bezier.subdivide( QUINTIC, 0.4 );
+		for( double t = 0; t <= 1; t += 0.25 ) {
+			VectorAssert.assertThat( Bezier.point( curves[ 0 ], t ) ).isCloseTo( Bezier.point( QUINTIC, 0.4 * t ) );
+			VectorAssert.assertThat( Bezier.point( curves[ 1 ], t ) ).isCloseTo( Bezier.point( QUINTIC, 0.4 + 0.6 * t ) );
+		}
+	}
+
+	@Test
+	void testElevateAndReduce() {
+		double[][] elevated = Bezier.elevate( QUINTIC );
+		assertThat( Bezier.degree( elevated ) ).isEqualTo( 6 );
+		for( double t = 0; t <= 1; t += 0.125 ) {
+			VectorAssert.assertThat( Bezier.point( elevated, t ) ).isCloseTo( Bezier.point( QUINTIC, t ) );
+		}
+
+		// Reducing an elevated curve gives the original curve
+		VectorArrayAssert.assertThat( Bezier.reduce( elevated ) ).areCloseTo( QUINTIC );
+		VectorArrayAssert.assertThat( Bezier.reduce( Bezier.elevate( CUBIC ) ) ).areCloseTo( CUBIC );
+
+		// Reducing a curve keeps the end points
+		double[][] reduced = Bezier.reduce( QUINTIC );
+		VectorAssert.assertThat( reduced[ 0 ] ).isCloseTo( QUINTIC[ 0 ] );
+		VectorAssert.assertThat( reduced[ 4 ] ).isCloseTo( QUINTIC[ 5 ] );
+
+		try {
+			Bezier.reduce( new double[][]{ Point.of( 0, 0 ), Point.of( 1, 1 ) } );
+			fail();
+		} catch( IllegalArgumentException ignored ) {}
+	}
+
+	private static double[] deCasteljau( double[][] points, double t ) {
+		double[][] work = new double[ points.length ][];
+		for( int index = 0; index < points.length; index++ ) {
+			work[ index ] = points[ index ].clone();
+		}
+		for( int level = 1; level < points.length; level++ ) {
+			for( int index = 0; index < points.length - level; index++ ) {
+				work[ index ] = Vector.lerp( work[ index ], work[ index + 1 ], t );
+			}
+		}
+		return work[ 0 ];
+	}
+
+}
@@ -0,0 +1,166 @@
+package com.avereon.curve.math;
+
+import com.avereon.curve.assertion.VectorAssert;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class BoundingVolumeHierarchyTest {
+
+	@Test
+	void testClosestHit() {
+		double[] triangles = grid( 20, 2 );
+		BoundingVolumeHierarchy hierarchy = new BoundingVolumeHierarchy( triangles );
+		assertThat( hierarchy.size() ).isEqualTo( 1600 );
+		assertThat( hierarchy.getNodeCount() ).isGreaterThan( 1 );
+
+		// Looking down the first hit is the top layer
+		IntersectionResult result = new IntersectionResult();
+		hierarchy.closestHit( new double[]{ 3.25, 4.75, 10 }, new double[]{ 0, 0, -1 }, result );
+		assertThat( result.getType() ).isEqualTo( Intersection.Type.INTERSECTION );
+		VectorAssert.assertThat( result.getPoint( 0 ) ).isCloseTo( Point.of( 3.25, 4.75, 1 ) );
+		assertThat( result.getParameterA( 0 ) ).isEqualTo( 9.0 );
+		assertThat( (int)result.getParameterB( 0 ) ).isEqualTo( hierarchy.closestHit( new double[]{ 3.25, 4.75, 10 }, new double[]{ 0, 0, -1 } ) );
+
+		// Looking up the first hit is the bottom layer
+		hierarchy.closestHit( new double[]{ 3.25, 4.75, -10 }, new double[]{ 0, 0, 1 }, result );
+		VectorAssert.assertThat( result.getPoint( 0 ) ).isCloseTo( Point.of( 3.25, 4.75, 0 ) );
+
+		// Misses
+		assertThat( hierarchy.closestHit( new double[]{ 30, 4.75, 10 }, new double[]{ 0, 0, -1 } ) ).isEqualTo( -1 );
+		assertThat( hierarchy.closestHit( new double[]{ 3.25, 4.75, 10 }, new double[]{ 0, 0, 1 } ) ).isEqualTo( -1 );
+		assertThat( hierarchy.closestHit( new double[]{ 3.25, 4.75, 10 }, new double[]{ 0, 0, 1 }, result ).isEmpty() ).isTrue();
+	}
+
+	@Test
+	void testClosestHitMatchesBruteForce() {
+		double[] triangles = soup( 2000, new Random( 3 ) );
+		BoundingVolumeHierarchy hierarchy = new BoundingVolumeHierarchy( triangles );
+
+		Random random = new Random( 7 );
+		for( int index = 0; index < 500; index++ ) {
+			double[] o = new double[]{ 20 * random.nextDouble() - 5, 20 * random.nextDouble() - 5, 20 * random.nextDouble() - 5 };
+			double[] d = new double[]{ random.nextGaussian(), random.nextGaussian(), random.nextGaussian() };
+			int expected = Intersection3D.closestRayTriangle( o, d, triangles );
+			int actual = hierarchy.closestHit( o, d );
+			if( expected < 0 ) {
+				assertThat( actual ).isEqualTo( -1 );
+			} else {
+				assertThat( Intersection3D.intersectRayTriangle( o, d, triangles, actual ) ).isEqualTo( Intersection3D.intersectRayTriangle( o, d, triangles, expected ) );
+			}
+			assertThat( hierarchy.anyHit( o, d ) ).isEqualTo( expected >= 0 );
+		}
+	}
+
+	@Test
+	void testSegmentHit() {
+		BoundingVolumeHierarchy hierarchy = new BoundingVolumeHierarchy( grid( 10, 2 ) );
+
+		IntersectionResult result = new IntersectionResult();
+		hierarchy.closestSegmentHit( new double[]{ 2.5, 2.5, 3 }, new double[]{ 2.5, 2.5, -1 }, result );
+		assertThat( result.size() ).isEqualTo( 1 );
+		assertThat( result.getParameterA( 0 ) ).isEqualTo( 0.5 );
+		VectorAssert.assertThat( result.getPoint( 0 ) ).isCloseTo( Point.of( 2.5, 2.5, 1 ) );
+
+		// The segment is between the layers
+		assertThat( hierarchy.anySegmentHit( new double[]{ 2.5, 2.5, 0.25 }, new double[]{ 2.5, 2.5, 0.75 } ) ).isFalse();
+		assertThat( hierarchy.closestSegmentHit( new double[]{ 2.5, 2.5, 0.25 }, new double[]{ 2.5, 2.5, 0.75 }, result ).isEmpty() ).isTrue();
+		assertThat( hierarchy.anySegmentHit( new double[]{ 2.5, 2.5, 0.25 }, new double[]{ 2.5, 2.5, 1.75 } ) ).isTrue();
+	}
+
+	@Test
+	void testParallelBuild() {
+		double[] triangles = soup( 20000, new Random( 11 ) );
+		BoundingVolumeHierarchy serial = new BoundingVolumeHierarchy( triangles );
+
+		ForkJoinPool pool = new ForkJoinPool( 4 );
+		try {
+			BoundingVolumeHierarchy parallel = new BoundingVolumeHierarchy( triangles, pool );
+			assertThat( parallel.getNodeCount() ).isEqualTo( serial.getNodeCount() );
+
+			Random random = new Random( 13 );
+			for( int index = 0; index < 200; index++ ) {
+				double[] o = new double[]{ 10 * random.nextDouble(), 10 * random.nextDouble(), -1 };
+				double[] d = new double[]{ 0, 0, 1 };
+				assertThat( parallel.closestHit( o, d ) ).isEqualTo( serial.closestHit( o, d ) );
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void testMissingRayVisitsFewNodes() {
+		BoundingVolumeHierarchy hierarchy = new BoundingVolumeHierarchy( grid( 32, 4 ) );
+		assertThat( hierarchy.getNodeCount() ).isGreaterThan( 1000 );
+
+		// The ray crosses the hierarchy bounds between the layers, only the nodes
+		// spanning several layers are visited
+		int limit = hierarchy.getNodeCount() / 50;
+		double[] o = new double[]{ -1, 5.5, 0.5 };
+		double[] d = new double[]{ 1, 0, 0 };
+		assertThat( hierarchy.anyHit( o, d ) ).isFalse();
+		assertThat( BoundingVolumeHierarchy.getLastVisitCount() ).isLessThan( limit );
+		assertThat( hierarchy.closestHit( o, d ) ).isEqualTo( -1 );
+		assertThat( BoundingVolumeHierarchy.getLastVisitCount() ).isLessThan( limit );
+
+		// The ray misses the hierarchy bounds
+		assertThat( hierarchy.closestHit( new double[]{ -1, -1, -1 }, new double[]{ -1, 0, 0 } ) ).isEqualTo( -1 );
+		assertThat( BoundingVolumeHierarchy.getLastVisitCount() ).isEqualTo( 0 );
+	}
+
+	@Test
+	void testEmpty() {
+		BoundingVolumeHierarchy hierarchy = new BoundingVolumeHierarchy( new double[ 0 ] );
+		assertThat( hierarchy.size() ).isEqualTo( 0 );
+		assertThat( hierarchy.closestHit( new double[]{ 0, 0, 0 }, new double[]{ 0, 0, 1 } ) ).isEqualTo( -1 );
+		assertThat( hierarchy.anyHit( new double[]{ 0, 0, 0 }, new double[]{ 0, 0, 1 } ) ).isFalse();
+
+		try {
+			new BoundingVolumeHierarchy( new double[ 10 ] );
+			fail();
+		} catch( IllegalArgumentException ignored ) {}
+	}
+
+	/**
+	 * Create layers of square grids in the xy plane, two triangles per square,
+	 * one unit apart in z.
+	 */
+	private static double[] grid( int count, int layers ) {
+		double[] triangles = new double[ 18 * count * count * layers ];
+		int i = 0;
+		for( int z = 0; z < layers; z++ ) {
+			for( int y = 0; y < count; y++ ) {
+				for( int x = 0; x < count; x++ ) {
+					double[] square = new double[]{ x, y, z, x + 1, y, z, x + 1, y + 1, z, x, y, z, x + 1, y + 1, z, x, y + 1, z };
+					System.arraycopy( square, 0, triangles, i, 18 );
+					i += 18;
+				}
+			}
+		}
+		return triangles;
+	}
+
+	/**
+	 * Create small random triangles in a ten unit cube.
+	 */
+	private static double[] soup( int count, Random random ) {
+		double[] triangles = new double[ 9 * count ];
+		for( int index = 0; index < count; index++ ) {
+			double x = 10 * random.nextDouble();
+			double y = 10 * random.nextDouble();
+			double z = 10 * random.nextDouble();
+			for( int point = 0; point < 3; point++ ) {
+				triangles[ 9 * index + 3 * point ] = x + random.nextDouble() - 0.5;
+				triangles[ 9 * index + 3 * point + 1 ] = y + random.nextDouble() - 0.5;
+				triangles[ 9 * index + 3 * point + 2 ] = z + random.nextDouble() - 0.5;
+			}
+		}
+		return triangles;
+	}
+
+}
@@ -0,0 +1,95 @@
+package com.avereon.curve.math;
+
+import com.avereon.curve.assertion.VectorAssert;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class CoordinateBufferTest {
+
+	@Test
+	void testConstructor() {
+		CoordinateBuffer buffer = new CoordinateBuffer( 2 );
+		assertThat( buffer.size() ).isEqualTo( 2 );
+		assertThat( buffer.getChunkSize() ).isEqualTo( CoordinateBuffer.DEFAULT_CHUNK_SIZE );
+		assertThat( buffer.getChunkCount() ).isEqualTo( 1 );
+		VectorAssert.assertThat( buffer.get( 1 ) ).isCloseTo( Vector.of() );
+
+		assertThat( new CoordinateBuffer( 0 ).getChunkCount() ).isEqualTo( 0 );
+
+		try {
+			new CoordinateBuffer( -1 );
+			fail();
+		} catch( IllegalArgumentException ignored ) {}
+
+		try {
+			new CoordinateBuffer( 10, 3 );
+			fail();
+		} catch( IllegalArgumentException ignored ) {}
+	}
+
+	@Test
+	void testGetAndSet() {
+		CoordinateBuffer buffer = CoordinateBuffer.of( Vector.of( 1, 2, 3 ), Vector.of( 4, 5, 6 ) );
+		assertThat( buffer.getX( 1 ) ).isEqualTo( 4 );
+		assertThat( buffer.getY( 1 ) ).isEqualTo( 5 );
+		assertThat( buffer.getZ( 1 ) ).isEqualTo( 6 );
+
+		buffer.set( 0, -1, -2, -3 );
+		double[] result = new double[ 3 ];
+		assertThat( buffer.get( 0, result ) ).isSameAs( result );
+		VectorAssert.assertThat( result ).isCloseTo( Vector.of( -1, -2, -3 ) );
+
+		double[][] points = buffer.toArray();
+		assertThat( points ).hasDimensions( 2, 3 );
+		VectorAssert.assertThat( points[ 1 ] ).isCloseTo( Vector.of( 4, 5, 6 ) );
+
+		try {
+			buffer.getX( 2 );
+			fail();
+		} catch( IndexOutOfBoundsException ignored ) {}
+	}
+
+	@Test
+	void testChunks() {
+		CoordinateBuffer buffer = new CoordinateBuffer( 10, 4 );
+		assertThat( buffer.getChunkSize() ).isEqualTo( 4 );
+		assertThat( buffer.getChunkCount() ).isEqualTo( 3 );
+		for( int index = 0; index < buffer.size(); index++ ) {
+			buffer.set( index, index, 2 * index, 3 * index );
+		}
+		for( int index = 0; index < buffer.size(); index++ ) {
+			VectorAssert.assertThat( buffer.get( index ) ).isCloseTo( Vector.of( index, 2 * index, 3 * index ) );
+		}
+
+		// The last chunk holds the remaining points
+		assertThat( buffer.getChunk( 0 ).remaining() ).isEqualTo( 12 );
+		assertThat( buffer.getChunk( 2 ).remaining() ).isEqualTo( 6 );
+
+		try {
+			buffer.getX( 10 );
+			fail();
+		} catch( IndexOutOfBoundsException ignored ) {}
+	}
+
+	@Test
+	void testGetChunk() {
+		CoordinateBuffer points = new CoordinateBuffer( 3, 2 );
+		points.set( 2, 7, 8, 9 );
+
+		DoubleBuffer chunk = points.getChunk( 1 );
+		assertThat( chunk.isDirect() ).isTrue();
+		assertThat( chunk.order() ).isEqualTo( ByteOrder.nativeOrder() );
+		assertThat( chunk.remaining() ).isEqualTo( 3 );
+		assertThat( chunk.get( 1 ) ).isEqualTo( 8 );
+
+		// The chunk is a view of the points
+		chunk.put( 2, 10 );
+		assertThat( points.getZ( 2 ) ).isEqualTo( 10 );
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.avereon.curve.math;
+
+import com.avereon.curve.assertion.VectorAssert;
+import com.avereon.curve.assertion.VectorArrayAssert;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class CubicSplineTest {
+
+	@Test
+	void testNatural() {
+		double[][][] curves = CubicSpline.natural( new double[][]{ Point.of( 0, 0 ), Point.of( 1, 1 ), Point.of( 2, 0 ) } );
+		assertThat( curves.length ).isEqualTo( 2 );
+		VectorArrayAssert.assertThat( curves[ 0 ] ).areCloseTo( new double[][]{ Point.of( 0, 0 ), Point.of( 1.0 / 3, 0.5 ), Point.of( 2.0 / 3, 1 ), Point.of( 1, 1 ) } );
+		VectorArrayAssert.assertThat( curves[ 1 ] ).areCloseTo( new double[][]{ Point.of( 1, 1 ), Point.of( 4.0 / 3, 1 ), Point.of( 5.0 / 3, 0.5 ), Point.of( 2, 0 ) } );
+
+		// Two points make a straight line
+		curves = CubicSpline.natural( new double[][]{ Point.of( 0, 0 ), Point.of( 3, 3 ) } );
+		VectorArrayAssert.assertThat( curves[ 0 ] ).areCloseTo( new double[][]{ Point.of( 0, 0 ), Point.of( 1, 1 ), Point.of( 2, 2 ), Point.of( 3, 3 ) } );
+
+		assertThat( CubicSpline.natural( new double[][]{ Point.of( 0, 0 ) } ) ).isEmpty();
+	}
+
+	@Test
+	void testClamped() {
+		double[][] points = new double[][]{ Point.of( 0, 0 ), Point.of( 1, 1 ), Point.of( 2, 0 ) };
+		double[][][] curves = CubicSpline.clamped( points, Point.of( 3, 0 ), Point.of( 3, 0 ) );
+		assertThat( curves.length ).isEqualTo( 2 );
+
+		// The end tangents are the given derivatives
+		VectorAssert.assertThat( curves[ 0 ][ 1 ] ).isCloseTo( Point.of( 1, 0 ) );
+		VectorAssert.assertThat( curves[ 1 ][ 2 ] ).isCloseTo( Point.of( 1, 0 ) );
+		assertC1( curves, false );
+	}
+
+	@Test
+	void testPeriodic() {
+		double[][] points = new double[][]{ Point.of( 1, 0 ), Point.of( 0, 1 ), Point.of( -1, 0 ), Point.of( 0, -1 ) };
+		double[][][] curves = CubicSpline.periodic( points );
+		assertThat( curves.length ).isEqualTo( 4 );
+		VectorAssert.assertThat( curves[ 3 ][ 3 ] ).isCloseTo( points[ 0 ] );
+
+		// A symmetric square of points makes a symmetric closed curve
+		VectorArrayAssert.assertThat( curves[ 0 ] ).areCloseTo( new double[][]{ Point.of( 1, 0 ), Point.of( 1, 0.5 ), Point.of( 0.5, 1 ), Point.of( 0, 1 ) } );
+		assertC1( curves, true );
+
+		try {
+			CubicSpline.periodic( new double[][]{ Point.of( 0, 0 ), Point.of( 1, 1 ) } );
+			fail();
+		} catch( IllegalArgumentException ignored ) {}
+	}
+
+	private static void assertC1( double[][][] curves, boolean closed ) {
+		int count = closed ? curves.length : curves.length - 1;
+		for( int index = 0; index < count; index++ ) {
+			double[][] curve = curves[ index ];
+			double[][] next = curves[ (index + 1) % curves.length ];
+			VectorAssert.assertThat( next[ 0 ] ).isCloseTo( curve[ 3 ] );
+			VectorAssert.assertThat( Vector.minus( next[ 1 ], next[ 0 ] ) ).isCloseTo( Vector.minus( curve[ 3 ], curve[ 2 ] ) );
+		}
+	}
+
+}
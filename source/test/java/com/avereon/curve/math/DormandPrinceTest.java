@@ -0,0 +1,114 @@
+package com.avereon.curve.math;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class DormandPrinceTest {
+
+	private static final OdeSystem OSCILLATOR = ( t, y, dydt ) -> {
+		dydt[ 0 ] = y[ 1 ];
+		dydt[ 1 ] = -y[ 0 ];
+	};
+
+	@Test
+	void testIntegrate() {
+		DormandPrince integrator = new DormandPrince( 1 );
+		integrator.setTolerance( 1e-10, 1e-10 );
+
+		double[] y = new double[]{ 1 };
+		assertThat( integrator.integrate( ( t, u, dudt ) -> dudt[ 0 ] = -u[ 0 ], 0, y, 5 ) ).isSameAs( y );
+		assertThat( y[ 0 ] ).isEqualTo( Math.exp( -5 ), Offset.offset( 1e-9 ) );
+		assertThat( integrator.getAcceptedSteps() ).isGreaterThan( 0 );
+		assertThat( integrator.getStepStart() + integrator.getStepSize() ).isEqualTo( 5 );
+	}
+
+	@Test
+	void testIntegrateOscillator() {
+		DormandPrince integrator = new DormandPrince( 2 );
+		integrator.setTolerance( 1e-9, 1e-9 );
+
+		double[] y = new double[]{ 1, 0 };
+		integrator.integrate( OSCILLATOR, 0, y, 20 );
+		assertThat( y ).containsExactly( new double[]{ Math.cos( 20 ), -Math.sin( 20 ) }, Offset.offset( 1e-7 ) );
+
+		// Far fewer evaluations than fixed steps of the same accuracy
+		assertThat( integrator.getEvaluations() ).isLessThan( 2000 );
+		assertThat( integrator.getEvaluations() ).isGreaterThanOrEqualTo( 6 * (integrator.getAcceptedSteps() + integrator.getRejectedSteps()) );
+
+		// Looser tolerances take fewer steps
+		int steps = integrator.getAcceptedSteps();
+		integrator.setTolerance( 1e-4, 1e-4 );
+		integrator.integrate( OSCILLATOR, 0, new double[]{ 1, 0 }, 20 );
+		assertThat( integrator.getAcceptedSteps() ).isLessThan( steps );
+	}
+
+	@Test
+	void testIntegrateBackward() {
+		DormandPrince integrator = new DormandPrince( 2 );
+		integrator.setTolerance( 1e-10, 1e-10 );
+
+		double[] y = new double[]{ Math.cos( 3 ), -Math.sin( 3 ) };
+		integrator.integrate( OSCILLATOR, 3, y, 0 );
+		assertThat( y ).containsExactly( new double[]{ 1, 0 }, Offset.offset( 1e-8 ) );
+		assertThat( integrator.getStepSize() ).isNegative();
+	}
+
+	@Test
+	void testDenseOutput() {
+		DormandPrince integrator = new DormandPrince( 2 );
+		integrator.setTolerance( 1e-10, 1e-10 );
+
+		double[] times = new double[]{ 0, 0.25, 0.5, 1, 2, 3.5, 5 };
+		double[] output = new double[ 2 * times.length ];
+		integrator.integrate( OSCILLATOR, 0, new double[]{ 1, 0 }, 5, times, output );
+		for( int index = 0; index < times.length; index++ ) {
+			assertThat( output[ 2 * index ] ).isEqualTo( Math.cos( times[ index ] ), Offset.offset( 1e-8 ) );
+			assertThat( output[ 2 * index + 1 ] ).isEqualTo( -Math.sin( times[ index ] ), Offset.offset( 1e-8 ) );
+		}
+
+		// The last step can be evaluated anywhere inside it
+		double t = integrator.getStepStart() + 0.5 * integrator.getStepSize();
+		double[] y = integrator.interpolate( t, new double[ 2 ] );
+		assertThat( y[ 0 ] ).isEqualTo( Math.cos( t ), Offset.offset( 1e-8 ) );
+	}
+
+	@Test
+	void testRejectedSteps() {
+		DormandPrince integrator = new DormandPrince( 1 );
+		integrator.setInitialStep( 1 );
+
+		// A first step that is far too large must be rejected
+		double[] y = new double[]{ 1 };
+		integrator.integrate( ( t, u, dudt ) -> dudt[ 0 ] = -50 * (u[ 0 ] - Math.cos( t )), 0, y, 1 );
+		assertThat( integrator.getRejectedSteps() ).isGreaterThan( 0 );
+		assertThat( y[ 0 ] ).isEqualTo( (2500 * Math.cos( 1 ) + 50 * Math.sin( 1 ) + Math.exp( -50 )) / 2501, Offset.offset( 1e-5 ) );
+	}
+
+	@Test
+	void testLimits() {
+		DormandPrince integrator = new DormandPrince( 2 );
+		integrator.setMaxStep( 0.01 );
+		integrator.integrate( OSCILLATOR, 0, new double[]{ 1, 0 }, 1 );
+		assertThat( integrator.getAcceptedSteps() ).isGreaterThanOrEqualTo( 100 );
+
+		integrator.setMaxSteps( 10 );
+		try {
+			integrator.integrate( OSCILLATOR, 0, new double[]{ 1, 0 }, 1 );
+			fail();
+		} catch( ArithmeticException ignored ) {}
+
+		try {
+			integrator.setTolerance( 0, 0 );
+			fail();
+		} catch( IllegalArgumentException ignored ) {}
+
+		try {
+			new DormandPrince( 2 ).interpolate( 0, new double[ 2 ] );
+			fail();
+		} catch( IllegalStateException ignored ) {}
+	}
+
+}
@@ -0,0 +1,86 @@
+package com.avereon.curve.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class Float32Test {
+
+	@Test
+	void testAllocate() {
+		FloatBuffer buffer = Float32.allocate( 5 );
+		assertThat( buffer.isDirect() ).isTrue();
+		assertThat( buffer.order() ).isEqualTo( ByteOrder.nativeOrder() );
+		assertThat( buffer.capacity() ).isEqualTo( 5 );
+
+		try {
+			Float32.allocate( -1 );
+			fail();
+		} catch( IllegalArgumentException ignored ) {}
+	}
+
+	@Test
+	void testReserve() {
+		FloatBuffer buffer = Float32.allocate( 8 );
+		buffer.put( 1 ).put( 2 );
+
+		FloatBuffer reused = Float32.reserve( buffer, 6 );
+		assertThat( reused ).isSameAs( buffer );
+		assertThat( reused.position() ).isEqualTo( 0 );
+		assertThat( reused.limit() ).isEqualTo( 6 );
+
+		FloatBuffer larger = Float32.reserve( buffer, 9 );
+		assertThat( larger ).isNotSameAs( buffer );
+		assertThat( larger.capacity() ).isEqualTo( 9 );
+
+		assertThat( Float32.reserve( null, 3 ).capacity() ).isEqualTo( 3 );
+	}
+
+	@Test
+	void testMatrix() {
+		Transform transform = Transform.translation( 1, 2, 3 ).combine( Transform.xrotation( 0.5 ) );
+		FloatBuffer buffer = Float32.matrix( transform, null );
+		assertThat( buffer.remaining() ).isEqualTo( 16 );
+
+		double[] expected = transform.getMatrix().array();
+		for( int index = 0; index < 16; index++ ) {
+			assertThat( buffer.get( index ) ).isEqualTo( (float)expected[ index ] );
+		}
+
+		// The buffer is reused
+		assertThat( Float32.matrix( Transform.identity(), buffer ) ).isSameAs( buffer );
+		assertThat( buffer.get( 0 ) ).isEqualTo( 1f );
+		assertThat( buffer.get( 12 ) ).isEqualTo( 0f );
+	}
+
+	@Test
+	void testMatrixFromStack() {
+		Transform transform = Transform.translation( 1, 2, 3 ).combine( Transform.yrotation( 0.5 ) );
+		TransformStack stack = new TransformStack().load( transform );
+
+		FloatBuffer expected = transform.getMatrix( Float32.allocate( 16 ) ).flip();
+		FloatBuffer actual = stack.get( Float32.allocate( 16 ) ).flip();
+		assertThat( actual ).isEqualTo( expected );
+	}
+
+	@Test
+	void testVertices() {
+		double[][] points = new double[][]{ Vector.of( 1, 2, 3 ), Vector.of( 0.1, 0.2, 0.3 ) };
+		FloatBuffer buffer = Float32.vertices( points, null );
+		assertThat( buffer.remaining() ).isEqualTo( 6 );
+		float[] values = new float[ 6 ];
+		buffer.get( values );
+		assertThat( values ).containsExactly( 1f, 2f, 3f, 0.1f, 0.2f, 0.3f );
+
+		double[] packed = new double[]{ 9, 4, 5, 6, 7, 8, 9 };
+		buffer = Float32.vertices( packed, 1, 2, buffer );
+		assertThat( buffer.remaining() ).isEqualTo( 6 );
+		buffer.get( values );
+		assertThat( values ).containsExactly( 4f, 5f, 6f, 7f, 8f, 9f );
+	}
+
+}
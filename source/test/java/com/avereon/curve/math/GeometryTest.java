@@ -9,6 +9,8 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 
 import static com.avereon.curve.math.Constants.HALF_CIRCLE;
@@ -99,6 +101,74 @@ public class GeometryTest {
 		VectorArrayAssert.assertThat( Geometry.bounds( Point.of( 1, 0 ), Point.of( 0, 1 ) ) ).areCloseTo( Vector.of( 0, 0 ), Vector.of( 1, 1 ) );
 	}
 
+	@Test
+	void testLengthAndBoundsWithCoordinateBuffer() {
+		CoordinateBuffer points = CoordinateBuffer.of( Point.of( 0, 0, 0 ), Point.of( 1, 0, 0 ), Point.of( 1, 0, -2 ), Point.of( 3, 1, -2 ) );
+		assertThat( Geometry.length( points ) ).isEqualTo( 3 + Math.sqrt( 5 ) );
+		VectorArrayAssert.assertThat( Geometry.bounds( points ) ).areCloseTo( Vector.of( 0, 0, -2 ), Vector.of( 3, 1, 0 ) );
+
+		// Every segment crosses a chunk boundary
+		CoordinateBuffer chunked = new CoordinateBuffer( 4, 1 );
+		for( int index = 0; index < 4; index++ ) {
+			chunked.set( index, points.get( index ) );
+		}
+		assertThat( chunked.getChunkCount() ).isEqualTo( 4 );
+		assertThat( Geometry.length( chunked ) ).isEqualTo( 3 + Math.sqrt( 5 ) );
+		VectorArrayAssert.assertThat( Geometry.bounds( chunked ) ).areCloseTo( Vector.of( 0, 0, -2 ), Vector.of( 3, 1, 0 ) );
+
+		CoordinateBuffer empty = new CoordinateBuffer( 0 );
+		assertThat( Geometry.length( empty ) ).isNaN();
+		VectorArrayAssert.assertThat( Geometry.bounds( empty ) ).areCloseTo( Vector.of(), Vector.of() );
+	}
+
+	@Test
+	void testBoundsIn3D() {
+		VectorArrayAssert.assertThat( Geometry.bounds( Point.of( 0, 0, 1 ), Point.of( 1, 1, -2 ), Point.of( -1, 0, 3 ) ) ).areCloseTo( Vector.of( -1, 0, -2 ), Vector.of( 1, 1, 3 ) );
+	}
+
+	@Test
+	void testLengthAndBoundsWithPackedPoints() {
+		double[] coordinates = new double[]{ 9, 0, 0, 0, 1, 0, 0, 1, 0, -2, 3, 1, -2 };
+		assertThat( Geometry.length( coordinates, 1, 4 ) ).isEqualTo( 3 + Math.sqrt( 5 ) );
+		VectorArrayAssert.assertThat( Geometry.bounds( coordinates, 1, 4 ) ).areCloseTo( Vector.of( 0, 0, -2 ), Vector.of( 3, 1, 0 ) );
+
+		assertThat( Geometry.length( coordinates, 1, 1 ) ).isEqualTo( 0.0 );
+		assertThat( Geometry.length( coordinates, 1, 0 ) ).isNaN();
+	}
+
+	@Test
+	void testParallelLengthAndBounds() {
+		int count = 10 * Geometry.REDUCTION_THRESHOLD + 7;
+		Random random = new Random( 13 );
+		double[] coordinates = new double[ 3 * count ];
+		for( int index = 0; index < coordinates.length; index++ ) {
+			coordinates[ index ] = 100 * random.nextDouble() - 50;
+		}
+
+		double[][] expected = new double[ count ][];
+		for( int index = 0; index < count; index++ ) {
+			expected[ index ] = Vector.of( coordinates[ 3 * index ], coordinates[ 3 * index + 1 ], coordinates[ 3 * index + 2 ] );
+		}
+		double length = Geometry.length( expected );
+		double[][] bounds = Geometry.bounds( expected );
+
+		assertThat( Geometry.length( coordinates, 0, count, ForkJoinPool.commonPool() ) ).isCloseTo( length, Offset.offset( 1e-6 ) );
+		assertThat( Geometry.bounds( coordinates, 0, count, ForkJoinPool.commonPool() ) ).isEqualTo( bounds );
+
+		CoordinateBuffer points = CoordinateBuffer.of( expected );
+		assertThat( Geometry.length( points, ForkJoinPool.commonPool() ) ).isCloseTo( length, Offset.offset( 1e-6 ) );
+		assertThat( Geometry.bounds( points, ForkJoinPool.commonPool() ) ).isEqualTo( bounds );
+
+		// Several chunks, each large enough to split
+		CoordinateBuffer chunked = new CoordinateBuffer( count, 4 * Geometry.REDUCTION_THRESHOLD );
+		for( int index = 0; index < count; index++ ) {
+			chunked.set( index, expected[ index ] );
+		}
+		assertThat( chunked.getChunkCount() ).isEqualTo( 3 );
+		assertThat( Geometry.length( chunked, ForkJoinPool.commonPool() ) ).isCloseTo( length, Offset.offset( 1e-6 ) );
+		assertThat( Geometry.bounds( chunked, ForkJoinPool.commonPool() ) ).isEqualTo( bounds );
+	}
+
 	@Test
 	void testPointLineDistance() {
 		assertThat( Geometry.linePointDistance( Vector.of( 0, 0 ), Vector.of( 1, 0 ), Vector.of( -0.5, 1.0 ) ) ).isEqualTo( 1.0 );
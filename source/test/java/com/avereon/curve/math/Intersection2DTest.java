@@ -2,6 +2,7 @@ package com.avereon.curve.math;
 
 import com.avereon.curve.assertion.VectorArrayAssert;
 import com.avereon.curve.assertion.VectorAssert;
+import org.assertj.core.data.Offset;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
@@ -543,6 +544,85 @@ public class Intersection2DTest {
 		assertThat( x.getPoints().length ).isEqualTo( 0 );
 	}
 
+	@Test
+	void testIntersectLineBezier3Batch() {
+		double[][][] curves = new double[][][]{
+			{ Point.of( 0, 0 ), Point.of( 0, 1 ), Point.of( 1, 1 ), Point.of( 1, 0 ) },
+			{ Point.of( 0, 2 ), Point.of( 0, 3 ), Point.of( 1, 3 ), Point.of( 1, 2 ) },
+			{ Point.of( 2, 0 ), Point.of( 2, 1 ), Point.of( 3, 1 ), Point.of( 3, 0 ) }
+		};
+		double[] l1 = Point.of( 0, 0.5 );
+		double[] l2 = Point.of( 1, 0.5 );
+
+		IntersectionBuffer buffer = new IntersectionBuffer( 1 );
+		assertThat( Intersection2D.intersectLineBezier3( l1, l2, curves, buffer ) ).isEqualTo( 4 );
+		assertThat( buffer.size() ).isEqualTo( 4 );
+
+		double offset = 0.11509982054024945;
+		assertThat( buffer.getTarget( 0 ) ).isEqualTo( 0 );
+		assertThat( buffer.getTarget( 1 ) ).isEqualTo( 0 );
+		VectorArrayAssert.assertThat( new double[][]{ buffer.getPoint( 0 ), buffer.getPoint( 1 ) } ).areCloseTo( Point.of( offset, 0.5 ), Point.of( 1 - offset, 0.5 ) );
+		assertThat( buffer.getTarget( 2 ) ).isEqualTo( 2 );
+		assertThat( buffer.getTarget( 3 ) ).isEqualTo( 2 );
+		VectorArrayAssert.assertThat( new double[][]{ buffer.getPoint( 2 ), buffer.getPoint( 3 ) } ).areCloseTo( Point.of( 2 + offset, 0.5 ), Point.of( 3 - offset, 0.5 ) );
+
+		// The batch results should match the single curve results
+		l1 = Point.of( -0.25, 0 );
+		l2 = Point.of( 0.75, 1 );
+		buffer.clear();
+		Intersection2D.intersectLineBezier3( l1, l2, curves, buffer );
+		VectorArrayAssert.assertThat( buffer.getPoints() ).areCloseTo( Intersection2D.intersectLineBezier3( l1, l2, curves[ 0 ][ 0 ], curves[ 0 ][ 1 ], curves[ 0 ][ 2 ], curves[ 0 ][ 3 ] ).getPoints() );
+	}
+
+	@Test
+	void testIntersectBezier3LineBatch() {
+		double[] a = Point.of( 0, 0 );
+		double[] b = Point.of( 0, 1 );
+		double[] c = Point.of( 1, 1 );
+		double[] d = Point.of( 1, 0 );
+		double[][][] lines = new double[][][]{
+			{ Point.of( 0, 0.8 ), Point.of( 1, 0.8 ) }, { Point.of( 0.25, 0 ), Point.of( 0.75, 1.5 ) }, { Point.of( 0, 0.5 ), Point.of( 1, 0.5 ) }
+		};
+
+		IntersectionBuffer buffer = new IntersectionBuffer();
+		assertThat( Intersection2D.intersectBezier3Line( a, b, c, d, lines, buffer ) ).isEqualTo( 3 );
+
+		double offset = 0.11509982054024945;
+		assertThat( buffer.getTarget( 0 ) ).isEqualTo( 1 );
+		VectorAssert.assertThat( buffer.getPoint( 0 ) ).isCloseTo( Point.of( 0.5, 0.75 ) );
+		assertThat( buffer.getTarget( 1 ) ).isEqualTo( 2 );
+		assertThat( buffer.getTarget( 2 ) ).isEqualTo( 2 );
+		VectorArrayAssert.assertThat( new double[][]{ buffer.getPoint( 1 ), buffer.getPoint( 2 ) } ).areCloseTo( Point.of( offset, 0.5 ), Point.of( 1 - offset, 0.5 ) );
+	}
+
+	@Test
+	void testIntersectEllipseBezier3Batch() {
+		double[] ec = Point.of( 4, 4 );
+		double rx = 4;
+		double ry = 2;
+		double er = Constants.QUARTER_CIRCLE;
+		double[][][] curves = new double[][][]{
+			{ Vector.of( 0, 8 ), Vector.of( 8, 4 ), Vector.of( 0, 4 ), Vector.of( 8, 0 ) },
+			{ Vector.of( 20, 8 ), Vector.of( 28, 4 ), Vector.of( 20, 4 ), Vector.of( 28, 0 ) },
+			{ Vector.of( 2, 8 ), Vector.of( 16, 4 ), Vector.of( -8, 4 ), Vector.of( 6, 0 ) }
+		};
+
+		IntersectionBuffer buffer = new IntersectionBuffer();
+		assertThat( Intersection2D.intersectEllipseBezier3( ec, rx, ry, er, curves, buffer ) ).isEqualTo( 8 );
+		assertThat( buffer.size() ).isEqualTo( 8 );
+
+		assertThat( buffer.getTarget( 0 ) ).isEqualTo( 0 );
+		assertThat( buffer.getTarget( 1 ) ).isEqualTo( 0 );
+		VectorArrayAssert.assertThat( new double[][]{ buffer.getPoint( 0 ), buffer.getPoint( 1 ) } ).areCloseTo( Point.of( 2.4648799390484215, 6.563908252470462 ), Point.of( 5.5351200609515785, 1.436091747529538 ) );
+
+		double[][] points = new double[ 6 ][];
+		for( int index = 0; index < 6; index++ ) {
+			assertThat( buffer.getTarget( index + 2 ) ).isEqualTo( 2 );
+			points[ index ] = buffer.getPoint( index + 2 );
+		}
+		VectorArrayAssert.assertThat( points ).areCloseTo( Intersection2D.intersectEllipseBezier3( ec, rx, ry, er, curves[ 2 ][ 0 ], curves[ 2 ][ 1 ], curves[ 2 ][ 2 ], curves[ 2 ][ 3 ] ).getPoints() );
+	}
+
 	@Test
 	void testIntersectBezier3Bezier3() {
 		double[] a1 = Vector.of( -1, -2 );
@@ -587,4 +667,118 @@ public class Intersection2DTest {
 		assertThat( Intersection2D.intersectBezier3Bezier3( a1, a2, a3, a4, b4, b3, b2, b1 ) ).isEqualTo( new Intersection2D( Intersection.Type.SAME ) );
 	}
 
+	@Test
+	void testIntersectWithReusedResult() {
+		IntersectionResult result = new IntersectionResult();
+
+		assertThat( Intersection2D.intersectLineLine( Vector.of( 0, 0 ), Vector.of( 2, 2 ), Vector.of( 0, 2 ), Vector.of( 2, 0 ), result ) ).isSameAs( result );
+		assertThat( result.getType() ).isEqualTo( Intersection.Type.INTERSECTION );
+		assertThat( result.size() ).isEqualTo( 1 );
+		assertThat( result.getX( 0 ) ).isEqualTo( 1.0 );
+		assertThat( result.getY( 0 ) ).isEqualTo( 1.0 );
+
+		Intersection2D.intersectSegmentSegment( Vector.of( 0, 0 ), Vector.of( 1, 0 ), Vector.of( 0, 1 ), Vector.of( 1, 1 ), result );
+		assertThat( result.getType() ).isEqualTo( Intersection.Type.PARALLEL );
+		assertThat( result.isEmpty() ).isTrue();
+
+		double[] o = Vector.of( 1, 2 );
+		Intersection2D.intersectLineEllipse( Vector.of( -5, 2 ), Vector.of( 5, 2 ), o, 3, 1, Math.PI / 6, result );
+		VectorArrayAssert.assertThat( result.getPoints() ).areCloseTo( Intersection2D.intersectLineEllipse( Vector.of( -5, 2 ), Vector.of( 5, 2 ), o, 3, 1, Math.PI / 6 ).getPoints() );
+		assertThat( result.size() ).isEqualTo( 2 );
+
+		double[] a = Vector.of( -1, -2 );
+		double[] b = Vector.of( -1, 8 );
+		double[] c = Vector.of( 1, -8 );
+		double[] d = Vector.of( 1, 2 );
+		Intersection2D.intersectEllipseBezier3( Vector.of( 0, 0 ), 1, 0.5, 0.2, a, b, c, d, result );
+		assertThat( result.toIntersection2D() ).isEqualTo( Intersection2D.intersectEllipseBezier3( Vector.of( 0, 0 ), 1, 0.5, 0.2, a, b, c, d ) );
+		assertThat( result.size() ).isGreaterThan( 0 );
+
+		Intersection2D.intersectBezier3Bezier3( a, b, c, d, Vector.of( -2, -1 ), Vector.of( 8, -1 ), Vector.of( -8, 1 ), Vector.of( 2, 1 ), result );
+		assertThat( result.getType() ).isEqualTo( Intersection.Type.INTERSECTION );
+		assertThat( result.size() ).isEqualTo( 9 );
+
+		Intersection2D.intersectEllipseEllipse( Vector.of( 0, 0 ), 2, 1, Vector.of( 0, 0 ), 2, 1, result );
+		assertThat( result.getType() ).isEqualTo( Intersection.Type.SAME );
+		assertThat( result.isEmpty() ).isTrue();
+	}
+
+	@Test
+	void testIntersectionParameters() {
+		IntersectionResult result = new IntersectionResult();
+
+		Intersection2D.intersectLineLine( Vector.of( 0, 0 ), Vector.of( 4, 4 ), Vector.of( 0, 2 ), Vector.of( 0.5, 1.5 ), result );
+		assertThat( result.getParameterA( 0 ) ).isEqualTo( 0.25 );
+		assertThat( result.getParameterB( 0 ) ).isEqualTo( 2.0 );
+
+		Intersection2D.intersectSegmentSegment( Vector.of( 0, 0 ), Vector.of( 2, 2 ), Vector.of( 0, 2 ), Vector.of( 2, 0 ), result );
+		assertThat( result.getParameterA( 0 ) ).isEqualTo( 0.5 );
+		assertThat( result.getParameterB( 0 ) ).isEqualTo( 0.5 );
+
+		Intersection2D.intersectSegmentSegment( Vector.of( 0, 0 ), Vector.of( 2, 2 ), Vector.of( 3, 0 ), Vector.of( 2, 2 ), result );
+		assertThat( result.getParameterA( 0 ) ).isEqualTo( 1.0 );
+		assertThat( result.getParameterB( 0 ) ).isEqualTo( 1.0 );
+
+		// Line and rotated ellipse
+		double[] o = Vector.of( 1, 2 );
+		double rotate = Math.PI / 6;
+		Intersection2D.intersectLineEllipse( Vector.of( -5, 2 ), Vector.of( 5, 2 ), o, 3, 1, rotate, result );
+		assertThat( result.size() ).isEqualTo( 2 );
+		for( int index = 0; index < result.size(); index++ ) {
+			double[] point = result.getPoint( index );
+			assertParameter( result.getParameterA( index ), (point[ 0 ] + 5) / 10 );
+			VectorAssert.assertThat( Geometry.ellipsePoint( o, Vector.of( 3, 1 ), rotate, result.getParameterB( index ) ) ).isCloseTo( point );
+		}
+
+		// Line and curve
+		double[] a = Vector.of( -1, -2 );
+		double[] b = Vector.of( -1, 8 );
+		double[] c = Vector.of( 1, -8 );
+		double[] d = Vector.of( 1, 2 );
+		Intersection2D.intersectLineBezier3( Vector.of( -2, 0 ), Vector.of( 2, 0 ), a, b, c, d, result );
+		assertThat( result.size() ).isEqualTo( 3 );
+		for( int index = 0; index < result.size(); index++ ) {
+			double[] point = result.getPoint( index );
+			assertParameter( result.getParameterA( index ), (point[ 0 ] + 2) / 4 );
+			VectorAssert.assertThat( Geometry.curvePoint( a, b, c, d, result.getParameterB( index ) ) ).isCloseTo( point );
+		}
+
+		// Rotated ellipse and curve
+		Intersection2D.intersectEllipseBezier3( Vector.of( 0, 0 ), 1, 0.5, 0.2, a, b, c, d, result );
+		assertThat( result.size() ).isGreaterThan( 0 );
+		for( int index = 0; index < result.size(); index++ ) {
+			double[] point = result.getPoint( index );
+			VectorAssert.assertThat( Geometry.ellipsePoint( Vector.of( 0, 0 ), Vector.of( 1, 0.5 ), 0.2, result.getParameterA( index ) ) ).isCloseTo( point, 1e-6 );
+			VectorAssert.assertThat( Geometry.curvePoint( a, b, c, d, result.getParameterB( index ) ) ).isCloseTo( point );
+		}
+
+		// Rotated ellipses
+		double[] oc1 = Vector.of( 0, 0 );
+		double[] oc2 = Vector.of( 1, 0.5 );
+		Intersection2D.intersectEllipseEllipse( oc1, 2, 1, 0.3, oc2, 1.5, 1, -0.4, result );
+		assertThat( result.size() ).isGreaterThan( 0 );
+		for( int index = 0; index < result.size(); index++ ) {
+			double[] point = result.getPoint( index );
+			assertParameter( result.getParameterA( index ), Geometry.ellipseAngle( oc1, 2, 1, 0.3, point ) );
+			assertParameter( result.getParameterB( index ), Geometry.ellipseAngle( oc2, 1.5, 1, -0.4, point ) );
+		}
+
+		// Curves
+		double[] e = Vector.of( -2, -1 );
+		double[] f = Vector.of( 8, -1 );
+		double[] g = Vector.of( -8, 1 );
+		double[] h = Vector.of( 2, 1 );
+		Intersection2D.intersectBezier3Bezier3( a, b, c, d, e, f, g, h, result );
+		assertThat( result.size() ).isEqualTo( 9 );
+		for( int index = 0; index < result.size(); index++ ) {
+			double[] point = result.getPoint( index );
+			VectorAssert.assertThat( Geometry.curvePoint( a, b, c, d, result.getParameterA( index ) ) ).isCloseTo( point, 1e-6 );
+			VectorAssert.assertThat( Geometry.curvePoint( e, f, g, h, result.getParameterB( index ) ) ).isCloseTo( point, 1e-6 );
+		}
+	}
+
+	private static void assertParameter( double actual, double expected ) {
+		assertThat( actual ).isCloseTo( expected, Offset.offset( 1e-9 ) );
+	}
+
 }
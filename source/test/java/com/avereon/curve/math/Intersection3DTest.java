@@ -1,8 +1,10 @@
 package com.avereon.curve.math;
 
+import com.avereon.curve.assertion.VectorAssert;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
 public class Intersection3DTest {
 
@@ -31,8 +33,141 @@ public class Intersection3DTest {
 			.isEqualTo( new Intersection3D( Intersection.Type.INTERSECTION, new double[]{ 1, 2, 3 } ) );
 	}
 
+	@Test
+	void testIntersectSegmentPlane() {
+		double[] o = new double[]{ 0, 0, 0 };
+		double[] n = new double[]{ 0, 0, 1 };
+		assertThat( Intersection3D.intersectSegmentPlane( new double[]{ 1, 2, -1 }, new double[]{ 1, 2, 3 }, o, n ) )
+			.isEqualTo( new Intersection3D( Intersection.Type.INTERSECTION, new double[]{ 1, 2, 0 } ) );
+
+		// The line reaches the plane, but the segment does not
+		assertThat( Intersection3D.intersectSegmentPlane( new double[]{ 1, 2, 1 }, new double[]{ 1, 2, 3 }, o, n ) )
+			.isEqualTo( new Intersection3D( Intersection.Type.NONE ) );
+
+		IntersectionResult result = new IntersectionResult();
+		Intersection3D.intersectSegmentPlane( new double[]{ 0, 0, -1 }, new double[]{ 0, 0, 3 }, o, n, result );
+		assertThat( result.size() ).isEqualTo( 1 );
+		assertThat( result.getParameterA( 0 ) ).isEqualTo( 0.25 );
+	}
+
 	@Test
 	void testIntersectPlanePlane() {
-		// TODO Test Intersection3D.intersectPlanePlane
+		// Parallel planes
+		assertThat( Intersection3D.intersectPlanePlane( new double[]{ 0, 0, 0 }, new double[]{ 0, 0, 1 }, new double[]{ 0, 0, 1 }, new double[]{ 0, 0, 2 } ) )
+			.isEqualTo( new Intersection3D( Intersection.Type.PARALLEL ) );
+		assertThat( Intersection3D.intersectPlanePlane( new double[]{ 0, 0, 0 }, new double[]{ 0, 0, 1 }, new double[]{ 3, 4, 0 }, new double[]{ 0, 0, -1 } ) )
+			.isEqualTo( new Intersection3D( Intersection.Type.SAME ) );
+
+		// The xy plane and the xz plane meet along the x axis
+		IntersectionResult result = new IntersectionResult();
+		Intersection3D.intersectPlanePlane( new double[]{ 0, 0, 0 }, new double[]{ 0, 0, 1 }, new double[]{ 5, 0, 0 }, new double[]{ 0, 1, 0 }, result );
+		assertThat( result.getType() ).isEqualTo( Intersection.Type.INTERSECTION );
+		assertThat( result.size() ).isEqualTo( 2 );
+		VectorAssert.assertThat( result.getPoint( 0 ) ).isCloseTo( Point.of( 0, 0, 0 ) );
+		VectorAssert.assertThat( result.getPoint( 1 ) ).isCloseTo( Point.of( -1, 0, 0 ) );
+
+		// Offset planes z = 2 and x = 1 meet along the line x = 1, z = 2
+		Intersection3D.intersectPlanePlane( new double[]{ 4, 5, 2 }, new double[]{ 0, 0, 3 }, new double[]{ 1, -7, 9 }, new double[]{ 1, 0, 0 }, result );
+		VectorAssert.assertThat( result.getPoint( 0 ) ).isCloseTo( Point.of( 1, 0, 2 ) );
+		VectorAssert.assertThat( result.getPoint( 1 ) ).isCloseTo( Point.of( 1, 1, 2 ) );
+	}
+
+	@Test
+	void testIntersectRayTriangle() {
+		double[] a = new double[]{ 0, 0, 0 };
+		double[] b = new double[]{ 2, 0, 0 };
+		double[] c = new double[]{ 0, 2, 0 };
+		assertThat( Intersection3D.intersectRayTriangle( new double[]{ 0.5, 0.5, 3 }, new double[]{ 0, 0, -1 }, a, b, c ) ).isEqualTo( 3.0 );
+		// Both sides of the triangle are hit
+		assertThat( Intersection3D.intersectRayTriangle( new double[]{ 0.5, 0.5, -2 }, new double[]{ 0, 0, 2 }, a, b, c ) ).isEqualTo( 1.0 );
+
+		// Misses
+		assertThat( Intersection3D.intersectRayTriangle( new double[]{ 1.5, 1.5, 3 }, new double[]{ 0, 0, -1 }, a, b, c ) ).isNaN();
+		assertThat( Intersection3D.intersectRayTriangle( new double[]{ 0.5, 0.5, 3 }, new double[]{ 0, 0, 1 }, a, b, c ) ).isNaN();
+		assertThat( Intersection3D.intersectRayTriangle( new double[]{ 0.5, 0.5, 3 }, new double[]{ 1, 0, 0 }, a, b, c ) ).isNaN();
+	}
+
+	@Test
+	void testIntersectRayTriangles() {
+		double[] triangles = new double[]{ 0, 0, 4, 2, 0, 4, 0, 2, 4, 0, 0, 1, 2, 0, 1, 0, 2, 1, 5, 5, 2, 6, 5, 2, 5, 6, 2 };
+		double[] o = new double[]{ 0.5, 0.5, 0 };
+		double[] d = new double[]{ 0, 0, 1 };
+
+		double[] t = new double[ 3 ];
+		assertThat( Intersection3D.intersectRayTriangles( o, d, triangles, t ) ).isEqualTo( 2 );
+		assertThat( t[ 0 ] ).isEqualTo( 4.0 );
+		assertThat( t[ 1 ] ).isEqualTo( 1.0 );
+		assertThat( t[ 2 ] ).isNaN();
+
+		assertThat( Intersection3D.closestRayTriangle( o, d, triangles ) ).isEqualTo( 1 );
+		assertThat( Intersection3D.closestRayTriangle( o, new double[]{ 0, 0, -1 }, triangles ) ).isEqualTo( -1 );
 	}
+
+	@Test
+	void testIntersectRayBox() {
+		double[] min = new double[]{ -1, -1, -1 };
+		double[] max = new double[]{ 1, 1, 1 };
+		assertThat( Intersection3D.intersectRayBox( new double[]{ -3, 0, 0 }, new double[]{ 1, 0, 0 }, min, max ) ).isEqualTo( 2.0 );
+		assertThat( Intersection3D.intersectRayBox( new double[]{ 3, 3, 3 }, new double[]{ -1, -1, -1 }, min, max ) ).isEqualTo( 2.0 );
+		// The ray origin is inside the box
+		assertThat( Intersection3D.intersectRayBox( new double[]{ 0, 0, 0 }, new double[]{ 0, 1, 0 }, min, max ) ).isEqualTo( 0.0 );
+
+		// Misses
+		assertThat( Intersection3D.intersectRayBox( new double[]{ -3, 2, 0 }, new double[]{ 1, 0, 0 }, min, max ) ).isNaN();
+		assertThat( Intersection3D.intersectRayBox( new double[]{ -3, 0, 0 }, new double[]{ -1, 0, 0 }, min, max ) ).isNaN();
+		assertThat( Intersection3D.intersectRayBox( new double[]{ -3, 0, 0 }, new double[]{ 1, 2, 0 }, min, max ) ).isNaN();
+
+		double[] boxes = new double[]{ -1, -1, -1, 1, 1, 1, 4, -1, -1, 5, 1, 1, 0, 3, 0, 1, 4, 1 };
+		double[] t = new double[ 3 ];
+		assertThat( Intersection3D.intersectRayBoxes( new double[]{ -3, 0, 0 }, new double[]{ 1, 0, 0 }, boxes, t ) ).isEqualTo( 2 );
+		assertThat( t[ 0 ] ).isEqualTo( 2.0 );
+		assertThat( t[ 1 ] ).isEqualTo( 7.0 );
+		assertThat( t[ 2 ] ).isNaN();
+	}
+
+	@Test
+	void testIntersectRaySphere() {
+		double[] c = new double[]{ 0, 0, 5 };
+		assertThat( Intersection3D.intersectRaySphere( new double[]{ 0, 0, 0 }, new double[]{ 0, 0, 1 }, c, 2 ) ).isEqualTo( 3.0 );
+		assertThat( Intersection3D.intersectRaySphere( new double[]{ 0, 0, 0 }, new double[]{ 0, 0, 2 }, c, 2 ) ).isEqualTo( 1.5 );
+		// The ray origin is inside the sphere
+		assertThat( Intersection3D.intersectRaySphere( new double[]{ 0, 0, 5 }, new double[]{ 0, 0, 1 }, c, 2 ) ).isEqualTo( 2.0 );
+
+		// Misses
+		assertThat( Intersection3D.intersectRaySphere( new double[]{ 0, 0, 0 }, new double[]{ 0, 0, -1 }, c, 2 ) ).isNaN();
+		assertThat( Intersection3D.intersectRaySphere( new double[]{ 3, 0, 0 }, new double[]{ 0, 0, 1 }, c, 2 ) ).isNaN();
+
+		double[] spheres = new double[]{ 0, 0, 5, 2, 0, 0, 10, 1, 5, 0, 5, 1 };
+		double[] t = new double[ 3 ];
+		assertThat( Intersection3D.intersectRaySpheres( new double[]{ 0, 0, 0 }, new double[]{ 0, 0, 1 }, spheres, t ) ).isEqualTo( 2 );
+		assertThat( t[ 0 ] ).isEqualTo( 3.0 );
+		assertThat( t[ 1 ] ).isEqualTo( 9.0 );
+		assertThat( t[ 2 ] ).isNaN();
+	}
+
+	@Test
+	void testIntersectRayCylinder() {
+		double[] a = new double[]{ 0, 0, 0 };
+		double[] b = new double[]{ 0, 0, 4 };
+
+		// The cylinder side
+		assertThat( Intersection3D.intersectRayCylinder( new double[]{ -5, 0, 2 }, new double[]{ 1, 0, 0 }, a, b, 1 ) ).isCloseTo( 4.0, within( 1e-12 ) );
+		// The cylinder caps
+		assertThat( Intersection3D.intersectRayCylinder( new double[]{ 0.5, 0, 10 }, new double[]{ 0, 0, -1 }, a, b, 1 ) ).isCloseTo( 6.0, within( 1e-12 ) );
+		assertThat( Intersection3D.intersectRayCylinder( new double[]{ 0.5, 0, -2 }, new double[]{ 0, 0, 1 }, a, b, 1 ) ).isCloseTo( 2.0, within( 1e-12 ) );
+		// The ray origin is inside the cylinder
+		assertThat( Intersection3D.intersectRayCylinder( new double[]{ 0, 0, 2 }, new double[]{ 0, 1, 0 }, a, b, 1 ) ).isCloseTo( 1.0, within( 1e-12 ) );
+
+		// Misses
+		assertThat( Intersection3D.intersectRayCylinder( new double[]{ -5, 0, 5 }, new double[]{ 1, 0, 0 }, a, b, 1 ) ).isNaN();
+		assertThat( Intersection3D.intersectRayCylinder( new double[]{ 2, 0, 10 }, new double[]{ 0, 0, -1 }, a, b, 1 ) ).isNaN();
+		assertThat( Intersection3D.intersectRayCylinder( new double[]{ -5, 0, 2 }, new double[]{ -1, 0, 0 }, a, b, 1 ) ).isNaN();
+
+		double[] cylinders = new double[]{ 0, 0, 0, 0, 0, 4, 1, 0, 5, 0, 0, 5, 4, 1 };
+		double[] t = new double[ 2 ];
+		assertThat( Intersection3D.intersectRayCylinders( new double[]{ -5, 0, 2 }, new double[]{ 1, 0, 0 }, cylinders, t ) ).isEqualTo( 1 );
+		assertThat( t[ 0 ] ).isCloseTo( 4.0, within( 1e-12 ) );
+		assertThat( t[ 1 ] ).isNaN();
+	}
+
 }
@@ -0,0 +1,62 @@
+package com.avereon.curve.math;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class IntersectionBufferTest {
+
+	@Test
+	void testAddAndGrow() {
+		IntersectionBuffer buffer = new IntersectionBuffer( 1 );
+		assertThat( buffer.isEmpty() ).isTrue();
+
+		buffer.add( 3, 1, 2, 0.1, 0.2 );
+		buffer.add( 5, 3, 4, 0.3, 0.4 );
+		buffer.add( 7, 5, 6, 0.5, 0.6 );
+
+		assertThat( buffer.size() ).isEqualTo( 3 );
+		assertThat( buffer.getTarget( 0 ) ).isEqualTo( 3 );
+		assertThat( buffer.getTarget( 2 ) ).isEqualTo( 7 );
+		assertThat( buffer.getX( 1 ) ).isEqualTo( 3 );
+		assertThat( buffer.getY( 1 ) ).isEqualTo( 4 );
+		assertThat( buffer.getSourceParameter( 1 ) ).isEqualTo( 0.3 );
+		assertThat( buffer.getTargetParameter( 2 ) ).isEqualTo( 0.6 );
+		assertThat( buffer.getPoint( 2 ) ).isEqualTo( Point.of( 5, 6 ) );
+		assertThat( buffer.getPoints() ).isEqualTo( new double[][]{ Point.of( 1, 2 ), Point.of( 3, 4 ), Point.of( 5, 6 ) } );
+	}
+
+	@Test
+	void testAddAll() {
+		IntersectionBuffer a = new IntersectionBuffer( 1 );
+		a.add( 1, 2, 3, 4, 0.1, 0.2 );
+		IntersectionBuffer b = new IntersectionBuffer( 1 );
+		b.add( 5, 6, 7, 8, 0.3, 0.4 );
+		b.add( 9, 10, 11, 12, 0.5, 0.6 );
+
+		a.addAll( b );
+		assertThat( a.size() ).isEqualTo( 3 );
+		assertThat( a.getSource( 0 ) ).isEqualTo( 1 );
+		assertThat( a.getSource( 2 ) ).isEqualTo( 9 );
+		assertThat( a.getTarget( 1 ) ).isEqualTo( 6 );
+		assertThat( a.getPoint( 2 ) ).isEqualTo( Point.of( 11, 12 ) );
+		assertThat( a.getSourceParameter( 2 ) ).isEqualTo( 0.5 );
+		assertThat( a.getTargetParameter( 0 ) ).isEqualTo( 0.2 );
+	}
+
+	@Test
+	void testClear() {
+		IntersectionBuffer buffer = new IntersectionBuffer();
+		buffer.add( 0, 1, 2, 0, 0 );
+		buffer.clear();
+
+		assertThat( buffer.size() ).isEqualTo( 0 );
+		assertThat( buffer.isEmpty() ).isTrue();
+		try {
+			buffer.getX( 0 );
+			fail();
+		} catch( IndexOutOfBoundsException ignored ) {}
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.avereon.curve.math;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class IntersectionResultTest {
+
+	@Test
+	void testAddAndGrow() {
+		IntersectionResult result = new IntersectionResult();
+		assertThat( result.getType() ).isEqualTo( Intersection.Type.NONE );
+		assertThat( result.isEmpty() ).isTrue();
+
+		for( int index = 0; index < 12; index++ ) {
+			result.add( index, 2 * index, index, -index );
+		}
+		result.set( Intersection.Type.INTERSECTION );
+
+		assertThat( result.size() ).isEqualTo( 12 );
+		assertThat( result.getX( 11 ) ).isEqualTo( 11 );
+		assertThat( result.getY( 11 ) ).isEqualTo( 22 );
+		assertThat( result.getZ( 11 ) ).isEqualTo( 0 );
+		assertThat( result.getParameterA( 11 ) ).isEqualTo( 11 );
+		assertThat( result.getParameterB( 11 ) ).isEqualTo( -11 );
+		assertThat( result.getPoint( 3 ) ).isEqualTo( Point.of( 3, 6 ) );
+		assertThat( result.getPoints().length ).isEqualTo( 12 );
+	}
+
+	@Test
+	void testReset() {
+		IntersectionResult result = new IntersectionResult();
+		result.add( 1, 2, 0, 0 );
+		result.set( Intersection.Type.INTERSECTION );
+
+		assertThat( result.reset() ).isSameAs( result );
+		assertThat( result.getType() ).isEqualTo( Intersection.Type.NONE );
+		assertThat( result.size() ).isEqualTo( 0 );
+
+		try {
+			result.getX( 0 );
+			fail();
+		} catch( IndexOutOfBoundsException ignored ) {}
+	}
+
+	@Test
+	void testToIntersection2D() {
+		IntersectionResult result = new IntersectionResult();
+		result.add( 1, 2, 0, 0 );
+		result.add( 3, 4, 0, 0 );
+		result.set( Intersection.Type.INTERSECTION );
+
+		assertThat( result.toIntersection2D() ).isEqualTo( new Intersection2D( Intersection.Type.INTERSECTION, Point.of( 1, 2 ), Point.of( 3, 4 ) ) );
+		assertThat( result.reset().toIntersection2D() ).isEqualTo( new Intersection2D( Intersection.Type.NONE ) );
+	}
+
+}
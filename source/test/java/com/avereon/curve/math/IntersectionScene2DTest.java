@@ -0,0 +1,107 @@
+package com.avereon.curve.math;
+
+import com.avereon.curve.assertion.VectorAssert;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class IntersectionScene2DTest {
+
+	@Test
+	void testIntersectLines() {
+		IntersectionScene2D scene = new IntersectionScene2D();
+		scene.addLine( Point.of( 0, 0 ), Point.of( 2, 2 ) );
+		scene.addLine( Point.of( 0, 2 ), Point.of( 2, 0 ) );
+		scene.addLine( Point.of( 3, 0 ), Point.of( 3, 2 ) );
+
+		IntersectionBuffer result = scene.intersect();
+		assertThat( result.size() ).isEqualTo( 1 );
+		assertThat( result.getSource( 0 ) ).isEqualTo( 0 );
+		assertThat( result.getTarget( 0 ) ).isEqualTo( 1 );
+		VectorAssert.assertThat( result.getPoint( 0 ) ).isCloseTo( Point.of( 1, 1 ) );
+	}
+
+	@Test
+	void testIntersectLineEllipseAsSegment() {
+		IntersectionScene2D scene = new IntersectionScene2D();
+		scene.addEllipse( Point.of( 0, 0 ), 2, 1, 0 );
+		// Only the end of this segment reaches the ellipse
+		scene.addLine( Point.of( 0, 0 ), Point.of( 4, 0 ) );
+
+		IntersectionBuffer result = scene.intersect();
+		assertThat( result.size() ).isEqualTo( 1 );
+		assertThat( result.getSource( 0 ) ).isEqualTo( 0 );
+		assertThat( result.getTarget( 0 ) ).isEqualTo( 1 );
+		VectorAssert.assertThat( result.getPoint( 0 ) ).isCloseTo( Point.of( 2, 0 ) );
+
+		// The parameters follow the source and target order
+		assertThat( result.getSourceParameter( 0 ) ).isCloseTo( 0.0, within( 1e-12 ) );
+		assertThat( result.getTargetParameter( 0 ) ).isCloseTo( 0.5, within( 1e-12 ) );
+	}
+
+	@Test
+	void testIntersectLineArc() {
+		IntersectionScene2D scene = new IntersectionScene2D();
+		// The upper half of a circle
+		scene.addArc( Point.of( 0, 0 ), 1, 1, 0, 0, Constants.HALF_CIRCLE );
+		scene.addLine( Point.of( 0, -2 ), Point.of( 0, 2 ) );
+		// The lower half of a circle, with a negative extent
+		scene.addArc( Point.of( 0, 0 ), 1, 1, 0, 0, -Constants.HALF_CIRCLE );
+
+		// The arcs are on the same circle so only the line crossings are found
+		IntersectionBuffer result = scene.intersect();
+		assertThat( result.size() ).isEqualTo( 2 );
+		assertThat( result.getSource( 0 ) ).isEqualTo( 0 );
+		assertThat( result.getTarget( 0 ) ).isEqualTo( 1 );
+		VectorAssert.assertThat( result.getPoint( 0 ) ).isCloseTo( Point.of( 0, 1 ) );
+		assertThat( result.getSource( 1 ) ).isEqualTo( 1 );
+		assertThat( result.getTarget( 1 ) ).isEqualTo( 2 );
+		VectorAssert.assertThat( result.getPoint( 1 ) ).isCloseTo( Point.of( 0, -1 ) );
+	}
+
+	@Test
+	void testIntersectLineBezier3() {
+		IntersectionScene2D scene = new IntersectionScene2D();
+		scene.addBezier3( Point.of( 0, 0 ), Point.of( 0, 1 ), Point.of( 1, 1 ), Point.of( 1, 0 ) );
+		scene.addLine( Point.of( 0, 0.5 ), Point.of( 0.5, 0.5 ) );
+
+		IntersectionBuffer result = scene.intersect();
+		assertThat( result.size() ).isEqualTo( 1 );
+		VectorAssert.assertThat( result.getPoint( 0 ) ).isCloseTo( Point.of( 0.11509982054024945, 0.5 ) );
+	}
+
+	@Test
+	void testIntersectWithPool() {
+		// A grid of horizontal and vertical lines
+		int count = 50;
+		IntersectionScene2D scene = new IntersectionScene2D();
+		for( int index = 0; index < count; index++ ) {
+			scene.addLine( Point.of( index + 0.5, -1 ), Point.of( index + 0.5, count + 1 ) );
+			scene.addLine( Point.of( -1, index + 0.5 ), Point.of( count + 1, index + 0.5 ) );
+		}
+
+		ForkJoinPool pool = new ForkJoinPool( 4 );
+		try {
+			IntersectionBuffer result = scene.intersect( pool );
+			assertThat( result.size() ).isEqualTo( count * count );
+			for( int index = 0; index < result.size(); index++ ) {
+				assertThat( result.getSource( index ) ).isLessThan( result.getTarget( index ) );
+				assertThat( scene.getShape( result.getSource( index ) ) ).isEqualTo( IntersectionScene2D.Shape.LINE );
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void testIntersectEmpty() {
+		IntersectionScene2D scene = new IntersectionScene2D();
+		assertThat( scene.intersect().size() ).isEqualTo( 0 );
+		scene.addEllipse( Point.of( 0, 0 ), 1, 1, 0 );
+		assertThat( scene.intersect().size() ).isEqualTo( 0 );
+	}
+
+}
@@ -0,0 +1,153 @@
+package com.avereon.curve.math;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class LUDecompositionTest {
+
+	@Test
+	void testSolve() {
+		LUDecomposition lu = Matrix.lu( new double[][]{ { 2, 1, -1 }, { -3, -1, 2 }, { -2, 1, 2 } } );
+
+		double[] x = lu.solve( new double[]{ 8, -11, -3 } );
+		assertThat( x ).containsExactly( new double[]{ 2, 3, -1 }, Offset.offset( 1e-12 ) );
+
+		// The same decomposition solves another right-hand side
+		x = lu.solve( new double[]{ 3, 7, -2 } );
+		assertThat( x ).containsExactly( new double[]{ 35, -22, 45 }, Offset.offset( 1e-12 ) );
+	}
+
+	@Test
+	void testSolveInto() {
+		LUDecomposition lu = Matrix.lu( new double[]{ 2, 1, -1, -3, -1, 2, -2, 1, 2 }, 3 );
+
+		double[] b = new double[]{ 8, -11, -3 };
+		double[] x = new double[ 3 ];
+		assertThat( lu.solveInto( b, x ) ).isSameAs( x );
+		assertThat( x ).containsExactly( new double[]{ 2, 3, -1 }, Offset.offset( 1e-12 ) );
+		assertThat( b ).containsExactly( 8, -11, -3 );
+
+		// Solve in place
+		assertThat( lu.solveInto( b, b ) ).isSameAs( b );
+		assertThat( b ).containsExactly( new double[]{ 2, 3, -1 }, Offset.offset( 1e-12 ) );
+	}
+
+	@Test
+	void testSolveIntoWithManyColumns() {
+		LUDecomposition lu = Matrix.lu( new double[][]{ { 2, 1, -1 }, { -3, -1, 2 }, { -2, 1, 2 } } );
+
+		double[] b = new double[]{ 8, 3, -11, 7, -3, -2 };
+		double[] x = lu.solveInto( b, new double[ 6 ], 2 );
+		assertThat( x ).containsExactly( new double[]{ 2, 35, 3, -22, -1, 45 }, Offset.offset( 1e-12 ) );
+	}
+
+	@Test
+	void testDeterminant() {
+		assertThat( Matrix.lu( new double[][]{ { 1, 2 }, { 3, 4 } } ).determinant() ).isEqualTo( -2, Offset.offset( 1e-12 ) );
+		assertThat( Matrix.lu( new double[][]{ { 0, 1 }, { 1, 0 } } ).determinant() ).isEqualTo( -1.0 );
+		assertThat( Matrix.lu( new double[][]{ { 2, 0, 0 }, { 0, 3, 0 }, { 0, 0, 4 } } ).determinant() ).isEqualTo( 24.0 );
+	}
+
+	@Test
+	void testInverse() {
+		LUDecomposition lu = Matrix.lu( new double[][]{ { 4, 7 }, { 2, 6 } } );
+		assertThat( lu.inverse() ).containsExactly( new double[]{ 0.6, -0.7, -0.2, 0.4 }, Offset.offset( 1e-12 ) );
+	}
+
+	@Test
+	void testDecompose() {
+		Random random = new Random( 17 );
+		int n = 20;
+		double[] matrix = new double[ n * n ];
+		double[] b = new double[ n ];
+		double[] x = new double[ n ];
+		LUDecomposition lu = null;
+		for( int trial = 0; trial < 5; trial++ ) {
+			for( int index = 0; index < matrix.length; index++ ) {
+				matrix[ index ] = random.nextDouble() - 0.5;
+			}
+			for( int index = 0; index < n; index++ ) {
+				b[ index ] = random.nextDouble();
+			}
+			lu = lu == null ? Matrix.lu( matrix, n ) : lu.decompose( matrix );
+			lu.solveInto( b, x );
+
+			// Check the residual
+			for( int row = 0; row < n; row++ ) {
+				double sum = 0;
+				for( int column = 0; column < n; column++ ) {
+					sum += matrix[ row * n + column ] * x[ column ];
+				}
+				assertThat( sum ).isEqualTo( b[ row ], Offset.offset( 1e-10 ) );
+			}
+		}
+	}
+
+	@Test
+	void testBlockedDecompose() {
+		Random random = new Random( 19 );
+		int n = 150;
+		double[] matrix = new double[ n * n ];
+		for( int index = 0; index < matrix.length; index++ ) {
+			matrix[ index ] = random.nextDouble() - 0.5;
+		}
+		double[] b = new double[ n ];
+		for( int index = 0; index < n; index++ ) {
+			b[ index ] = random.nextDouble();
+		}
+
+		LUDecomposition expected = Matrix.lu( matrix, n );
+		double[] x = expected.solve( b );
+
+		ForkJoinPool pool = new ForkJoinPool( 4 );
+		try {
+			// Block sizes that divide the matrix, do not divide it, and are larger than it
+			for( int blockSize : new int[]{ 1, 10, 16, LUDecomposition.DEFAULT_BLOCK_SIZE, 200 } ) {
+				LUDecomposition blocked = Matrix.lu( matrix, n, pool, blockSize );
+				assertThat( blocked.determinant() ).isCloseTo( expected.determinant(), Offset.offset( 1e-9 * Math.abs( expected.determinant() ) ) );
+				assertThat( blocked.solve( b ) ).containsExactly( x, Offset.offset( 1e-9 ) );
+			}
+
+			// Without a pool the update runs in the calling thread
+			LUDecomposition serial = new LUDecomposition( matrix, n, null, 16 );
+			assertThat( serial.solve( b ) ).containsExactly( x, Offset.offset( 1e-9 ) );
+		} finally {
+			pool.shutdown();
+		}
+
+		try {
+			expected.decompose( matrix, null, 0 );
+			fail();
+		} catch( IllegalArgumentException ignored ) {}
+	}
+
+	@Test
+	void testBlockedSingular() {
+		double[] matrix = new double[]{ 1, 2, 3, 2, 4, 6, 1, 0, 1 };
+		assertThat( Matrix.lu( matrix, 3, ForkJoinPool.commonPool(), 1 ).isSingular() ).isTrue();
+	}
+
+	@Test
+	void testSingular() {
+		LUDecomposition lu = Matrix.lu( new double[][]{ { 1, 2 }, { 2, 4 } } );
+		assertThat( lu.isSingular() ).isTrue();
+		assertThat( lu.determinant() ).isEqualTo( 0.0 );
+
+		try {
+			lu.solve( new double[]{ 1, 2 } );
+			fail();
+		} catch( ArithmeticException ignored ) {}
+
+		try {
+			Matrix.lu( new double[][]{ { 1, 2 }, { 3 } } );
+			fail();
+		} catch( IllegalArgumentException ignored ) {}
+	}
+
+}
@@ -74,4 +74,52 @@ public class MatrixTest {
 		assertThat( matrix[ 0 ][ 3 ] ).isEqualTo( 30, Offset.offset( 1E-12 ) );
 	}
 
+	@Test
+	public void testSolveTridiagonal() {
+		// The natural spline system for four unit spaced points
+		double[] a = { 0, 1, 1, 1 };
+		double[] b = { 2, 4, 4, 2 };
+		double[] c = { 1, 1, 1, 0 };
+		double[] d = { 3, 6, 6, 3 };
+
+		double[] x = Matrix.solveTridiagonal( a, b, c, d );
+		assertThat( x ).containsExactly( new double[]{ 1, 1, 1, 1 }, Offset.offset( 1e-12 ) );
+
+		// Solve in place
+		double[] rhs = { 4, 12, 18, 11 };
+		Matrix.solveTridiagonal( a, b, c, rhs, rhs, new double[ 4 ] );
+		assertThat( rhs ).containsExactly( new double[]{ 1, 2, 3, 4 }, Offset.offset( 1e-12 ) );
+	}
+
+	@Test
+	public void testSolveCyclicTridiagonal() {
+		int n = 7;
+		double[] a = new double[ n ];
+		double[] b = new double[ n ];
+		double[] c = new double[ n ];
+		double[] expected = new double[ n ];
+		for( int i = 0; i < n; i++ ) {
+			a[ i ] = 1 + 0.1 * i;
+			b[ i ] = 4 + i;
+			c[ i ] = 1 - 0.05 * i;
+			expected[ i ] = i - 2.5;
+		}
+
+		// Multiply with the wrapped rows to get the right-hand side
+		double[] d = new double[ n ];
+		for( int i = 0; i < n; i++ ) {
+			d[ i ] = a[ i ] * expected[ (i + n - 1) % n ] + b[ i ] * expected[ i ] + c[ i ] * expected[ (i + 1) % n ];
+		}
+
+		assertThat( Matrix.solveCyclicTridiagonal( a, b, c, d ) ).containsExactly( expected, Offset.offset( 1e-12 ) );
+	}
+
+	@Test
+	public void testLuBanded() {
+		// A matrix with one sub-diagonal and two super-diagonals
+		double[] band = { 0, 2, 1, -1, 3, 5, 1, 2, 1, 4, 2, 0, 2, 6, 0, 0 };
+		BandedLUDecomposition lu = Matrix.luBanded( band, 4, 1, 2 );
+		assertThat( lu.solve( new double[]{ 1, 24, 22, 30 } ) ).containsExactly( new double[]{ 1, 2, 3, 4 }, Offset.offset( 1e-12 ) );
+	}
+
 }
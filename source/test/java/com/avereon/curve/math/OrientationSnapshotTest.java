@@ -0,0 +1,111 @@
+package com.avereon.curve.math;
+
+import com.avereon.curve.assertion.VectorAssert;
+import org.junit.jupiter.api.Test;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrientationSnapshotTest {
+
+	@Test
+	void testSnapshot() {
+		double[] origin = Vector.of( 1, 2, 3 );
+		Orientation orientation = new Orientation( origin, Vector.of( 4, 5, 6 ), Vector.of( 7, 8, 9 ) );
+		OrientationSnapshot snapshot = orientation.snapshot();
+
+		assertThat( snapshot.getOrigin() ).isEqualTo( origin );
+		assertThat( snapshot.getNormal() ).isEqualTo( Vector.of( 4, 5, 6 ) );
+		assertThat( snapshot.getRotate() ).isEqualTo( Vector.of( 7, 8, 9 ) );
+		assertThat( snapshot.getLocalToWorldTransform() ).isEqualTo( orientation.getLocalToWorldTransform() );
+		assertThat( snapshot.getWorldToLocalTransform() ).isEqualTo( orientation.getWorldToLocalTransform() );
+		assertThat( snapshot.toOrientation() ).isEqualTo( orientation );
+
+		// Later changes to the orientation or its arrays do not change the snapshot
+		origin[ 0 ] = 10;
+		orientation.setOrigin( Vector.of( 5, 5, 5 ) );
+		assertThat( snapshot.getOrigin() ).isEqualTo( Vector.of( 1, 2, 3 ) );
+
+		// Getters return copies
+		snapshot.getNormal()[ 0 ] = 100;
+		assertThat( snapshot.getNormal( new double[ 3 ] ) ).isEqualTo( Vector.of( 4, 5, 6 ) );
+	}
+
+	@Test
+	void testToWorldAndToLocal() {
+		OrientationSnapshot snapshot = new OrientationSnapshot( Vector.of( 1, 2, 3 ), Vector.of( 4, 5, 6 ), Vector.of( 7, 8, 9 ) );
+		double[] point = Vector.of( -1, 0.5, 2 );
+		double[] result = new double[ 3 ];
+
+		VectorAssert.assertThat( snapshot.toWorld( point, result ) ).isCloseTo( snapshot.getLocalToWorldTransform().apply( point ), 1e-14 );
+		VectorAssert.assertThat( snapshot.toLocal( point, result ) ).isCloseTo( snapshot.getWorldToLocalTransform().apply( point ), 1e-14 );
+
+		// Round trip in place
+		double[] value = Vector.of( point );
+		snapshot.toLocal( snapshot.toWorld( value, value ), value );
+		VectorAssert.assertThat( value ).isCloseTo( point, 1e-14 );
+	}
+
+	@Test
+	void testMatrices() {
+		Orientation orientation = new Orientation( Vector.of( 1, 2, 3 ), Vector.of( 4, 5, 6 ), Vector.of( 7, 8, 9 ) );
+		OrientationSnapshot snapshot = orientation.snapshot();
+		Transform world = orientation.getLocalToWorldTransform();
+		Transform local = orientation.getWorldToLocalTransform();
+
+		assertThat( snapshot.getLocalToWorldMatrix( new double[ 18 ], 2 ) ).endsWith( world.toArray( new double[ 16 ], 0 ) );
+		assertThat( snapshot.getWorldToLocalMatrix( new double[ 16 ], 0 ) ).containsExactly( local.toArray( new double[ 16 ], 0 ) );
+		assertThat( snapshot.getLocalToWorldMatrix( DoubleBuffer.allocate( 16 ) ).array() ).containsExactly( world.getMatrix().array() );
+		assertThat( snapshot.getWorldToLocalMatrix( DoubleBuffer.allocate( 16 ) ).array() ).containsExactly( local.getMatrix().array() );
+
+		// Changing a returned transform does not change the snapshot
+		snapshot.getLocalToWorldTransform().getMatrixArray()[ 0 ][ 3 ] = 100;
+		assertThat( snapshot.getLocalToWorldTransform() ).isEqualTo( world );
+	}
+
+	@Test
+	void testConcurrentReaders() throws Exception {
+		OrientationSnapshot snapshot = new OrientationSnapshot( Vector.of( 1, 2, 3 ), Vector.of( 4, 5, 6 ), Vector.of( 7, 8, 9 ) );
+		double[] expected = snapshot.getLocalToWorldTransform().getMatrix().array();
+
+		// Each reader reads the whole matrix through relative gets
+		Callable<Boolean> reader = () -> {
+			DoubleBuffer buffer = DoubleBuffer.allocate( 16 );
+			for( int iteration = 0; iteration < 10000; iteration++ ) {
+				DoubleBuffer matrix = snapshot.getLocalToWorldTransform().getMatrix();
+				for( int index = 0; index < 16; index++ ) {
+					if( matrix.get() != expected[ index ] ) return false;
+				}
+				snapshot.getLocalToWorldMatrix( buffer.clear() );
+				if( !Arrays.equals( buffer.array(), expected ) ) return false;
+			}
+			return true;
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool( 2 );
+		try {
+			Future<Boolean> a = executor.submit( reader );
+			Future<Boolean> b = executor.submit( reader );
+			assertThat( a.get() ).isTrue();
+			assertThat( b.get() ).isTrue();
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void testEquals() {
+		OrientationSnapshot a = new OrientationSnapshot( Vector.of( 1, 2, 3 ), Vector.UNIT_Z, Vector.UNIT_Y );
+		OrientationSnapshot b = new Orientation( Vector.of( 1, 2, 3 ) ).snapshot();
+		assertThat( a ).isEqualTo( b );
+		assertThat( a.hashCode() ).isEqualTo( b.hashCode() );
+		assertThat( a ).isNotEqualTo( new Orientation().snapshot() );
+	}
+
+}
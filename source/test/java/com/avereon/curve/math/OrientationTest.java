@@ -188,6 +188,49 @@ public class OrientationTest {
 		assertThat( orientation3.hashCode() ).isEqualTo( orientation4.hashCode() );
 	}
 
+	@Test
+	void testRotationAnglesFollowChanges() {
+		Orientation orientation = new Orientation();
+		assertThat( orientation.getXRotation() ).isEqualTo( 0.0 );
+
+		orientation.setPose( Vector.of( 0, 1, 0 ), Vector.of( 0, 0, 1 ) );
+		assertThat( orientation.getXRotation() ).isEqualTo( PI_OVER_2 );
+		assertThat( orientation.getZRotation() ).isEqualTo( Math.PI );
+
+		// Moving the origin keeps the angles
+		orientation.transformOrigin( Transform.translation( 1, 2, 3 ) );
+		assertThat( orientation.getXRotation() ).isEqualTo( PI_OVER_2 );
+
+		orientation.set( new Orientation() );
+		assertThat( orientation.getXRotation() ).isEqualTo( 0.0 );
+		assertThat( orientation.getZRotation() ).isEqualTo( 0.0 );
+	}
+
+	@Test
+	void testGetRotation() {
+		Orientation orientation = new Orientation( Vector.of( 1, 2, 3 ), Vector.of( 4, 5, 6 ), Vector.of( 7, 8, 9 ) );
+		double[] rotation = orientation.getRotation();
+		Transform transform = Quaternion.toTransform( rotation, orientation.getOrigin() );
+		double[] point = Vector.of( 1, -2, 0.5 );
+		VectorAssert.assertThat( transform.apply( point ) ).isCloseTo( orientation.getLocalToWorldTransform().apply( point ), 1e-14 );
+	}
+
+	@Test
+	void testSetRotation() {
+		Orientation orientation = new Orientation( Vector.of( 1, 2, 3 ) );
+		orientation.setRotation( Quaternion.xrotation( -PI_OVER_2 ) );
+		assertOrientationValues( orientation, Vector.of( 1, 2, 3 ), Vector.of( 0, 1, 0 ), Vector.of( 0, 0, -1 ), 1e-15 );
+	}
+
+	@Test
+	void testRotate() {
+		Orientation orientation = new Orientation( Vector.of( 1, 2, 3 ), Vector.of( 4, 5, 6 ), Vector.of( 7, 8, 9 ) );
+		Orientation expected = orientation.clone();
+		orientation.rotate( Quaternion.rotation( Vector.of( 1, 0, 0 ), PI_OVER_2 ) );
+		expected.transformAxes( Transform.rotation( Vector.of( 1, 0, 0 ), PI_OVER_2 ) );
+		assertEquals( expected, orientation, 1e-14 );
+	}
+
 	public static void assertEquals( Orientation expected, Orientation actual ) {
 		assertEquals( expected, actual, 0.0 );
 	}
@@ -0,0 +1,83 @@
+package com.avereon.curve.math;
+
+import com.avereon.curve.assertion.VectorArrayAssert;
+import com.avereon.curve.assertion.VectorAssert;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PointAccumulatorTest {
+
+	@Test
+	void testEmpty() {
+		PointAccumulator accumulator = new PointAccumulator();
+		assertThat( accumulator.isEmpty() ).isTrue();
+		assertThat( accumulator.getCount() ).isEqualTo( 0 );
+		assertThat( accumulator.getLength() ).isNaN();
+		assertThat( accumulator.getArea() ).isEqualTo( 0.0 );
+		assertThat( accumulator.getCentroid()[ 0 ] ).isNaN();
+		VectorArrayAssert.assertThat( accumulator.getBounds() ).areCloseTo( Vector.of(), Vector.of() );
+	}
+
+	@Test
+	void testSquare() {
+		PointAccumulator accumulator = new PointAccumulator();
+		accumulator.add( 0, 0, 0 ).add( 2, 0, 1 ).add( Vector.of( 2, 2, 0 ) ).add( new double[]{ 0, 2, -1 } );
+
+		assertThat( accumulator.getCount() ).isEqualTo( 4 );
+		assertThat( accumulator.getArea() ).isEqualTo( 4.0 );
+		VectorAssert.assertThat( accumulator.getCentroid() ).isCloseTo( Vector.of( 1, 1, 0 ) );
+		VectorArrayAssert.assertThat( accumulator.getBounds() ).areCloseTo( Vector.of( 0, 0, -1 ), Vector.of( 2, 2, 1 ) );
+		assertThat( accumulator.getLength() ).isCloseTo( 3 * Math.sqrt( 5 ), Offset.offset( 1e-15 ) );
+
+		// Clockwise points have a negative area
+		accumulator.clear().add( Vector.of( 0, 0 ), Vector.of( 0, 2 ), Vector.of( 2, 2 ), Vector.of( 2, 0 ) );
+		assertThat( accumulator.getCount() ).isEqualTo( 4 );
+		assertThat( accumulator.getArea() ).isEqualTo( -4.0 );
+		assertThat( accumulator.getLength() ).isEqualTo( 6.0 );
+	}
+
+	@Test
+	void testMatchesGeometry() {
+		double[][] points = randomPoints( 1000 );
+		PointAccumulator accumulator = new PointAccumulator().add( points );
+		assertThat( accumulator.getLength() ).isCloseTo( Geometry.length( points ), Offset.offset( 1e-9 ) );
+		assertThat( accumulator.getBounds() ).isEqualTo( Geometry.bounds( points ) );
+	}
+
+	@Test
+	void testMerge() {
+		double[][] points = randomPoints( 1000 );
+		double[] coordinates = new double[ 3 * points.length ];
+		for( int index = 0; index < points.length; index++ ) {
+			System.arraycopy( points[ index ], 0, coordinates, 3 * index, 3 );
+		}
+		PointAccumulator expected = new PointAccumulator().add( coordinates, 0, points.length );
+
+		// Uneven chunks including an empty one
+		PointAccumulator merged = new PointAccumulator();
+		int[] splits = new int[]{ 0, 0, 1, 250, 251, 700, 1000 };
+		for( int index = 1; index < splits.length; index++ ) {
+			merged.merge( new PointAccumulator().add( coordinates, 3 * splits[ index - 1 ], splits[ index ] - splits[ index - 1 ] ) );
+		}
+
+		assertThat( merged.getCount() ).isEqualTo( expected.getCount() );
+		assertThat( merged.getLength() ).isCloseTo( expected.getLength(), Offset.offset( 1e-9 ) );
+		assertThat( merged.getArea() ).isCloseTo( expected.getArea(), Offset.offset( 1e-9 ) );
+		VectorAssert.assertThat( merged.getCentroid() ).isCloseTo( expected.getCentroid(), 1e-12 );
+		assertThat( merged.getBounds() ).isEqualTo( expected.getBounds() );
+	}
+
+	private static double[][] randomPoints( int count ) {
+		Random random = new Random( 17 );
+		double[][] points = new double[ count ][];
+		for( int index = 0; index < count; index++ ) {
+			points[ index ] = Vector.of( 10 * random.nextDouble() - 5, 10 * random.nextDouble() - 5, 10 * random.nextDouble() - 5 );
+		}
+		return points;
+	}
+
+}
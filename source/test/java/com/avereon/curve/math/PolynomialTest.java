@@ -204,6 +204,52 @@ public class PolynomialTest {
 		assertThat( roots.length ).isEqualTo( 3 );
 	}
 
+	@Test
+	void testGetRootsWithoutAllocation() {
+		double[] roots = new double[ 3 ];
+		assertThat( Polynomial.getRoots( 1, 0, -1, 0, roots ) ).isEqualTo( 3 );
+		assertThat( new double[]{ roots[ 0 ], roots[ 1 ], roots[ 2 ] } ).isEqualTo( new Polynomial( 1, 0, -1, 0 ).getRoots() );
+
+		// Leading zero coefficients reduce the degree
+		assertThat( Polynomial.getRoots( 0, 1, 0, -1, roots ) ).isEqualTo( 2 );
+		assertThat( new double[]{ roots[ 0 ], roots[ 1 ] } ).isEqualTo( new double[]{ -1, 1 } );
+		assertThat( Polynomial.getRoots( 0, 0, 2, -1, roots ) ).isEqualTo( 1 );
+		assertThat( roots[ 0 ] ).isEqualTo( 0.5 );
+		assertThat( Polynomial.getRoots( 0, 0, 0, 1, roots ) ).isEqualTo( 0 );
+		assertThat( Polynomial.getRoots( 1, 0, 1, 1, roots ) ).isEqualTo( 1 );
+	}
+
+	@Test
+	void testGetRootsQuarticWithoutAllocation() {
+		double[] roots = new double[ 4 ];
+		assertThat( Polynomial.getRoots( 3, 6, -123, -126, 1080, roots ) ).isEqualTo( 4 );
+		assertThat( roots ).isEqualTo( new Polynomial( 3, 6, -123, -126, 1080 ).getRoots() );
+
+		// Leading zero coefficients reduce the degree
+		assertThat( Polynomial.getRoots( 0, 0, 1, 0, -1, roots ) ).isEqualTo( 2 );
+		assertThat( new double[]{ roots[ 0 ], roots[ 1 ] } ).isEqualTo( new double[]{ -1, 1 } );
+		assertThat( Polynomial.getRoots( 1, 0, 0, 0, 1, roots ) ).isEqualTo( 0 );
+	}
+
+	@Test
+	void testGetRootsInIntervalWithoutAllocation() {
+		double[] coefficients = new double[]{ 0, 1, 0, -5, 0, 4, 99 };
+		double[] roots = new double[ 4 ];
+		double[] work = new double[ 25 ];
+
+		// The leading zero is removed and the last coefficient is not used
+		assertThat( Polynomial.getRootsInInterval( coefficients, 5, -3, 3, roots, work ) ).isEqualTo( 4 );
+		assertThat( roots ).isEqualTo( new Polynomial( 1, 0, -5, 0, 4 ).getRootsInInterval( -3, 3 ) );
+		assertThat( roots[ 0 ] ).isCloseTo( -2.0, Offset.offset( 1e-8 ) );
+		assertThat( roots[ 1 ] ).isCloseTo( -1.0, Offset.offset( 1e-8 ) );
+		assertThat( roots[ 2 ] ).isCloseTo( 1.0, Offset.offset( 1e-8 ) );
+		assertThat( roots[ 3 ] ).isCloseTo( 2.0, Offset.offset( 1e-8 ) );
+
+		assertThat( Polynomial.getRootsInInterval( coefficients, 5, 0, 1.5, roots, work ) ).isEqualTo( 1 );
+		assertThat( roots[ 0 ] ).isCloseTo( 1.0, Offset.offset( 1e-8 ) );
+		assertThat( Polynomial.getRootsInInterval( new double[]{ 1, 1 }, 1, 0, 1, roots, work ) ).isEqualTo( 0 );
+	}
+
 	@Test
 	void testGetRootsQuarticWith0Roots() {
 		double[] roots = new Polynomial( 1, 0, 0, 0, 1 ).getRoots();
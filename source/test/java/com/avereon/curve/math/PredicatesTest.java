@@ -0,0 +1,99 @@
+package com.avereon.curve.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PredicatesTest {
+
+	@Test
+	void testOrient2d() {
+		assertThat( Predicates.orient2d( Point.of( 0, 0 ), Point.of( 1, 0 ), Point.of( 1, 1 ) ) ).isEqualTo( 1.0 );
+		assertThat( Predicates.orient2d( Point.of( 0, 0 ), Point.of( 1, 1 ), Point.of( 1, 0 ) ) ).isEqualTo( -1.0 );
+		assertThat( Predicates.orient2d( Point.of( 0, 0 ), Point.of( 1, 1 ), Point.of( 2, 2 ) ) ).isZero();
+	}
+
+	@Test
+	void testOrient2dNearlyCollinear() {
+		// Points near the line y = x, where plain double arithmetic gets the wrong sign
+		double[] b = Point.of( 12, 12 );
+		double[] c = Point.of( 24, 24 );
+		double ulp = Math.ulp( 0.5 );
+		for( int i = 0; i < 64; i++ ) {
+			for( int j = 0; j < 64; j++ ) {
+				double[] a = Point.of( 0.5 + i * ulp, 0.5 + j * ulp );
+				assertThat( Math.signum( Predicates.orient2d( a, b, c ) ) ).isEqualTo( Math.signum( j - i ) );
+			}
+		}
+	}
+
+	@Test
+	void testOrient2dMatchesExact() {
+		Random random = new Random( 5 );
+		for( int index = 0; index < 10000; index++ ) {
+			double[] a = Point.of( random.nextDouble(), random.nextDouble() );
+			double[] b = Point.of( random.nextDouble(), random.nextDouble() );
+			double t = random.nextDouble();
+			// A point on the segment from a to b, rounded to the nearest double
+			double[] c = Point.of( a[ 0 ] + t * (b[ 0 ] - a[ 0 ]), a[ 1 ] + t * (b[ 1 ] - a[ 1 ]) );
+			assertThat( Math.signum( Predicates.orient2d( a, b, c ) ) ).isEqualTo( exactOrient2d( a, b, c ) );
+		}
+	}
+
+	@Test
+	void testOrient3d() {
+		double[] a = Point.of( 0, 0, 0 );
+		double[] b = Point.of( 1, 0, 0 );
+		double[] c = Point.of( 0, 1, 0 );
+		assertThat( Predicates.orient3d( a, b, c, Point.of( 0, 0, -1 ) ) ).isEqualTo( 1.0 );
+		assertThat( Predicates.orient3d( a, b, c, Point.of( 0, 0, 1 ) ) ).isEqualTo( -1.0 );
+		assertThat( Predicates.orient3d( a, b, c, Point.of( 5, 7, 0 ) ) ).isZero();
+	}
+
+	@Test
+	void testOrient3dNearlyCoplanar() {
+		// The plane x + y + z = 1.5 with points that are nearly on it
+		double[] a = Point.of( 1.5, 0, 0 );
+		double[] b = Point.of( 0, 1.5, 0 );
+		double[] c = Point.of( 0, 0, 1.5 );
+		double ulp = Math.ulp( 0.5 );
+		for( int i = -16; i < 16; i++ ) {
+			double[] d = Point.of( 0.5 + i * ulp, 0.5, 0.5 );
+			assertThat( Math.signum( Predicates.orient3d( a, b, c, d ) ) ).isEqualTo( Math.signum( -i ) );
+		}
+	}
+
+	@Test
+	void testIncircle() {
+		double[] a = Point.of( 1, 0 );
+		double[] b = Point.of( 0, 1 );
+		double[] c = Point.of( -1, 0 );
+		assertThat( Predicates.incircle( a, b, c, Point.of( 0, 0 ) ) ).isGreaterThan( 0 );
+		assertThat( Predicates.incircle( a, b, c, Point.of( 2, 0 ) ) ).isLessThan( 0 );
+		assertThat( Predicates.incircle( a, b, c, Point.of( 0, -1 ) ) ).isZero();
+	}
+
+	@Test
+	void testIncircleNearlyCocircular() {
+		double[] a = Point.of( 1, 0 );
+		double[] b = Point.of( 0, 1 );
+		double[] c = Point.of( -1, 0 );
+		double ulp = Math.ulp( 1.0 );
+		for( int i = -16; i < 16; i++ ) {
+			double[] d = Point.of( 0, -1 + i * ulp );
+			assertThat( Math.signum( Predicates.incircle( a, b, c, d ) ) ).isEqualTo( Math.signum( i ) );
+		}
+	}
+
+	private static double exactOrient2d( double[] a, double[] b, double[] c ) {
+		BigDecimal acx = new BigDecimal( a[ 0 ] ).subtract( new BigDecimal( c[ 0 ] ) );
+		BigDecimal bcx = new BigDecimal( b[ 0 ] ).subtract( new BigDecimal( c[ 0 ] ) );
+		BigDecimal acy = new BigDecimal( a[ 1 ] ).subtract( new BigDecimal( c[ 1 ] ) );
+		BigDecimal bcy = new BigDecimal( b[ 1 ] ).subtract( new BigDecimal( c[ 1 ] ) );
+		return acx.multiply( bcy ).subtract( acy.multiply( bcx ) ).signum();
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.avereon.curve.math;
+
+import com.avereon.curve.assertion.VectorAssert;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.avereon.curve.math.Constants.PI_OVER_2;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QuaternionTest {
+
+	@Test
+	void testRotation() {
+		assertThat( Quaternion.rotation( Vector.of(), 1 ) ).containsExactly( 1, 0, 0, 0 );
+		assertThat( Quaternion.rotation( Vector.UNIT_X, 0 ) ).containsExactly( 1, 0, 0, 0 );
+		assertThat( Quaternion.rotation( Vector.of( 0, 0, 2 ), Math.PI ) ).containsExactly( new double[]{ 0, 0, 0, 1 }, Offset.offset( 1e-15 ) );
+		assertThat( Quaternion.angle( Quaternion.rotation( Vector.of( 1, 1, 1 ), 1.25 ) ) ).isEqualTo( 1.25, Offset.offset( 1e-15 ) );
+	}
+
+	@Test
+	void testApplyMatchesTransform() {
+		Random random = new Random( 3 );
+		for( int index = 0; index < 20; index++ ) {
+			double[] axis = Vector.of( random.nextDouble() - 0.5, random.nextDouble() - 0.5, random.nextDouble() - 0.5 );
+			double angle = 4 * (random.nextDouble() - 0.5);
+			double[] v = Vector.of( random.nextDouble(), random.nextDouble(), random.nextDouble() );
+			double[] q = Quaternion.rotation( axis, angle );
+			VectorAssert.assertThat( Quaternion.apply( q, v ) ).isCloseTo( Transform.rotation( axis, angle ).applyDirection( v ), 1e-14 );
+			VectorAssert.assertThat( Quaternion.toTransform( q ).apply( v ) ).isCloseTo( Transform.rotation( axis, angle ).applyDirection( v ), 1e-14 );
+		}
+
+		// Rotate in place
+		double[] v = Vector.of( 1, 0, 0 );
+		assertThat( Quaternion.apply( Quaternion.zrotation( PI_OVER_2 ), v, v ) ).isSameAs( v );
+		VectorAssert.assertThat( v ).isCloseTo( Vector.UNIT_Y, 1e-15 );
+	}
+
+	@Test
+	void testMultiply() {
+		double[] a = Quaternion.xrotation( 0.3 );
+		double[] b = Quaternion.yrotation( -1.1 );
+		double[] v = Vector.of( 1, 2, 3 );
+
+		// The product rotates by b then a
+		VectorAssert.assertThat( Quaternion.apply( Quaternion.multiply( a, b ), v ) ).isCloseTo( Quaternion.apply( a, Quaternion.apply( b, v ) ), 1e-14 );
+		VectorAssert.assertThat( Quaternion.apply( Quaternion.multiply( a, Quaternion.conjugate( a ) ), v ) ).isCloseTo( v, 1e-14 );
+
+		// Multiply in place
+		double[] c = Quaternion.of( a[ 0 ], a[ 1 ], a[ 2 ], a[ 3 ] );
+		assertThat( Quaternion.multiply( c, b, c ) ).containsExactly( Quaternion.multiply( a, b ), Offset.offset( 0.0 ) );
+	}
+
+	@Test
+	void testTransformConversion() {
+		Random random = new Random( 5 );
+		for( int index = 0; index < 20; index++ ) {
+			double[] axis = Vector.of( random.nextDouble() - 0.5, random.nextDouble() - 0.5, random.nextDouble() - 0.5 );
+			double angle = 6 * (random.nextDouble() - 0.5);
+			double[] q = Quaternion.rotation( axis, angle );
+			double[] r = Quaternion.fromTransform( Transform.rotation( axis, angle ) );
+
+			// Both q and -q are the same rotation
+			assertThat( Math.abs( Quaternion.dot( q, r ) ) ).isEqualTo( 1, Offset.offset( 1e-14 ) );
+		}
+
+		double[] origin = Vector.of( 1, 2, 3 );
+		double[] normal = Vector.of( 4, 5, 6 );
+		double[] rotate = Vector.of( 7, 8, 9 );
+		Transform world = Transform.worldTransform( origin, normal, rotate );
+		Transform transform = Quaternion.toTransform( Quaternion.basis( normal, rotate ), origin );
+		double[] point = Vector.of( -1, 0.5, 2 );
+		VectorAssert.assertThat( transform.apply( point ) ).isCloseTo( world.apply( point ), 1e-14 );
+	}
+
+	@Test
+	void testSlerp() {
+		double[] a = Quaternion.zrotation( 0.2 );
+		double[] b = Quaternion.zrotation( 1.4 );
+		assertThat( Quaternion.slerp( a, b, 0 ) ).containsExactly( a, Offset.offset( 1e-15 ) );
+		assertThat( Quaternion.slerp( a, b, 1 ) ).containsExactly( b, Offset.offset( 1e-15 ) );
+		assertThat( Quaternion.slerp( a, b, 0.25 ) ).containsExactly( Quaternion.zrotation( 0.5 ), Offset.offset( 1e-15 ) );
+
+		// Interpolate the shorter way when the signs differ
+		double[] negative = Quaternion.of( -b[ 0 ], -b[ 1 ], -b[ 2 ], -b[ 3 ] );
+		double[] result = Quaternion.slerp( a, negative, 0.5 );
+		assertThat( Math.abs( Quaternion.dot( result, Quaternion.zrotation( 0.8 ) ) ) ).isEqualTo( 1, Offset.offset( 1e-15 ) );
+
+		// Nearly equal rotations
+		assertThat( Quaternion.magnitude( Quaternion.slerp( a, Quaternion.zrotation( 0.2 + 1e-9 ), 0.5 ) ) ).isEqualTo( 1, Offset.offset( 1e-15 ) );
+	}
+
+}
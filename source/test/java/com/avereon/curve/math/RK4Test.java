@@ -1,11 +1,17 @@
 package com.avereon.curve.math;
 
+import org.assertj.core.data.Offset;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
 
 public class RK4Test {
 
@@ -69,4 +75,140 @@ public class RK4Test {
 		assertThat( u ).isEqualTo( new double[]{ 4.0, 16.0 } );
 	}
 
+	@Test
+	void testNextDoubleWithDoubleUnaryOperator2t() {
+		DoubleUnaryOperator dydt = t -> 2 * t;
+
+		double t = 0;
+		double y = 0;
+
+		y = RK4.nextDouble( t++, y, 1, dydt );
+		assertThat( y ).isEqualTo( 1 );
+		y = RK4.nextDouble( t++, y, 1, dydt );
+		assertThat( y ).isEqualTo( 4 );
+		y = RK4.nextDouble( t++, y, 1, dydt );
+		assertThat( y ).isEqualTo( 9 );
+		y = RK4.nextDouble( t, y, 1, dydt );
+		assertThat( y ).isEqualTo( 16 );
+	}
+
+	@Test
+	void testNextDoubleWithDoubleBinaryOperator2t() {
+		DoubleBinaryOperator dydt = ( t, y ) -> 2 * t + y;
+
+		double t = 0;
+		double y = 0;
+
+		y = RK4.nextDouble( t++, y, 1, dydt );
+		assertThat( y ).isEqualTo( 1.25 );
+		y = RK4.nextDouble( t++, y, 1, dydt );
+		assertThat( y ).isEqualTo( 7.78125 );
+		y = RK4.nextDouble( t++, y, 1, dydt );
+		assertThat( y ).isEqualTo( 28.17578125 );
+		y = RK4.nextDouble( t, y, 1, dydt );
+		assertThat( y ).isEqualTo( 84.96142578125 );
+	}
+
+	@Test
+	void testNextWithInlineLambdas() {
+		assertThat( RK4.next( 0, 0, 1, t -> 2 * t ) ).isEqualTo( 1 );
+		assertThat( RK4.next( 0, 0, 1, ( t, y ) -> 2 * t + y ) ).isEqualTo( 1.25 );
+		assertThat( RK4.nextDouble( 0, 0, 1, t -> 2 * t ) ).isEqualTo( 1 );
+		assertThat( RK4.nextDouble( 0, 0, 1, ( t, y ) -> 2 * t + y ) ).isEqualTo( 1.25 );
+	}
+
+	@Test
+	void testNextWithSystem() {
+		// Polynomials up to the fourth degree are integrated exactly: x(t)=t; y(t)=t^2
+		OdeSystem system = ( t, u, dudt ) -> {
+			dudt[ 0 ] = 1;
+			dudt[ 1 ] = 2 * u[ 0 ];
+		};
+		RK4.Work work = new RK4.Work( 2 );
+
+		double[] u = new double[]{ 0, 0 };
+		double[] v = new double[ 2 ];
+		assertThat( RK4.next( 0, u, 1, system, v, work ) ).isSameAs( v ).containsExactly( 1, 1 );
+		assertThat( RK4.next( 1, v, 1, system, v, work ) ).containsExactly( 2, 4 );
+
+		try {
+			RK4.next( 0, u, 1, system, v, new RK4.Work( 3 ) );
+			fail();
+		} catch( IllegalArgumentException ignored ) {}
+	}
+
+	@Test
+	void testIntegrateSystem() {
+		// Harmonic oscillator: x'' = -x, x(t)=cos(t)
+		OdeSystem system = ( t, u, dudt ) -> {
+			dudt[ 0 ] = u[ 1 ];
+			dudt[ 1 ] = -u[ 0 ];
+		};
+		RK4.Work work = new RK4.Work( 2 );
+
+		double[] u = new double[]{ 1, 0 };
+		double t = RK4.integrate( system, 0, u, 0.001, 1000, work );
+		assertThat( t ).isEqualTo( 1, Offset.offset( 1e-12 ) );
+		assertThat( u ).containsExactly( new double[]{ Math.cos( 1 ), -Math.sin( 1 ) }, Offset.offset( 1e-12 ) );
+
+		// The trajectory stores the initial state and the state after each step
+		u = new double[]{ 1, 0 };
+		double[] trajectory = RK4.integrate( system, 0, u, 0.1, 10, new double[ 22 ], work );
+		assertThat( trajectory[ 0 ] ).isEqualTo( 1 );
+		assertThat( trajectory[ 1 ] ).isEqualTo( 0 );
+		assertThat( trajectory[ 10 ] ).isEqualTo( Math.cos( 0.5 ), Offset.offset( 1e-6 ) );
+		assertThat( trajectory[ 20 ] ).isEqualTo( u[ 0 ] );
+		assertThat( trajectory[ 21 ] ).isEqualTo( u[ 1 ] );
+
+		try {
+			RK4.integrate( system, 0, u, 0.1, 10, new double[ 21 ], work );
+			fail();
+		} catch( IllegalArgumentException ignored ) {}
+	}
+
+	@Test
+	void testIntegrateEnsemble() {
+		// Damped oscillators with a different damping for each trajectory
+		int count = 1000;
+		double[] damping = new double[ count ];
+		double[] states = new double[ 2 * count ];
+		Random random = new Random( 7 );
+		for( int j = 0; j < count; j++ ) {
+			damping[ j ] = random.nextDouble();
+			states[ j ] = random.nextDouble() - 0.5;
+			states[ count + j ] = random.nextDouble() - 0.5;
+		}
+		OdeEnsemble ensemble = ( t, y, dydt, size, from, to ) -> {
+			for( int j = from; j < to; j++ ) {
+				dydt[ j ] = y[ size + j ];
+				dydt[ size + j ] = -y[ j ] - damping[ j ] * y[ size + j ];
+			}
+		};
+
+		double[] serial = states.clone();
+		assertThat( RK4.integrate( ensemble, 2, 0, serial, count, 0.01, 100, null ) ).isEqualTo( 1, Offset.offset( 1e-12 ) );
+
+		double[] parallel = states.clone();
+		RK4.integrate( ensemble, 2, 0, parallel, count, 0.01, 100, ForkJoinPool.commonPool() );
+		assertThat( parallel ).isEqualTo( serial );
+
+		// Each trajectory matches the single system integration
+		RK4.Work work = new RK4.Work( 2 );
+		for( int j = 0; j < count; j += 97 ) {
+			double c = damping[ j ];
+			double[] y = new double[]{ states[ j ], states[ count + j ] };
+			RK4.integrate( ( t, u, dudt ) -> {
+				dudt[ 0 ] = u[ 1 ];
+				dudt[ 1 ] = -u[ 0 ] - c * u[ 1 ];
+			}, 0, y, 0.01, 100, work );
+			assertThat( serial[ j ] ).isEqualTo( y[ 0 ] );
+			assertThat( serial[ count + j ] ).isEqualTo( y[ 1 ] );
+		}
+
+		try {
+			RK4.integrate( ensemble, 2, 0, new double[ 3 ], 2, 0.01, 1, null );
+			fail();
+		} catch( IllegalArgumentException ignored ) {}
+	}
+
 }
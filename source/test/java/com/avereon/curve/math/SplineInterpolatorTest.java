@@ -0,0 +1,35 @@
+package com.avereon.curve.math;
+
+import com.avereon.curve.assertion.VectorArrayAssert;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class SplineInterpolatorTest {
+
+	@Test
+	void testJava() {
+		double[][] points = new double[][]{ Point.of( 0, 0 ), Point.of( 0, 1 ), Point.of( 1, 1 ), Point.of( 1, 0 ) };
+		double[][][] curves = SplineInterpolator.JAVA.interpolateCubicNatural( points );
+		double[][][] expected = Geometry.interpolateCubicNatural( points );
+		assertThat( curves.length ).isEqualTo( expected.length );
+		for( int index = 0; index < curves.length; index++ ) {
+			VectorArrayAssert.assertThat( curves[ index ] ).areCloseTo( expected[ index ] );
+		}
+	}
+
+	@Test
+	void testTinyspline() {
+		// The native library is optional so only check that the lookup is consistent
+		if( SplineInterpolator.isTinysplineAvailable() ) {
+			assertThat( SplineInterpolator.tinyspline() ).isNotNull();
+		} else {
+			try {
+				SplineInterpolator.tinyspline();
+				fail();
+			} catch( IllegalStateException ignored ) {}
+		}
+	}
+
+}
@@ -0,0 +1,97 @@
+package com.avereon.curve.math;
+
+import com.avereon.curve.assertion.VectorAssert;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.avereon.curve.math.Constants.PI_OVER_2;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class TransformHierarchyTest {
+
+	@Test
+	void testUpdate() {
+		TransformHierarchy hierarchy = new TransformHierarchy();
+		int root = hierarchy.add( TransformHierarchy.ROOT, Transform.translation( 1, 0, 0 ) );
+		int child = hierarchy.add( root, Transform.zrotation( PI_OVER_2 ) );
+		int grandchild = hierarchy.add( child, Transform.translation( 0, 0, 2 ) );
+		int sibling = hierarchy.add( root );
+		assertThat( hierarchy.size() ).isEqualTo( 4 );
+		assertThat( hierarchy.getParent( grandchild ) ).isEqualTo( child );
+		assertThat( hierarchy.getDepth( grandchild ) ).isEqualTo( 2 );
+
+		assertThat( hierarchy.update() ).isEqualTo( 4 );
+		assertThat( hierarchy.isDirty( child ) ).isFalse();
+		double[] expected = Transform.translation( 1, 0, 0 ).combine( Transform.zrotation( PI_OVER_2 ) ).combine( Transform.translation( 0, 0, 2 ) ).apply( Vector.of( 1, 0, 0 ) );
+		VectorAssert.assertThat( hierarchy.toWorld( grandchild, Vector.of( 1, 0, 0 ), new double[ 3 ] ) ).isCloseTo( expected, 1e-15 );
+		VectorAssert.assertThat( hierarchy.getWorld( sibling ).apply( Vector.of() ) ).isCloseTo( Vector.of( 1, 0, 0 ) );
+
+		// Nothing changed
+		assertThat( hierarchy.update() ).isEqualTo( 0 );
+
+		// Only the changed subtree is recomputed
+		hierarchy.setLocal( child, Transform.identity() );
+		assertThat( hierarchy.isDirty( child ) ).isTrue();
+		assertThat( hierarchy.update() ).isEqualTo( 2 );
+		VectorAssert.assertThat( hierarchy.toWorld( grandchild, Vector.of( 1, 0, 0 ), new double[ 3 ] ) ).isCloseTo( Vector.of( 2, 0, 2 ) );
+
+		// Moving the root moves everything
+		hierarchy.setLocal( root, Quaternion.identity(), Vector.of( 0, 5, 0 ) );
+		assertThat( hierarchy.update() ).isEqualTo( 4 );
+		assertThat( hierarchy.getWorld( grandchild, new double[ 16 ], 0 ) ).containsExactly( Transform.translation( 0, 5, 2 ).toArray( new double[ 16 ], 0 ) );
+	}
+
+	@Test
+	void testSetLocalWithRotation() {
+		TransformHierarchy hierarchy = new TransformHierarchy();
+		int node = hierarchy.add( TransformHierarchy.ROOT );
+		double[] rotation = Quaternion.rotation( Vector.of( 1, 2, 3 ), 0.7 );
+		double[] origin = Vector.of( 4, 5, 6 );
+		hierarchy.setLocal( node, rotation, origin );
+		hierarchy.update();
+
+		double[] point = Vector.of( 1, -1, 2 );
+		VectorAssert.assertThat( hierarchy.toWorld( node, point, new double[ 3 ] ) ).isCloseTo( Quaternion.toTransform( rotation, origin ).apply( point ), 1e-14 );
+		assertThat( hierarchy.getLocal( node ) ).isEqualTo( Quaternion.toTransform( rotation, origin ) );
+	}
+
+	@Test
+	void testParallelUpdate() {
+		// A wide tree, many children under a few parents
+		Random random = new Random( 11 );
+		TransformHierarchy serial = new TransformHierarchy( 4 );
+		TransformHierarchy parallel = new TransformHierarchy( 4 );
+		for( int index = 0; index < 5000; index++ ) {
+			int parent = index < 4 ? TransformHierarchy.ROOT : random.nextInt( Math.min( index, 50 ) );
+			Transform local = Transform.translation( random.nextDouble(), random.nextDouble(), random.nextDouble() ).combine( Transform.rotation( Vector.UNIT_Z, random.nextDouble() ) );
+			serial.add( parent, local );
+			parallel.add( parent, local );
+		}
+
+		assertThat( parallel.update( ForkJoinPool.commonPool() ) ).isEqualTo( serial.update() );
+		for( int node = 0; node < serial.size(); node += 7 ) {
+			assertThat( parallel.getWorld( node ) ).isEqualTo( serial.getWorld( node ) );
+		}
+
+		// The world matrix is the product of the local matrices to the root
+		int node = serial.size() - 1;
+		Transform expected = serial.getLocal( node );
+		for( int parent = serial.getParent( node ); parent != TransformHierarchy.ROOT; parent = serial.getParent( parent ) ) {
+			expected = serial.getLocal( parent ).combine( expected );
+		}
+		VectorAssert.assertThat( serial.getWorld( node ).apply( Vector.of( 1, 2, 3 ) ) ).isCloseTo( expected.apply( Vector.of( 1, 2, 3 ) ), 1e-12 );
+	}
+
+	@Test
+	void testInvalidNode() {
+		TransformHierarchy hierarchy = new TransformHierarchy();
+		try {
+			hierarchy.add( 0 );
+			fail();
+		} catch( IndexOutOfBoundsException ignored ) {}
+	}
+
+}
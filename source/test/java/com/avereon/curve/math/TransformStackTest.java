@@ -0,0 +1,110 @@
+package com.avereon.curve.math;
+
+import com.avereon.curve.assertion.VectorAssert;
+import org.junit.jupiter.api.Test;
+
+import java.nio.DoubleBuffer;
+
+import static com.avereon.curve.math.Constants.PI_OVER_2;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class TransformStackTest {
+
+	@Test
+	void testPushAndPop() {
+		TransformStack stack = new TransformStack( 3 );
+		assertThat( stack.depth() ).isEqualTo( 1 );
+
+		stack.translate( 1, 0, 0 ).push().translate( 0, 2, 0 );
+		assertThat( stack.depth() ).isEqualTo( 2 );
+		VectorAssert.assertThat( stack.apply( Vector.of(), new double[ 3 ] ) ).isCloseTo( Vector.of( 1, 2, 0 ) );
+
+		stack.pop();
+		assertThat( stack.depth() ).isEqualTo( 1 );
+		VectorAssert.assertThat( stack.apply( Vector.of(), new double[ 3 ] ) ).isCloseTo( Vector.of( 1, 0, 0 ) );
+
+		stack.push().push().clear();
+		assertThat( stack.depth() ).isEqualTo( 1 );
+		assertThat( stack.getTransform() ).isEqualTo( Transform.identity() );
+	}
+
+	@Test
+	void testOverflowAndUnderflow() {
+		TransformStack stack = new TransformStack( 2 );
+		stack.push();
+		try {
+			stack.push();
+			fail();
+		} catch( IllegalStateException ignored ) {}
+
+		stack.pop();
+		try {
+			stack.pop();
+			fail();
+		} catch( IllegalStateException ignored ) {}
+
+		try {
+			new TransformStack( 0 );
+			fail();
+		} catch( IllegalArgumentException ignored ) {}
+	}
+
+	@Test
+	void testMultiply() {
+		Transform a = Transform.translation( 1, 2, 3 );
+		Transform b = Transform.rotation( Vector.of( 1, 1, 0 ), 0.3 );
+		Transform c = Transform.scale( 2, 3, 4 );
+		double[] point = Vector.of( 0.5, -1, 2 );
+
+		TransformStack stack = new TransformStack();
+		stack.multiply( a ).multiply( b ).multiply( c );
+		VectorAssert.assertThat( stack.apply( point, new double[ 3 ] ) ).isCloseTo( a.combine( b ).combine( c ).apply( point ), 1e-14 );
+
+		stack.load( a );
+		stack.multiply( c.toArray( new double[ 20 ], 4 ), 4 );
+		VectorAssert.assertThat( stack.apply( point, new double[ 3 ] ) ).isCloseTo( a.combine( c ).apply( point ), 1e-14 );
+	}
+
+	@Test
+	void testTranslateRotateScale() {
+		double[] axis = Vector.of( 1, 2, 3 );
+		double[] point = Vector.of( 0.5, -1, 2 );
+		Transform expected = Transform.translation( 1, 2, 3 ).combine( Transform.rotation( axis, 0.7 ) ).combine( Transform.scale( 2, 3, 4 ) );
+
+		TransformStack stack = new TransformStack();
+		stack.translate( 1, 2, 3 ).rotate( axis, 0.7 ).scale( 2, 3, 4 );
+		VectorAssert.assertThat( stack.apply( point, new double[ 3 ] ) ).isCloseTo( expected.apply( point ), 1e-14 );
+
+		stack.identity().rotate( Quaternion.zrotation( PI_OVER_2 ) );
+		VectorAssert.assertThat( stack.apply( Vector.of( 1, 0, 0 ), new double[ 3 ] ) ).isCloseTo( Vector.of( 0, 1, 0 ) );
+
+		// A zero axis does not rotate
+		stack.identity().rotate( Vector.of(), 1 );
+		assertThat( stack.getTransform() ).isEqualTo( Transform.identity() );
+	}
+
+	@Test
+	void testApplyToArray() {
+		TransformStack stack = new TransformStack();
+		stack.translate( 1, 0, 0 ).scale( 2, 2, 2 );
+
+		double[] points = new double[]{ 9, 0, 0, 0, 1, 1, 1, 0, 0 };
+		stack.apply( points, 3, points, 3, 2 );
+		assertThat( points ).containsExactly( 9, 0, 0, 1, 2, 2, 3, 0, 0 );
+	}
+
+	@Test
+	void testGet() {
+		Transform transform = Transform.translation( 1, 2, 3 ).combine( Transform.xrotation( 0.5 ) );
+		TransformStack stack = new TransformStack().load( transform );
+
+		assertThat( stack.get( new double[ 16 ], 0 ) ).containsExactly( transform.toArray( new double[ 16 ], 0 ) );
+
+		DoubleBuffer buffer = DoubleBuffer.allocate( 16 );
+		stack.get( buffer );
+		assertThat( buffer.position() ).isEqualTo( 16 );
+		assertThat( buffer.array() ).isEqualTo( transform.getMatrix().array() );
+	}
+
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import java.nio.DoubleBuffer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
 
 public class TransformTest {
 
@@ -67,6 +68,31 @@ public class TransformTest {
 		assertThat( z ).isEqualTo( 3.0 );
 	}
 
+	@Test
+	void testToArrayAndOf() {
+		Transform transform = Transform.translation( 1, 2, 3 ).combine( Transform.frustrum( -1, 1, -1, 1, -1, -3 ) );
+		double[] values = transform.toArray( new double[ 20 ], 2 );
+		assertThat( values[ 2 ] ).isEqualTo( -1 );
+		assertThat( values[ 5 ] ).isEqualTo( 0 );
+		assertThat( values[ 16 ] ).isEqualTo( -1 );
+		assertThat( Transform.of( values, 2 ) ).isEqualTo( transform );
+	}
+
+	@Test
+	void testApplyToCoordinateBuffer() {
+		Transform transform = Transform.translation( 1, 2, 3 ).combine( Transform.zrotation( 0.5 ) );
+		double[][] points = new double[][]{ Vector.of( 1, 0, 0 ), Vector.of( 0, 2, -1 ) };
+		CoordinateBuffer buffer = CoordinateBuffer.of( points );
+		assertThat( transform.apply( buffer, buffer ) ).isSameAs( buffer );
+		VectorAssert.assertThat( buffer.get( 0 ) ).isCloseTo( transform.apply( points[ 0 ] ) );
+		VectorAssert.assertThat( buffer.get( 1 ) ).isCloseTo( transform.apply( points[ 1 ] ) );
+
+		try {
+			transform.apply( buffer, new CoordinateBuffer( 1 ) );
+			fail();
+		} catch( IllegalArgumentException ignored ) {}
+	}
+
 	@Test
 	void testCombine() {
 		assertMatrixValues( Transform.identity().combine( Transform.identity() ), 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1 );